@@ -162,6 +162,24 @@ public interface Step<S, E> extends Iterator<Traverser.Admin<E>>, Serializable,
         return Collections.emptySet();
     }
 
+    /**
+     * Fills the provided array with up to {@code limit} traversers emitted by this step and returns the number of
+     * traversers placed into it, where zero denotes that the step is exhausted. The provided default implementation
+     * simply calls {@link #hasNext()} and {@link #next()}. Steps that are able to process their starts in chunks
+     * should override this method so that a consumer pays one call per chunk rather than one per traverser.
+     *
+     * @param batch the array to fill starting at index zero
+     * @param limit the maximum number of traversers to place into the array
+     * @return the number of traversers placed into the array
+     */
+    public default int nextBatch(final Traverser.Admin<E>[] batch, final int limit) {
+        int size = 0;
+        while (size < limit && this.hasNext()) {
+            batch[size++] = this.next();
+        }
+        return size;
+    }
+
     /**
      * Compare the current step with another step.
      *
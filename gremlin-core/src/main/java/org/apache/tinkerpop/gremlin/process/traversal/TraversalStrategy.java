@@ -69,6 +69,19 @@ public interface TraversalStrategy<S extends TraversalStrategy> extends Serializ
         return Collections.emptySet();
     }
 
+    /**
+     * The step classes this strategy acts upon. If the set is not empty, the strategy is not applied to a traversal
+     * that holds no step assignable to one of them. Only the steps of the traversal itself are considered as its child
+     * traversals have the strategy applied to them separately, so a strategy should only declare the classes if it
+     * leaves every other traversal unchanged. The default implementation returns an empty set, which applies the
+     * strategy to every traversal.
+     *
+     * @return the set of step classes of which one must be present for this strategy to be applied
+     */
+    public default Set<Class<? extends Step>> getApplicableStepClasses() {
+        return Collections.emptySet();
+    }
+
     /**
      * The type of traversal strategy -- i.e. {@link DecorationStrategy}, {@link OptimizationStrategy}, {@link FinalizationStrategy}, or {@link VerificationStrategy}.
      *
@@ -68,4 +68,18 @@ public interface PathProcessor {
         if (null != labels) traverser.keepLabels(labels);
         return traverser;
     }
+
+    /**
+     * Applies the {@link #getKeepLabels()} to the traversers in {@code batch} from {@code offset} up to
+     * {@code size} and returns {@code size} so that a batch produced by a step can be passed straight through.
+     */
+    public default int processTraverserPathLabels(final Traverser.Admin<?>[] batch, final int offset, final int size) {
+        final Set<String> labels = this.getKeepLabels();
+        if (null != labels) {
+            for (int i = offset; i < size; i++) {
+                batch[i].keepLabels(labels);
+            }
+        }
+        return size;
+    }
 }
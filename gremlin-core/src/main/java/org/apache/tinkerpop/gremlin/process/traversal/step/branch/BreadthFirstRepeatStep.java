@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.branch;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Executes a {@code repeat().until()} as a level-synchronous breadth-first search. All traversers of a level are
+ * pushed through the repeat-traversal together and an object is expanded at most once, so every distinct object
+ * reached satisfying the until-traversal is emitted exactly once and the search terminates on cyclic graphs. As the
+ * number of paths to an object is not preserved, this step is only equivalent to {@link RepeatStep} when its output
+ * is de-duplicated or only its first result is of interest (see
+ * {@link org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.BreadthFirstRepeatStrategy}).
+ * <p/>
+ * If the until-traversal is a {@code hasId()} and the repeat-traversal a single adjacency step, the target is known
+ * up front and the search proceeds from both ends, always expanding the smaller frontier.
+ * <p/>
+ * Starts that arrive once a search is exhausted, as they do when the step is fed one traverser at a time, begin a
+ * new search that shares the objects already reached with the previous ones.
+ */
+public final class BreadthFirstRepeatStep<S> extends AbstractStep<S, S> implements TraversalParent {
+
+    private Traversal.Admin<S, S> repeatTraversal;
+    private Traversal.Admin<S, ?> untilTraversal;
+    private final boolean untilFirst;
+
+    private Object targetId;
+    private Direction direction;
+    private String[] edgeLabels;
+
+    private List<Traverser.Admin<S>> frontier = new ArrayList<>();
+    private Set<Object> expanded = new HashSet<>();
+    private Set<Object> reached = new HashSet<>();
+    private Queue<Traverser.Admin<S>> results = new ArrayDeque<>();
+
+    public BreadthFirstRepeatStep(final Traversal.Admin traversal, final Traversal.Admin<S, S> repeatTraversal,
+                                  final Traversal.Admin<S, ?> untilTraversal, final boolean untilFirst) {
+        super(traversal);
+        this.repeatTraversal = this.integrateChild(repeatTraversal);
+        this.untilTraversal = this.integrateChild(untilTraversal);
+        this.untilFirst = untilFirst;
+    }
+
+    /**
+     * Enables the bidirectional search towards the vertex with the given id, where the repeat-traversal is equivalent
+     * to {@code Vertex.vertices(direction, edgeLabels)}.
+     */
+    public void setTarget(final Object targetId, final Direction direction, final String... edgeLabels) {
+        this.targetId = targetId;
+        this.direction = direction;
+        this.edgeLabels = edgeLabels;
+    }
+
+    public Object getTargetId() {
+        return this.targetId;
+    }
+
+    public Traversal.Admin<S, S> getRepeatTraversal() {
+        return this.repeatTraversal;
+    }
+
+    public Traversal.Admin<S, ?> getUntilTraversal() {
+        return this.untilTraversal;
+    }
+
+    public boolean isUntilFirst() {
+        return this.untilFirst;
+    }
+
+    @Override
+    public List<Traversal.Admin<S, ?>> getLocalChildren() {
+        return Arrays.asList(this.repeatTraversal, this.untilTraversal);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.getSelfAndChildRequirements();
+    }
+
+    @Override
+    protected Traverser.Admin<S> processNextStart() throws NoSuchElementException {
+        while (this.results.isEmpty()) {
+            if (!this.frontier.isEmpty())
+                this.expand();
+            else if (this.starts.hasNext())
+                this.addToFrontier();
+            else
+                throw FastNoSuchElementException.instance();
+        }
+        return this.results.poll();
+    }
+
+    /**
+     * Starts a search from all starts that are available.
+     */
+    private void addToFrontier() {
+        while (this.starts.hasNext()) {
+            final Traverser.Admin<S> start = this.starts.next();
+            final S object = start.get();
+            if (this.untilFirst && this.reached.add(object) && TraversalUtil.test(start, this.untilTraversal))
+                this.results.add(start);
+            else if (this.expanded.add(object))
+                this.frontier.add(start);
+        }
+        if (null != this.targetId && !this.frontier.isEmpty())
+            this.searchBidirectional();
+    }
+
+    private void expand() {
+        this.repeatTraversal.reset();
+        for (final Traverser.Admin<S> traverser : this.frontier) {
+            this.repeatTraversal.addStart(traverser);
+        }
+        final List<Traverser.Admin<S>> next = new ArrayList<>();
+        while (this.repeatTraversal.hasNext()) {
+            final Traverser.Admin<S> end = this.repeatTraversal.nextTraverser();
+            final S object = end.get();
+            if (!this.reached.add(object))
+                continue;
+            if (TraversalUtil.test(end, this.untilTraversal))
+                this.results.add(end);
+            else if (this.expanded.add(object))
+                next.add(end);
+        }
+        this.frontier = next;
+    }
+
+    /**
+     * Replaces the frontier by the result of a bidirectional search if all starts are vertices (or the target has
+     * already been emitted by an until-first check). Only adjacent vertices are matched against the opposite side, so
+     * a start that is the target itself is only found again via a cycle, as with {@link RepeatStep}.
+     */
+    private void searchBidirectional() {
+        if (!this.results.isEmpty()) {
+            this.frontier = Collections.emptyList();
+            return;
+        }
+        final Graph graph = this.getTraversal().getGraph().orElse(null);
+        if (null == graph)
+            return;
+        final Set<Vertex> forward = new HashSet<>();
+        for (final Traverser.Admin<S> start : this.frontier) {
+            if (!(start.get() instanceof Vertex))
+                return;
+            forward.add((Vertex) start.get());
+        }
+        final Traverser.Admin<S> start = this.frontier.get(0);
+        this.frontier = Collections.emptyList();
+        final Iterator<Vertex> targets = graph.vertices(this.targetId);
+        if (!targets.hasNext())
+            return;
+        final Vertex target = targets.next();
+        final Set<Vertex> backward = new HashSet<>(Collections.singleton(target));
+        List<Vertex> forwardFrontier = new ArrayList<>(forward);
+        List<Vertex> backwardFrontier = new ArrayList<>(backward);
+        while (!forwardFrontier.isEmpty() && !backwardFrontier.isEmpty()) {
+            final boolean forwardStep = forwardFrontier.size() <= backwardFrontier.size();
+            final Direction direction = forwardStep ? this.direction : this.direction.opposite();
+            final Set<Vertex> visited = forwardStep ? forward : backward;
+            final Set<Vertex> other = forwardStep ? backward : forward;
+            final List<Vertex> next = new ArrayList<>();
+            for (final Vertex vertex : forwardStep ? forwardFrontier : backwardFrontier) {
+                final Iterator<Vertex> adjacents = vertex.vertices(direction, this.edgeLabels);
+                while (adjacents.hasNext()) {
+                    final Vertex adjacent = adjacents.next();
+                    if (other.contains(adjacent)) {
+                        final Traverser.Admin<S> result = start.split((S) target, this);
+                        result.setBulk(1l);
+                        this.results.add(result);
+                        return;
+                    }
+                    if (visited.add(adjacent))
+                        next.add(adjacent);
+                }
+            }
+            if (forwardStep)
+                forwardFrontier = next;
+            else
+                backwardFrontier = next;
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.repeatTraversal.reset();
+        this.untilTraversal.reset();
+        this.frontier = new ArrayList<>();
+        this.expanded.clear();
+        this.reached.clear();
+        this.results.clear();
+    }
+
+    @Override
+    public BreadthFirstRepeatStep<S> clone() {
+        final BreadthFirstRepeatStep<S> clone = (BreadthFirstRepeatStep<S>) super.clone();
+        clone.repeatTraversal = this.repeatTraversal.clone();
+        clone.untilTraversal = this.untilTraversal.clone();
+        clone.frontier = new ArrayList<>();
+        clone.expanded = new HashSet<>();
+        clone.reached = new HashSet<>();
+        clone.results = new ArrayDeque<>();
+        return clone;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
+        super.setTraversal(parentTraversal);
+        this.integrateChild(this.repeatTraversal);
+        this.integrateChild(this.untilTraversal);
+    }
+
+    @Override
+    public String toString() {
+        return null == this.targetId ?
+                StringFactory.stepString(this, this.untilFirst ? "until(first)" : "until(last)", this.repeatTraversal, this.untilTraversal) :
+                StringFactory.stepString(this, this.untilFirst ? "until(first)" : "until(last)", this.repeatTraversal, this.untilTraversal, "target(" + this.targetId + ")");
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.repeatTraversal.hashCode() ^ this.untilTraversal.hashCode() ^ Boolean.hashCode(this.untilFirst);
+    }
+}
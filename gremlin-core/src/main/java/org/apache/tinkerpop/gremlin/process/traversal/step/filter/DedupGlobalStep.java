@@ -105,6 +105,14 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
         return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<S>[] batch, final int offset, final int limit) {
+        // traversers added by way of a barrier are drained one at a time
+        return null != this.barrier || (null != this.barrierIterator && this.barrierIterator.hasNext()) ?
+                this.processNextStarts(batch, offset, limit) :
+                this.processTraverserPathLabels(batch, offset, super.processNextBatch(batch, offset, limit));
+    }
+
     @Override
     public List<Traversal<S, Object>> getLocalChildren() {
         return null == this.dedupTraversal ? Collections.emptyList() : Collections.singletonList(this.dedupTraversal);
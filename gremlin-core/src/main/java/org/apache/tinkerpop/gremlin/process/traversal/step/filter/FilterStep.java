@@ -22,6 +22,8 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 
+import java.util.NoSuchElementException;
+
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -40,5 +42,28 @@ public abstract class FilterStep<S> extends AbstractStep<S, S> {
         }
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<S>[] batch, final int offset, final int limit) {
+        final Traverser.Admin<S>[] starts = this.getStartsBatch();
+        int size = offset;
+        while (size == offset) {
+            final int count = this.starts.nextBatch(starts, Math.min(starts.length, limit - offset));
+            if (0 == count)
+                break;
+            for (int i = 0; i < count; i++) {
+                final Traverser.Admin<S> traverser = starts[i];
+                starts[i] = null;
+                try {
+                    if (this.filter(traverser))
+                        batch[size++] = traverser;
+                } catch (final NoSuchElementException e) {
+                    this.returnStarts(starts, i + 1, count);
+                    return size;
+                }
+            }
+        }
+        return size;
+    }
+
     protected abstract boolean filter(final Traverser.Admin<S> traverser);
 }
@@ -133,6 +133,11 @@ public final class PathFilterStep<S> extends FilterStep<S> implements FromToModu
         return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<S>[] batch, final int offset, final int limit) {
+        return this.processTraverserPathLabels(batch, offset, super.processNextBatch(batch, offset, limit));
+    }
+
     @Override
     public Set<String> getKeepLabels() {
         return this.keepLabels;
@@ -22,10 +22,12 @@ import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.LoopTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
@@ -36,9 +38,12 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -54,6 +59,8 @@ public final class WherePredicateStep<S> extends FilterStep<S> implements Scopin
     protected Set<String> keepLabels;
 
     protected TraversalRing<S, ?> traversalRing = new TraversalRing<>();
+    protected boolean hashJoin = false;
+    protected Map<Traversal.Admin<S, ?>, Map<Object, Object>> joinTables = new IdentityHashMap<>();
 
     public WherePredicateStep(final Traversal.Admin traversal, final Optional<String> startKey, final P<String> predicate) {
         super(traversal);
@@ -79,7 +86,47 @@ public final class WherePredicateStep<S> extends FilterStep<S> implements Scopin
         if (predicate instanceof ConnectiveP)
             ((ConnectiveP<Object>) predicate).getPredicates().forEach(p -> this.setPredicateValues(p, traverser, selectKeysIterator));
         else
-            predicate.setValue(TraversalUtil.applyNullable((S) this.getScopeValue(Pop.last, selectKeysIterator.next(), traverser), this.traversalRing.next()));
+            predicate.setValue(this.project((S) this.getScopeValue(Pop.last, selectKeysIterator.next(), traverser), this.traversalRing.next()));
+    }
+
+    private Object project(final S start, final Traversal.Admin<S, ?> byTraversal) {
+        if (!this.hashJoin || null == byTraversal)
+            return TraversalUtil.applyNullable(start, byTraversal);
+        Map<Object, Object> joinTable = this.joinTables.get(byTraversal);
+        if (null == joinTable) {
+            joinTable = new HashMap<>();
+            this.joinTables.put(byTraversal, joinTable);
+        } else if (joinTable.size() >= WhereTraversalStep.MAX_JOIN_TABLE_SIZE)
+            joinTable.clear();
+        if (joinTable.containsKey(start))
+            return joinTable.get(start);
+        final Object end = TraversalUtil.apply(start, byTraversal);
+        joinTable.put(start, end);
+        return end;
+    }
+
+    /**
+     * Determines if the by()-modulators compute their values from nothing but the compared objects in which case
+     * the values for each object can be collected into a hash table and reused.
+     */
+    public boolean isHashJoinable() {
+        if (this.traversalRing.isEmpty())
+            return false;
+        for (final Traversal.Admin<S, ?> byTraversal : this.traversalRing.getTraversals()) {
+            if (byTraversal instanceof LoopTraversal || !TraversalHelper.isFunctionOfObject(byTraversal.getStartStep(), EmptyStep.instance()))
+                return false;
+        }
+        return true;
+    }
+
+    public void setHashJoin(final boolean hashJoin) {
+        if (hashJoin && !this.isHashJoinable())
+            throw new IllegalStateException("The by()-modulators of the where()-predicate can not be hash joined: " + this.traversalRing);
+        this.hashJoin = hashJoin;
+    }
+
+    public boolean isHashJoin() {
+        return this.hashJoin;
     }
 
     public Optional<P<?>> getPredicate() {
@@ -98,8 +145,8 @@ public final class WherePredicateStep<S> extends FilterStep<S> implements Scopin
     @Override
     protected boolean filter(final Traverser.Admin<S> traverser) {
         final Object value = null == this.startKey ?
-                TraversalUtil.applyNullable(traverser, this.traversalRing.next()) :
-                TraversalUtil.applyNullable((S) this.getScopeValue(Pop.last, this.startKey, traverser), this.traversalRing.next());
+                (this.hashJoin ? this.project(traverser.get(), this.traversalRing.next()) : TraversalUtil.applyNullable(traverser, this.traversalRing.next())) :
+                this.project((S) this.getScopeValue(Pop.last, this.startKey, traverser), this.traversalRing.next());
         this.setPredicateValues(this.predicate, traverser, this.selectKeys.iterator());
         this.traversalRing.reset();
         return this.predicate.test(value);
@@ -121,6 +168,7 @@ public final class WherePredicateStep<S> extends FilterStep<S> implements Scopin
         final WherePredicateStep<S> clone = (WherePredicateStep<S>) super.clone();
         clone.predicate = this.predicate.clone();
         clone.traversalRing = this.traversalRing.clone();
+        clone.joinTables = new IdentityHashMap<>();
         return clone;
     }
 
@@ -150,6 +198,17 @@ public final class WherePredicateStep<S> extends FilterStep<S> implements Scopin
         return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<S>[] batch, final int offset, final int limit) {
+        return this.processTraverserPathLabels(batch, offset, super.processNextBatch(batch, offset, limit));
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.joinTables.clear();
+    }
+
     @Override
     public void setKeepLabels(final Set<String> keepLabels) {
         this.keepLabels = new HashSet<>(keepLabels);
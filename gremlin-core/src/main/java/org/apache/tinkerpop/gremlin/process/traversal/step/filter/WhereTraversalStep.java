@@ -27,6 +27,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.MapStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.StartStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ConnectiveStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
@@ -35,8 +36,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -44,9 +47,19 @@ import java.util.Set;
  */
 public final class WhereTraversalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, PathProcessor {
 
+    /**
+     * The number of start values held by the hash table of a joined where()-traversal before it is cleared. The table
+     * lives across batches and is otherwise only cleared when the step is reset.
+     */
+    public static final int MAX_JOIN_TABLE_SIZE = 10000;
+
     protected Traversal.Admin<?, ?> whereTraversal;
     protected final Set<String> scopeKeys = new HashSet<>();
     protected Set<String> keepLabels;
+    protected boolean hashJoin = false;
+    protected Map<Object, Set<Object>> joinTable = new HashMap<>();
+    private Step<?, ?> probeLastStep = null;
+    private WhereEndStep probeEndStep = null;
 
     public WhereTraversalStep(final Traversal.Admin traversal, final Traversal<?, ?> whereTraversal) {
         super(traversal);
@@ -94,9 +107,68 @@ public final class WhereTraversalStep<S> extends FilterStep<S> implements Traver
         return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<S>[] batch, final int offset, final int limit) {
+        return this.processTraverserPathLabels(batch, offset, super.processNextBatch(batch, offset, limit));
+    }
+
     @Override
     protected boolean filter(final Traverser.Admin<S> traverser) {
-        return TraversalUtil.test((Traverser.Admin) traverser, this.whereTraversal);
+        return this.hashJoin ?
+                this.probe(traverser) :
+                TraversalUtil.test((Traverser.Admin) traverser, this.whereTraversal);
+    }
+
+    /**
+     * Determines if the where()-traversal is uncorrelated except for its start and end labels in which case its ends
+     * for each start value can be collected into a hash table and probed with the value of the end label.
+     */
+    public boolean isHashJoinable() {
+        final Step<?, ?> startStep = this.whereTraversal.getStartStep();
+        final Step<?, ?> endStep = this.whereTraversal.getEndStep();
+        return startStep instanceof WhereStartStep &&
+                startStep.getNextStep() != endStep &&
+                TraversalHelper.isFunctionOfObject(startStep.getNextStep(), endStep instanceof WhereEndStep ? endStep : EmptyStep.instance());
+    }
+
+    public void setHashJoin(final boolean hashJoin) {
+        if (hashJoin && !this.isHashJoinable())
+            throw new IllegalStateException("The where()-traversal can not be hash joined: " + this.whereTraversal);
+        this.hashJoin = hashJoin;
+    }
+
+    public boolean isHashJoin() {
+        return this.hashJoin;
+    }
+
+    private boolean probe(final Traverser.Admin<S> traverser) {
+        final WhereStartStep<?> startStep = (WhereStartStep<?>) this.whereTraversal.getStartStep();
+        if (null == this.probeLastStep) {
+            this.probeEndStep = TraversalHelper.getLastStepOfAssignableClass(WhereEndStep.class, this.whereTraversal).orElse(null);
+            this.probeLastStep = null == this.probeEndStep ? this.whereTraversal.getEndStep() : this.probeEndStep.getPreviousStep();
+        }
+        final Object start = startStep.getScopeKeys().isEmpty() ?
+                traverser.get() :
+                this.getScopeValue(Pop.last, startStep.getScopeKeys().iterator().next(), traverser);
+        if (this.joinTable.size() >= MAX_JOIN_TABLE_SIZE)
+            this.joinTable.clear();
+        Set<Object> ends = this.joinTable.get(start);
+        if (null == ends) {
+            ends = new HashSet<>();
+            this.whereTraversal.reset();
+            final Traverser.Admin split = traverser.split(start, (Step) startStep);
+            split.setSideEffects(this.whereTraversal.getSideEffects());
+            split.setBulk(1l);
+            startStep.getNextStep().addStart(split);
+            while (this.probeLastStep.hasNext()) {
+                ends.add(this.probeLastStep.next().get());
+                if (null == this.probeEndStep) break; // only existence matters without an end label
+            }
+            this.joinTable.put(start, ends);
+        }
+        return null != this.probeEndStep ?
+                ends.contains(this.getScopeValue(Pop.last, this.probeEndStep.getScopeKeys().iterator().next(), traverser)) :
+                !ends.isEmpty();
     }
 
     @Override
@@ -118,6 +190,9 @@ public final class WhereTraversalStep<S> extends FilterStep<S> implements Traver
     public WhereTraversalStep<S> clone() {
         final WhereTraversalStep<S> clone = (WhereTraversalStep<S>) super.clone();
         clone.whereTraversal = this.whereTraversal.clone();
+        clone.joinTable = new HashMap<>();
+        clone.probeLastStep = null;
+        clone.probeEndStep = null;
         return clone;
     }
 
@@ -137,6 +212,12 @@ public final class WhereTraversalStep<S> extends FilterStep<S> implements Traver
         return this.getSelfAndChildRequirements(TraverserRequirement.OBJECT, TraverserRequirement.SIDE_EFFECTS);
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        this.joinTable.clear();
+    }
+
     @Override
     public void setKeepLabels(final Set<String> keepLabels) {
         this.keepLabels = new HashSet<>(keepLabels);
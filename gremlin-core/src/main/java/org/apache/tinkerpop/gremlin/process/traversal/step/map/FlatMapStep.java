@@ -25,6 +25,7 @@ import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
 
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -34,6 +35,11 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
     private Traverser.Admin<S> head = null;
     private Iterator<E> iterator = EmptyIterator.instance();
 
+    // the expansions of a chunk of starts that are held in the starts batch until they are iterated
+    private List<Iterator<E>> prefetched = null;
+    private int prefetchedIndex = 0;
+    private int prefetchedCount = 0;
+
     public FlatMapStep(final Traversal.Admin traversal) {
         super(traversal);
     }
@@ -45,19 +51,94 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
                 return this.head.split(this.iterator.next(), this);
             } else {
                 closeIterator();
-                this.head = this.starts.next();
+                if (!this.nextPrefetched()) {
+                    this.head = this.starts.next();
+                    this.iterator = this.flatMap(this.head);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected int processNextBatch(final Traverser.Admin<E>[] batch, final int offset, final int limit) {
+        final Traverser.Admin<S>[] starts = this.getStartsBatch();
+        int index = 0;
+        int count = 0;
+        int size = offset;
+        while (size < limit) {
+            if (this.iterator.hasNext()) {
+                batch[size++] = this.head.split(this.iterator.next(), this);
+            } else {
+                closeIterator();
+                if (this.nextPrefetched())
+                    continue;
+                if (index == count) {
+                    count = this.starts.nextBatch(starts, Math.min(starts.length, limit - size));
+                    index = 0;
+                    if (0 == count)
+                        break;
+                    final List<Iterator<E>> expanded = this.flatMap(starts, count);
+                    if (null != expanded) {
+                        // the starts stay in the batch with their expansions rather than being returned so that
+                        // the lookups are not made again
+                        this.prefetched = expanded;
+                        this.prefetchedIndex = 0;
+                        this.prefetchedCount = count;
+                        count = 0;
+                        continue;
+                    }
+                }
+                this.head = starts[index];
+                starts[index++] = null;
                 this.iterator = this.flatMap(this.head);
             }
         }
+        // starts that were pulled but not yet expanded are processed on the next call
+        this.returnStarts(starts, index, count);
+        return size;
+    }
+
+    /**
+     * Moves on to the next start of a chunk that was expanded with {@link #flatMap(Traverser.Admin[], int)}.
+     */
+    private boolean nextPrefetched() {
+        if (null == this.prefetched)
+            return false;
+        final Traverser.Admin<S>[] starts = this.getStartsBatch();
+        this.head = starts[this.prefetchedIndex];
+        starts[this.prefetchedIndex] = null;
+        this.iterator = this.prefetched.get(this.prefetchedIndex++);
+        if (this.prefetchedIndex == this.prefetchedCount)
+            this.prefetched = null;
+        return true;
     }
 
     protected abstract Iterator<E> flatMap(final Traverser.Admin<S> traverser);
 
+    /**
+     * Expands a chunk of traversers at once when the step executes in batches. The returned list must hold the result
+     * of {@link #flatMap(Traverser.Admin)} for each of the first {@code count} traversers in order. The step holds on
+     * to the expansions of the traversers that it does not get to in one call and iterates them in later calls. Steps
+     * that can resolve many traversers more cheaply together than one at a time override this method and by default
+     * it returns {@code null} to signify that each traverser should be expanded individually.
+     */
+    protected List<Iterator<E>> flatMap(final Traverser.Admin<S>[] starts, final int count) {
+        return null;
+    }
+
     @Override
     public void reset() {
         super.reset();
         closeIterator();
         this.iterator = EmptyIterator.instance();
+        if (null != this.prefetched) {
+            final Traverser.Admin<S>[] starts = this.getStartsBatch();
+            for (int i = this.prefetchedIndex; i < this.prefetchedCount; i++) {
+                CloseableIterator.closeIterator(this.prefetched.get(i));
+                starts[i] = null;
+            }
+            this.prefetched = null;
+        }
     }
 
     protected void closeIterator() {
@@ -37,6 +37,7 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -56,6 +57,7 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
     protected transient Supplier<Iterator<E>> iteratorSupplier;
     protected boolean isStart;
     protected boolean done = false;
+    protected int limit = -1;
     private Traverser.Admin<S> head = null;
     private Iterator<E> iterator = EmptyIterator.instance();
 
@@ -71,7 +73,9 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
     }
 
     public String toString() {
-        return StringFactory.stepString(this, this.returnClass.getSimpleName().toLowerCase(), Arrays.toString(this.ids));
+        return this.limit < 0 ?
+                StringFactory.stepString(this, this.returnClass.getSimpleName().toLowerCase(), Arrays.toString(this.ids)) :
+                StringFactory.stepString(this, this.returnClass.getSimpleName().toLowerCase(), Arrays.toString(this.ids), "limit(" + this.limit + ")");
     }
 
     @Override
@@ -108,6 +112,22 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
         this.iteratorSupplier = iteratorSupplier;
     }
 
+    /**
+     * Bounds the number of elements read from the iterator of each start (or of the single start when this is a
+     * start step) when only the first few elements can ever be used downstream. Graph providers that replace the
+     * {@link #setIteratorSupplier(Supplier) iterator supplier} may consult {@link #getLimit()} to avoid fetching
+     * elements that would be thrown away.
+     *
+     * @param limit the maximum number of elements per iterator or {@code -1} for no bound
+     */
+    public void setLimit(final int limit) {
+        this.limit = limit;
+    }
+
+    public int getLimit() {
+        return this.limit;
+    }
+
     public Object[] getIds() {
         return this.ids;
     }
@@ -152,16 +172,23 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
                         throw FastNoSuchElementException.instance();
                     else {
                         this.done = true;
-                        this.iterator = null == this.iteratorSupplier ? EmptyIterator.instance() : this.iteratorSupplier.get();
+                        this.iterator = this.nextIterator();
                     }
                 } else {
                     this.head = this.starts.next();
-                    this.iterator = null == this.iteratorSupplier ? EmptyIterator.instance() : this.iteratorSupplier.get();
+                    this.iterator = this.nextIterator();
                 }
             }
         }
     }
 
+    private Iterator<E> nextIterator() {
+        if (null == this.iteratorSupplier)
+            return EmptyIterator.instance();
+        final Iterator<E> elements = this.iteratorSupplier.get();
+        return this.limit < 0 ? elements : IteratorUtils.limit(elements, this.limit);
+    }
+
     @Override
     public void reset() {
         super.reset();
@@ -176,6 +203,8 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
         for (final Object id : this.ids) {
             result ^= id.hashCode();
         }
+        if (this.limit >= 0)
+            result ^= Integer.hashCode(this.limit + 1);
         return result;
     }
 
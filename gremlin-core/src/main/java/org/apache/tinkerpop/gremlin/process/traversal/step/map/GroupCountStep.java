@@ -44,6 +44,7 @@ import java.util.function.BinaryOperator;
 public final class GroupCountStep<S, E> extends ReducingBarrierStep<S, Map<E, Long>> implements TraversalParent, ByModulating {
 
     private Traversal.Admin<S, E> keyTraversal = null;
+    private Map<E, long[]> counters = new HashMap<>();
 
     public GroupCountStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -58,6 +59,38 @@ public final class GroupCountStep<S, E> extends ReducingBarrierStep<S, Map<E, Lo
         return map;
     }
 
+    /**
+     * Counts into a primitive counter per key rather than creating and merging a map with a boxed count for every
+     * traverser. The counters are merged into the seed in {@link #flushReduction(Map)}.
+     */
+    @Override
+    protected Map<E, Long> reduceTraverser(final Map<E, Long> seed, final Traverser.Admin<S> traverser) {
+        final E key = TraversalUtil.applyNullable(traverser, this.keyTraversal);
+        final long[] counter = this.counters.get(key);
+        if (null == counter)
+            this.counters.put(key, new long[]{traverser.bulk()});
+        else
+            counter[0] += traverser.bulk();
+        return seed;
+    }
+
+    @Override
+    protected Map<E, Long> flushReduction(final Map<E, Long> seed) {
+        if (!this.counters.isEmpty()) {
+            for (final Map.Entry<E, long[]> entry : this.counters.entrySet()) {
+                MapHelper.incr(seed, entry.getKey(), entry.getValue()[0]);
+            }
+            this.counters.clear();
+        }
+        return seed;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.counters.clear();
+    }
+
     @Override
     public void addLocalChild(final Traversal.Admin<?, ?> groupTraversal) {
         this.keyTraversal = this.integrateChild(groupTraversal);
@@ -81,6 +114,7 @@ public final class GroupCountStep<S, E> extends ReducingBarrierStep<S, Map<E, Lo
     @Override
     public GroupCountStep<S, E> clone() {
         final GroupCountStep<S, E> clone = (GroupCountStep<S, E>) super.clone();
+        clone.counters = new HashMap<>();
         if (null != this.keyTraversal)
             clone.keyTraversal = this.keyTraversal.clone();
         return clone;
@@ -59,6 +59,9 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
     private Traversal.Admin<S, V> valueTraversal;
     private Barrier barrierStep;
     private boolean resetBarrierForProfiling = false;
+    private Map<K, long[]> counters = new HashMap<>();
+
+    private static final Object NO_VALUE = new Object();
 
     public GroupStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -121,6 +124,47 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
     @Override
     public Map<K, V> projectTraverser(final Traverser.Admin<S> traverser) {
         final Map<K, V> map = new HashMap<>(1);
+        final Object value = this.projectValue(traverser);
+        if (NO_VALUE != value)
+            map.put(TraversalUtil.applyNullable(traverser, this.keyTraversal), (V) value);
+        return map;
+    }
+
+    /**
+     * Reduces the traverser directly into the seed rather than creating and merging a single entry map for every
+     * traverser. When the value traversal is a plain {@code count()}, the counts are accumulated in primitive counters
+     * that are merged into the seed in {@link #flushReduction(Map)}.
+     */
+    @Override
+    protected Map<K, V> reduceTraverser(final Map<K, V> seed, final Traverser.Admin<S> traverser) {
+        if (this.valueTraversal.getSteps().size() == 1 && this.valueTraversal.getStartStep() instanceof CountGlobalStep) {
+            final K key = TraversalUtil.applyNullable(traverser, this.keyTraversal);
+            final long[] counter = this.counters.get(key);
+            if (null == counter)
+                this.counters.put(key, new long[]{traverser.bulk()});
+            else
+                counter[0] += traverser.bulk();
+        } else {
+            final Object value = this.projectValue(traverser);
+            if (NO_VALUE != value)
+                ((GroupBiOperator<K, V>) this.reducingBiOperator).merge(seed, TraversalUtil.applyNullable(traverser, this.keyTraversal), (V) value);
+        }
+        return seed;
+    }
+
+    @Override
+    protected Map<K, V> flushReduction(final Map<K, V> seed) {
+        if (!this.counters.isEmpty()) {
+            final GroupBiOperator<K, V> operator = (GroupBiOperator<K, V>) this.reducingBiOperator;
+            for (final Map.Entry<K, long[]> entry : this.counters.entrySet()) {
+                operator.merge(seed, entry.getKey(), (V) (Long) entry.getValue()[0]);
+            }
+            this.counters.clear();
+        }
+        return seed;
+    }
+
+    private Object projectValue(final Traverser.Admin<S> traverser) {
         this.valueTraversal.reset();
         this.valueTraversal.addStart(traverser);
 
@@ -135,10 +179,16 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
 
         if (null == this.barrierStep) {
             if (this.valueTraversal.hasNext())
-                map.put(TraversalUtil.applyNullable(traverser, this.keyTraversal), (V) this.valueTraversal.next());
+                return this.valueTraversal.next();
         } else if (this.barrierStep.hasNextBarrier())
-            map.put(TraversalUtil.applyNullable(traverser, this.keyTraversal), (V) this.barrierStep.nextBarrier());
-        return map;
+            return this.barrierStep.nextBarrier();
+        return NO_VALUE;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.counters.clear();
     }
 
     @Override
@@ -167,6 +217,7 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
             clone.keyTraversal = this.keyTraversal.clone();
         clone.valueTraversal = this.valueTraversal.clone();
         clone.barrierStep = determineBarrierStep(clone.valueTraversal);
+        clone.counters = new HashMap<>();
         return clone;
     }
 
@@ -206,17 +257,23 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
 
         @Override
         public Map<K, V> apply(final Map<K, V> mapA, final Map<K, V> mapB) {
-            for (final K key : mapB.keySet()) {
-                V objectA = mapA.get(key);
-                final V objectB = mapB.get(key);
-                if (null == objectA)
-                    objectA = objectB;
-                else if (null != objectB)
-                    objectA = this.barrierAggregator.apply(objectA, objectB);
-                mapA.put(key, objectA);
+            for (final Map.Entry<K, V> entry : mapB.entrySet()) {
+                this.merge(mapA, entry.getKey(), entry.getValue());
             }
             return mapA;
         }
+
+        /**
+         * Merges a single value into the map as {@link #apply(Map, Map)} does for every entry of the second map.
+         */
+        public void merge(final Map<K, V> map, final K key, final V objectB) {
+            V objectA = map.get(key);
+            if (null == objectA)
+                objectA = objectB;
+            else if (null != objectB)
+                objectA = this.barrierAggregator.apply(objectA, objectB);
+            map.put(key, objectA);
+        }
     }
 
 
@@ -22,6 +22,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 
+import java.util.List;
+import java.util.NoSuchElementException;
+
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -37,7 +40,36 @@ public abstract class MapStep<S, E> extends AbstractStep<S, E> {
         return traverser.split(this.map(traverser), this);
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<E>[] batch, final int offset, final int limit) {
+        final Traverser.Admin<S>[] starts = this.getStartsBatch();
+        final int count = this.starts.nextBatch(starts, Math.min(starts.length, limit - offset));
+        final List<E> mapped = count > 0 ? this.map(starts, count) : null;
+        int size = offset;
+        for (int i = 0; i < count; i++) {
+            final Traverser.Admin<S> traverser = starts[i];
+            starts[i] = null;
+            try {
+                batch[size] = traverser.split(null == mapped ? this.map(traverser) : mapped.get(i), this);
+                size++;
+            } catch (final NoSuchElementException e) {
+                this.returnStarts(starts, i + 1, count);
+                break;
+            }
+        }
+        return size;
+    }
+
     protected abstract E map(final Traverser.Admin<S> traverser);
 
+    /**
+     * Maps a chunk of traversers at once when the step executes in batches. The returned list must hold the result of
+     * {@link #map(Traverser.Admin)} for each of the first {@code count} traversers in order. By default it returns
+     * {@code null} to signify that each traverser should be mapped individually.
+     */
+    protected List<E> map(final Traverser.Admin<S>[] starts, final int count) {
+        return null;
+    }
+
 }
 
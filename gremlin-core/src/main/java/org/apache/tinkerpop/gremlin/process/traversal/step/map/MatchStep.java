@@ -18,23 +18,27 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.AndStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ConnectiveStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.NotStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicateStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.StartStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ConnectiveStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.PathRetractionStrategy;
@@ -43,8 +47,15 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSe
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.util.PathUtil;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.javatuples.Pair;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
@@ -53,6 +64,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -397,7 +409,8 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
                 if (this.connective == ConnectiveStep.Connective.AND) {
                     final Traversal.Admin<Object, Object> matchTraversal = this.getMatchAlgorithm().apply(traverser);
                     traverser.getTags().add(matchTraversal.getStartStep().getId());
-                    matchTraversal.addStart(traverser); // determine which sub-pattern the traverser should try next
+                    if (!this.getMatchAlgorithm().join(traverser, matchTraversal))
+                        matchTraversal.addStart(traverser); // determine which sub-pattern the traverser should try next
                 } else {  // OR
                     for (final Traversal.Admin<?, ?> matchTraversal : this.matchTraversals) {
                         final Traverser.Admin split = traverser.split();
@@ -699,6 +712,15 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
         public default void recordEnd(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> traversal) {
 
         }
+
+        /**
+         * Gives the algorithm the opportunity to produce the results of the traversal pattern for the traverser
+         * without the traverser being sent through the pattern (OLTP only). If the algorithm joins the traverser, it
+         * must add the resultant traversers to the {@link MatchEndStep} of the pattern and return {@code true}.
+         */
+        public default boolean join(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> traversal) {
+            return false;
+        }
     }
 
     public static class GreedyMatchAlgorithm implements MatchAlgorithm {
@@ -788,6 +810,8 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             public long startsCount;
             public long endsCount;
             public double multiplicity;
+            public double estimate;
+            public long estimateWeight;
 
             public Bundle(final Traversal.Admin<Object, Object> traversal) {
                 this.traversal = traversal;
@@ -795,10 +819,215 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
                 this.startsCount = 0l;
                 this.endsCount = 0l;
                 this.multiplicity = 0.0d;
+                this.estimate = 0.0d;
+                this.estimateWeight = 0l;
+            }
+
+            /**
+             * Seeds the multiplicity with an estimate that counts as much as the given number of observed starts.
+             */
+            public final void setEstimate(final double estimate, final long estimateWeight) {
+                this.estimate = estimate;
+                this.estimateWeight = estimateWeight;
+                this.multiplicity = estimate;
             }
 
             public final void incrementEndCount() {
-                this.multiplicity = (double) ++this.endsCount / (double) this.startsCount;
+                this.multiplicity = ((double) ++this.endsCount + this.estimate * this.estimateWeight) / (double) (this.startsCount + this.estimateWeight);
+            }
+        }
+    }
+
+    /**
+     * A {@link CountMatchAlgorithm} that seeds the multiplicity of each pattern with an estimate derived from the
+     * {@link GraphStatistics} of the graph (when it provides them) so that the first traversers are routed through the
+     * most selective patterns rather than through the patterns in the order that they were written. The estimates
+     * count as {@link #ESTIMATE_WEIGHT} observed starts and are gradually outweighed by the observed counts. In OLTP,
+     * once a pattern has seen {@link #HASH_JOIN_THRESHOLD} starts it is evaluated only once per distinct value of its
+     * start label and its results are joined to the traversers from a hash table rather than being re-traversed.
+     * Only patterns whose results depend on nothing but the start value (i.e. no labels, lambdas, side-effects,
+     * mutations, randomness, path or sack access) are joined. Use {@link org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy}
+     * to select this algorithm.
+     */
+    public static class CostMatchAlgorithm extends CountMatchAlgorithm {
+
+        public static final double DEFAULT_FAN_OUT = 10.0d;
+        public static final double DEFAULT_SELECTIVITY = 0.25d;
+        public static final double INDEXED_SELECTIVITY = 0.01d;
+        public static final long ESTIMATE_WEIGHT = 100l;
+        public static final long HASH_JOIN_THRESHOLD = 1000l;
+        public static final int HASH_JOIN_MAX_KEYS = 100000;
+
+        protected transient GraphStatistics statistics;
+        protected transient Set<Traversal.Admin<Object, Object>> joinable;
+        protected transient Map<Traversal.Admin<Object, Object>, HashJoin> joins;
+
+        @Override
+        public void initialize(final boolean onComputer, final List<Traversal.Admin<Object, Object>> traversals) {
+            super.initialize(onComputer, traversals);
+            this.statistics = traversals.isEmpty() ? null : GraphStatistics.of(traversals.get(0)).orElse(null);
+            this.joinable = Collections.newSetFromMap(new IdentityHashMap<>());
+            this.joins = new IdentityHashMap<>();
+            for (final Bundle bundle : this.bundles) {
+                bundle.setEstimate(this.estimate(bundle.traversal), ESTIMATE_WEIGHT);
+                if (!onComputer && isJoinable(bundle.traversal))
+                    this.joinable.add(bundle.traversal);
+            }
+            Collections.sort(this.bundles, Comparator.<Bundle>comparingInt(b -> b.traversalType.ordinal()).thenComparingDouble(b -> b.multiplicity));
+        }
+
+        @Override
+        public boolean join(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> traversal) {
+            if (!this.joinable.contains(traversal) || this.getBundle(traversal).startsCount < HASH_JOIN_THRESHOLD)
+                return false;
+            HashJoin hashJoin = this.joins.get(traversal);
+            if (null == hashJoin) {
+                hashJoin = new HashJoin(traversal);
+                this.joins.put(traversal, hashJoin);
+            }
+            this.recordStart(traverser, traversal);
+            hashJoin.join(traverser);
+            return true;
+        }
+
+        /**
+         * Estimates the number of traversers that the pattern emits for each traverser that it starts with.
+         */
+        protected double estimate(final Traversal.Admin<Object, Object> traversal) {
+            double estimate = 1.0d;
+            Class<? extends Element> elementClass = Vertex.class;
+            for (final Step<?, ?> step : traversal.getSteps()) {
+                if (step instanceof GraphStep) {
+                    elementClass = ((GraphStep<?, ?>) step).returnsVertex() ? Vertex.class : Edge.class;
+                    final long count = null == this.statistics ? GraphStatistics.UNKNOWN : this.statistics.estimateCount(elementClass);
+                    estimate = estimate * (count < 0 ? DEFAULT_FAN_OUT : count);
+                } else if (step instanceof VertexStep) {
+                    final VertexStep<?> vertexStep = (VertexStep<?>) step;
+                    elementClass = vertexStep.returnsVertex() ? Vertex.class : Edge.class;
+                    estimate = estimate * this.estimateDegree(vertexStep.getDirection(), vertexStep.getEdgeLabels());
+                } else if (step instanceof EdgeVertexStep) {
+                    elementClass = Vertex.class;
+                    if (((EdgeVertexStep) step).getDirection() == Direction.BOTH)
+                        estimate = estimate * 2.0d;
+                } else if (step instanceof FlatMapStep) {
+                    estimate = estimate * DEFAULT_FAN_OUT;
+                } else if (step instanceof FilterStep && !(step instanceof HasContainerHolder)) {
+                    estimate = estimate * DEFAULT_SELECTIVITY;
+                }
+                if (step instanceof HasContainerHolder) {
+                    for (final HasContainer hasContainer : ((HasContainerHolder) step).getHasContainers()) {
+                        estimate = estimate * this.estimateSelectivity(elementClass, hasContainer);
+                    }
+                }
+            }
+            return estimate;
+        }
+
+        /**
+         * Estimates the average number of edges that a vertex has in the given direction with the given labels.
+         */
+        protected double estimateDegree(final Direction direction, final String... edgeLabels) {
+            if (null == this.statistics)
+                return DEFAULT_FAN_OUT;
+            final long vertices = this.statistics.estimateCount(Vertex.class);
+            long edges = 0l;
+            if (0 == edgeLabels.length)
+                edges = this.statistics.estimateCount(Edge.class);
+            else {
+                for (final String edgeLabel : edgeLabels) {
+                    final long count = this.statistics.estimateCount(Edge.class, edgeLabel);
+                    if (count < 0) {
+                        edges = GraphStatistics.UNKNOWN;
+                        break;
+                    }
+                    edges = edges + count;
+                }
+            }
+            if (vertices <= 0 || edges < 0)
+                return DEFAULT_FAN_OUT;
+            return (double) edges / (double) vertices * (direction == Direction.BOTH ? 2.0d : 1.0d);
+        }
+
+        /**
+         * Estimates the fraction of elements of the given type that pass the {@link HasContainer}.
+         */
+        protected double estimateSelectivity(final Class<? extends Element> elementClass, final HasContainer hasContainer) {
+            if (null == this.statistics || hasContainer.getBiPredicate() != Compare.eq || null == hasContainer.getValue())
+                return DEFAULT_SELECTIVITY;
+            final long total = this.statistics.estimateCount(elementClass);
+            final long count = hasContainer.getKey().equals(T.label.getAccessor()) ?
+                    this.statistics.estimateCount(elementClass, hasContainer.getValue().toString()) :
+                    this.statistics.estimateCount(elementClass, hasContainer.getKey(), hasContainer.getValue());
+            if (total > 0 && count >= 0)
+                return Math.min(1.0d, (double) count / (double) total);
+            return this.statistics.isIndexed(elementClass, hasContainer.getKey()) ? INDEXED_SELECTIVITY : DEFAULT_SELECTIVITY;
+        }
+
+        /**
+         * Determines if the results of the pattern are solely a function of the value of its start label.
+         */
+        public static boolean isJoinable(final Traversal.Admin<Object, Object> traversal) {
+            final Step<?, ?> startStep = traversal.getStartStep();
+            final Step<?, ?> endStep = traversal.getEndStep();
+            if (!(startStep instanceof MatchStartStep) || !((MatchStartStep) startStep).getSelectKey().isPresent() ||
+                    !(endStep instanceof MatchEndStep) || startStep.getNextStep() == endStep ||
+                    TraversalType.MATCH_TRAVERSAL != Helper.getTraversalType(traversal))
+                return false;
+            if (!TraversalHelper.isFunctionOfObject(startStep.getNextStep(), endStep))
+                return false;
+            final Set<TraverserRequirement> requirements = TraversalHelper.getRootTraversal(traversal).getTraverserRequirements();
+            return !requirements.contains(TraverserRequirement.PATH) && !requirements.contains(TraverserRequirement.SACK);
+        }
+
+        ///////////
+
+        /**
+         * The hash table of a pattern which maps each value of its start label to the ends that the pattern emitted.
+         */
+        protected static final class HashJoin {
+            private final MatchStartStep startStep;
+            private final MatchEndStep endStep;
+            private final String selectKey;
+            private final Traversal.Admin<Object, Object> probe;
+            private final Step<Object, ?> probeStartStep;
+            private final Step<?, Object> probeEndStep;
+            private final Map<Object, List<Pair<Object, Long>>> table = new HashMap<>();
+
+            private HashJoin(final Traversal.Admin<Object, Object> traversal) {
+                this.startStep = (MatchStartStep) traversal.getStartStep();
+                this.endStep = (MatchEndStep) traversal.getEndStep();
+                this.selectKey = this.startStep.getSelectKey().get();
+                this.probe = traversal.clone();
+                this.probeStartStep = (Step) this.probe.getStartStep().getNextStep();
+                this.probeEndStep = (Step) this.probe.getEndStep().getPreviousStep();
+            }
+
+            private void join(final Traverser.Admin<Object> traverser) {
+                final Object start = traverser.path().get(Pop.last, this.selectKey);
+                List<Pair<Object, Long>> ends = this.table.get(start);
+                if (null == ends) {
+                    ends = this.build(traverser, start);
+                    if (this.table.size() < HASH_JOIN_MAX_KEYS)
+                        this.table.put(start, ends);
+                }
+                for (final Pair<Object, Long> end : ends) {
+                    final Traverser.Admin<Object> split = traverser.split(end.getValue0(), (Step) this.startStep);
+                    split.setBulk(traverser.bulk() * end.getValue1());
+                    this.endStep.addStart(split);
+                }
+            }
+
+            private List<Pair<Object, Long>> build(final Traverser.Admin<Object> traverser, final Object start) {
+                this.probe.reset();
+                final Traverser.Admin<Object> split = traverser.split(start, (Step) this.startStep);
+                split.setBulk(1l);
+                this.probeStartStep.addStart(split);
+                final List<Pair<Object, Long>> ends = new ArrayList<>();
+                while (this.probeEndStep.hasNext()) {
+                    final Traverser.Admin<Object> end = this.probeEndStep.next();
+                    ends.add(Pair.with(end.get(), end.bulk()));
+                }
+                return ends;
             }
         }
     }
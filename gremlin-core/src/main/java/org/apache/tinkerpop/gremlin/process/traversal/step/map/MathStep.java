@@ -63,6 +63,11 @@ public final class MathStep<S> extends MapStep<S, Double> implements ByModulatin
         return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<Double>[] batch, final int offset, final int limit) {
+        return this.processTraverserPathLabels(batch, offset, super.processNextBatch(batch, offset, limit));
+    }
+
     @Override
     protected Double map(final Traverser.Admin<S> traverser) {
         final Expression localExpression = new Expression(this.expression.getExpression());
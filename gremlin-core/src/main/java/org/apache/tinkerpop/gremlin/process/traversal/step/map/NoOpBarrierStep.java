@@ -33,11 +33,29 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
+ * A barrier that gathers up to {@code maxBarrierSize} traversers so that equal traversers are bulked before being
+ * passed on. When constructed with size bounds the barrier is adaptive: each time it fills it compares the number of
+ * traversers it consumed with the number of distinct traversers it holds and doubles its size (up to the upper bound)
+ * when bulking is paying off or halves it (down to the lower bound) when nearly nothing was merged.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarrier<S> {
 
+    /**
+     * The ratio of consumed to distinct traversers at or above which an adaptive barrier grows.
+     */
+    private static final double GROW_RATIO = 2.0d;
+
+    /**
+     * The ratio of consumed to distinct traversers below which an adaptive barrier shrinks.
+     */
+    private static final double SHRINK_RATIO = 1.1d;
+
     private int maxBarrierSize;
+    private final int minAdaptiveSize;
+    private final int maxAdaptiveSize;
+    private int barrierSize;
     private TraverserSet<S> barrier = new TraverserSet<>();
 
     public NoOpBarrierStep(final Traversal.Admin traversal) {
@@ -45,8 +63,36 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     }
 
     public NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize) {
+        this(traversal, maxBarrierSize, maxBarrierSize, maxBarrierSize);
+    }
+
+    /**
+     * Creates an adaptive barrier that starts at {@code maxBarrierSize} and resizes itself within the provided bounds.
+     */
+    public NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize, final int minAdaptiveSize, final int maxAdaptiveSize) {
         super(traversal);
+        if (minAdaptiveSize > maxBarrierSize || maxBarrierSize > maxAdaptiveSize)
+            throw new IllegalArgumentException("The barrier size must be within the adaptive bounds: " + minAdaptiveSize + " <= " + maxBarrierSize + " <= " + maxAdaptiveSize);
         this.maxBarrierSize = maxBarrierSize;
+        this.minAdaptiveSize = minAdaptiveSize;
+        this.maxAdaptiveSize = maxAdaptiveSize;
+        this.barrierSize = maxBarrierSize;
+    }
+
+    public int getMaxBarrierSize() {
+        return this.maxBarrierSize;
+    }
+
+    /**
+     * Gets the size that the barrier currently fills to which only differs from {@link #getMaxBarrierSize()} for an
+     * adaptive barrier that has already been iterated.
+     */
+    public int getCurrentBarrierSize() {
+        return this.barrierSize;
+    }
+
+    public boolean isAdaptive() {
+        return this.minAdaptiveSize < this.maxAdaptiveSize;
     }
 
     @Override
@@ -63,11 +109,38 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
 
     @Override
     public void processAllStarts() {
-        while (this.starts.hasNext() && (this.maxBarrierSize == Integer.MAX_VALUE || this.barrier.size() < this.maxBarrierSize)) {
-            final Traverser.Admin<S> traverser = this.starts.next();
-            traverser.setStepId(this.getNextStep().getId()); // when barrier is reloaded, the traversers should be at the next step
-            this.barrier.add(traverser);
+        final Traverser.Admin<S>[] starts = this.getStartsBatch();
+        final int initialSize = this.barrier.size();
+        long consumed = 0;
+        while (this.barrierSize == Integer.MAX_VALUE || this.barrier.size() < this.barrierSize) {
+            final int limit = this.barrierSize == Integer.MAX_VALUE ?
+                    starts.length :
+                    Math.min(starts.length, this.barrierSize - this.barrier.size());
+            final int count = this.starts.nextBatch(starts, limit);
+            if (0 == count)
+                break;
+            consumed = consumed + count;
+            for (int i = 0; i < count; i++) {
+                final Traverser.Admin<S> traverser = starts[i];
+                starts[i] = null;
+                traverser.setStepId(this.getNextStep().getId()); // when barrier is reloaded, the traversers should be at the next step
+                this.barrier.add(traverser);
+            }
         }
+        // only a barrier that filled up says anything about the fan-out feeding it. a barrier that drained its starts
+        // before filling is already big enough.
+        if (this.isAdaptive() && this.barrier.size() >= this.barrierSize)
+            this.resize(consumed, this.barrier.size() - initialSize);
+    }
+
+    private void resize(final long consumed, final int distinct) {
+        if (distinct <= 0)
+            return;
+        final double ratio = (double) consumed / distinct;
+        if (ratio >= GROW_RATIO)
+            this.barrierSize = (int) Math.min((long) this.maxAdaptiveSize, 2L * this.barrierSize);
+        else if (ratio < SHRINK_RATIO)
+            this.barrierSize = Math.max(this.minAdaptiveSize, this.barrierSize / 2);
     }
 
     @Override
@@ -97,6 +170,7 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     public NoOpBarrierStep<S> clone() {
         final NoOpBarrierStep<S> clone = (NoOpBarrierStep<S>) super.clone();
         clone.barrier = new TraverserSet<>();
+        clone.barrierSize = this.maxBarrierSize;
         return clone;
     }
 
@@ -107,7 +181,10 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
 
     @Override
     public int hashCode() {
-        return super.hashCode() ^ this.maxBarrierSize;
+        int result = super.hashCode() ^ this.maxBarrierSize;
+        if (this.isAdaptive())
+            result = (result * 31 + this.minAdaptiveSize) * 31 + this.maxAdaptiveSize;
+        return result;
     }
 
     @Override
@@ -118,6 +118,11 @@ public final class PathStep<S> extends MapStep<S, Path> implements TraversalPare
         return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<Path>[] batch, final int offset, final int limit) {
+        return this.processTraverserPathLabels(batch, offset, super.processNextBatch(batch, offset, limit));
+    }
+
     @Override
     public Set<String> getKeepLabels() {
         return this.keepLabels;
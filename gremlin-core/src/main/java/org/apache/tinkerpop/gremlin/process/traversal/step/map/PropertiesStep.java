@@ -24,12 +24,18 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.Configuring;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.Parameters;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.PropertyType;
+import org.apache.tinkerpop.gremlin.structure.util.BatchedElementLookup;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -64,6 +70,26 @@ public class PropertiesStep<E> extends FlatMapStep<Element, E> implements AutoCl
                 (Iterator) traverser.get().properties(this.propertyKeys);
     }
 
+    @Override
+    protected List<Iterator<E>> flatMap(final Traverser.Admin<Element>[] starts, final int count) {
+        final Optional<BatchedElementLookup> lookup = BatchedElementLookup.of(this.getTraversal());
+        if (!lookup.isPresent())
+            return null;
+        final List<Element> elements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            elements.add(starts[i].get());
+        }
+        final List<Iterator<? extends Property>> properties = lookup.get().lookupProperties(elements, this.propertyKeys);
+        if (this.returnType.equals(PropertyType.VALUE)) {
+            final List<Iterator<E>> values = new ArrayList<>(count);
+            for (final Iterator<? extends Property> iterator : properties) {
+                values.add(IteratorUtils.map(iterator, p -> (E) p.value()));
+            }
+            return values;
+        }
+        return (List) properties;
+    }
+
     public PropertyType getReturnType() {
         return this.returnType;
     }
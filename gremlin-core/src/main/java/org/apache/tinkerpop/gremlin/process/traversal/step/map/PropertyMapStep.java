@@ -34,6 +34,7 @@ import org.apache.tinkerpop.gremlin.structure.PropertyType;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.BatchedElementLookup;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.util.ArrayList;
@@ -43,6 +44,7 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -77,8 +79,34 @@ public class PropertyMapStep<K,E> extends MapStep<Element, Map<K, E>>
 
     @Override
     protected Map<K, E> map(final Traverser.Admin<Element> traverser) {
-        final Map<Object, Object> map = new LinkedHashMap<>();
         final Element element = traverser.get();
+        final Iterator<? extends Property> properties = null == this.propertyTraversal ?
+                element.properties(this.propertyKeys) :
+                TraversalUtil.applyAll(traverser, this.propertyTraversal);
+        return this.toMap(element, properties);
+    }
+
+    @Override
+    protected List<Map<K, E>> map(final Traverser.Admin<Element>[] starts, final int count) {
+        if (null != this.propertyTraversal)
+            return null;
+        final Optional<BatchedElementLookup> lookup = BatchedElementLookup.of(this.getTraversal());
+        if (!lookup.isPresent())
+            return null;
+        final List<Element> elements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            elements.add(starts[i].get());
+        }
+        final List<Iterator<? extends Property>> properties = lookup.get().lookupProperties(elements, this.propertyKeys);
+        final List<Map<K, E>> maps = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            maps.add(this.toMap(elements.get(i), properties.get(i)));
+        }
+        return maps;
+    }
+
+    private Map<K, E> toMap(final Element element, final Iterator<? extends Property> properties) {
+        final Map<Object, Object> map = new LinkedHashMap<>();
         final boolean isVertex = element instanceof Vertex;
         if (this.returnType == PropertyType.VALUE) {
             if (includeToken(WithOptions.ids)) map.put(T.id, element.id());
@@ -89,10 +117,6 @@ public class PropertyMapStep<K,E> extends MapStep<Element, Map<K, E>>
                 if (includeToken(WithOptions.labels)) map.put(T.label, element.label());
             }
         }
-        final Iterator<? extends Property> properties = null == this.propertyTraversal ?
-                element.properties(this.propertyKeys) :
-                TraversalUtil.applyAll(traverser, this.propertyTraversal);
-        //final Iterator<? extends Property> properties = element.properties(this.propertyKeys);
         while (properties.hasNext()) {
             final Property<?> property = properties.next();
             final Object value = this.returnType == PropertyType.VALUE ? property.value() : property;
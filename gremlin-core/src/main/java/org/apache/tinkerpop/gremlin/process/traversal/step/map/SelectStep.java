@@ -155,4 +155,9 @@ public final class SelectStep<S, E> extends MapStep<S, Map<String, E>> implement
     protected Traverser.Admin<Map<String, E>> processNextStart() {
         return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
     }
+
+    @Override
+    protected int processNextBatch(final Traverser.Admin<Map<String, E>>[] batch, final int offset, final int limit) {
+        return this.processTraverserPathLabels(batch, offset, super.processNextBatch(batch, offset, limit));
+    }
 }
@@ -152,6 +152,12 @@ public final class TraversalSelectStep<S, E> extends MapStep<S, E> implements Tr
         }
         return traverser;
     }
+
+    @Override
+    protected int processNextBatch(final Traverser.Admin<E>[] batch, final int offset, final int limit) {
+        final int size = super.processNextBatch(batch, offset, limit);
+        return this.getTraversal().getParent() instanceof MatchStep ? size : this.processTraverserPathLabels(batch, offset, size);
+    }
 }
 
 
@@ -27,11 +27,16 @@ import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.BatchedElementLookup;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -43,6 +48,7 @@ public class VertexStep<E extends Element> extends FlatMapStep<Vertex, E> implem
     private final String[] edgeLabels;
     private Direction direction;
     private final Class<E> returnClass;
+    private int limit = -1;
 
     public VertexStep(final Traversal.Admin traversal, final Class<E> returnClass, final Direction direction, final String... edgeLabels) {
         super(traversal);
@@ -63,9 +69,34 @@ public class VertexStep<E extends Element> extends FlatMapStep<Vertex, E> implem
 
     @Override
     protected Iterator<E> flatMap(final Traverser.Admin<Vertex> traverser) {
-        return Vertex.class.isAssignableFrom(this.returnClass) ?
+        return this.limit(Vertex.class.isAssignableFrom(this.returnClass) ?
                 (Iterator<E>) traverser.get().vertices(this.direction, this.edgeLabels) :
-                (Iterator<E>) traverser.get().edges(this.direction, this.edgeLabels);
+                (Iterator<E>) traverser.get().edges(this.direction, this.edgeLabels));
+    }
+
+    @Override
+    protected List<Iterator<E>> flatMap(final Traverser.Admin<Vertex>[] starts, final int count) {
+        final Optional<BatchedElementLookup> lookup = BatchedElementLookup.of(this.getTraversal());
+        if (!lookup.isPresent())
+            return null;
+        final List<Vertex> vertices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            vertices.add(starts[i].get());
+        }
+        final List<Iterator<E>> adjacents = Vertex.class.isAssignableFrom(this.returnClass) ?
+                (List) lookup.get().lookupAdjacentVertices(vertices, this.direction, this.edgeLabels) :
+                (List) lookup.get().lookupEdges(vertices, this.direction, this.edgeLabels);
+        if (this.limit < 0)
+            return adjacents;
+        final List<Iterator<E>> limited = new ArrayList<>(adjacents.size());
+        for (final Iterator<E> iterator : adjacents) {
+            limited.add(this.limit(iterator));
+        }
+        return limited;
+    }
+
+    private Iterator<E> limit(final Iterator<E> iterator) {
+        return this.limit < 0 ? iterator : IteratorUtils.limit(iterator, this.limit);
     }
 
     public Direction getDirection() {
@@ -80,6 +111,20 @@ public class VertexStep<E extends Element> extends FlatMapStep<Vertex, E> implem
         return this.returnClass;
     }
 
+    /**
+     * Bounds the number of adjacent elements read for each traverser when only the first few of them can ever be used
+     * downstream.
+     *
+     * @param limit the maximum number of elements per traverser or {@code -1} for no bound
+     */
+    public void setLimit(final int limit) {
+        this.limit = limit;
+    }
+
+    public int getLimit() {
+        return this.limit;
+    }
+
     public void reverseDirection() {
         this.direction = this.direction.opposite();
     }
@@ -94,7 +139,9 @@ public class VertexStep<E extends Element> extends FlatMapStep<Vertex, E> implem
 
     @Override
     public String toString() {
-        return StringFactory.stepString(this, this.direction, Arrays.asList(this.edgeLabels), this.returnClass.getSimpleName().toLowerCase());
+        return this.limit < 0 ?
+                StringFactory.stepString(this, this.direction, Arrays.asList(this.edgeLabels), this.returnClass.getSimpleName().toLowerCase()) :
+                StringFactory.stepString(this, this.direction, Arrays.asList(this.edgeLabels), this.returnClass.getSimpleName().toLowerCase(), "limit(" + this.limit + ")");
     }
 
     @Override
@@ -103,6 +150,8 @@ public class VertexStep<E extends Element> extends FlatMapStep<Vertex, E> implem
         for (final String edgeLabel : this.edgeLabels) {
             result ^= edgeLabel.hashCode();
         }
+        if (this.limit >= 0)
+            result ^= Integer.hashCode(this.limit + 1);
         return result;
     }
 
@@ -18,11 +18,13 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_NS_SE_SL_Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
@@ -58,7 +60,12 @@ public final class SackValueStep<S, A, B> extends SideEffectStep<S> implements T
 
     @Override
     protected void sideEffect(final Traverser.Admin<S> traverser) {
-        traverser.sack(this.sackFunction.apply(traverser.sack(), null == this.sackTraversal ? (B) traverser.get() : TraversalUtil.apply(traverser, this.sackTraversal)));
+        final B value = null == this.sackTraversal ? (B) traverser.get() : TraversalUtil.apply(traverser, this.sackTraversal);
+        // numeric operators can update a primitive sack in place and avoid boxing the intermediate result
+        if (this.sackFunction instanceof Operator && traverser instanceof B_O_NS_SE_SL_Traverser &&
+                ((B_O_NS_SE_SL_Traverser<S>) traverser).sack((Operator) this.sackFunction, value))
+            return;
+        traverser.sack(this.sackFunction.apply(traverser.sack(), value));
     }
 
     @Override
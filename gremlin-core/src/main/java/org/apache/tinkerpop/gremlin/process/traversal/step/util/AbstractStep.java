@@ -22,6 +22,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.util.EmptyTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ExecutionCounters;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
@@ -31,18 +32,42 @@ import java.util.LinkedHashSet;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public abstract class AbstractStep<S, E> implements Step<S, E> {
 
+    /**
+     * The maximum number of starts that a step pulls from the previous step in a single
+     * {@link Step#nextBatch(Traverser.Admin[], int)} call.
+     */
+    protected static final int BATCH_SIZE = 256;
+
+    /**
+     * Determines for each step class whether {@link #processNextBatch(Traverser.Admin[], int, int)} can be trusted
+     * to do what {@link #processNextStart()} does. That is not the case when a subclass overrides
+     * {@link #processNextStart()} below the class that implements batching, as a provider step extending
+     * {@code MapStep} might, and then the step is pulled one traverser at a time.
+     */
+    private static final ClassValue<Boolean> BATCHABLE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            final Class<?> startDeclarer = declarer(type, "processNextStart");
+            final Class<?> batchDeclarer = declarer(type, "processNextBatch", Traverser.Admin[].class, int.class, int.class);
+            return null == startDeclarer || null == batchDeclarer || startDeclarer == batchDeclarer || !batchDeclarer.isAssignableFrom(startDeclarer);
+        }
+    };
+
     protected Set<String> labels = new LinkedHashSet<>();
     protected String id = Traverser.Admin.HALT;
     protected Traversal.Admin traversal;
     protected ExpandableStepIterator<S> starts;
     protected Traverser.Admin<E> nextEnd = null;
     protected boolean traverserStepIdAndLabelsSetByChild = false;
+    private transient Traverser.Admin<S>[] startsBatch = null;
+    private transient LongAdder executionCounter = null;
 
     protected Step<?, S> previousStep = EmptyStep.instance();
     protected Step<E, ?> nextStep = EmptyStep.instance();
@@ -152,6 +177,32 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         }
     }
 
+    @Override
+    public int nextBatch(final Traverser.Admin<E>[] batch, final int limit) {
+        int size = 0;
+        if (null != this.nextEnd && size < limit) {
+            batch[size++] = this.prepareTraversalForNextStep(this.nextEnd);
+            this.nextEnd = null;
+        }
+        final boolean batchable = BATCHABLE.get(this.getClass());
+        while (size < limit) {
+            if (Thread.interrupted()) throw new TraversalInterruptedException();
+            final int processed = batchable ? this.processNextBatch(batch, size, limit) : this.processNextStarts(batch, size, limit);
+            if (processed == size)
+                break;
+            // drop traversers without an object or bulk just as next() does
+            int end = size;
+            for (int i = size; i < processed; i++) {
+                final Traverser.Admin<E> traverser = batch[i];
+                batch[i] = null;
+                if (null != traverser.get() && 0 != traverser.bulk())
+                    batch[end++] = this.prepareTraversalForNextStep(traverser);
+            }
+            size = end;
+        }
+        return size;
+    }
+
     @Override
     public <A, B> Traversal.Admin<A, B> getTraversal() {
         return this.traversal;
@@ -164,6 +215,53 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     protected abstract Traverser.Admin<E> processNextStart() throws NoSuchElementException;
 
+    /**
+     * Places the traversers that {@link #processNextStart()} would return into {@code batch} starting at
+     * {@code offset} and returns the index after the last one written. Returning {@code offset} denotes that the
+     * step has nothing more to emit. The default implementation calls {@link #processNextStart()} until the batch is
+     * full and steps that can process their starts in chunks should override it. A subclass that overrides
+     * {@link #processNextStart()} without overriding this method as well is pulled through {@link #processNextStart()}.
+     */
+    protected int processNextBatch(final Traverser.Admin<E>[] batch, final int offset, final int limit) {
+        return this.processNextStarts(batch, offset, limit);
+    }
+
+    /**
+     * Fills {@code batch} from {@code offset} by calling {@link #processNextStart()} until it is full or there is
+     * nothing more to emit and returns the index after the last traverser written.
+     */
+    protected final int processNextStarts(final Traverser.Admin<E>[] batch, final int offset, final int limit) {
+        int size = offset;
+        try {
+            while (size < limit) {
+                batch[size] = this.processNextStart();
+                size++;
+            }
+        } catch (final NoSuchElementException e) {
+            // nothing more to emit at this point
+        }
+        return size;
+    }
+
+    /**
+     * Gets a reusable array that can be handed to {@link ExpandableStepIterator#nextBatch(Traverser.Admin[], int)}.
+     */
+    protected final Traverser.Admin<S>[] getStartsBatch() {
+        if (null == this.startsBatch)
+            this.startsBatch = new Traverser.Admin[BATCH_SIZE];
+        return this.startsBatch;
+    }
+
+    /**
+     * Puts starts that were pulled in a batch but not processed back in front of the remaining starts.
+     */
+    protected final void returnStarts(final Traverser.Admin<S>[] starts, final int from, final int to) {
+        this.starts.addFirst(starts, from, to);
+        for (int i = from; i < to; i++) {
+            starts[i] = null;
+        }
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this);
@@ -178,6 +276,7 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
             clone.previousStep = EmptyStep.instance();
             clone.nextStep = EmptyStep.instance();
             clone.nextEnd = null;
+            clone.startsBatch = null;
             clone.traversal = EmptyTraversal.instance();
             clone.labels = new LinkedHashSet<>(this.labels);
             clone.reset();
@@ -201,7 +300,24 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         return result;
     }
 
+    private static Class<?> declarer(Class<?> type, final String name, final Class<?>... parameterTypes) {
+        while (null != type) {
+            try {
+                type.getDeclaredMethod(name, parameterTypes);
+                return type;
+            } catch (final NoSuchMethodException e) {
+                type = type.getSuperclass();
+            }
+        }
+        return null;
+    }
+
     private final Traverser.Admin<E> prepareTraversalForNextStep(final Traverser.Admin<E> traverser) {
+        if (ExecutionCounters.isEnabled()) {
+            if (null == this.executionCounter)
+                this.executionCounter = ExecutionCounters.stepCounter(this.getClass());
+            this.executionCounter.increment();
+        }
         if (!this.traverserStepIdAndLabelsSetByChild) {
             traverser.setStepId(this.nextStep.getId());
             traverser.addLabels(this.labels);
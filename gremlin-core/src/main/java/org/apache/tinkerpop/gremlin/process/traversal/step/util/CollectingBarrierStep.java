@@ -64,11 +64,17 @@ public abstract class CollectingBarrierStep<S> extends AbstractStep<S, S> implem
     @Override
     public void processAllStarts() {
         if (this.starts.hasNext()) {
-            if (Integer.MAX_VALUE == this.maxBarrierSize) {
-                this.starts.forEachRemaining(this.traverserSet::add);
-            } else {
-                while (this.starts.hasNext() && this.traverserSet.size() < this.maxBarrierSize) {
-                    this.traverserSet.add(this.starts.next());
+            final Traverser.Admin<S>[] starts = this.getStartsBatch();
+            while (Integer.MAX_VALUE == this.maxBarrierSize || this.traverserSet.size() < this.maxBarrierSize) {
+                final int limit = Integer.MAX_VALUE == this.maxBarrierSize ?
+                        starts.length :
+                        Math.min(starts.length, this.maxBarrierSize - this.traverserSet.size());
+                final int count = this.starts.nextBatch(starts, limit);
+                if (0 == count)
+                    break;
+                for (int i = 0; i < count; i++) {
+                    this.traverserSet.add(starts[i]);
+                    starts[i] = null;
                 }
             }
         }
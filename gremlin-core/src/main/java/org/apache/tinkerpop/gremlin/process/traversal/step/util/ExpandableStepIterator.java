@@ -20,9 +20,16 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
 
 /**
@@ -32,6 +39,8 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
 
     private final TraverserSet<S> traverserSet = new TraverserSet<>();
     private final Step<S, ?> hostStep;
+    private Deque<Traverser.Admin<S>> returned = null;
+    private transient Boolean batchable = null;
 
     public ExpandableStepIterator(final Step<S, ?> hostStep) {
         this.hostStep = hostStep;
@@ -39,11 +48,13 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
 
     @Override
     public boolean hasNext() {
-        return !this.traverserSet.isEmpty() || this.hostStep.getPreviousStep().hasNext();
+        return this.hasReturned() || !this.traverserSet.isEmpty() || this.hostStep.getPreviousStep().hasNext();
     }
 
     @Override
     public Traverser.Admin<S> next() {
+        if (this.hasReturned())
+            return this.returned.removeFirst();
         if (!this.traverserSet.isEmpty())
             return this.traverserSet.remove();
         /////////////
@@ -53,6 +64,74 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
         return this.traverserSet.remove();
     }
 
+    /**
+     * Fills the provided array with up to {@code limit} traversers, first from those that were returned or explicitly
+     * added and then from the previous step in a single {@link Step#nextBatch(Traverser.Admin[], int)} call. When a
+     * step upstream mutates the graph or writes side-effects, only a single traverser is pulled from the previous
+     * step so that it does not run ahead of what a downstream {@code limit()} would consume.
+     *
+     * @return the number of traversers placed into the array where zero means there are no more starts
+     */
+    public int nextBatch(final Traverser.Admin<S>[] batch, final int limit) {
+        if (this.hasReturned()) {
+            int size = 0;
+            while (size < limit && !this.returned.isEmpty()) {
+                batch[size++] = this.returned.removeFirst();
+            }
+            return size;
+        }
+        if (!this.traverserSet.isEmpty()) {
+            int size = 0;
+            while (size < limit && !this.traverserSet.isEmpty()) {
+                batch[size++] = this.traverserSet.remove();
+            }
+            return size;
+        }
+        if (!this.isBatchable()) {
+            if (!this.hostStep.getPreviousStep().hasNext())
+                return 0;
+            batch[0] = this.hostStep.getPreviousStep().next();
+            return 1;
+        }
+        return this.hostStep.getPreviousStep().nextBatch(batch, limit);
+    }
+
+    /**
+     * Puts traversers that were pulled but not processed back in front of all other starts, keeping their order.
+     */
+    public void addFirst(final Traverser.Admin<S>[] traversers, final int from, final int to) {
+        if (from >= to)
+            return;
+        if (null == this.returned)
+            this.returned = new ArrayDeque<>();
+        for (int i = to - 1; i >= from; i--) {
+            this.returned.addFirst(traversers[i]);
+        }
+    }
+
+    private boolean hasReturned() {
+        return null != this.returned && !this.returned.isEmpty();
+    }
+
+    private boolean isBatchable() {
+        if (null == this.batchable) {
+            boolean batchable = true;
+            for (Step<?, ?> step = this.hostStep.getPreviousStep(); !(step instanceof EmptyStep); step = step.getPreviousStep()) {
+                if (isSideEffecting(step) || (step instanceof TraversalParent &&
+                        TraversalHelper.anyStepRecursively(ExpandableStepIterator::isSideEffecting, (TraversalParent) step))) {
+                    batchable = false;
+                    break;
+                }
+            }
+            this.batchable = batchable;
+        }
+        return this.batchable;
+    }
+
+    private static boolean isSideEffecting(final Step<?, ?> step) {
+        return step instanceof Mutating || step instanceof SideEffectStep || step instanceof SideEffectCapable;
+    }
+
     public void add(final Iterator<Traverser.Admin<S>> iterator) {
         iterator.forEachRemaining(this.traverserSet::add);
     }
@@ -67,6 +146,8 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
     }
 
     public void clear() {
+        if (null != this.returned)
+            this.returned.clear();
         this.traverserSet.clear();
     }
 }
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Executes a segment of stateless steps that ends in a merging {@link Barrier} over a {@link ForkJoinPool}. The
+ * traversers from the previous step are pulled in chunks of at most {@code chunkSize} traversers and each chunk is
+ * submitted to the pool to be pushed through its own clone of the segment. No more than two chunks per thread of the
+ * pool are pulled ahead of the ones that have completed. The partial results of the chunks are combined in the order
+ * the chunks were pulled with the barrier's own merge semantics: the bi-operator of a {@link ReducingBarrierStep} or,
+ * for any other barrier, by bulking the emitted traversers into a {@link TraverserSet} that is fed to the original
+ * barrier so that it can remove what remains of the duplicates. The original segment is never iterated itself and
+ * only its final barrier produces the output of this step.
+ * <p/>
+ * If the calling thread is interrupted while it waits for the chunks, the chunks that have not started are cancelled,
+ * those that are running stop at their next barrier result and a {@link TraversalInterruptedException} is thrown. When a
+ * {@code parallelism} is given, a pool of that many threads is created for each execution and shut down once it is
+ * complete. Otherwise, the common {@link ForkJoinPool} is used.
+ * <p/>
+ * This step is inserted by {@link ParallelStrategy} and exposes the segment as its global child.
+ */
+public final class ParallelStep<S, E> extends AbstractStep<S, E> implements TraversalParent {
+
+    private Traversal.Admin<S, E> segment;
+    private final int parallelism;
+    private final int chunkSize;
+    private boolean executed = false;
+    private transient volatile boolean cancelled = false;
+
+    public ParallelStep(final Traversal.Admin traversal, final Traversal.Admin<S, E> segment, final int parallelism, final int chunkSize) {
+        super(traversal);
+        if (!(segment.getEndStep() instanceof Barrier))
+            throw new IllegalArgumentException("The segment of a parallel step must end with a barrier: " + segment);
+        this.segment = this.integrateChild(segment);
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    public Traversal.Admin<S, E> getSegment() {
+        return this.segment;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    @Override
+    public List<Traversal.Admin<S, E>> getGlobalChildren() {
+        return Collections.singletonList(this.segment);
+    }
+
+    @Override
+    protected Traverser.Admin<E> processNextStart() throws NoSuchElementException {
+        if (!this.executed) {
+            this.executed = true;
+            this.execute();
+        }
+        return this.segment.getEndStep().next();
+    }
+
+    private void execute() {
+        List<Traverser.Admin<S>> chunk = this.nextChunk();
+        if (chunk.isEmpty())
+            return;
+
+        Object partial;
+        if (chunk.size() < this.chunkSize) {
+            // all the starts fit in a single chunk
+            partial = this.processChunk(chunk);
+        } else {
+            this.cancelled = false;
+            final ForkJoinPool pool = this.parallelism <= 0 ? ForkJoinPool.commonPool() : new ForkJoinPool(this.parallelism);
+            final int maxPending = Math.max(2, pool.getParallelism() * 2);
+            final Deque<Future<Object>> pending = new ArrayDeque<>();
+            partial = null;
+            try {
+                while (!chunk.isEmpty()) {
+                    final List<Traverser.Admin<S>> submitted = chunk;
+                    pending.add(pool.submit(() -> this.processChunk(submitted)));
+                    while (pending.size() >= maxPending) {
+                        partial = this.merge(partial, this.await(pending.removeFirst()));
+                    }
+                    chunk = this.nextChunk();
+                }
+                while (!pending.isEmpty()) {
+                    partial = this.merge(partial, this.await(pending.removeFirst()));
+                }
+            } finally {
+                if (!pending.isEmpty()) {
+                    this.cancelled = true;
+                    pending.forEach(future -> future.cancel(false));
+                }
+                if (pool != ForkJoinPool.commonPool())
+                    pool.shutdown();
+            }
+        }
+
+        final Step<?, E> barrier = this.segment.getEndStep();
+        if (barrier instanceof ReducingBarrierStep)
+            ((ReducingBarrierStep) barrier).addBarrier(partial);
+        else
+            barrier.addStarts(((TraverserSet) partial).iterator());
+    }
+
+    private List<Traverser.Admin<S>> nextChunk() {
+        final List<Traverser.Admin<S>> chunk = new ArrayList<>(Math.min(this.chunkSize, BATCH_SIZE));
+        final Traverser.Admin<S>[] batch = this.getStartsBatch();
+        while (chunk.size() < this.chunkSize) {
+            final int count = this.starts.nextBatch(batch, Math.min(batch.length, this.chunkSize - chunk.size()));
+            if (0 == count)
+                break;
+            for (int i = 0; i < count; i++) {
+                chunk.add(batch[i]);
+                batch[i] = null;
+            }
+        }
+        return chunk;
+    }
+
+    private Object await(final Future<Object> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            throw new TraversalInterruptedException();
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+    }
+
+    private Object merge(final Object left, final Object right) {
+        if (null == left)
+            return right;
+        if (null == right)
+            return left;
+        final Step<?, E> barrier = this.segment.getEndStep();
+        if (barrier instanceof ReducingBarrierStep)
+            return ((ReducingBarrierStep) barrier).getBiOperator().apply(left, right);
+        ((TraverserSet) left).addAll((TraverserSet) right);
+        return left;
+    }
+
+    private Object processChunk(final List<Traverser.Admin<S>> chunk) {
+        if (this.cancelled)
+            throw new TraversalInterruptedException();
+        final Traversal.Admin<S, E> local = this.segment.clone();
+        final Step<S, ?> startStep = local.getStartStep();
+        for (final Traverser.Admin<S> start : chunk) {
+            start.setStepId(startStep.getId());
+            startStep.addStart(start);
+        }
+        final Step<?, E> barrier = local.getEndStep();
+        if (barrier instanceof ReducingBarrierStep) {
+            Object partial = null;
+            while (((ReducingBarrierStep) barrier).hasNextBarrier()) {
+                if (this.cancelled)
+                    throw new TraversalInterruptedException();
+                partial = this.merge(partial, ((ReducingBarrierStep) barrier).nextBarrier());
+            }
+            return partial;
+        } else {
+            final TraverserSet<E> partial = new TraverserSet<>();
+            while (barrier.hasNext()) {
+                if (this.cancelled)
+                    throw new TraversalInterruptedException();
+                partial.add(barrier.next());
+            }
+            return partial;
+        }
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.segment.getTraverserRequirements();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.segment.reset();
+        this.executed = false;
+    }
+
+    @Override
+    public ParallelStep<S, E> clone() {
+        final ParallelStep<S, E> clone = (ParallelStep<S, E>) super.clone();
+        clone.segment = this.segment.clone();
+        clone.executed = false;
+        clone.cancelled = false;
+        return clone;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
+        super.setTraversal(parentTraversal);
+        this.integrateChild(this.segment);
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.segment.close();
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.segment);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.segment.hashCode() ^ this.parallelism ^ Integer.hashCode(this.chunkSize);
+    }
+}
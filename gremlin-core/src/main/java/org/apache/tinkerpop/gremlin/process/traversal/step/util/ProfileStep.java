@@ -26,9 +26,12 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.MemoryComputing;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Profiling;
 import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
 
 import java.io.Serializable;
+import java.lang.management.ManagementFactory;
 import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BinaryOperator;
 
 /**
@@ -38,11 +41,68 @@ public final class ProfileStep<S> extends AbstractStep<S, S> implements MemoryCo
     private MutableMetrics metrics;
     private boolean onGraphComputer = false;
 
+    private long sampleEvery = 1;
+    private boolean sampleAllocations = false;
+    private long calls = 0;
+    private long samples = 0;
+    private long traverserCount = 0;
+    private long elementCount = 0;
+    private long allocatedBytes = 0;
+    private long allocationStart = 0;
+    private boolean barrierSampled = false;
+    private boolean extrapolated = false;
+
+    // a call to hasNext() and the call to next() that takes the traverser it found are sampled together
+    private boolean callOpen = false;
+    private boolean callSampled = false;
+
     public ProfileStep(final Traversal.Admin traversal) {
         super(traversal);
     }
 
+    /**
+     * Only times one in every {@code sampleEvery} calls to the step (and optionally measures the bytes allocated by
+     * the current thread during those calls), where the calls to {@code hasNext()} and {@code next()} that produce
+     * the same traverser count as one. Traverser and element counts remain exact and are kept in primitive
+     * fields. Timings and allocations are extrapolated to all calls when the metrics are retrieved. Sampling is not
+     * supported on a {@code GraphComputer} where every call is timed.
+     */
+    public void setSampling(final long sampleEvery, final boolean sampleAllocations) {
+        if (sampleEvery < 1)
+            throw new IllegalArgumentException("The sample rate must be greater than zero: " + sampleEvery);
+        this.sampleEvery = sampleEvery;
+        this.sampleAllocations = sampleAllocations && isAllocationSamplingSupported();
+    }
+
+    private static boolean isAllocationSamplingSupported() {
+        try {
+            return Allocations.isSupported();
+        } catch (final LinkageError ignored) {
+            return false;
+        }
+    }
+
+    public long getSampleEvery() {
+        return this.sampleEvery;
+    }
+
+    public boolean isSamplingAllocations() {
+        return this.sampleAllocations;
+    }
+
     public MutableMetrics getMetrics() {
+        if (this.isSampling() && !this.extrapolated && null != this.metrics) {
+            this.extrapolated = true;
+            final double factor = 0 == this.samples ? 0.0d : (double) this.calls / this.samples;
+            this.metrics.setDuration((long) (this.metrics.getDuration(TimeUnit.NANOSECONDS) * factor), TimeUnit.NANOSECONDS);
+            if (this.traverserCount > 0) {
+                this.metrics.incrementCount(TraversalMetrics.TRAVERSER_COUNT_ID, this.traverserCount);
+                this.metrics.incrementCount(TraversalMetrics.ELEMENT_COUNT_ID, this.elementCount);
+            }
+            this.metrics.setAnnotation(TraversalMetrics.SAMPLE_COUNT_KEY, this.samples);
+            if (this.sampleAllocations)
+                this.metrics.setAnnotation(TraversalMetrics.ALLOCATED_BYTES_KEY, (long) (this.allocatedBytes * factor));
+        }
         return metrics;
     }
 
@@ -50,6 +110,8 @@ public final class ProfileStep<S> extends AbstractStep<S, S> implements MemoryCo
     public Traverser.Admin<S> next() {
         Traverser.Admin<S> start = null;
         this.initializeIfNeeded();
+        if (this.isSampling())
+            return this.sampledNext();
         this.metrics.start();
         try {
             start = super.next();
@@ -74,17 +136,109 @@ public final class ProfileStep<S> extends AbstractStep<S, S> implements MemoryCo
     @Override
     public boolean hasNext() {
         initializeIfNeeded();
+        if (this.isSampling()) {
+            final boolean sample = this.startCallSample();
+            boolean hasNext = false;
+            try {
+                hasNext = super.hasNext();
+                return hasNext;
+            } finally {
+                if (sample) this.stopSample();
+                // without a next traverser there is no call to next() to complete the call
+                if (!hasNext) this.callOpen = false;
+            }
+        }
         this.metrics.start();
         boolean ret = super.hasNext();
         this.metrics.stop();
         return ret;
     }
 
+    @Override
+    public int nextBatch(final Traverser.Admin<S>[] batch, final int limit) {
+        this.initializeIfNeeded();
+        if (this.isSampling() || this.onGraphComputer) {
+            // samples and the metrics sent to the graph computer are taken per call to next()
+            int size = 0;
+            while (size < limit && this.hasNext()) {
+                batch[size++] = this.next();
+            }
+            return size;
+        }
+        int size = 0;
+        this.metrics.start();
+        try {
+            size = super.nextBatch(batch, limit);
+            return size;
+        } finally {
+            this.metrics.stop();
+            for (int i = 0; i < size; i++) {
+                this.metrics.incrementCount(TraversalMetrics.TRAVERSER_COUNT_ID, 1);
+                this.metrics.incrementCount(TraversalMetrics.ELEMENT_COUNT_ID, batch[i].bulk());
+            }
+        }
+    }
+
+    private Traverser.Admin<S> sampledNext() {
+        final boolean sample = this.startCallSample();
+        try {
+            final Traverser.Admin<S> start = super.next();
+            this.traverserCount++;
+            this.elementCount += start.bulk();
+            return start;
+        } finally {
+            if (sample) this.stopSample();
+            this.callOpen = false;
+        }
+    }
+
+    private boolean isSampling() {
+        return this.sampleEvery > 1 && !this.onGraphComputer;
+    }
+
+    /**
+     * Starts a sample if the call that {@code hasNext()} or {@code next()} belongs to is sampled, deciding so if it
+     * is a new call.
+     */
+    private boolean startCallSample() {
+        if (!this.callOpen) {
+            this.callOpen = true;
+            this.callSampled = this.calls % this.sampleEvery == 0;
+            this.calls++;
+            if (this.callSampled) this.samples++;
+        }
+        if (this.callSampled) this.startTimer();
+        return this.callSampled;
+    }
+
+    private void startTimer() {
+        if (this.sampleAllocations)
+            this.allocationStart = Allocations.currentThreadAllocatedBytes();
+        this.metrics.start();
+    }
+
+    private void stopSample() {
+        this.metrics.stop();
+        if (this.sampleAllocations)
+            this.allocatedBytes += Allocations.currentThreadAllocatedBytes() - this.allocationStart;
+    }
+
     @Override
     protected Traverser.Admin<S> processNextStart() throws NoSuchElementException {
         return this.starts.next();
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<S>[] batch, final int offset, final int limit) {
+        final Traverser.Admin<S>[] starts = this.getStartsBatch();
+        final int count = this.starts.nextBatch(starts, Math.min(starts.length, limit - offset));
+        for (int i = 0; i < count; i++) {
+            batch[offset + i] = starts[i];
+            starts[i] = null;
+        }
+        return offset + count;
+    }
+
     private void initializeIfNeeded() {
         if (null == this.metrics) {
             this.onGraphComputer = TraversalHelper.onGraphComputer(this.getTraversal());
@@ -107,26 +261,74 @@ public final class ProfileStep<S> extends AbstractStep<S, S> implements MemoryCo
     public ProfileStep<S> clone() {
         final ProfileStep<S> clone = (ProfileStep<S>) super.clone();
         clone.metrics = null;
+        clone.calls = 0;
+        clone.samples = 0;
+        clone.traverserCount = 0;
+        clone.elementCount = 0;
+        clone.allocatedBytes = 0;
+        clone.barrierSampled = false;
+        clone.extrapolated = false;
+        clone.callOpen = false;
+        clone.callSampled = false;
         return clone;
     }
 
     /**
-     * Starts the metrics timer.
+     * Starts the metrics timer. When sampling, a call to {@code start()} and the following call to {@code stop()}
+     * count as one call.
      */
     public void start() {
         this.initializeIfNeeded();
-        this.metrics.start();
+        if (this.isSampling())
+            this.barrierSampled = this.startCallSample();
+        else
+            this.metrics.start();
     }
 
     /**
      * Stops the metrics timer.
      */
     public void stop() {
-        this.metrics.stop();
+        if (!this.isSampling())
+            this.metrics.stop();
+        else {
+            if (this.barrierSampled) this.stopSample();
+            this.callOpen = false;
+        }
     }
 
     /////
 
+    /**
+     * Reads the bytes allocated by the current thread where the JVM supports it. Kept in its own class so that the
+     * {@code com.sun.management} API is only loaded when allocations are sampled.
+     */
+    private static final class Allocations {
+
+        private static final com.sun.management.ThreadMXBean THREAD_BEAN = threadBean();
+
+        private static com.sun.management.ThreadMXBean threadBean() {
+            try {
+                final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+                if (bean instanceof com.sun.management.ThreadMXBean &&
+                        ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported() &&
+                        ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemoryEnabled())
+                    return (com.sun.management.ThreadMXBean) bean;
+            } catch (final Throwable ignored) {
+                // allocations can not be sampled on this JVM
+            }
+            return null;
+        }
+
+        private static boolean isSupported() {
+            return null != THREAD_BEAN;
+        }
+
+        private static long currentThreadAllocatedBytes() {
+            return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+
     public static class ProfileBiOperator implements BinaryOperator<MutableMetrics>, Serializable {
 
         private static final ProfileBiOperator INSTANCE = new ProfileBiOperator();
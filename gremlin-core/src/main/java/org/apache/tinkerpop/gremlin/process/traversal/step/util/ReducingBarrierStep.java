@@ -53,6 +53,23 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
 
     public abstract E projectTraverser(final Traverser.Admin<S> traverser);
 
+    /**
+     * Reduces the traverser into the seed. By default the traverser is projected with
+     * {@link #projectTraverser(Traverser.Admin)} and merged with the reducing bi-operator. Steps can override this
+     * (together with {@link #flushReduction(Object)}) to accumulate into the seed, or state of their own, directly.
+     */
+    protected E reduceTraverser(final E seed, final Traverser.Admin<S> traverser) {
+        return this.reducingBiOperator.apply(seed, this.projectTraverser(traverser));
+    }
+
+    /**
+     * Called once all available starts have been reduced, before the seed is handed out. Steps that accumulate into
+     * state of their own in {@link #reduceTraverser(Object, Traverser.Admin)} merge it into the seed here.
+     */
+    protected E flushReduction(final E seed) {
+        return seed;
+    }
+
     public void setReducingBiOperator(final BinaryOperator<E> reducingBiOperator) {
         this.reducingBiOperator = reducingBiOperator;
     }
@@ -79,8 +96,15 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
             return;
         this.hasProcessedOnce = true;
         if (this.seed == null) this.seed = this.seedSupplier.get();
-        while (this.starts.hasNext())
-            this.seed = this.reducingBiOperator.apply(this.seed, this.projectTraverser(this.starts.next()));
+        final Traverser.Admin<S>[] starts = this.getStartsBatch();
+        int count;
+        while ((count = this.starts.nextBatch(starts, starts.length)) > 0) {
+            for (int i = 0; i < count; i++) {
+                this.seed = this.reduceTraverser(this.seed, starts[i]);
+                starts[i] = null;
+            }
+        }
+        this.seed = this.flushReduction(this.seed);
     }
 
     @Override
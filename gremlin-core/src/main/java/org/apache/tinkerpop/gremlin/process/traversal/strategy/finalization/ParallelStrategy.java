@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TimeLimitStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FlatMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@code ParallelStrategy} is an opt-in OLTP strategy that executes the leading segment of a traversal on a
+ * {@code ForkJoinPool}. The segment begins after the start step and must consist of stateless map, flatMap and filter
+ * steps (with at least one flatMap) up to a merging barrier: a {@link ReducingBarrierStep} such as {@code count()},
+ * {@code groupCount()} or {@code fold()}, or a {@link DedupGlobalStep}. The start traversers are split into chunks
+ * that are processed concurrently and the partial barriers are combined with bulk-aware merges before the rest of the
+ * traversal continues on the calling thread. See {@link ParallelStep} for the execution details.
+ * <p/>
+ * Traversals are left untouched if they are not root traversals, execute on a {@code GraphComputer}, are being
+ * profiled or are over a {@link Graph} that supports transactions as transactions are typically bound to the thread
+ * that opened them. Steps that hold lambdas, mutate the graph, write side-effects or keep state across traversers
+ * like {@code timeLimit()} (also within child traversals) end the segment, as each chunk runs on its own clone of it. Results of order-sensitive barriers like {@code fold()} keep the order of the start traversers,
+ * but the order in which {@code dedup()} emits its traversers may differ from sequential execution.
+ * <p/>
+ * <pre>
+ * g.withStrategies(ParallelStrategy.build().parallelism(8).create()).V().out().out().groupCount()
+ * </pre>
+ */
+public final class ParallelStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    private static final int DEFAULT_CHUNK_SIZE = 512;
+
+    private final int parallelism;
+    private final int chunkSize;
+
+    private ParallelStrategy(final Builder builder) {
+        if (builder.chunkSize < 1)
+            throw new IllegalArgumentException("The chunk size must be greater than zero: " + builder.chunkSize);
+        this.parallelism = builder.parallelism;
+        this.chunkSize = builder.chunkSize;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!(traversal.getParent() instanceof EmptyStep) ||
+                TraversalHelper.onGraphComputer(traversal) ||
+                TraversalHelper.hasStepOfAssignableClassRecursively(ProfileSideEffectStep.class, traversal))
+            return;
+        final Optional<Graph> graph = traversal.getGraph();
+        if (graph.isPresent() && graph.get().features().graph().supportsTransactions())
+            return;
+
+        final List<Step> steps = traversal.getSteps();
+        boolean foundFlatMap = false;
+        for (int i = 1; i < steps.size(); i++) {
+            final Step<?, ?> step = steps.get(i);
+            if (isMergeBarrier(step)) {
+                if (foundFlatMap)
+                    this.parallelize(traversal, steps.get(1), step);
+                return;
+            }
+            if (!isStateless(step))
+                return;
+            foundFlatMap = foundFlatMap || step instanceof FlatMapStep;
+        }
+    }
+
+    private void parallelize(final Traversal.Admin<?, ?> traversal, final Step<?, ?> firstStep, final Step<?, ?> barrier) {
+        final Traversal.Admin segment = new DefaultTraversal<>();
+        segment.setStrategies(traversal.getStrategies());
+        segment.setSideEffects(traversal.getSideEffects());
+        traversal.getGraph().ifPresent(segment::setGraph);
+        final Step previousStep = firstStep.getPreviousStep();
+        TraversalHelper.removeToTraversal(firstStep, barrier.getNextStep(), segment);
+
+        // the segment is a global child of the parallel step so its steps and their children are prepared along
+        // with the other children of the traversal
+        final Step parallelStep = new ParallelStep<>(traversal, segment, this.parallelism, this.chunkSize);
+        TraversalHelper.insertAfterStep(parallelStep, previousStep, traversal);
+    }
+
+    private static boolean isMergeBarrier(final Step<?, ?> step) {
+        return (step instanceof ReducingBarrierStep || step instanceof DedupGlobalStep) && isThreadSafe(step);
+    }
+
+    private static boolean isStateless(final Step<?, ?> step) {
+        if (step instanceof NoOpBarrierStep)
+            return true;
+        if (step instanceof Barrier || !isThreadSafe(step))
+            return false;
+        return step instanceof MapStep || step instanceof FlatMapStep || step instanceof FilterStep;
+    }
+
+    private static boolean isThreadSafe(final Step<?, ?> step) {
+        if (isUnsafe(step))
+            return false;
+        return !(step instanceof TraversalParent) || !TraversalHelper.anyStepRecursively(ParallelStrategy::isUnsafe, (TraversalParent) step);
+    }
+
+    private static boolean isUnsafe(final Step<?, ?> step) {
+        return step instanceof LambdaHolder || step instanceof Mutating || step instanceof SideEffectCapable ||
+                step instanceof SideEffectStep || step instanceof TimeLimitStep;
+    }
+
+    public static final String PARALLELISM = "parallelism";
+    public static final String CHUNK_SIZE = "chunkSize";
+
+    public static ParallelStrategy create(final Configuration configuration) {
+        return build().parallelism(configuration.getInt(PARALLELISM, 0))
+                .chunkSize(configuration.getInt(CHUNK_SIZE, DEFAULT_CHUNK_SIZE))
+                .create();
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, ParallelStrategy.class.getCanonicalName());
+        map.put(PARALLELISM, this.parallelism);
+        map.put(CHUNK_SIZE, this.chunkSize);
+        return new MapConfiguration(map);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private int parallelism = 0;
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of threads of the pool the segments are executed on. The default of zero (or any value less than
+         * one) uses the common {@code ForkJoinPool}.
+         */
+        public Builder parallelism(final int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * The maximum number of start traversers that are pushed through a single clone of the segment.
+         */
+        public Builder chunkSize(final int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        public ParallelStrategy create() {
+            return new ParallelStrategy(this);
+        }
+    }
+}
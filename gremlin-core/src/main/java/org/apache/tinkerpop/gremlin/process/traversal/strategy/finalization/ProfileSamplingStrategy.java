@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code ProfileSamplingStrategy} lowers the overhead of {@code profile()} by only timing one in every
+ * {@code sampleEvery} calls to each profiled step rather than every call, where finding a traverser and taking it
+ * count as a single call. Traverser and element counts remain exact,
+ * while durations are extrapolated from the timed calls and the number of timed calls is reported as the
+ * {@link TraversalMetrics#SAMPLE_COUNT_KEY} annotation. If {@code allocations} is enabled and the JVM supports
+ * measuring the bytes allocated per thread, the timed calls also estimate the bytes allocated by each step which are
+ * reported as the {@link TraversalMetrics#ALLOCATED_BYTES_KEY} annotation. The strategy has no effect on traversals
+ * that are not profiled or that execute on a {@code GraphComputer}.
+ * <p/>
+ * <pre>
+ * g.withStrategies(ProfileSamplingStrategy.build().sampleEvery(100).allocations(true).create()).V().out().out().profile()
+ * </pre>
+ */
+public final class ProfileSamplingStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    private static final long DEFAULT_SAMPLE_EVERY = 100;
+    private static final Set<Class<? extends FinalizationStrategy>> PRIORS = Collections.singleton(ProfileStrategy.class);
+
+    private final long sampleEvery;
+    private final boolean allocations;
+
+    private ProfileSamplingStrategy(final Builder builder) {
+        if (builder.sampleEvery < 1)
+            throw new IllegalArgumentException("The sample rate must be greater than zero: " + builder.sampleEvery);
+        this.sampleEvery = builder.sampleEvery;
+        this.allocations = builder.allocations;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+        for (final ProfileStep<?> profileStep : TraversalHelper.getStepsOfClass(ProfileStep.class, traversal)) {
+            profileStep.setSampling(this.sampleEvery, this.allocations);
+        }
+    }
+
+    @Override
+    public Set<Class<? extends FinalizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public static final String SAMPLE_EVERY = "sampleEvery";
+    public static final String ALLOCATIONS = "allocations";
+
+    public static ProfileSamplingStrategy create(final Configuration configuration) {
+        return build().sampleEvery(configuration.getLong(SAMPLE_EVERY, DEFAULT_SAMPLE_EVERY))
+                .allocations(configuration.getBoolean(ALLOCATIONS, false))
+                .create();
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, ProfileSamplingStrategy.class.getCanonicalName());
+        map.put(SAMPLE_EVERY, this.sampleEvery);
+        map.put(ALLOCATIONS, this.allocations);
+        return new MapConfiguration(map);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private long sampleEvery = DEFAULT_SAMPLE_EVERY;
+        private boolean allocations = false;
+
+        private Builder() {
+        }
+
+        /**
+         * Times one in every {@code sampleEvery} calls to a profiled step. A value of one times every call.
+         */
+        public Builder sampleEvery(final long sampleEvery) {
+            this.sampleEvery = sampleEvery;
+            return this;
+        }
+
+        /**
+         * Determines if the bytes allocated during the timed calls are measured to estimate the allocations per step.
+         */
+        public Builder allocations(final boolean allocations) {
+            this.allocations = allocations;
+            return this;
+        }
+
+        public ProfileSamplingStrategy create() {
+            return new ProfileSamplingStrategy(this);
+        }
+    }
+}
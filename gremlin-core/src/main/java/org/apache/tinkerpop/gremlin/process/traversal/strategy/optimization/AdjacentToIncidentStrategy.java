@@ -61,6 +61,8 @@ public final class AdjacentToIncidentStrategy extends AbstractTraversalStrategy<
         implements TraversalStrategy.OptimizationStrategy {
 
     private static final AdjacentToIncidentStrategy INSTANCE = new AdjacentToIncidentStrategy();
+    private static final Set<Class<? extends Step>> STEP_CLASSES = new HashSet<>(Arrays.asList(
+            VertexStep.class, PropertiesStep.class));
     private static final Set<Class<? extends OptimizationStrategy>> PRIORS = new HashSet<>(Arrays.asList(IdentityRemovalStrategy.class, IncidentToAdjacentStrategy.class));
 
     private AdjacentToIncidentStrategy() {
@@ -126,6 +128,11 @@ public final class AdjacentToIncidentStrategy extends AbstractTraversalStrategy<
         TraversalHelper.replaceStep(step, newStep, traversal);
     }
 
+    @Override
+    public Set<Class<? extends Step>> getApplicableStepClasses() {
+        return STEP_CLASSES;
+    }
+
     public static AdjacentToIncidentStrategy instance() {
         return INSTANCE;
     }
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.AbstractLambdaTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.BreadthFirstRepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code BreadthFirstRepeatStrategy} replaces a {@link RepeatStep} by a {@link BreadthFirstRepeatStep} when the
+ * repeat()- and until()-traversals are a function of the current object only, no paths, labels or sacks are
+ * required and the output is immediately de-duplicated or limited to a single result. Under these conditions the
+ * number of paths leading to an object is irrelevant, so each object only needs to be expanded once. This bounds the
+ * work by the size of the reachable subgraph rather than the number of paths through it and makes the traversal
+ * terminate on cyclic graphs. As the order of the results changes to breadth-first order, the strategy is not
+ * registered by default.
+ * <p/>
+ *
+ * @example <pre>
+ * __.repeat(out()).until(hasId(6)).limit(1)               // bidirectional search between the start and vertex 6
+ * __.repeat(out("knows")).until(has("name","josh")).dedup() // level-synchronous search with a visited set
+ * </pre>
+ */
+public final class BreadthFirstRepeatStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+
+    private static final BreadthFirstRepeatStrategy INSTANCE = new BreadthFirstRepeatStrategy();
+    private static final Set<Class<? extends Step>> STEP_CLASSES = Collections.singleton(RepeatStep.class);
+    private static final Set<Class<? extends OptimizationStrategy>> PRIORS = new HashSet<>(Arrays.asList(
+            RepeatUnrollStrategy.class, InlineFilterStrategy.class, IncidentToAdjacentStrategy.class));
+
+    private BreadthFirstRepeatStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+        final List<RepeatStep> repeatSteps = TraversalHelper.getStepsOfClass(RepeatStep.class, traversal);
+        if (repeatSteps.isEmpty() || !isPathFree(TraversalHelper.getRootTraversal(traversal)))
+            return;
+        for (final RepeatStep<?> repeatStep : repeatSteps) {
+            if (!isBreadthFirstable(repeatStep))
+                continue;
+            final Traversal.Admin repeatTraversal = repeatStep.getRepeatTraversal();
+            repeatTraversal.removeStep(repeatTraversal.getSteps().size() - 1); // the RepeatEndStep
+            final BreadthFirstRepeatStep<?> breadthFirstStep = new BreadthFirstRepeatStep<>(traversal,
+                    repeatTraversal, (Traversal.Admin) repeatStep.getUntilTraversal(), repeatStep.untilFirst);
+            configureTarget(breadthFirstStep);
+            TraversalHelper.replaceStep((Step) repeatStep, breadthFirstStep, traversal);
+        }
+    }
+
+    private static boolean isPathFree(final Traversal.Admin<?, ?> root) {
+        if (TraversalHelper.hasLabels(root) || null != root.getSideEffects().getSackInitialValue())
+            return false;
+        for (final Step<?, ?> step : root.getSteps()) {
+            final Set<TraverserRequirement> requirements = step.getRequirements();
+            if (requirements.contains(TraverserRequirement.PATH) ||
+                    requirements.contains(TraverserRequirement.LABELED_PATH) ||
+                    requirements.contains(TraverserRequirement.SACK))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isBreadthFirstable(final RepeatStep<?> repeatStep) {
+        final Traversal.Admin<?, ?> repeatTraversal = repeatStep.getRepeatTraversal();
+        final Traversal.Admin<?, ?> untilTraversal = repeatStep.getUntilTraversal();
+        if (null == repeatTraversal || null == untilTraversal || null != repeatStep.getEmitTraversal() ||
+                untilTraversal instanceof AbstractLambdaTraversal || repeatTraversal.getSteps().size() < 2 ||
+                !TraversalHelper.isFunctionOfObject(repeatTraversal.getStartStep(), repeatTraversal.getEndStep()) ||
+                !TraversalHelper.isFunctionOfObject(untilTraversal.getStartStep(), EmptyStep.instance()))
+            return false;
+        final Step<?, ?> nextStep = repeatStep.getNextStep();
+        if (nextStep instanceof DedupGlobalStep)
+            return ((DedupGlobalStep<?>) nextStep).getLocalChildren().isEmpty() &&
+                    ((DedupGlobalStep<?>) nextStep).getScopeKeys().isEmpty();
+        return nextStep instanceof RangeGlobalStep &&
+                0 == ((RangeGlobalStep<?>) nextStep).getLowRange() &&
+                1 == ((RangeGlobalStep<?>) nextStep).getHighRange();
+    }
+
+    /**
+     * Enables the bidirectional search if the until()-traversal is a single {@code hasId()} and the repeat()-traversal
+     * a single adjacency step.
+     */
+    private static void configureTarget(final BreadthFirstRepeatStep<?> breadthFirstStep) {
+        final List<Step> repeatSteps = breadthFirstStep.getRepeatTraversal().getSteps();
+        final List<Step> untilSteps = breadthFirstStep.getUntilTraversal().getSteps();
+        if (repeatSteps.size() != 1 || !(repeatSteps.get(0) instanceof VertexStep) ||
+                !((VertexStep<?>) repeatSteps.get(0)).returnsVertex() ||
+                untilSteps.size() != 1 || !(untilSteps.get(0) instanceof HasStep))
+            return;
+        final List<HasContainer> hasContainers = ((HasStep<?>) untilSteps.get(0)).getHasContainers();
+        if (hasContainers.size() != 1)
+            return;
+        final HasContainer hasContainer = hasContainers.get(0);
+        Object targetId = hasContainer.getValue();
+        if (!hasContainer.getKey().equals(T.id.getAccessor()) || hasContainer.getBiPredicate() != Compare.eq ||
+                null == targetId || targetId instanceof Collection)
+            return;
+        if (targetId instanceof Element)
+            targetId = ((Element) targetId).id();
+        final VertexStep<?> vertexStep = (VertexStep<?>) repeatSteps.get(0);
+        breadthFirstStep.setTarget(targetId, vertexStep.getDirection(), vertexStep.getEdgeLabels());
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    @Override
+    public Set<Class<? extends Step>> getApplicableStepClasses() {
+        return STEP_CLASSES;
+    }
+
+    public static BreadthFirstRepeatStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Ranging;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.UnionStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.PathFilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeOtherVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FlatMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FoldStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.HasNextStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ProjectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.TraversalMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.TraversalSelectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.TreeStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.UnfoldStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.TreeSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code CommonPrefixStrategy} evaluates the steps that all child traversals of a {@code union()} or {@code project()}
+ * start with only once per traverser. The steps use the incoming traverser in each of their children, so the shared
+ * prefix is folded into a list ahead of them which their children then unfold. Each child therefore still sees the
+ * results of the prefix in the same order and with the same bulk, which moving the prefix in front of a
+ * {@code union()} would not preserve as it would interleave the results of the children. This is only done in OLTP
+ * and never for traversals that access the path as the list becomes a part of it. Only unlabeled steps that compute
+ * their output from nothing but the object of the incoming traverser are shared (see
+ * {@link TraversalHelper#isFunctionOfObject(Step, Step)}) and barriers are left in place.
+ * <p/>
+ * The folded list holds all results of the prefix at once, so children that may stop before they have seen all of
+ * them are left alone. That is the case for a child with a {@code limit()} or an existence check, for a
+ * {@code project()} child without a reducing barrier as only its first result is used, and for the children of
+ * {@code coalesce()} and {@code choose()}. As the list may still grow large, the strategy is not registered by default
+ * and has to be added with {@code withStrategies(CommonPrefixStrategy.instance())}.
+ * <p/>
+ *
+ * @example <pre>
+ * __.union(__.out("x").has("a", 1), __.out("x").has("b", 2))          // is replaced by __.map(__.out("x").fold()).union(__.unfold().has("a", 1), __.unfold().has("b", 2))
+ * __.project("a", "b").by(__.out("x").count()).by(__.out("x").values("w").sum())
+ *                                                                    // is replaced by __.map(__.out("x").fold()).project("a", "b").by(__.unfold().count()).by(__.unfold().values("w").sum())
+ * __.union(__.out("x").limit(1), __.out("x").has("a", 1))             // is not replaced
+ * </pre>
+ */
+public final class CommonPrefixStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+
+    private static final CommonPrefixStrategy INSTANCE = new CommonPrefixStrategy();
+    private static final Set<Class<? extends Step>> STEP_CLASSES = new HashSet<>(Arrays.asList(
+            UnionStep.class, ProjectStep.class));
+    private static final Set<Class<? extends OptimizationStrategy>> PRIORS = new HashSet<>(Arrays.asList(
+            IdentityRemovalStrategy.class,
+            InlineFilterStrategy.class,
+            FilterRankingStrategy.class,
+            FilterSelectivityStrategy.class));
+    private static final Set<Class<? extends OptimizationStrategy>> POSTS = new HashSet<>(Arrays.asList(
+            PathRetractionStrategy.class,
+            LazyBarrierStrategy.class,
+            EarlyTerminationStrategy.class));
+    private static final Collection<Class> PATH_CLASSES = Arrays.asList(
+            PathStep.class, TreeStep.class, TreeSideEffectStep.class, PathFilterStep.class, TraversalSelectStep.class,
+            EdgeOtherVertexStep.class, MatchStep.class);
+
+    private CommonPrefixStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        Boolean foldable = null;
+        for (final Step<?, ?> step : new ArrayList<>(traversal.getSteps())) {
+            if (step instanceof UnionStep || step instanceof ProjectStep) {
+                final List<Traversal.Admin<?, ?>> children = getChildren((TraversalParent) step);
+                final int length = getCommonPrefixLength(children);
+                if (length == 0 || !isWorthFolding(children.get(0), length) || mayStopEarly(step, children, length))
+                    continue;
+                if (null == foldable)
+                    foldable = !TraversalHelper.onGraphComputer(traversal) &&
+                            !TraversalHelper.hasStepOfAssignableClassRecursively(PATH_CLASSES, TraversalHelper.getRootTraversal(traversal));
+                if (foldable)
+                    foldCommonPrefix(step, children, length, traversal);
+            }
+        }
+    }
+
+    /**
+     * Gets the child traversals that all receive the incoming traverser of the step.
+     */
+    private static List<Traversal.Admin<?, ?>> getChildren(final TraversalParent step) {
+        return new ArrayList<>(step instanceof UnionStep ? step.getGlobalChildren() : step.getLocalChildren());
+    }
+
+    private static int getCommonPrefixLength(final List<Traversal.Admin<?, ?>> children) {
+        if (children.size() < 2)
+            return 0;
+        for (final Traversal.Admin<?, ?> child : children) {
+            if (!(child instanceof DefaultTraversal))
+                return 0;
+        }
+        final Traversal.Admin<?, ?> first = children.get(0);
+        int length = 0;
+        while (true) {
+            final int index = getOffset(first) + length;
+            if (index >= first.getSteps().size())
+                return length;
+            final Step<?, ?> step = first.getSteps().get(index);
+            if (!isShareable(step))
+                return length;
+            for (final Traversal.Admin<?, ?> child : children.subList(1, children.size())) {
+                final int childIndex = getOffset(child) + length;
+                if (childIndex >= child.getSteps().size() || !step.equals(child.getSteps().get(childIndex)))
+                    return length;
+            }
+            length++;
+        }
+    }
+
+    /**
+     * Options of branch steps may start with an {@link IdentityStep} that holds their incoming traverser.
+     */
+    private static int getOffset(final Traversal.Admin<?, ?> child) {
+        final Step<?, ?> startStep = child.getStartStep();
+        return startStep instanceof IdentityStep && startStep.getLabels().isEmpty() ? 1 : 0;
+    }
+
+    private static boolean isShareable(final Step<?, ?> step) {
+        return !(step instanceof ComputerAwareStep.EndStep) && !(step instanceof HasNextStep) && !(step instanceof Barrier) &&
+                TraversalHelper.isFunctionOfObject(step, step.getNextStep());
+    }
+
+    /**
+     * Folding the prefix into a list only pays off if it does more work than a filter or a map would.
+     */
+    private static boolean isWorthFolding(final Traversal.Admin<?, ?> child, final int length) {
+        final int offset = getOffset(child);
+        for (int i = offset; i < offset + length; i++) {
+            final Step<?, ?> step = child.getSteps().get(i);
+            if (step instanceof FlatMapStep || step instanceof TraversalParent)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Determines if some child may stop before it has seen all results of the prefix, in which case folding them
+     * would do work that the step does not do now. A {@code project()} only uses the first result of a child unless
+     * the child reduces them all.
+     */
+    private static boolean mayStopEarly(final Step<?, ?> step, final List<Traversal.Admin<?, ?>> children, final int length) {
+        for (final Traversal.Admin<?, ?> child : children) {
+            boolean reduced = false;
+            for (final Step<?, ?> childStep : child.getSteps().subList(getOffset(child) + length, child.getSteps().size())) {
+                if (childStep instanceof Ranging || childStep instanceof HasNextStep)
+                    return true;
+                if (childStep instanceof ReducingBarrierStep) {
+                    reduced = true;
+                    break;
+                }
+            }
+            if (step instanceof ProjectStep && !reduced)
+                return true;
+        }
+        return false;
+    }
+
+    private static void foldCommonPrefix(final Step<?, ?> step, final List<Traversal.Admin<?, ?>> children, final int length,
+                                         final Traversal.Admin<?, ?> traversal) {
+        final Traversal.Admin<?, ?> prefix = traversal instanceof GraphTraversal.Admin ?
+                new DefaultGraphTraversal<>() :
+                new DefaultTraversal<>();
+        for (int i = 0; i < length; i++) {
+            prefix.addStep(removeSharedStep(children));
+        }
+        prefix.addStep(new FoldStep<>(prefix));
+        for (final Traversal.Admin<?, ?> child : children) {
+            child.addStep(getOffset(child), new UnfoldStep<>(child));
+        }
+        TraversalHelper.insertBeforeStep(new TraversalMapStep<>(traversal, prefix), (Step) step, traversal);
+    }
+
+    /**
+     * Removes the first step of the common prefix from all children and returns the one of the first child.
+     */
+    private static Step<?, ?> removeSharedStep(final List<Traversal.Admin<?, ?>> children) {
+        Step<?, ?> shared = null;
+        for (final Traversal.Admin<?, ?> child : children) {
+            final Step<?, ?> step = child.getSteps().get(getOffset(child));
+            child.removeStep(step);
+            if (null == shared)
+                shared = step;
+        }
+        return shared;
+    }
+
+    @Override
+    public Set<Class<? extends Step>> getApplicableStepClasses() {
+        return STEP_CLASSES;
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPost() {
+        return POSTS;
+    }
+
+    public static CommonPrefixStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -32,7 +32,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffect
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 /**
  * This strategy looks for {@link RangeGlobalStep}'s that can be moved further left in the traversal and thus be applied
@@ -54,6 +56,7 @@ public final class EarlyLimitStrategy
         implements TraversalStrategy.OptimizationStrategy {
 
     private static final EarlyLimitStrategy INSTANCE = new EarlyLimitStrategy();
+    private static final Set<Class<? extends Step>> STEP_CLASSES = Collections.singleton(RangeGlobalStep.class);
 
     private EarlyLimitStrategy() {
     }
@@ -137,6 +140,11 @@ public final class EarlyLimitStrategy
         return rangeStep;
     }
 
+    @Override
+    public Set<Class<? extends Step>> getApplicableStepClasses() {
+        return STEP_CLASSES;
+    }
+
     public static EarlyLimitStrategy instance() {
         return INSTANCE;
     }
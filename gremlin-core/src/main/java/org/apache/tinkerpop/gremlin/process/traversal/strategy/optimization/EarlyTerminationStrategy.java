@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ConnectiveStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.NotStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TraversalFilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.HasNextStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code EarlyTerminationStrategy} is an OLTP-only strategy for traversals of which at most the first result is ever
+ * used: the child traversals of {@code filter()}, {@code not()}, {@code where()}, {@code and()} and {@code or()}, the
+ * predicate traversal of {@code choose()} and any traversal that ends with {@code limit(1)}. In such a traversal the
+ * {@link NoOpBarrierStep}'s downstream of the last full barrier only delay the first result, so they are removed (this
+ * includes the barriers inserted by {@link LazyBarrierStrategy}). For the pure existence checks, a trailing
+ * {@code order()}, {@code dedup()} or {@code identity()} cannot change whether there is a result, so those steps are
+ * dropped as well. Finally, if the last remaining step is a {@link VertexStep} or {@link GraphStep}, it is told to read
+ * no more than one element per start. None of this is done when the traversal holds mutations, side-effects or
+ * lambdas, as they may depend on the barriers to run for every traverser, or when sacks are in use, as a barrier
+ * merges the sacks of the traversers it bulks.
+ * <p/>
+ *
+ * @example <pre>
+ * __.where(__.out().out().out())                       // the barrier LazyBarrierStrategy adds is removed and the last out() reads one vertex
+ * __.filter(__.out("knows").order().by("age"))         // becomes __.filter(__.out("knows")) and out("knows") reads one vertex
+ * __.not(__.outE().dedup())                            // becomes __.not(__.outE()) and outE() reads one edge
+ * __.out().barrier().out().limit(1)                    // becomes __.out().out().limit(1) and the last out() reads one vertex
+ * </pre>
+ */
+public final class EarlyTerminationStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+
+    private static final EarlyTerminationStrategy INSTANCE = new EarlyTerminationStrategy();
+    private static final Set<Class<? extends Step>> STEP_CLASSES = new HashSet<>(Arrays.asList(
+            NoOpBarrierStep.class, VertexStep.class, GraphStep.class, OrderGlobalStep.class, DedupGlobalStep.class, IdentityStep.class));
+    private static final Set<Class<? extends OptimizationStrategy>> PRIORS = new HashSet<>(Arrays.asList(
+            CountStrategy.class,
+            EarlyLimitStrategy.class,
+            IncidentToAdjacentStrategy.class,
+            AdjacentToIncidentStrategy.class,
+            InlineFilterStrategy.class,
+            FilterRankingStrategy.class,
+            PathRetractionStrategy.class,
+            LazyBarrierStrategy.class));
+    private static final Collection<Class> SIDE_EFFECT_CLASSES = Arrays.asList(
+            Mutating.class, SideEffectStep.class, SideEffectCapable.class, LambdaHolder.class);
+
+    private EarlyTerminationStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal) || traversal.getSteps().isEmpty())
+            return;
+
+        final List<Step> steps = traversal.getSteps();
+        final Step<?, ?> endStep = traversal.getEndStep();
+        final boolean existence = isExistenceCheck(traversal);
+        int end;
+        if (existence)
+            end = endStep instanceof HasNextStep || endStep instanceof WhereTraversalStep.WhereEndStep ?
+                    steps.size() - 1 :
+                    steps.size();
+        else if (endStep instanceof RangeGlobalStep &&
+                0 == ((RangeGlobalStep) endStep).getLowRange() && 1 == ((RangeGlobalStep) endStep).getHighRange())
+            end = steps.size() - 1;
+        else
+            return;
+
+        if (TraversalHelper.hasStepOfAssignableClassRecursively(SIDE_EFFECT_CLASSES, traversal) || usesSack(traversal))
+            return;
+
+        // the traversal needs to keep at least one step for its starts to flow through
+        if (existence) {
+            while (end > 1 && isTrimmable(steps.get(end - 1))) {
+                traversal.removeStep(--end);
+            }
+        }
+
+        for (int i = end - 1; i >= 0; i--) {
+            final Step<?, ?> step = steps.get(i);
+            if (step instanceof NoOpBarrierStep) {
+                if (step.getLabels().isEmpty()) {
+                    traversal.removeStep(step);
+                    end--;
+                } else if (!(step.getPreviousStep() instanceof EmptyStep)) {
+                    TraversalHelper.copyLabels(step, step.getPreviousStep(), true);
+                    traversal.removeStep(step);
+                    end--;
+                }
+            } else if (step instanceof Barrier)
+                break;
+        }
+
+        // a where() that binds its end to a label needs a specific element, not just the first one
+        if (end > 0 && (!(endStep instanceof WhereTraversalStep.WhereEndStep) ||
+                ((WhereTraversalStep.WhereEndStep) endStep).getScopeKeys().isEmpty())) {
+            final Step<?, ?> lastStep = steps.get(end - 1);
+            if (lastStep instanceof VertexStep)
+                ((VertexStep) lastStep).setLimit(1);
+            else if (lastStep instanceof GraphStep)
+                ((GraphStep) lastStep).setLimit(1);
+        }
+    }
+
+    private static boolean isExistenceCheck(final Traversal.Admin<?, ?> traversal) {
+        if (traversal.getEndStep() instanceof HasNextStep)
+            return true;
+        final TraversalParent parent = traversal.getParent();
+        return parent instanceof TraversalFilterStep ||
+                parent instanceof NotStep ||
+                parent instanceof ConnectiveStep ||
+                parent instanceof WhereTraversalStep;
+    }
+
+    private static boolean usesSack(final Traversal.Admin<?, ?> traversal) {
+        final Traversal.Admin<?, ?> root = TraversalHelper.getRootTraversal(traversal);
+        return null != root.getSideEffects().getSackInitialValue() ||
+                TraversalHelper.anyStepRecursively(step -> step.getRequirements().contains(TraverserRequirement.SACK), root);
+    }
+
+    private static boolean isTrimmable(final Step<?, ?> step) {
+        if (!step.getLabels().isEmpty())
+            return false;
+        if (step instanceof DedupGlobalStep)
+            return ((DedupGlobalStep<?>) step).getScopeKeys().isEmpty() && ((DedupGlobalStep<?>) step).getLocalChildren().isEmpty();
+        return step instanceof NoOpBarrierStep || step instanceof OrderGlobalStep || step instanceof IdentityStep;
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    @Override
+    public Set<Class<? extends Step>> getApplicableStepClasses() {
+        return STEP_CLASSES;
+    }
+
+    public static EarlyTerminationStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,466 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ClassFilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ConnectiveStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.IsStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.NotStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TraversalFilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicateStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeOtherVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FlatMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * {@code FilterSelectivityStrategy} reorders runs of adjacent filters by their estimated cost per filtered traverser
+ * (i.e. {@code cost / (1 - selectivity)}) so that cheap and selective filters are evaluated first. Selectivities of
+ * {@code has()}-filters and the costs of filter traversals are estimated from the {@link GraphStatistics} of the graph,
+ * which means that this strategy does nothing for graphs that do not provide them. Where {@link FilterRankingStrategy}
+ * ranks filters by their type only, this strategy is able to tell a {@code has()} on a rare value from a {@code has()}
+ * on a common one. The {@link HasContainer}s of a single {@link HasStep} are reordered in the same way. Filters that
+ * are labeled, hold lambdas, side-effects or mutations, or whose outcome depends on the traversers that they have
+ * seen before (e.g. {@code dedup()} or {@code limit()}) are never moved.
+ * <p/>
+ * A comparison like {@code gt()} could fail on a value of another type, so moving it ahead of a filter that would
+ * have removed such values makes the traversal fail. Such a filter therefore stays behind the filters that were ahead
+ * of it, while filters that can not throw an exception may move ahead of any other. Filters can not throw if they
+ * test for equality with {@code eq()}, {@code neq()}, {@code within()} or {@code without()}, compare labels or ids,
+ * compare a {@code count()} to numbers or only walk to adjacent elements and properties through other such filters.
+ * <p/>
+ *
+ * @example <pre>
+ * __.hasLabel("person").has("name", "marko")           // tests the name first if there are fewer markos than persons
+ * __.hasLabel("person").has("age", gt(30))             // is left as it is
+ * __.where(__.out().count().is(gt(100))).has("name", "marko")
+ *                                                      // is replaced by __.has("name", "marko").where(__.out().count().is(gt(100)))
+ * __.where(__.out().out()).where(__.in())              // is replaced by __.where(__.in()).where(__.out().out())
+ * </pre>
+ */
+public final class FilterSelectivityStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+
+    public static final double DEFAULT_FAN_OUT = 10.0d;
+    public static final double DEFAULT_SELECTIVITY = 0.5d;
+    public static final double INDEXED_SELECTIVITY = 0.01d;
+
+    private static final FilterSelectivityStrategy INSTANCE = new FilterSelectivityStrategy();
+    private static final Set<Class<? extends Step>> STEP_CLASSES = Collections.singleton(FilterStep.class);
+    private static final Set<Class<? extends OptimizationStrategy>> PRIORS = new HashSet<>(Arrays.asList(
+            FilterRankingStrategy.class,
+            InlineFilterStrategy.class,
+            MatchPredicateStrategy.class));
+    private static final Set<Class<? extends OptimizationStrategy>> POSTS = new HashSet<>(Arrays.asList(
+            PathRetractionStrategy.class,
+            LazyBarrierStrategy.class,
+            EarlyTerminationStrategy.class));
+    private static final Collection<Class> SIDE_EFFECT_CLASSES = Arrays.asList(
+            Mutating.class, SideEffectStep.class, SideEffectCapable.class, LambdaHolder.class);
+
+    private FilterSelectivityStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        final Optional<GraphStatistics> statistics = GraphStatistics.of(traversal);
+        if (!statistics.isPresent())
+            return;
+
+        final Estimator estimator = new Estimator(statistics.get());
+        final List<Step> steps = new ArrayList<>(traversal.getSteps());
+        int i = 0;
+        while (i < steps.size()) {
+            if (!isReorderable(steps.get(i))) {
+                i++;
+                continue;
+            }
+            final Class<? extends Element> elementClass = getElementClass(steps.get(i).getPreviousStep());
+            final List<Ranked> run = new ArrayList<>();
+            int j = i;
+            while (j < steps.size() && isReorderable(steps.get(j))) {
+                final Step<?, ?> step = steps.get(j++);
+                if (step instanceof HasStep)
+                    reorder((HasStep<?>) step, elementClass, estimator);
+                run.add(new Ranked(step, estimator.rank(step, elementClass)));
+            }
+            if (run.size() > 1) {
+                final List<Ranked> sorted = order(run, r -> r.rank, r -> isSafeFilter(r.step));
+                if (!sorted.equals(run)) {
+                    for (int k = 0; k < sorted.size(); k++) {
+                        traversal.removeStep(sorted.get(k).step);
+                        traversal.addStep(i + k, sorted.get(k).step);
+                    }
+                }
+            }
+            i = j;
+        }
+    }
+
+    private static void reorder(final HasStep<?> step, final Class<? extends Element> elementClass, final Estimator estimator) {
+        final List<HasContainer> hasContainers = new ArrayList<>(step.getHasContainers());
+        if (hasContainers.size() < 2)
+            return;
+        final List<HasContainer> sorted = order(hasContainers, h -> estimator.selectivity(elementClass, h),
+                FilterSelectivityStrategy::isSafe);
+        if (!sorted.equals(hasContainers)) {
+            for (final HasContainer hasContainer : hasContainers) {
+                step.removeHasContainer(hasContainer);
+            }
+            for (final HasContainer hasContainer : sorted) {
+                step.addHasContainer(hasContainer);
+            }
+        }
+    }
+
+    /**
+     * Orders the filters by rank as far as that is safe. A filter that may throw an exception is only placed once all
+     * filters that were ahead of it are placed, as otherwise it could fail on traversers that they would have
+     * removed, while a filter that can not throw may move ahead of any other. Filters of equal rank keep their order.
+     */
+    private static <T> List<T> order(final List<T> filters, final ToDoubleFunction<T> rank, final Predicate<T> safe) {
+        final List<T> remaining = new ArrayList<>(filters);
+        final List<T> ordered = new ArrayList<>(filters.size());
+        while (!remaining.isEmpty()) {
+            int next = 0;
+            for (int k = 1; k < remaining.size(); k++) {
+                final T filter = remaining.get(k);
+                if (safe.test(filter) && rank.applyAsDouble(filter) < rank.applyAsDouble(remaining.get(next)))
+                    next = k;
+            }
+            ordered.add(remaining.remove(next));
+        }
+        return ordered;
+    }
+
+    /**
+     * Only filters that decide on each traverser in isolation commute with their neighbors.
+     */
+    private static boolean isReorderable(final Step<?, ?> step) {
+        if (!step.getLabels().isEmpty() || step instanceof LambdaHolder)
+            return false;
+        if (step instanceof HasStep || step instanceof IsStep || step instanceof ClassFilterStep)
+            return true;
+        if (step instanceof WherePredicateStep || step instanceof TraversalFilterStep || step instanceof NotStep ||
+                step instanceof WhereTraversalStep || step instanceof ConnectiveStep)
+            return !hasSideEffects((TraversalParent) step);
+        return false;
+    }
+
+    private static boolean hasSideEffects(final TraversalParent parent) {
+        for (final Traversal.Admin<?, ?> child : parent.getLocalChildren()) {
+            if (TraversalHelper.hasStepOfAssignableClassRecursively(SIDE_EFFECT_CLASSES, child))
+                return true;
+        }
+        for (final Traversal.Admin<?, ?> child : parent.getGlobalChildren()) {
+            if (TraversalHelper.hasStepOfAssignableClassRecursively(SIDE_EFFECT_CLASSES, child))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Determines if the filter can not throw an exception, in which case it may move ahead of any other filter.
+     */
+    private static boolean isSafeFilter(final Step<?, ?> step) {
+        if (step instanceof HasStep) {
+            for (final HasContainer hasContainer : ((HasStep<?>) step).getHasContainers()) {
+                if (!isSafe(hasContainer))
+                    return false;
+            }
+            return true;
+        }
+        if (step instanceof IsStep) {
+            final P<?> predicate = ((IsStep<?>) step).getPredicate();
+            return isSafe(predicate) || (step.getPreviousStep() instanceof CountGlobalStep && isNumeric(predicate));
+        }
+        if (step instanceof ClassFilterStep)
+            return true;
+        if (step instanceof WherePredicateStep && !((WherePredicateStep<?>) step).getPredicate().map(FilterSelectivityStrategy::isSafe).orElse(true))
+            return false;
+        if (step instanceof WherePredicateStep || step instanceof TraversalFilterStep || step instanceof NotStep ||
+                step instanceof WhereTraversalStep || step instanceof ConnectiveStep)
+            return isSafe((TraversalParent) step);
+        return false;
+    }
+
+    private static boolean isSafe(final TraversalParent parent) {
+        for (final Traversal.Admin<?, ?> child : parent.getLocalChildren()) {
+            for (final Step<?, ?> step : child.getSteps()) {
+                if (!(step instanceof VertexStep || step instanceof EdgeVertexStep || step instanceof EdgeOtherVertexStep ||
+                        step instanceof PropertiesStep || step instanceof IdentityStep ||
+                        step instanceof CountGlobalStep || step instanceof RangeGlobalStep ||
+                        step instanceof WhereTraversalStep.WhereStartStep || step instanceof WhereTraversalStep.WhereEndStep ||
+                        isSafeFilter(step)))
+                    return false;
+            }
+        }
+        return parent.getGlobalChildren().isEmpty();
+    }
+
+    /**
+     * Labels are always strings and the ids of a graph are all of the same type, so comparing them can not fail.
+     */
+    private static boolean isSafe(final HasContainer hasContainer) {
+        return hasContainer.getKey().equals(T.label.getAccessor()) || hasContainer.getKey().equals(T.id.getAccessor()) ||
+                isSafe(hasContainer.getPredicate());
+    }
+
+    /**
+     * Tests for equality can not fail whatever the type of the values that they compare.
+     */
+    private static boolean isSafe(final P<?> predicate) {
+        if (predicate instanceof ConnectiveP) {
+            for (final P<?> p : ((ConnectiveP<?>) predicate).getPredicates()) {
+                if (!isSafe(p))
+                    return false;
+            }
+            return true;
+        }
+        return predicate.getBiPredicate() == Compare.eq || predicate.getBiPredicate() == Compare.neq ||
+                predicate.getBiPredicate() == Contains.within || predicate.getBiPredicate() == Contains.without;
+    }
+
+    /**
+     * Determines if the predicate only compares to numbers, which can not fail on a {@code count()}.
+     */
+    private static boolean isNumeric(final P<?> predicate) {
+        if (predicate instanceof ConnectiveP) {
+            for (final P<?> p : ((ConnectiveP<?>) predicate).getPredicates()) {
+                if (!isNumeric(p))
+                    return false;
+            }
+            return true;
+        }
+        final Object value = predicate.getValue();
+        if (value instanceof Collection) {
+            for (final Object v : (Collection<?>) value) {
+                if (!(v instanceof Number))
+                    return false;
+            }
+            return true;
+        }
+        return value instanceof Number;
+    }
+
+    private static Class<? extends Element> getElementClass(final Step<?, ?> step) {
+        if (step instanceof GraphStep)
+            return ((GraphStep<?, ?>) step).returnsVertex() ? Vertex.class : Edge.class;
+        else if (step instanceof VertexStep)
+            return ((VertexStep<?>) step).returnsVertex() ? Vertex.class : Edge.class;
+        else if (step instanceof EdgeVertexStep || step instanceof EdgeOtherVertexStep)
+            return Vertex.class;
+        else if (step instanceof FilterStep)
+            return getElementClass(step.getPreviousStep());
+        return null;
+    }
+
+    @Override
+    public Set<Class<? extends Step>> getApplicableStepClasses() {
+        return STEP_CLASSES;
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPost() {
+        return POSTS;
+    }
+
+    public static FilterSelectivityStrategy instance() {
+        return INSTANCE;
+    }
+
+    ///////////
+
+    private static final class Ranked {
+        private final Step<?, ?> step;
+        private final double rank;
+
+        private Ranked(final Step<?, ?> step, final double rank) {
+            this.step = step;
+            this.rank = rank;
+        }
+    }
+
+    /**
+     * Estimates the cost and the selectivity of filters from the {@link GraphStatistics} of the graph.
+     */
+    private static final class Estimator {
+        private final GraphStatistics statistics;
+
+        private Estimator(final GraphStatistics statistics) {
+            this.statistics = statistics;
+        }
+
+        /**
+         * The expected cost of the filter per traverser that it filters out.
+         */
+        private double rank(final Step<?, ?> step, final Class<? extends Element> elementClass) {
+            final double selectivity = this.selectivity(step, elementClass);
+            return selectivity >= 1.0d ? Double.MAX_VALUE : this.cost(step) / (1.0d - selectivity);
+        }
+
+        private double selectivity(final Step<?, ?> step, final Class<? extends Element> elementClass) {
+            if (!(step instanceof HasStep))
+                return DEFAULT_SELECTIVITY;
+            double selectivity = 1.0d;
+            for (final HasContainer hasContainer : ((HasStep<?>) step).getHasContainers()) {
+                selectivity = selectivity * this.selectivity(elementClass, hasContainer);
+            }
+            return selectivity;
+        }
+
+        private double selectivity(final Class<? extends Element> elementClass, final HasContainer hasContainer) {
+            if (null == elementClass)
+                return DEFAULT_SELECTIVITY;
+            final long total = this.statistics.estimateCount(elementClass);
+            if (total <= 0)
+                return DEFAULT_SELECTIVITY;
+            final String key = hasContainer.getKey();
+            if (key.equals(T.id.getAccessor()))
+                return Math.min(1.0d, (double) this.values(hasContainer) / (double) total);
+            long count = 0l;
+            if (hasContainer.getBiPredicate() == Compare.eq && null != hasContainer.getValue())
+                count = this.count(elementClass, key, hasContainer.getValue());
+            else if (hasContainer.getBiPredicate() == Contains.within && hasContainer.getValue() instanceof Collection) {
+                for (final Object value : (Collection<?>) hasContainer.getValue()) {
+                    final long c = null == value ? GraphStatistics.UNKNOWN : this.count(elementClass, key, value);
+                    if (c < 0) {
+                        count = GraphStatistics.UNKNOWN;
+                        break;
+                    }
+                    count = count + c;
+                }
+            } else
+                return DEFAULT_SELECTIVITY;
+            if (count >= 0)
+                return Math.min(1.0d, (double) count / (double) total);
+            return this.statistics.isIndexed(elementClass, key) ? INDEXED_SELECTIVITY : DEFAULT_SELECTIVITY;
+        }
+
+        private long count(final Class<? extends Element> elementClass, final String key, final Object value) {
+            if (key.equals(T.label.getAccessor()))
+                return this.statistics.estimateCount(elementClass, value.toString());
+            else if (key.equals(T.key.getAccessor()) || key.equals(T.value.getAccessor()))
+                return GraphStatistics.UNKNOWN;
+            return this.statistics.estimateCount(elementClass, key, value);
+        }
+
+        private long values(final HasContainer hasContainer) {
+            if (hasContainer.getBiPredicate() == Contains.within && hasContainer.getValue() instanceof Collection)
+                return ((Collection<?>) hasContainer.getValue()).size();
+            return 1l;
+        }
+
+        /**
+         * The expected number of steps a traverser passes through in order to be filtered.
+         */
+        private double cost(final Step<?, ?> step) {
+            double cost = 1.0d;
+            if (step instanceof TraversalParent) {
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                    cost = cost + this.cost(child);
+                }
+            }
+            return cost;
+        }
+
+        private double cost(final Traversal.Admin<?, ?> traversal) {
+            double cost = 0.0d;
+            double traversers = 1.0d;
+            for (final Step<?, ?> step : traversal.getSteps()) {
+                cost = cost + traversers * this.cost(step);
+                if (step instanceof VertexStep) {
+                    final VertexStep<?> vertexStep = (VertexStep<?>) step;
+                    traversers = traversers * this.degree(vertexStep.getDirection(), vertexStep.getEdgeLabels());
+                } else if (step instanceof EdgeVertexStep && ((EdgeVertexStep) step).getDirection() == Direction.BOTH)
+                    traversers = traversers * 2.0d;
+                else if (step instanceof FlatMapStep)
+                    traversers = traversers * DEFAULT_FAN_OUT;
+            }
+            return cost;
+        }
+
+        /**
+         * The average number of edges that a vertex has in the given direction with the given labels.
+         */
+        private double degree(final Direction direction, final String... edgeLabels) {
+            final long vertices = this.statistics.estimateCount(Vertex.class);
+            long edges = 0l;
+            if (0 == edgeLabels.length)
+                edges = this.statistics.estimateCount(Edge.class);
+            else {
+                for (final String edgeLabel : edgeLabels) {
+                    final long count = this.statistics.estimateCount(Edge.class, edgeLabel);
+                    if (count < 0) {
+                        edges = GraphStatistics.UNKNOWN;
+                        break;
+                    }
+                    edges = edges + count;
+                }
+            }
+            if (vertices <= 0 || edges < 0)
+                return DEFAULT_FAN_OUT;
+            return (double) edges / (double) vertices * (direction == Direction.BOTH ? 2.0d : 1.0d);
+        }
+    }
+}
@@ -18,6 +18,8 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
 
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.MapConfiguration;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
@@ -37,16 +39,27 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequire
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
+ * {@code LazyBarrierStrategy} is an OLTP-only strategy that automatically inserts a {@link NoOpBarrierStep} after every
+ * {@link FlatMapStep} if neither path-tracking nor partial path-tracking is required, and the next step is not the
+ * traversal's last step or a {@link Barrier}. By default the inserted barriers hold up to {@link #MAX_BARRIER_SIZE}
+ * traversers. Barriers that grow or shrink at runtime depending on how well the traversers flowing through them bulk
+ * are enabled with the {@code adaptive} setting of {@link #create(Configuration)}, which also configures the sizes,
+ * the adaptive bounds and the number of start ids that make a {@link GraphStep} worth a barrier.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class LazyBarrierStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
 
     private final boolean IS_TESTING = Boolean.valueOf(System.getProperty("is.testing", "false"));
     private static final LazyBarrierStrategy INSTANCE = new LazyBarrierStrategy();
+    private static final Set<Class<? extends Step>> STEP_CLASSES = new HashSet<>(Arrays.asList(
+            FlatMapStep.class, GraphStep.class));
     private static final Set<Class<? extends OptimizationStrategy>> PRIORS = new HashSet<>(Arrays.asList(
             CountStrategy.class,
             PathRetractionStrategy.class,
@@ -57,10 +70,33 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
             MatchPredicateStrategy.class,
             EarlyLimitStrategy.class));
 
-    private static final int BIG_START_SIZE = 5;
+    private static final int DEFAULT_BIG_START_SIZE = 5;
+    private static final int DEFAULT_MIN_BARRIER_SIZE = 250;
+    private static final int DEFAULT_MAX_ADAPTIVE_BARRIER_SIZE = 25000;
     protected static final int MAX_BARRIER_SIZE = 2500;
 
+    private final int barrierSize;
+    private final boolean adaptive;
+    private final int barrierSizeMin;
+    private final int barrierSizeMax;
+    private final int bigStartSize;
+
     private LazyBarrierStrategy() {
+        this(MAX_BARRIER_SIZE, false, DEFAULT_MIN_BARRIER_SIZE, DEFAULT_MAX_ADAPTIVE_BARRIER_SIZE, DEFAULT_BIG_START_SIZE);
+    }
+
+    private LazyBarrierStrategy(final int barrierSize, final boolean adaptive, final int barrierSizeMin,
+                                final int barrierSizeMax, final int bigStartSize) {
+        if (barrierSize < 1)
+            throw new IllegalArgumentException("The barrier size must be greater than zero: " + barrierSize);
+        if (adaptive && (barrierSizeMin < 1 || barrierSizeMin > barrierSize || barrierSize > barrierSizeMax))
+            throw new IllegalArgumentException(String.format("The adaptive bounds must be positive and contain the barrier size: %s <= %s <= %s",
+                    barrierSizeMin, barrierSize, barrierSizeMax));
+        this.barrierSize = barrierSize;
+        this.adaptive = adaptive;
+        this.barrierSizeMin = barrierSizeMin;
+        this.barrierSizeMax = barrierSizeMax;
+        this.bigStartSize = bigStartSize;
     }
 
     @Override
@@ -84,13 +120,15 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
             if (step instanceof FlatMapStep &&
                     !(step instanceof VertexStep && ((VertexStep) step).returnsEdge()) ||
                     (step instanceof GraphStep &&
-                            (i > 0 || ((GraphStep) step).getIds().length >= BIG_START_SIZE ||
+                            (i > 0 || ((GraphStep) step).getIds().length >= this.bigStartSize ||
                                     (((GraphStep) step).getIds().length == 0 && !(step.getNextStep() instanceof HasStep))))) {
                 if (foundFlatMap && !labeledPath &&
                         !(step.getNextStep() instanceof Barrier) &&
                         !(step.getNextStep() instanceof NoneStep) &&
                         !(step.getNextStep() instanceof EmptyStep)) {
-                    final Step noOpBarrierStep = new NoOpBarrierStep<>(traversal, MAX_BARRIER_SIZE);
+                    final Step noOpBarrierStep = this.adaptive ?
+                            new NoOpBarrierStep<>(traversal, this.barrierSize, this.barrierSizeMin, this.barrierSizeMax) :
+                            new NoOpBarrierStep<>(traversal, this.barrierSize);
                     TraversalHelper.copyLabels(step, noOpBarrierStep, true);
                     TraversalHelper.insertAfterStep(noOpBarrierStep, step, traversal);
                 } else
@@ -108,7 +146,39 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
         return PRIORS;
     }
 
+    @Override
+    public Set<Class<? extends Step>> getApplicableStepClasses() {
+        return STEP_CLASSES;
+    }
+
     public static LazyBarrierStrategy instance() {
         return INSTANCE;
     }
+
+    public static final String BARRIER_SIZE = "barrierSize";
+    public static final String ADAPTIVE = "adaptive";
+    public static final String BARRIER_SIZE_MIN = "barrierSizeMin";
+    public static final String BARRIER_SIZE_MAX = "barrierSizeMax";
+    public static final String BIG_START_SIZE = "bigStartSize";
+
+    public static LazyBarrierStrategy create(final Configuration configuration) {
+        final int barrierSize = configuration.getInt(BARRIER_SIZE, MAX_BARRIER_SIZE);
+        return new LazyBarrierStrategy(barrierSize,
+                configuration.getBoolean(ADAPTIVE, false),
+                configuration.getInt(BARRIER_SIZE_MIN, Math.min(DEFAULT_MIN_BARRIER_SIZE, barrierSize)),
+                configuration.getInt(BARRIER_SIZE_MAX, Math.max(DEFAULT_MAX_ADAPTIVE_BARRIER_SIZE, barrierSize)),
+                configuration.getInt(BIG_START_SIZE, DEFAULT_BIG_START_SIZE));
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, LazyBarrierStrategy.class.getCanonicalName());
+        map.put(BARRIER_SIZE, this.barrierSize);
+        map.put(ADAPTIVE, this.adaptive);
+        map.put(BARRIER_SIZE_MIN, this.barrierSizeMin);
+        map.put(BARRIER_SIZE_MAX, this.barrierSizeMax);
+        map.put(BIG_START_SIZE, this.bigStartSize);
+        return new MapConfiguration(map);
+    }
 }
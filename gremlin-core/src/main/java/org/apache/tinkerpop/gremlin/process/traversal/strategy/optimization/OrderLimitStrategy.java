@@ -35,6 +35,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversal
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -45,6 +46,7 @@ import java.util.Set;
 public final class OrderLimitStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
 
     private static final OrderLimitStrategy INSTANCE = new OrderLimitStrategy();
+    private static final Set<Class<? extends Step>> STEP_CLASSES = Collections.singleton(OrderGlobalStep.class);
 
     private static Set<Class<? extends Step>> LEGAL_STEPS = new HashSet<>(
             Arrays.asList(LabelStep.class,
@@ -81,6 +83,11 @@ public final class OrderLimitStrategy extends AbstractTraversalStrategy<Traversa
         }
     }
 
+    @Override
+    public Set<Class<? extends Step>> getApplicableStepClasses() {
+        return STEP_CLASSES;
+    }
+
     public static OrderLimitStrategy instance() {
         return INSTANCE;
     }
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicateStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * {@code WhereJoinStrategy} executes {@link WhereTraversalStep} and {@link WherePredicateStep} as hash-joins when the
+ * where()-traversal (or the by()-modulators of the where()-predicate) is uncorrelated except for the labels that are
+ * joined. Rather than re-running the where()-traversal for every traverser, its ends for each distinct start value
+ * are collected into a hash table that is built once per batch of traversers and probed with the value of the end
+ * label. This pays off when many traversers share start values, but as the ends of a start value are always fully
+ * computed it is not registered by default.
+ * <p/>
+ *
+ * @example <pre>
+ * __.as("a").out().as("b").where(__.as("a").out("knows").as("b"))   // out("knows") is computed once per "a" per batch
+ * __.as("a").out().as("b").where("a", gt("b")).by("age")            // "age" is read once per vertex per batch
+ * </pre>
+ */
+public final class WhereJoinStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+
+    private static final WhereJoinStrategy INSTANCE = new WhereJoinStrategy();
+    private static final Set<Class<? extends Step>> STEP_CLASSES = new HashSet<>(Arrays.asList(
+            WhereTraversalStep.class, WherePredicateStep.class));
+    private static final Set<Class<? extends OptimizationStrategy>> PRIORS = new HashSet<>(Arrays.asList(
+            InlineFilterStrategy.class, MatchPredicateStrategy.class));
+
+    private WhereJoinStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof WhereTraversalStep) {
+                final WhereTraversalStep<?> whereStep = (WhereTraversalStep<?>) step;
+                if (whereStep.isHashJoinable())
+                    whereStep.setHashJoin(true);
+            } else if (step instanceof WherePredicateStep) {
+                final WherePredicateStep<?> whereStep = (WherePredicateStep<?>) step;
+                if (whereStep.isHashJoinable())
+                    whereStep.setHashJoin(true);
+            }
+        }
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    @Override
+    public Set<Class<? extends Step>> getApplicableStepClasses() {
+        return STEP_CLASSES;
+    }
+
+    public static WhereJoinStrategy instance() {
+        return INSTANCE;
+    }
+}
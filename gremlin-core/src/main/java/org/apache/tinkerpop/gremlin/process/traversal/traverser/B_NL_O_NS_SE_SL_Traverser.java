@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.LabelledCounter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Stack;
+
+/**
+ * A {@link B_O_NS_SE_SL_Traverser} that supports nested loops. Unlike {@link B_NL_O_S_SE_SL_Traverser}, the innermost
+ * loop counter is held in the primitive {@code loops} field inherited from {@link B_O_S_SE_SL_Traverser} and only the
+ * enclosing loops are kept as {@link LabelledCounter} instances. The stack of enclosing loops and the map of named
+ * loops are only allocated once a second loop is entered or a loop is named, so a traverser that is only ever in a
+ * single {@code repeat()} at a time never allocates loop state.
+ */
+public class B_NL_O_NS_SE_SL_Traverser<T> extends B_O_NS_SE_SL_Traverser<T> {
+
+    protected String loopLabel = null;
+    protected Stack<LabelledCounter> outerLoops = null;
+    protected Map<String, LabelledCounter> outerLoopNames = null;
+
+    protected B_NL_O_NS_SE_SL_Traverser() {
+    }
+
+    public B_NL_O_NS_SE_SL_Traverser(final T t, final Step<T, ?> step, final long initialBulk) {
+        super(t, step, initialBulk);
+    }
+
+    /////////////////
+
+    @Override
+    public int loops(final String loopName) {
+        if (loopName == null || loopName.equals(this.loopName))
+            return this.loops;
+        else if (null != this.outerLoopNames && this.outerLoopNames.containsKey(loopName))
+            return this.outerLoopNames.get(loopName).count();
+        else
+            throw new IllegalArgumentException("Loop name not defined: " + loopName);
+    }
+
+    @Override
+    public void initialiseLoops(final String stepLabel, final String loopName) {
+        if (null == this.loopLabel || !this.loopLabel.equals(stepLabel)) {
+            if (null != this.loopLabel) {
+                final LabelledCounter lc = new LabelledCounter(this.loopLabel, this.loops);
+                if (null == this.outerLoops)
+                    this.outerLoops = new Stack<>();
+                this.outerLoops.push(lc);
+                if (null != this.loopName) {
+                    if (null == this.outerLoopNames)
+                        this.outerLoopNames = new HashMap<>();
+                    this.outerLoopNames.put(this.loopName, lc);
+                }
+            }
+            this.loopLabel = stepLabel;
+            this.loopName = loopName;
+            this.loops = 0;
+        }
+    }
+
+    @Override
+    public void resetLoops() {
+        if (null == this.outerLoops || this.outerLoops.isEmpty()) {
+            this.loopLabel = null;
+            this.loopName = null;
+            this.loops = 0;
+        } else {
+            final LabelledCounter lc = this.outerLoops.pop();
+            this.loopLabel = lc.getLabel();
+            this.loops = (short) lc.count();
+            this.loopName = null;
+            if (null != this.outerLoopNames) {
+                for (final Map.Entry<String, LabelledCounter> entry : this.outerLoopNames.entrySet()) {
+                    if (entry.getValue() == lc) {
+                        this.loopName = entry.getKey();
+                        break;
+                    }
+                }
+                if (null != this.loopName)
+                    this.outerLoopNames.remove(this.loopName);
+            }
+        }
+    }
+
+    /////////////////
+
+    @Override
+    public <R> Admin<R> split(final R r, final Step<T, R> step) {
+        final B_NL_O_NS_SE_SL_Traverser<R> clone = (B_NL_O_NS_SE_SL_Traverser<R>) super.split(r, step);
+        clone.copyOuterLoops(this);
+        return clone;
+    }
+
+    @Override
+    public Admin<T> split() {
+        final B_NL_O_NS_SE_SL_Traverser<T> clone = (B_NL_O_NS_SE_SL_Traverser<T>) super.split();
+        clone.copyOuterLoops(this);
+        return clone;
+    }
+
+    private void copyOuterLoops(final B_NL_O_NS_SE_SL_Traverser<?> other) {
+        if (null == other.outerLoops || other.outerLoops.isEmpty()) {
+            this.outerLoops = null;
+            this.outerLoopNames = null;
+            return;
+        }
+
+        this.outerLoops = new Stack<>();
+        for (final LabelledCounter lc : other.outerLoops)
+            this.outerLoops.push((LabelledCounter) lc.clone());
+
+        if (null != other.outerLoopNames && !other.outerLoopNames.isEmpty()) {
+            this.outerLoopNames = new HashMap<>(other.outerLoopNames.size());
+            for (final Map.Entry<String, LabelledCounter> entry : other.outerLoopNames.entrySet()) {
+                final int idx = other.outerLoops.indexOf(entry.getValue());
+                if (idx != -1)
+                    this.outerLoopNames.put(entry.getKey(), this.outerLoops.get(idx));
+            }
+        } else {
+            this.outerLoopNames = null;
+        }
+    }
+
+    /////////////////
+
+    private boolean hasOuterLoops() {
+        return null != this.outerLoops && !this.outerLoops.isEmpty();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof B_NL_O_NS_SE_SL_Traverser)) return false;
+        if (!super.equals(o)) return false;
+
+        final B_NL_O_NS_SE_SL_Traverser<?> that = (B_NL_O_NS_SE_SL_Traverser<?>) o;
+
+        if (!Objects.equals(this.loopLabel, that.loopLabel)) return false;
+        if (this.hasOuterLoops() != that.hasOuterLoops()) return false;
+        return !this.hasOuterLoops() || this.outerLoops.equals(that.outerLoops);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + Objects.hashCode(this.loopLabel);
+        result = 31 * result + (this.hasOuterLoops() ? this.outerLoops.hashCode() : 0);
+        return result;
+    }
+}
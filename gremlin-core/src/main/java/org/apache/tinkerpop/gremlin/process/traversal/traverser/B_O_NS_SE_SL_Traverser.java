@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * A {@link B_O_S_SE_SL_Traverser} that holds {@code Long} and {@code Double} sack values in primitive fields. Sacks
+ * of any other type are held as an {@code Object} exactly as they are in the parent class. Arithmetic sack updates
+ * that go through {@link #sack(Operator, Object)} and {@link Operator#sum} merges are computed without boxing,
+ * following the type promotion rules of {@link org.apache.tinkerpop.gremlin.util.NumberHelper}.
+ */
+public class B_O_NS_SE_SL_Traverser<T> extends B_O_S_SE_SL_Traverser<T> {
+
+    protected static final byte OBJECT_SACK = 0;
+    protected static final byte LONG_SACK = 1;
+    protected static final byte DOUBLE_SACK = 2;
+
+    protected byte sackType = OBJECT_SACK;
+    protected long longSack = 0l;
+    protected double doubleSack = 0d;
+
+    protected B_O_NS_SE_SL_Traverser() {
+    }
+
+    public B_O_NS_SE_SL_Traverser(final T t, final Step<T, ?> step, final long initialBulk) {
+        super(t, step, initialBulk);
+        if (null != this.sack)
+            this.sack(this.sack);
+    }
+
+    /////////////////
+
+    @Override
+    public <S> S sack() {
+        switch (this.sackType) {
+            case LONG_SACK:
+                return (S) Long.valueOf(this.longSack);
+            case DOUBLE_SACK:
+                return (S) Double.valueOf(this.doubleSack);
+            default:
+                return (S) this.sack;
+        }
+    }
+
+    @Override
+    public <S> void sack(final S object) {
+        if (object instanceof Long) {
+            this.sackType = LONG_SACK;
+            this.longSack = (Long) object;
+            this.sack = null;
+        } else if (object instanceof Double) {
+            this.sackType = DOUBLE_SACK;
+            this.doubleSack = (Double) object;
+            this.sack = null;
+        } else {
+            this.sackType = OBJECT_SACK;
+            this.sack = object;
+        }
+    }
+
+    /**
+     * Applies the {@link Operator} to the current sack value and the provided value without boxing either of them.
+     * Only {@link Operator#sum}, {@link Operator#minus} and {@link Operator#mult} over primitive sacks and
+     * {@code Byte}, {@code Short}, {@code Integer}, {@code Long}, {@code Float} or {@code Double} values are
+     * handled here.
+     *
+     * @return {@code true} if the sack was updated and {@code false} if the caller must apply the operator itself
+     */
+    public boolean sack(final Operator operator, final Object value) {
+        if (OBJECT_SACK == this.sackType || !(value instanceof Number))
+            return false;
+
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+            return this.apply(operator, true, ((Number) value).longValue(), 0d);
+        else if (value instanceof Double || value instanceof Float)
+            return this.apply(operator, false, 0l, ((Number) value).doubleValue());
+        else
+            return false;
+    }
+
+    private boolean apply(final Operator operator, final boolean integral, final long longValue, final double doubleValue) {
+        if (operator != Operator.sum && operator != Operator.minus && operator != Operator.mult)
+            return false;
+
+        // NaN is not considered a number when NumberHelper promotes types so leave that case to the slow path
+        if ((!integral && Double.isNaN(doubleValue)) || (DOUBLE_SACK == this.sackType && Double.isNaN(this.doubleSack)))
+            return false;
+
+        if (LONG_SACK == this.sackType && integral) {
+            this.longSack = operator == Operator.sum ? this.longSack + longValue :
+                    operator == Operator.minus ? this.longSack - longValue : this.longSack * longValue;
+        } else {
+            final double current = LONG_SACK == this.sackType ? this.longSack : this.doubleSack;
+            final double other = integral ? longValue : doubleValue;
+            this.doubleSack = operator == Operator.sum ? current + other :
+                    operator == Operator.minus ? current - other : current * other;
+            this.sackType = DOUBLE_SACK;
+        }
+        return true;
+    }
+
+    /////////////////
+
+    @Override
+    public <R> Traverser.Admin<R> split(final R r, final Step<T, R> step) {
+        final B_O_NS_SE_SL_Traverser<R> clone = (B_O_NS_SE_SL_Traverser<R>) super.split(r, step);
+        clone.splitPrimitiveSack();
+        return clone;
+    }
+
+    @Override
+    public Traverser.Admin<T> split() {
+        final B_O_NS_SE_SL_Traverser<T> clone = (B_O_NS_SE_SL_Traverser<T>) super.split();
+        clone.splitPrimitiveSack();
+        return clone;
+    }
+
+    private void splitPrimitiveSack() {
+        if (OBJECT_SACK != this.sackType) {
+            final UnaryOperator splitter = this.sideEffects.getSackSplitter();
+            if (null != splitter)
+                this.sack(splitter.apply(this.sack()));
+        }
+    }
+
+    @Override
+    public void merge(final Traverser.Admin<?> other) {
+        super.merge(other);
+        if (OBJECT_SACK != this.sackType) {
+            final BinaryOperator merger = this.sideEffects.getSackMerger();
+            if (null != merger && !this.mergePrimitiveSack(merger, other))
+                this.sack(merger.apply(this.sack(), other.sack()));
+        }
+    }
+
+    private boolean mergePrimitiveSack(final BinaryOperator merger, final Traverser.Admin<?> other) {
+        if (!(merger instanceof Operator) || !(other instanceof B_O_NS_SE_SL_Traverser))
+            return false;
+        final B_O_NS_SE_SL_Traverser<?> that = (B_O_NS_SE_SL_Traverser<?>) other;
+        return OBJECT_SACK != that.sackType &&
+                this.apply((Operator) merger, LONG_SACK == that.sackType, that.longSack, that.doubleSack);
+    }
+
+    /////////////////
+
+    @Override
+    protected boolean hasSack() {
+        return OBJECT_SACK != this.sackType || super.hasSack();
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        return object instanceof B_O_NS_SE_SL_Traverser && super.equals(object);
+    }
+}
@@ -124,9 +124,17 @@ public class B_O_S_SE_SL_Traverser<T> extends B_O_Traverser<T> {
 
     /////////////////
 
+    /**
+     * Determines if the traverser currently holds a sack value. Subclasses that store the sack outside of the
+     * {@code sack} field must override this so that bulking decisions remain correct.
+     */
+    protected boolean hasSack() {
+        return null != this.sack;
+    }
+
     final boolean carriesUnmergeableSack() {
         // hmmm... serialization in OLAP destroys the transient sideEffects
-        return null != this.sack && (null == this.sideEffects || null == this.sideEffects.getSackMerger());
+        return hasSack() && (null == this.sideEffects || null == this.sideEffects.getSackMerger());
     }
 
     @Override
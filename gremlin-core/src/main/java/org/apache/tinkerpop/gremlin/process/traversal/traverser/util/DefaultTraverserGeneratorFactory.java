@@ -22,7 +22,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_O_P_S_SE_SL_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_NL_O_P_S_SE_SL_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_O_S_SE_SL_TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_NS_SE_SL_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_S_SE_SL_TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_NL_O_NS_SE_SL_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_NL_O_S_SE_SL_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_NL_O_S_SE_SL_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_TraverserGenerator;
@@ -75,9 +77,19 @@ public class DefaultTraverserGeneratorFactory implements TraverserGeneratorFacto
             if (B_O_TraverserGenerator.instance().getProvidedRequirements().containsAll(requirements))
                 return B_O_TraverserGenerator.instance();
 
+            // sacks are held unboxed when they are Long or Double, which costs a few bytes per traverser so only
+            // use that traverser when a sack is actually required
+            if (requirements.contains(TraverserRequirement.SACK) &&
+                    B_O_NS_SE_SL_TraverserGenerator.instance().getProvidedRequirements().containsAll(requirements))
+                return B_O_NS_SE_SL_TraverserGenerator.instance();
+
             if (B_O_S_SE_SL_TraverserGenerator.instance().getProvidedRequirements().containsAll(requirements))
                 return B_O_S_SE_SL_TraverserGenerator.instance();
 
+            // keeps the innermost loop counter unboxed and only allocates loop state for enclosing loops
+            if (B_NL_O_NS_SE_SL_TraverserGenerator.instance().getProvidedRequirements().containsAll(requirements))
+                return B_NL_O_NS_SE_SL_TraverserGenerator.instance();
+
             if (B_NL_O_S_SE_SL_TraverserGenerator.instance().getProvidedRequirements().containsAll(requirements))
                 return B_NL_O_S_SE_SL_TraverserGenerator.instance();
 
@@ -63,6 +63,8 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
     protected Set<TraverserRequirement> requirements;
     protected boolean locked = false;
     protected Bytecode bytecode; // TODO: perhaps make transient until 3.3.0?
+    // built on demand for strategy application and dropped whenever a step is added or removed
+    private transient StepIndex stepIndex;
 
 
     private DefaultTraversal(final Graph graph, final TraversalStrategies traversalStrategies, final Bytecode bytecode) {
@@ -170,6 +172,16 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
         return this.unmodifiableSteps;
     }
 
+    /**
+     * Gets the {@link StepIndex} of the current steps of this traversal, building it if a step was added or removed
+     * since it was last requested.
+     */
+    public StepIndex getStepIndex() {
+        if (null == this.stepIndex)
+            this.stepIndex = new StepIndex(this.steps);
+        return this.stepIndex;
+    }
+
     @Override
     public Traverser.Admin<E> nextTraverser() {
         try {
@@ -246,6 +258,7 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
             clone.lastTraverser = EmptyTraverser.instance();
             clone.steps = new ArrayList<>();
             clone.unmodifiableSteps = Collections.unmodifiableList(clone.steps);
+            clone.stepIndex = null;
             clone.sideEffects = this.sideEffects.clone();
             clone.strategies = this.strategies;
             clone.bytecode = this.bytecode.clone();
@@ -294,6 +307,7 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
         if (this.locked) throw Exceptions.traversalIsLocked();
         step.setId(this.stepPosition.nextXId());
         this.steps.add(index, step);
+        this.stepIndex = null;
         final Step previousStep = this.steps.size() > 0 && index != 0 ? steps.get(index - 1) : null;
         final Step nextStep = this.steps.size() > index + 1 ? steps.get(index + 1) : null;
         step.setPreviousStep(null != previousStep ? previousStep : EmptyStep.instance());
@@ -311,6 +325,7 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
         final Step nextStep = this.steps.size() > index + 1 ? steps.get(index + 1) : null;
         //this.steps.get(index).setTraversal(EmptyTraversal.instance());
         this.steps.remove(index);
+        this.stepIndex = null;
         if (null != previousStep) previousStep.setNextStep(null == nextStep ? EmptyStep.instance() : nextStep);
         if (null != nextStep) nextStep.setPreviousStep(null == previousStep ? EmptyStep.instance() : previousStep);
         return (Traversal.Admin<S2, E2>) this;
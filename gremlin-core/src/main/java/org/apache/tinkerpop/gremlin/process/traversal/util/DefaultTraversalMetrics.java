@@ -171,6 +171,7 @@ public final class DefaultTraversalMetrics implements TraversalMetrics, Serializ
 
     private void handleNestedTraversals(final Traversal.Admin traversal, final MutableMetrics parentMetrics, final boolean onGraphComputer) {
         long prevDur = 0;
+        long prevAllocated = 0;
         for (int i = 0; i < traversal.getSteps().size(); i++) {
             final Step step = (Step) traversal.getSteps().get(i);
             if (!(step instanceof ProfileStep))
@@ -184,9 +185,18 @@ public final class DefaultTraversalMetrics implements TraversalMetrics, Serializ
                 if (!onGraphComputer) {
                     // subtract upstream duration.
                     final long durBeforeAdjustment = metrics.getDuration(TimeUnit.NANOSECONDS);
-                    // adjust duration
-                    metrics.setDuration(metrics.getDuration(TimeUnit.NANOSECONDS) - prevDur, TimeUnit.NANOSECONDS);
+                    // adjust duration - extrapolated durations of sampled steps may overshoot their upstream
+                    final long dur = metrics.getDuration(TimeUnit.NANOSECONDS) - prevDur;
+                    final boolean sampled = null != metrics.getAnnotation(SAMPLE_COUNT_KEY);
+                    metrics.setDuration(sampled ? Math.max(0, dur) : dur, TimeUnit.NANOSECONDS);
                     prevDur = durBeforeAdjustment;
+
+                    // allocations are measured like durations and include those of the upstream steps
+                    final Object allocated = metrics.getAnnotation(ALLOCATED_BYTES_KEY);
+                    if (allocated instanceof Long) {
+                        metrics.setAnnotation(ALLOCATED_BYTES_KEY, Math.max(0, (Long) allocated - prevAllocated));
+                        prevAllocated = (Long) allocated;
+                    }
                 }
 
                 if (parentMetrics != null) {
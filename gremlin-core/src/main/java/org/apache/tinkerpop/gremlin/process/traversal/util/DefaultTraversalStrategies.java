@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.util;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
@@ -81,10 +82,22 @@ public class DefaultTraversalStrategies implements TraversalStrategies {
     @Override
     public void applyStrategies(final Traversal.Admin<?, ?> traversal) {
         for (final TraversalStrategy<?> traversalStrategy : this.traversalStrategies) {
-            traversalStrategy.apply(traversal);
+            if (isApplicable(traversalStrategy, traversal))
+                ExecutionCounters.applyStrategy(traversalStrategy, traversal);
         }
     }
 
+    private static boolean isApplicable(final TraversalStrategy<?> traversalStrategy, final Traversal.Admin<?, ?> traversal) {
+        final Set<Class<? extends Step>> stepClasses = traversalStrategy.getApplicableStepClasses();
+        if (stepClasses.isEmpty())
+            return true;
+        for (final Class<? extends Step> stepClass : stepClasses) {
+            if (TraversalHelper.hasStepOfAssignableClass(stepClass, traversal))
+                return true;
+        }
+        return false;
+    }
+
     @Override
     public DefaultTraversalStrategies clone() {
         try {
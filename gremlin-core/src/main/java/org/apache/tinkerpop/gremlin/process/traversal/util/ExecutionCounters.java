@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide counters that are always collected (unlike the metrics of {@code profile()}) to give visibility into
+ * how traversals execute across many requests: the number of traversers each {@link Step} class emits, how often
+ * each {@link TraversalStrategy} is applied and how often it changes the steps of a traversal, and any counters that
+ * graph providers add (for instance {@link #FULL_SCANS} for unindexed lookups). The counters are striped
+ * {@link LongAdder} instances so that incrementing them is cheap under contention. Collection can be disabled with
+ * the {@code tinkerpop.executionCounters} system property.
+ * <p/>
+ * Counters are identified by a group and a name and are created on first use. Consumers such as Gremlin Server
+ * publish them by registering a {@link Listener} which is notified of existing and new counters.
+ */
+public final class ExecutionCounters {
+
+    public static final String ENABLED_PROPERTY = "tinkerpop.executionCounters";
+
+    /**
+     * The group of the counters of the traversers emitted per {@link Step} class.
+     */
+    public static final String STEP_TRAVERSERS = "step-traversers";
+
+    /**
+     * The group of the counters of the applications per {@link TraversalStrategy} class.
+     */
+    public static final String STRATEGY_APPLICATIONS = "strategy-applications";
+
+    /**
+     * The group of the counters of the applications per {@link TraversalStrategy} class that changed the steps of
+     * the traversal.
+     */
+    public static final String STRATEGY_MODIFICATIONS = "strategy-modifications";
+
+    /**
+     * The group for providers to count lookups that could not use an index, named by the type of element scanned.
+     */
+    public static final String FULL_SCANS = "full-scans";
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+
+    private static final Map<String, Map<String, LongAdder>> COUNTERS = new ConcurrentHashMap<>();
+    private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private static final ClassValue<LongAdder> STEP_COUNTERS = new ClassValue<LongAdder>() {
+        @Override
+        protected LongAdder computeValue(final Class<?> stepClass) {
+            return counter(STEP_TRAVERSERS, stepClass.getSimpleName());
+        }
+    };
+
+    private ExecutionCounters() {
+    }
+
+    /**
+     * Receives the counters so that they can be published by some metrics system.
+     */
+    public interface Listener {
+
+        /**
+         * Called once for each counter, also for those that existed before the listener was registered.
+         */
+        public void counterAdded(final String group, final String name, final LongAdder counter);
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Gets the counter of the given group and name, creating it if it does not exist.
+     */
+    public static LongAdder counter(final String group, final String name) {
+        final Map<String, LongAdder> counters = COUNTERS.computeIfAbsent(group, g -> new ConcurrentHashMap<>());
+        LongAdder counter = counters.get(name);
+        if (null == counter) {
+            final LongAdder created = new LongAdder();
+            counter = counters.putIfAbsent(name, created);
+            if (null == counter) {
+                counter = created;
+                for (final Listener listener : LISTENERS) {
+                    listener.counterAdded(group, name, created);
+                }
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * Gets the counter of the traversers emitted by steps of the given class.
+     */
+    public static LongAdder stepCounter(final Class<? extends Step> stepClass) {
+        return STEP_COUNTERS.get(stepClass);
+    }
+
+    /**
+     * Applies the strategy to the traversal and counts the application and, if the steps of the traversal changed, the
+     * modification.
+     */
+    public static void applyStrategy(final TraversalStrategy<?> strategy, final Traversal.Admin<?, ?> traversal) {
+        if (!ENABLED) {
+            strategy.apply(traversal);
+            return;
+        }
+        final int before = stepsFingerprint(traversal);
+        strategy.apply(traversal);
+        final String name = strategy.getClass().getSimpleName();
+        counter(STRATEGY_APPLICATIONS, name).increment();
+        if (before != stepsFingerprint(traversal))
+            counter(STRATEGY_MODIFICATIONS, name).increment();
+    }
+
+    private static int stepsFingerprint(final Traversal.Admin<?, ?> traversal) {
+        final List<Step> steps = traversal.getSteps();
+        int fingerprint = steps.size();
+        for (int i = 0; i < steps.size(); i++) {
+            fingerprint = 31 * fingerprint + System.identityHashCode(steps.get(i));
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Gets the current values of the counters of a group sorted by name.
+     */
+    public static Map<String, Long> snapshot(final String group) {
+        final Map<String, LongAdder> counters = COUNTERS.get(group);
+        if (null == counters)
+            return Collections.emptyMap();
+        final Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Registers the listener and notifies it of all existing counters.
+     */
+    public static void addListener(final Listener listener) {
+        LISTENERS.add(listener);
+        COUNTERS.forEach((group, counters) -> counters.forEach((name, counter) -> listener.counterAdded(group, name, counter)));
+    }
+
+    public static void removeListener(final Listener listener) {
+        LISTENERS.remove(listener);
+    }
+}
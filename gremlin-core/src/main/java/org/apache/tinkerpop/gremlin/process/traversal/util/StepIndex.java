@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index of the steps of a single traversal by their class. {@link DefaultTraversal} builds it lazily from its
+ * steps and drops it whenever a step is added or removed, so that the many class-based step lookups strategies make
+ * during {@link DefaultTraversalStrategies#applyStrategies(org.apache.tinkerpop.gremlin.process.traversal.Traversal.Admin)}
+ * do not have to walk the step list each time. The index does not cover child traversals, which hold their own.
+ */
+public final class StepIndex {
+
+    private final Step[] steps;
+    private final Set<Class> classes = new HashSet<>();
+    private final List<Step> parents;
+    private final Map<Class, List<Step>> assignable = new ConcurrentHashMap<>();
+
+    public StepIndex(final List<Step> steps) {
+        this.steps = steps.toArray(new Step[steps.size()]);
+        final List<Step> parents = new ArrayList<>();
+        for (final Step step : this.steps) {
+            this.classes.add(step.getClass());
+            if (step instanceof TraversalParent)
+                parents.add(step);
+        }
+        this.parents = parents.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(parents);
+    }
+
+    /**
+     * Gets the steps that are instances of the given class in traversal order. The returned list is shared and can
+     * not be modified.
+     */
+    public <S> List<S> getStepsOfAssignableClass(final Class<S> stepClass) {
+        List<Step> steps = this.assignable.get(stepClass);
+        if (null == steps) {
+            steps = Collections.emptyList();
+            for (final Step step : this.steps) {
+                if (stepClass.isAssignableFrom(step.getClass())) {
+                    if (steps.isEmpty())
+                        steps = new ArrayList<>();
+                    steps.add(step);
+                }
+            }
+            steps = steps.isEmpty() ? steps : Collections.unmodifiableList(steps);
+            this.assignable.put(stepClass, steps);
+        }
+        return (List<S>) steps;
+    }
+
+    public boolean hasStepOfClass(final Class stepClass) {
+        return this.classes.contains(stepClass);
+    }
+
+    public boolean hasStepOfAssignableClass(final Class stepClass) {
+        return !this.getStepsOfAssignableClass(stepClass).isEmpty();
+    }
+
+    public boolean hasStepOfAssignableClass(final Collection<? extends Class> stepClasses) {
+        for (final Class stepClass : stepClasses) {
+            if (this.hasStepOfAssignableClass(stepClass))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the steps that are {@link TraversalParent}s in traversal order, which are the only steps recursive lookups
+     * need to descend into.
+     */
+    public List<Step> getParents() {
+        return this.parents;
+    }
+}
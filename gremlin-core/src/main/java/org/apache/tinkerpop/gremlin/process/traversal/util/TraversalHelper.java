@@ -27,16 +27,24 @@ import org.apache.tinkerpop.gremlin.process.traversal.lambda.ElementValueTravers
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.TokenTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Ranging;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.CoinStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ConnectiveStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.NotStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.SampleGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicateStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.LabelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.LoopsStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertyMapStep;
@@ -47,6 +55,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.StartStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -92,6 +101,30 @@ public final class TraversalHelper {
         return true;
     }
 
+    /**
+     * Determines if the steps from {@code fromStep} up to, but excluding, {@code toStep} compute their output from
+     * nothing but the object of the incoming traverser. Such steps are unlabeled and do not access paths, scoped
+     * variables, sacks, loop counters or side-effects, do not use lambdas, randomness or ranges (which count across
+     * traversers) and do not mutate the graph. Their results can therefore be computed once per distinct object and
+     * reused.
+     */
+    public static boolean isFunctionOfObject(final Step<?, ?> fromStep, final Step<?, ?> toStep) {
+        final Predicate<Step> impure = step -> step instanceof LambdaHolder || step instanceof Mutating ||
+                step instanceof SideEffectCapable || step instanceof Scoping || step instanceof PathProcessor ||
+                step instanceof Ranging || step instanceof CoinStep || step instanceof SampleGlobalStep ||
+                step instanceof LoopsStep;
+        for (Step<?, ?> step = fromStep; step != toStep && !(step instanceof EmptyStep); step = step.getNextStep()) {
+            if (!step.getLabels().isEmpty() || impure.test(step) ||
+                    (step instanceof TraversalParent && TraversalHelper.anyStepRecursively(impure, (TraversalParent) step)))
+                return false;
+            for (final TraverserRequirement requirement : step.getRequirements()) {
+                if (requirement != TraverserRequirement.OBJECT && requirement != TraverserRequirement.BULK)
+                    return false;
+            }
+        }
+        return true;
+    }
+
     public static boolean isLocalStarGraph(final Traversal.Admin<?, ?> traversal) {
         return 'x' != isLocalStarGraph(traversal, 'v');
     }
@@ -234,6 +267,9 @@ public final class TraversalHelper {
     }
 
     public static <S> List<S> getStepsOfClass(final Class<S> stepClass, final Traversal.Admin<?, ?> traversal) {
+        final StepIndex index = stepIndex(traversal);
+        if (null != index && !index.hasStepOfClass(stepClass))
+            return new ArrayList<>();
         final List<S> steps = new ArrayList<>();
         for (final Step step : traversal.getSteps()) {
             if (step.getClass().equals(stepClass))
@@ -243,6 +279,9 @@ public final class TraversalHelper {
     }
 
     public static <S> List<S> getStepsOfAssignableClass(final Class<S> stepClass, final Traversal.Admin<?, ?> traversal) {
+        final StepIndex index = stepIndex(traversal);
+        if (null != index)
+            return new ArrayList<>(index.getStepsOfAssignableClass(stepClass));
         final List<S> steps = new ArrayList<>();
         for (final Step step : traversal.getSteps()) {
             if (stepClass.isAssignableFrom(step.getClass()))
@@ -252,11 +291,19 @@ public final class TraversalHelper {
     }
 
     public static <S> Optional<S> getLastStepOfAssignableClass(final Class<S> stepClass, final Traversal.Admin<?, ?> traversal) {
-        final List<S> steps = TraversalHelper.getStepsOfAssignableClass(stepClass, traversal);
+        final StepIndex index = stepIndex(traversal);
+        final List<S> steps = null != index ?
+                index.getStepsOfAssignableClass(stepClass) :
+                TraversalHelper.getStepsOfAssignableClass(stepClass, traversal);
         return steps.size() == 0 ? Optional.empty() : Optional.of(steps.get(steps.size() - 1));
     }
 
     public static <S> Optional<S> getFirstStepOfAssignableClass(final Class<S> stepClass, final Traversal.Admin<?, ?> traversal) {
+        final StepIndex index = stepIndex(traversal);
+        if (null != index) {
+            final List<S> steps = index.getStepsOfAssignableClass(stepClass);
+            return steps.isEmpty() ? Optional.empty() : Optional.of(steps.get(0));
+        }
         for (final Step step : traversal.getSteps()) {
             if (stepClass.isAssignableFrom(step.getClass()))
                 return Optional.of((S) step);
@@ -306,6 +353,9 @@ public final class TraversalHelper {
      * @return {@code true} if the class is found and {@code false} otherwise
      */
     public static boolean hasStepOfClass(final Class stepClass, final Traversal.Admin<?, ?> traversal) {
+        final StepIndex index = stepIndex(traversal);
+        if (null != index)
+            return index.hasStepOfClass(stepClass);
         for (final Step<?, ?> step : traversal.getSteps()) {
             if (step.getClass().equals(stepClass)) {
                 return true;
@@ -322,6 +372,9 @@ public final class TraversalHelper {
      * @return {@code true} if the class is found and {@code false} otherwise
      */
     public static boolean hasStepOfAssignableClass(final Class superClass, final Traversal.Admin<?, ?> traversal) {
+        final StepIndex index = stepIndex(traversal);
+        if (null != index)
+            return index.hasStepOfAssignableClass(superClass);
         for (final Step<?, ?> step : traversal.getSteps()) {
             if (superClass.isAssignableFrom(step.getClass())) {
                 return true;
@@ -354,6 +407,15 @@ public final class TraversalHelper {
      * given <code>stepClass</code>, otherwise <code>false</code>.
      */
     public static boolean hasStepOfAssignableClassRecursively(final Scope scope, final Class stepClass, final Traversal.Admin<?, ?> traversal) {
+        final StepIndex index = stepIndex(traversal);
+        if (null != index) {
+            if (index.hasStepOfAssignableClass(stepClass))
+                return true;
+            for (final Step<?, ?> step : index.getParents()) {
+                if (hasStepOfAssignableClassInChildren(scope, stepClass, (TraversalParent) step)) return true;
+            }
+            return false;
+        }
         for (final Step<?, ?> step : traversal.getSteps()) {
             if (stepClass.isAssignableFrom(step.getClass())) {
                 return true;
@@ -400,6 +462,15 @@ public final class TraversalHelper {
     public static boolean hasStepOfAssignableClassRecursively(final Scope scope, final Collection<Class> stepClasses, final Traversal.Admin<?, ?> traversal) {
         if (stepClasses.size() == 1)
             return hasStepOfAssignableClassRecursively(stepClasses.iterator().next(), traversal);
+        final StepIndex index = stepIndex(traversal);
+        if (null != index) {
+            if (index.hasStepOfAssignableClass(stepClasses))
+                return true;
+            for (final Step<?, ?> step : index.getParents()) {
+                if (hasStepOfAssignableClassInChildren(scope, stepClasses, (TraversalParent) step)) return true;
+            }
+            return false;
+        }
         for (final Step<?, ?> step : traversal.getSteps()) {
             if (IteratorUtils.anyMatch(stepClasses.iterator(), stepClass -> stepClass.isAssignableFrom(step.getClass()))) {
                 return true;
@@ -420,6 +491,41 @@ public final class TraversalHelper {
         return false;
     }
 
+    private static boolean hasStepOfAssignableClassInChildren(final Scope scope, final Class stepClass, final TraversalParent parent) {
+        if (null == scope || Scope.local.equals(scope)) {
+            for (final Traversal.Admin<?, ?> localChild : parent.getLocalChildren()) {
+                if (hasStepOfAssignableClassRecursively(stepClass, localChild)) return true;
+            }
+        }
+        if (null == scope || Scope.global.equals(scope)) {
+            for (final Traversal.Admin<?, ?> globalChild : parent.getGlobalChildren()) {
+                if (hasStepOfAssignableClassRecursively(stepClass, globalChild)) return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasStepOfAssignableClassInChildren(final Scope scope, final Collection<Class> stepClasses, final TraversalParent parent) {
+        if (null == scope || Scope.local.equals(scope)) {
+            for (final Traversal.Admin<?, ?> localChild : parent.getLocalChildren()) {
+                if (hasStepOfAssignableClassRecursively(stepClasses, localChild)) return true;
+            }
+        }
+        if (null == scope || Scope.global.equals(scope)) {
+            for (final Traversal.Admin<?, ?> globalChild : parent.getGlobalChildren()) {
+                if (hasStepOfAssignableClassRecursively(stepClasses, globalChild)) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the {@link StepIndex} of the traversal if it maintains one and {@code null} otherwise.
+     */
+    private static StepIndex stepIndex(final Traversal.Admin<?, ?> traversal) {
+        return traversal instanceof DefaultTraversal ? ((DefaultTraversal<?, ?>) traversal).getStepIndex() : null;
+    }
+
     /**
      * Determine if any step in {@link Traversal} or its children match the step given the provided {@link Predicate}.
      *
@@ -43,6 +43,18 @@ public interface TraversalMetrics {
      */
     public static final String PERCENT_DURATION_KEY = "percentDur";
 
+    /**
+     * The annotation key used to obtain the number of timed calls of a step whose metrics were sampled and
+     * extrapolated via Metrics.getAnnotation(String key)
+     */
+    public static final String SAMPLE_COUNT_KEY = "sampleCount";
+
+    /**
+     * The annotation key used to obtain the estimated number of bytes allocated by a step via
+     * Metrics.getAnnotation(String key)
+     */
+    public static final String ALLOCATED_BYTES_KEY = "allocatedBytes";
+
     /**
      * Get the total duration taken by the Traversal.
      *
@@ -43,9 +43,12 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.Option
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ProfileSamplingStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.AdjacentToIncidentStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.EarlyLimitStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.FilterRankingStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.FilterSelectivityStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.IdentityRemovalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.IncidentToAdjacentStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.InlineFilterStrategy;
@@ -56,6 +59,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.Path
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.PathRetractionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CountStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.RepeatUnrollStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.WhereJoinStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.BreadthFirstRepeatStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CommonPrefixStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.EarlyTerminationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ComputerVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.EdgeLabelVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.LambdaRestrictionStrategy;
@@ -186,6 +193,8 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             SubgraphStrategy.class,
                             LazyBarrierStrategy.class,
                             MatchAlgorithmStrategy.class,
+                            ParallelStrategy.class,
+                            ProfileSamplingStrategy.class,
                             AdjacentToIncidentStrategy.class,
                             FilterRankingStrategy.class,
                             IdentityRemovalStrategy.class,
@@ -203,6 +212,11 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             ReadOnlyStrategy.class,
                             StandardVerificationStrategy.class,
                             EarlyLimitStrategy.class,
+                            WhereJoinStrategy.class,
+                            BreadthFirstRepeatStrategy.class,
+                            EarlyTerminationStrategy.class,
+                            FilterSelectivityStrategy.class,
+                            CommonPrefixStrategy.class,
                             EdgeLabelVerificationStrategy.class,
                             //
                             GraphFilterStrategy.class,
@@ -310,6 +324,8 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     SubgraphStrategy.class,
                     LazyBarrierStrategy.class,
                     MatchAlgorithmStrategy.class,
+                    ParallelStrategy.class,
+                    ProfileSamplingStrategy.class,
                     AdjacentToIncidentStrategy.class,
                     FilterRankingStrategy.class,
                     IdentityRemovalStrategy.class,
@@ -327,6 +343,11 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     ReadOnlyStrategy.class,
                     StandardVerificationStrategy.class,
                     EarlyLimitStrategy.class,
+                    WhereJoinStrategy.class,
+                    BreadthFirstRepeatStrategy.class,
+                    EarlyTerminationStrategy.class,
+                    FilterSelectivityStrategy.class,
+                    CommonPrefixStrategy.class,
                     EdgeLabelVerificationStrategy.class,
                     //
                     GraphFilterStrategy.class,
@@ -415,6 +436,8 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             SubgraphStrategy.class,
                             LazyBarrierStrategy.class,
                             MatchAlgorithmStrategy.class,
+                            ParallelStrategy.class,
+                            ProfileSamplingStrategy.class,
                             AdjacentToIncidentStrategy.class,
                             FilterRankingStrategy.class,
                             IdentityRemovalStrategy.class,
@@ -432,6 +455,11 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             ReadOnlyStrategy.class,
                             StandardVerificationStrategy.class,
                             EarlyLimitStrategy.class,
+                            WhereJoinStrategy.class,
+                            BreadthFirstRepeatStrategy.class,
+                            EarlyTerminationStrategy.class,
+                            FilterSelectivityStrategy.class,
+                            CommonPrefixStrategy.class,
                             EdgeLabelVerificationStrategy.class,
                             //
                             GraphFilterStrategy.class,
@@ -529,6 +557,8 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     SubgraphStrategy.class,
                     LazyBarrierStrategy.class,
                     MatchAlgorithmStrategy.class,
+                    ParallelStrategy.class,
+                    ProfileSamplingStrategy.class,
                     AdjacentToIncidentStrategy.class,
                     FilterRankingStrategy.class,
                     IdentityRemovalStrategy.class,
@@ -546,6 +576,11 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     ReadOnlyStrategy.class,
                     StandardVerificationStrategy.class,
                     EarlyLimitStrategy.class,
+                    WhereJoinStrategy.class,
+                    BreadthFirstRepeatStrategy.class,
+                    EarlyTerminationStrategy.class,
+                    FilterSelectivityStrategy.class,
+                    CommonPrefixStrategy.class,
                     EdgeLabelVerificationStrategy.class,
                     //
                     GraphFilterStrategy.class,
@@ -52,9 +52,12 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.Option
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ProfileSamplingStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.AdjacentToIncidentStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.EarlyLimitStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.FilterRankingStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.FilterSelectivityStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.IdentityRemovalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.IncidentToAdjacentStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.InlineFilterStrategy;
@@ -65,6 +68,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.Path
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.PathRetractionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CountStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.RepeatUnrollStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.WhereJoinStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.BreadthFirstRepeatStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CommonPrefixStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.EarlyTerminationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.EdgeLabelVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.LambdaRestrictionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReadOnlyStrategy;
@@ -73,7 +80,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_NL_O_P_S_SE
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_O_S_SE_SL_Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_NL_O_S_SE_SL_Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_S_SE_SL_Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_NL_O_NS_SE_SL_Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_NL_O_S_SE_SL_Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_NS_SE_SL_Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.LP_O_OB_P_S_SE_SL_Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.LP_NL_O_OB_S_SE_SL_Traverser;
@@ -354,7 +363,7 @@ public enum GryoVersion {
             add(GryoTypeReg.of(EarlyLimitStrategy.class, 188));
             add(GryoTypeReg.of(MatchStep.CountMatchAlgorithm.class, 160));
             add(GryoTypeReg.of(MatchStep.GreedyMatchAlgorithm.class, 164));
-            add(GryoTypeReg.of(EdgeLabelVerificationStrategy.class, 189));   // ***LAST ID***
+            add(GryoTypeReg.of(EdgeLabelVerificationStrategy.class, 189));
 
             add(GryoTypeReg.of(TraverserSet.class, 58));
             add(GryoTypeReg.of(Tree.class, 61));
@@ -405,6 +414,16 @@ public enum GryoVersion {
             add(GryoTypeReg.of(LabelledCounter.class, 180));
             add(GryoTypeReg.of(Stack.class, 181));
             add(GryoTypeReg.of(ReferenceMap.class, 182));
+            add(GryoTypeReg.of(B_O_NS_SE_SL_Traverser.class, 190));
+            add(GryoTypeReg.of(B_NL_O_NS_SE_SL_Traverser.class, 191));
+            add(GryoTypeReg.of(ParallelStrategy.class, 192, new JavaSerializer()));
+            add(GryoTypeReg.of(MatchStep.CostMatchAlgorithm.class, 193));
+            add(GryoTypeReg.of(WhereJoinStrategy.class, 194));
+            add(GryoTypeReg.of(BreadthFirstRepeatStrategy.class, 195));
+            add(GryoTypeReg.of(ProfileSamplingStrategy.class, 196, new JavaSerializer()));
+            add(GryoTypeReg.of(EarlyTerminationStrategy.class, 197));
+            add(GryoTypeReg.of(FilterSelectivityStrategy.class, 198));
+            add(GryoTypeReg.of(CommonPrefixStrategy.class, 199));                            // ***LAST ID***
 
             // placeholder serializers for classes that don't live here in core. this will allow them to be used if
             // present  or ignored if the class isn't available. either way the registration numbers are held as
@@ -590,7 +609,7 @@ public enum GryoVersion {
             add(GryoTypeReg.of(EarlyLimitStrategy.class, 188));
             add(GryoTypeReg.of(MatchStep.CountMatchAlgorithm.class, 160));
             add(GryoTypeReg.of(MatchStep.GreedyMatchAlgorithm.class, 167));
-            add(GryoTypeReg.of(EdgeLabelVerificationStrategy.class, 189));   // ***LAST ID***
+            add(GryoTypeReg.of(EdgeLabelVerificationStrategy.class, 189));
             // skip 171, 172 to sync with tp33
             add(GryoTypeReg.of(IndexedTraverserSet.VertexIndexedTraverserSet.class, 173));
 
@@ -603,6 +622,16 @@ public enum GryoVersion {
             add(GryoTypeReg.of(LabelledCounter.class, 180));
             add(GryoTypeReg.of(Stack.class, 181));
             add(GryoTypeReg.of(ReferenceMap.class, 182));
+            add(GryoTypeReg.of(B_O_NS_SE_SL_Traverser.class, 190));
+            add(GryoTypeReg.of(B_NL_O_NS_SE_SL_Traverser.class, 191));
+            add(GryoTypeReg.of(ParallelStrategy.class, 192, new JavaSerializer()));
+            add(GryoTypeReg.of(MatchStep.CostMatchAlgorithm.class, 193));
+            add(GryoTypeReg.of(WhereJoinStrategy.class, 194));
+            add(GryoTypeReg.of(BreadthFirstRepeatStrategy.class, 195));
+            add(GryoTypeReg.of(ProfileSamplingStrategy.class, 196, new JavaSerializer()));
+            add(GryoTypeReg.of(EarlyTerminationStrategy.class, 197));
+            add(GryoTypeReg.of(FilterSelectivityStrategy.class, 198));
+            add(GryoTypeReg.of(CommonPrefixStrategy.class, 199));                            // ***LAST ID***
         }};
     }
 
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An optional interface for a {@link Graph} provider that is able to resolve the adjacency and properties of many
+ * elements in a single call. It is not a part of the {@link Graph} API and a provider should only implement it on its
+ * {@link Graph} if it can actually fetch a chunk of elements more cheaply than one element at a time, for instance
+ * with a single round trip to remote storage, as a graph that implements it is always handed whole chunks.
+ * <p/>
+ * When a traversal pulls its traversers in chunks, as it does when a
+ * {@link org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep} sits downstream,
+ * {@link org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep},
+ * {@link org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep} and
+ * {@link org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertyMapStep} hand the whole chunk to the graph
+ * rather than calling {@link Vertex#edges(Direction, String...)} and friends once per element. A chunk never holds
+ * more traversers than the step is going to process, and the results for traversers that the step does not get to in
+ * one call are kept for the next, so every lookup is consumed unless the traversal is closed or reset first in which
+ * case the returned iterators are closed if they are {@link CloseableIterator}s.
+ * <p/>
+ * Each method returns a {@code List} that is aligned with the provided elements so that the result at index
+ * {@code i} belongs to the element at index {@code i}. The same element may appear more than once in a request. The
+ * default implementations simply delegate to the element for each entry and implementations only need to override
+ * the lookups that they can actually batch. Implementations must fall back to the element methods for elements they
+ * do not own, such as detached elements.
+ */
+public interface BatchedElementLookup {
+
+    /**
+     * Gets the incident edges of each vertex with the semantics of {@link Vertex#edges(Direction, String...)}.
+     */
+    public default List<Iterator<Edge>> lookupEdges(final List<Vertex> vertices, final Direction direction, final String... edgeLabels) {
+        final List<Iterator<Edge>> edges = new ArrayList<>(vertices.size());
+        for (final Vertex vertex : vertices) {
+            edges.add(vertex.edges(direction, edgeLabels));
+        }
+        return edges;
+    }
+
+    /**
+     * Gets the adjacent vertices of each vertex with the semantics of {@link Vertex#vertices(Direction, String...)}.
+     */
+    public default List<Iterator<Vertex>> lookupAdjacentVertices(final List<Vertex> vertices, final Direction direction, final String... edgeLabels) {
+        final List<Iterator<Vertex>> adjacent = new ArrayList<>(vertices.size());
+        for (final Vertex vertex : vertices) {
+            adjacent.add(vertex.vertices(direction, edgeLabels));
+        }
+        return adjacent;
+    }
+
+    /**
+     * Gets the properties of each element with the semantics of {@link Element#properties(String...)}.
+     */
+    public default List<Iterator<? extends Property>> lookupProperties(final List<Element> elements, final String... propertyKeys) {
+        final List<Iterator<? extends Property>> properties = new ArrayList<>(elements.size());
+        for (final Element element : elements) {
+            properties.add(element.properties(propertyKeys));
+        }
+        return properties;
+    }
+
+    /**
+     * Gets the {@code BatchedElementLookup} of the {@link Graph} that the traversal executes over if it has one.
+     */
+    public static Optional<BatchedElementLookup> of(final Traversal.Admin<?, ?> traversal) {
+        final Optional<Graph> graph = traversal.getGraph();
+        return graph.isPresent() && graph.get() instanceof BatchedElementLookup ?
+                Optional.of((BatchedElementLookup) graph.get()) :
+                Optional.empty();
+    }
+}
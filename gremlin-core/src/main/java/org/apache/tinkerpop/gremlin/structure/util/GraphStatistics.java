@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+import java.util.Optional;
+
+/**
+ * An optional interface for a {@link Graph} that is able to estimate the cardinalities of its elements. Cost based
+ * optimizations, such as {@link org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep.CostMatchAlgorithm},
+ * consult these estimates to choose an execution plan before any data has been read. Estimates need not be exact
+ * but should be cheap to compute as they may be requested for every traversal. All methods return
+ * {@link #UNKNOWN} by default and implementations only need to override the estimates that they can actually
+ * provide.
+ */
+public interface GraphStatistics {
+
+    /**
+     * The value returned by an estimate that the graph is unable to provide.
+     */
+    public static final long UNKNOWN = -1l;
+
+    /**
+     * Estimates the number of elements of the given type (i.e. {@link org.apache.tinkerpop.gremlin.structure.Vertex}
+     * or {@link org.apache.tinkerpop.gremlin.structure.Edge}) in the graph.
+     */
+    public default long estimateCount(final Class<? extends Element> elementClass) {
+        return UNKNOWN;
+    }
+
+    /**
+     * Estimates the number of elements of the given type that have the provided label.
+     */
+    public default long estimateCount(final Class<? extends Element> elementClass, final String label) {
+        return UNKNOWN;
+    }
+
+    /**
+     * Estimates the number of elements of the given type that have a property with the provided key and value.
+     */
+    public default long estimateCount(final Class<? extends Element> elementClass, final String key, final Object value) {
+        return UNKNOWN;
+    }
+
+    /**
+     * Determines if lookups of elements of the given type by the provided property key are served by an index.
+     */
+    public default boolean isIndexed(final Class<? extends Element> elementClass, final String key) {
+        return false;
+    }
+
+    /**
+     * Gets the {@code GraphStatistics} of the {@link Graph} that the traversal executes over if it has them.
+     */
+    public static Optional<GraphStatistics> of(final Traversal.Admin<?, ?> traversal) {
+        final Optional<Graph> graph = traversal.getGraph();
+        return graph.isPresent() && graph.get() instanceof GraphStatistics ?
+                Optional.of((GraphStatistics) graph.get()) :
+                Optional.empty();
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.util.iterator;
 
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -96,7 +97,7 @@ public final class IteratorUtils {
     }
 
     public static <S> Iterator<S> limit(final Iterator<S> iterator, final int limit) {
-        return new Iterator<S>() {
+        return new CloseableIterator<S>() {
             private int count = 0;
 
             @Override
@@ -115,6 +116,11 @@ public final class IteratorUtils {
                     throw FastNoSuchElementException.instance();
                 return iterator.next();
             }
+
+            @Override
+            public void close() {
+                CloseableIterator.closeIterator(iterator);
+            }
         };
     }
 
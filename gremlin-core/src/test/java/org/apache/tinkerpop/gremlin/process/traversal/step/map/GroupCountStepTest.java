@@ -23,8 +23,14 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
 
+import org.junit.Test;
+
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -39,4 +45,17 @@ public class GroupCountStepTest extends StepTest {
                 __.groupCount().by("age")
         );
     }
+
+    @Test
+    public void shouldCountWithBulk() {
+        final Map<String, Long> expected = new HashMap<>();
+        expected.put("a", 3l);
+        expected.put("b", 1l);
+        expected.put("c", 1l);
+        assertEquals(expected, __.__("a", "b", "a", "c", "a").groupCount().next());
+        assertEquals(expected, __.__("a", "b", "a", "c", "a").barrier().groupCount().next());
+        expected.clear();
+        expected.put("1", 3l);
+        assertEquals(expected, __.__("a", "b", "c").groupCount().by(__.map(t -> String.valueOf(((String) t.get()).length()))).next());
+    }
 }
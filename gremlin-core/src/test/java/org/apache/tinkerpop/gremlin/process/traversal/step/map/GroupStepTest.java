@@ -19,13 +19,21 @@
 
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
 import org.apache.tinkerpop.gremlin.structure.T;
 
+import org.junit.Test;
+
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -40,4 +48,19 @@ public class GroupStepTest extends StepTest {
                 __.group().by(T.label).by(__.values("name").count())
         );
     }
+
+    @Test
+    public void shouldReduceIntoSeed() {
+        final Map<Object, Object> expected = new HashMap<>();
+        expected.put("a", 3l);
+        expected.put("b", 1l);
+        assertEquals(expected, __.__("a", "b", "a", "a").barrier().group().by().by(__.count()).next());
+        assertEquals(expected, __.__("a", "b", "a", "a").group().by().by(__.fold().count(Scope.local)).next());
+        expected.put("a", Arrays.asList("a", "a", "a"));
+        expected.put("b", Collections.singletonList("b"));
+        assertEquals(expected, __.__("a", "b", "a", "a").barrier().group().by().next());
+        expected.put("a", 6);
+        expected.put("b", 2);
+        assertEquals(expected, __.__(1, 2, 1, 1).group().by(__.map(t -> (Integer) t.get() == 1 ? "a" : "b")).by(__.map(t -> 2 * (Integer) t.get()).sum()).next());
+    }
 }
@@ -28,9 +28,14 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ConnectiveStep
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicateStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_O_P_S_SE_SL_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.EmptyTraverser;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -396,6 +401,68 @@ public class MatchStepTest extends StepTest {
         traverser.addLabels(Collections.singleton("d"));
     }
 
+    @Test
+    public void testCostMatchAlgorithm() {
+        final Traversal.Admin<?, ?> traversal = __.match(
+                as("a").out("knows").as("b"),
+                as("a").out("created").has("name", "lop").as("c"),
+                as("b").map(t -> t.get()).as("d"),
+                as("c").where(out().as("b")))
+                .asAdmin();
+        traversal.applyStrategies(); // necessary to enure step ids are unique
+        final List<Traversal.Admin<Object, Object>> patterns = ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren();
+        final Traversal.Admin<Object, Object> firstPattern = patterns.get(0);
+        final Traversal.Admin<Object, Object> secondPattern = patterns.get(1);
+        final Traversal.Admin<Object, Object> thirdPattern = patterns.get(2);
+        final Traversal.Admin<Object, Object> forthPattern = patterns.get(3);
+        assertTrue(MatchStep.CostMatchAlgorithm.isJoinable(firstPattern));
+        assertTrue(MatchStep.CostMatchAlgorithm.isJoinable(secondPattern));
+        assertFalse(MatchStep.CostMatchAlgorithm.isJoinable(thirdPattern)); // lambda
+        assertFalse(MatchStep.CostMatchAlgorithm.isJoinable(forthPattern)); // where()
+        // WITHOUT STATISTICS THE DEFAULTS ORDER THE PATTERNS
+        final MatchStep.CostMatchAlgorithm costMatchAlgorithm = new MatchStep.CostMatchAlgorithm();
+        costMatchAlgorithm.initialize(false, patterns);
+        assertEquals(forthPattern, costMatchAlgorithm.bundles.get(0).traversal);
+        assertEquals(thirdPattern, costMatchAlgorithm.bundles.get(1).traversal);
+        assertEquals(secondPattern, costMatchAlgorithm.bundles.get(2).traversal);
+        assertEquals(firstPattern, costMatchAlgorithm.bundles.get(3).traversal);
+        assertEquals(MatchStep.CostMatchAlgorithm.DEFAULT_FAN_OUT, costMatchAlgorithm.getBundle(firstPattern).multiplicity, 0.0d);
+        // WITH STATISTICS THE ESTIMATES FOLLOW THE CARDINALITIES
+        costMatchAlgorithm.statistics = new GraphStatistics() {
+            @Override
+            public long estimateCount(final Class<? extends Element> elementClass) {
+                return Vertex.class.equals(elementClass) ? 100l : 1000l;
+            }
+
+            @Override
+            public long estimateCount(final Class<? extends Element> elementClass, final String label) {
+                return label.equals("knows") ? 50l : 500l;
+            }
+
+            @Override
+            public long estimateCount(final Class<? extends Element> elementClass, final String key, final Object value) {
+                return key.equals("name") ? 1l : UNKNOWN;
+            }
+
+            @Override
+            public boolean isIndexed(final Class<? extends Element> elementClass, final String key) {
+                return key.equals("age");
+            }
+        };
+        assertEquals(0.5d, costMatchAlgorithm.estimate(firstPattern), 0.000001d);
+        assertEquals(0.05d, costMatchAlgorithm.estimate(secondPattern), 0.000001d);
+        assertEquals(20.0d, costMatchAlgorithm.estimateDegree(Direction.BOTH), 0.000001d);
+        assertEquals(MatchStep.CostMatchAlgorithm.INDEXED_SELECTIVITY, costMatchAlgorithm.estimateSelectivity(Vertex.class, new HasContainer("age", P.eq(29))), 0.0d);
+        assertEquals(MatchStep.CostMatchAlgorithm.DEFAULT_SELECTIVITY, costMatchAlgorithm.estimateSelectivity(Vertex.class, new HasContainer("age", P.gt(29))), 0.0d);
+        // OBSERVED COUNTS OUTWEIGH THE ESTIMATE OVER TIME
+        final MatchStep.CountMatchAlgorithm.Bundle bundle = costMatchAlgorithm.getBundle(firstPattern);
+        for (int i = 0; i < 1000; i++) {
+            costMatchAlgorithm.recordStart(EmptyTraverser.instance(), firstPattern);
+        }
+        costMatchAlgorithm.recordEnd(EmptyTraverser.instance(), firstPattern);
+        assertEquals((1.0d + MatchStep.CostMatchAlgorithm.DEFAULT_FAN_OUT * MatchStep.CostMatchAlgorithm.ESTIMATE_WEIGHT) / (1000.0d + MatchStep.CostMatchAlgorithm.ESTIMATE_WEIGHT), bundle.multiplicity, 0.000001d);
+    }
+
     @Test
     public void shouldCalculateStartLabelCorrectly() {
         Traversal.Admin<?, ?> traversal = match(
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NoOpBarrierStepTest extends StepTest {
+
+    private final GraphTraversalSource g = EmptyGraph.instance().traversal();
+
+    @Override
+    protected List<Traversal> getTraversals() {
+        return Arrays.asList(__.barrier(), __.barrier(10), __.barrier(100));
+    }
+
+    @Test
+    public void shouldGrowAdaptiveBarrierWhenTraversersBulk() {
+        final Integer[] values = new Integer[400];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i / 4;
+        }
+        final NoOpBarrierStep<Integer> step = drain(values, 4, 2, 16);
+        assertTrue(step.isAdaptive());
+        assertEquals(4, step.getMaxBarrierSize());
+        assertEquals(16, step.getCurrentBarrierSize());
+    }
+
+    @Test
+    public void shouldShrinkAdaptiveBarrierWhenTraversersDoNotBulk() {
+        final Integer[] values = new Integer[100];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        final NoOpBarrierStep<Integer> step = drain(values, 8, 2, 16);
+        assertEquals(2, step.getCurrentBarrierSize());
+        assertEquals(8, step.clone().getCurrentBarrierSize());
+    }
+
+    @Test
+    public void shouldNotResizeFixedBarrier() {
+        final Integer[] values = new Integer[400];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i / 4;
+        }
+        final NoOpBarrierStep<Integer> step = drain(values, 4, 4, 4);
+        assertFalse(step.isAdaptive());
+        assertEquals(4, step.getCurrentBarrierSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowBarrierSizeOutsideOfBounds() {
+        new NoOpBarrierStep<>(__.identity().asAdmin(), 100, 2, 16);
+    }
+
+    @Test
+    public void shouldDistinguishAdaptiveBarriersByBounds() {
+        final Traversal.Admin<?, ?> traversal = __.identity().asAdmin();
+        assertEquals(new NoOpBarrierStep<>(traversal, 8, 2, 16), new NoOpBarrierStep<>(traversal, 8, 2, 16));
+        assertEquals(new NoOpBarrierStep<>(traversal, 8, 2, 16).hashCode(), new NoOpBarrierStep<>(traversal, 8, 2, 16).hashCode());
+        assertEquals(new NoOpBarrierStep<>(traversal, 8), new NoOpBarrierStep<>(traversal, 8, 8, 8));
+        assertNotEquals(new NoOpBarrierStep<>(traversal, 8), new NoOpBarrierStep<>(traversal, 8, 2, 16));
+        assertNotEquals(new NoOpBarrierStep<>(traversal, 8, 2, 16), new NoOpBarrierStep<>(traversal, 8, 4, 16));
+        assertNotEquals(new NoOpBarrierStep<>(traversal, 8, 2, 16), new NoOpBarrierStep<>(traversal, 8, 2, 32));
+    }
+
+    private NoOpBarrierStep<Integer> drain(final Integer[] values, final int size, final int min, final int max) {
+        final Traversal.Admin<Integer, Integer> traversal = g.inject(values).asAdmin();
+        final NoOpBarrierStep<Integer> step = new NoOpBarrierStep<>(traversal, size, min, max);
+        traversal.addStep(step);
+        traversal.applyStrategies();
+        long total = 0;
+        while (step.hasNextBarrier()) {
+            total = total + step.nextBarrier().bulkSize();
+        }
+        assertEquals(values.length, total);
+        return step;
+    }
+}
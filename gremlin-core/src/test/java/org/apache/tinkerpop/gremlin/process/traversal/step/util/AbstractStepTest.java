@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FlatMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MapStep;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AbstractStepTest {
+
+    private final GraphTraversalSource g = EmptyGraph.instance().traversal();
+
+    private static List<Object> drainInBatches(final Traversal.Admin<?, ?> traversal, final int batchSize, final List<Integer> sizes) {
+        traversal.applyStrategies();
+        final Step<?, ?> endStep = traversal.getEndStep();
+        final Traverser.Admin[] batch = new Traverser.Admin[batchSize];
+        final List<Object> results = new ArrayList<>();
+        int count;
+        while ((count = endStep.nextBatch(batch, batchSize)) > 0) {
+            sizes.add(count);
+            for (int i = 0; i < count; i++) {
+                results.add(batch[i].get());
+            }
+        }
+        return results;
+    }
+
+    @Test
+    public void shouldFillBatchesThroughMapAndFilterSteps() {
+        final List<Integer> sizes = new ArrayList<>();
+        final List<Object> results = drainInBatches(g.inject(1, 2, 3, 4, 5, 6).is(P.gt(2)).map(t -> t.get() * 2).asAdmin(), 2, sizes);
+        assertEquals(Arrays.asList(6, 8, 10, 12), results);
+        assertEquals(Arrays.asList(2, 2), sizes);
+    }
+
+    @Test
+    public void shouldRetainStartsThatDoNotFitInFlatMapBatch() {
+        final List<Integer> sizes = new ArrayList<>();
+        final List<Object> results = drainInBatches(g.inject(Arrays.asList(1, 2, 3), Arrays.asList(4, 5)).unfold().asAdmin(), 2, sizes);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), results);
+        assertEquals(Arrays.asList(2, 2, 1), sizes);
+    }
+
+    @Test
+    public void shouldMixBatchAndSingleTraverserIteration() {
+        final Traversal.Admin<?, ?> traversal = g.inject(Arrays.asList(1, 2, 3), Arrays.asList(4, 5)).unfold().asAdmin();
+        traversal.applyStrategies();
+        final Step<?, ?> endStep = traversal.getEndStep();
+        assertTrue(endStep.hasNext());
+
+        final Traverser.Admin[] batch = new Traverser.Admin[2];
+        assertEquals(2, endStep.nextBatch(batch, 2));
+        assertEquals(1, batch[0].get());
+        assertEquals(2, batch[1].get());
+        assertEquals(3, endStep.next().get());
+        assertEquals(2, endStep.nextBatch(batch, 2));
+        assertEquals(4, batch[0].get());
+        assertEquals(5, batch[1].get());
+        assertFalse(endStep.hasNext());
+        assertEquals(0, endStep.nextBatch(batch, 2));
+    }
+
+    @Test
+    public void shouldStopBatchWhenRangeIsExhausted() {
+        final List<Integer> sizes = new ArrayList<>();
+        final List<Object> results = drainInBatches(g.inject(1, 2, 3, 4, 5, 6).map(t -> t.get() + 1).limit(3).asAdmin(), 10, sizes);
+        assertEquals(Arrays.asList(2, 3, 4), results);
+        assertEquals(1, sizes.size());
+    }
+
+    @Test
+    public void shouldNotPullSideEffectsAheadOfLimit() {
+        final AtomicInteger iterated = new AtomicInteger();
+        g.inject(1, 2, 3, 4, 5, 6).sideEffect(t -> iterated.incrementAndGet()).map(t -> t.get() + 1).limit(2).toList();
+
+        final AtomicInteger batched = new AtomicInteger();
+        final List<Object> results = drainInBatches(g.inject(1, 2, 3, 4, 5, 6).sideEffect(t -> batched.incrementAndGet()).
+                map(t -> t.get() + 1).limit(2).asAdmin(), 10, new ArrayList<>());
+        assertEquals(Arrays.asList(2, 3), results);
+        assertEquals(iterated.get(), batched.get());
+    }
+
+    @Test
+    public void shouldKeepOrderOfReturnedStarts() {
+        final Traversal.Admin<List<Integer>, Object> traversal = __.<List<Integer>>start().unfold().asAdmin();
+        final Step<List<Integer>, Object> step = (Step<List<Integer>, Object>) traversal.getStartStep();
+        step.addStarts(traversal.getTraverserGenerator().generateIterator(
+                Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3), Arrays.asList(4)).iterator(), step, 1L));
+
+        final Traverser.Admin[] batch = new Traverser.Admin[2];
+        final List<Object> results = new ArrayList<>();
+        int count;
+        while ((count = step.nextBatch(batch, 2)) > 0) {
+            for (int i = 0; i < count; i++) {
+                results.add(batch[i].get());
+            }
+        }
+        assertEquals(Arrays.asList(1, 2, 3, 4), results);
+    }
+
+    @Test
+    public void shouldKeepExpansionsOfChunkUntilConsumed() {
+        final Traversal.Admin<List<Integer>, List<Integer>> traversal = __.<List<Integer>>start().asAdmin();
+        final ChunkedUnfoldStep step = new ChunkedUnfoldStep(traversal);
+        traversal.addStep(step);
+        step.addStarts(traversal.getTraverserGenerator().generateIterator(
+                Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3), Arrays.asList(4, 5, 6)).iterator(), step, 1L));
+
+        final Traverser.Admin[] batch = new Traverser.Admin[2];
+        final List<Object> results = new ArrayList<>();
+        assertEquals(2, step.nextBatch(batch, 2));
+        results.add(batch[0].get());
+        results.add(batch[1].get());
+        results.add(step.next().get());
+        int count;
+        while ((count = step.nextBatch(batch, 2)) > 0) {
+            for (int i = 0; i < count; i++) {
+                results.add(batch[i].get());
+            }
+        }
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), results);
+        assertEquals(3, step.expanded);
+    }
+
+    @Test
+    public void shouldPullSinglyWhenProcessNextStartIsOverridden() {
+        final Traversal.Admin<Integer, Integer> traversal = __.<Integer>start().asAdmin();
+        final OverriddenMapStep step = new OverriddenMapStep(traversal);
+        traversal.addStep(step);
+        step.addStarts(traversal.getTraverserGenerator().generateIterator(Arrays.asList(1, 2, 3).iterator(), step, 1L));
+
+        final Traverser.Admin[] batch = new Traverser.Admin[10];
+        assertEquals(3, step.nextBatch(batch, 10));
+        assertEquals(Arrays.asList(-1, -2, -3), Arrays.asList(batch[0].get(), batch[1].get(), batch[2].get()));
+        assertEquals(3, step.pulled);
+    }
+
+    private static final class OverriddenMapStep extends MapStep<Integer, Integer> {
+        private int pulled = 0;
+
+        private OverriddenMapStep(final Traversal.Admin traversal) {
+            super(traversal);
+        }
+
+        @Override
+        protected Traverser.Admin<Integer> processNextStart() {
+            pulled++;
+            final Traverser.Admin<Integer> traverser = this.starts.next();
+            return traverser.split(-traverser.get(), this);
+        }
+
+        @Override
+        protected Integer map(final Traverser.Admin<Integer> traverser) {
+            throw new IllegalStateException("Steps that override processNextStart() should not be mapped in batches");
+        }
+    }
+
+    private static final class ChunkedUnfoldStep extends FlatMapStep<List<Integer>, Integer> {
+        private int expanded = 0;
+
+        private ChunkedUnfoldStep(final Traversal.Admin traversal) {
+            super(traversal);
+        }
+
+        @Override
+        protected Iterator<Integer> flatMap(final Traverser.Admin<List<Integer>> traverser) {
+            throw new IllegalStateException("Starts should only be expanded in chunks");
+        }
+
+        @Override
+        protected List<Iterator<Integer>> flatMap(final Traverser.Admin<List<Integer>>[] starts, final int count) {
+            final List<Iterator<Integer>> expansions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                expansions.add(starts[i].get().iterator());
+                expanded++;
+            }
+            return expansions;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class ParallelStepTest {
+
+    private final GraphTraversalSource g = EmptyGraph.instance().traversal();
+
+    private final Set<Object> segments = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    private final AtomicInteger processed = new AtomicInteger();
+
+    private Traversal.Admin<Integer, Long> countInParallel(final int starts, final int parallelism, final int chunkSize, final long sleepMillis) {
+        final Object[] numbers = new Object[starts];
+        for (int i = 0; i < starts; i++) {
+            numbers[i] = i;
+        }
+        final Traversal.Admin traversal = g.inject(numbers).asAdmin();
+        final Traversal.Admin segment = new DefaultTraversal<>();
+        segment.addStep(new RecordingStep<>(segment, this.segments, this.processed, sleepMillis));
+        segment.addStep(new CountGlobalStep<>(segment));
+        traversal.addStep(new ParallelStep<>(traversal, segment, parallelism, chunkSize));
+        return traversal;
+    }
+
+    @Test
+    public void shouldProcessStartsInSeveralChunks() {
+        final Traversal.Admin<Integer, Long> traversal = countInParallel(100, 2, 10, 0);
+        assertEquals(100L, traversal.next().longValue());
+        assertEquals(100, this.processed.get());
+        assertEquals(10, this.segments.size());
+    }
+
+    @Test
+    public void shouldProcessSingleChunkOnCallingThread() {
+        final Traversal.Admin<Integer, Long> traversal = countInParallel(5, 2, 10, 0);
+        assertEquals(5L, traversal.next().longValue());
+        assertEquals(1, this.segments.size());
+    }
+
+    @Test
+    public void shouldExposeSegmentAsGlobalChild() {
+        final Traversal.Admin<Integer, Long> traversal = countInParallel(5, 2, 10, 0);
+        traversal.applyStrategies();
+        final ParallelStep<?, ?> step = (ParallelStep<?, ?>) traversal.getEndStep();
+        assertEquals(1, step.getGlobalChildren().size());
+        assertSame(step.getSegment(), step.getGlobalChildren().get(0));
+        assertSame(step, step.getSegment().getParent());
+    }
+
+    @Test
+    public void shouldStopWhenInterrupted() throws Exception {
+        final Traversal.Admin<Integer, Long> traversal = countInParallel(1000, 2, 5, 5);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                traversal.next();
+            } catch (final Throwable t) {
+                failure.set(t);
+            }
+        });
+        thread.start();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (0 == this.processed.get() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        thread.interrupt();
+        thread.join(10000);
+
+        assertFalse(thread.isAlive());
+        assertThat(failure.get(), instanceOf(TraversalInterruptedException.class));
+        assertThat(this.processed.get(), lessThan(1000));
+    }
+
+    private static final class RecordingStep<S> extends MapStep<S, S> {
+
+        private final Set<Object> segments;
+        private final AtomicInteger processed;
+        private final long sleepMillis;
+
+        private RecordingStep(final Traversal.Admin traversal, final Set<Object> segments, final AtomicInteger processed,
+                              final long sleepMillis) {
+            super(traversal);
+            this.segments = segments;
+            this.processed = processed;
+            this.sleepMillis = sleepMillis;
+        }
+
+        @Override
+        protected S map(final Traverser.Admin<S> traverser) {
+            this.segments.add(this);
+            this.processed.incrementAndGet();
+            if (this.sleepMillis > 0) {
+                try {
+                    Thread.sleep(this.sleepMillis);
+                } catch (final InterruptedException e) {
+                    throw new TraversalInterruptedException();
+                }
+            }
+            return traverser.get();
+        }
+    }
+}
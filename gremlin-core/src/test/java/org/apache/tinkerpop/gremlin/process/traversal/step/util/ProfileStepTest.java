@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertEquals;
+
+public class ProfileStepTest {
+
+    private final GraphTraversalSource g = EmptyGraph.instance().traversal();
+
+    @Test
+    public void shouldProfileStepsPulledInBatches() {
+        final Integer[] starts = new Integer[100];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = i;
+        }
+        // the barrier pulls the steps before it through nextBatch()
+        final TraversalMetrics m = g.inject(starts).map(t -> t.get() + 1).is(42).barrier().profile().next();
+        for (final Metrics i : m.getMetrics()) {
+            assertThat(i.getCount(TraversalMetrics.ELEMENT_COUNT_ID), greaterThan(0L));
+            assertThat(i.getDuration(TimeUnit.NANOSECONDS), greaterThan(0L));
+            if (i.getName().startsWith("LambdaMapStep"))
+                assertEquals(100L, i.getCount(TraversalMetrics.ELEMENT_COUNT_ID).longValue());
+        }
+    }
+}
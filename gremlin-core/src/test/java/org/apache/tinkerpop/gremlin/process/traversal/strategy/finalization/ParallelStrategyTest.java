@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupCountStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelStrategyTest {
+
+    private final GraphTraversalSource g = EmptyGraph.instance().traversal();
+    private final GraphTraversalSource parallel = g.withStrategies(ParallelStrategy.build().parallelism(4).chunkSize(3).create());
+
+    private static Object[] lists() {
+        final Object[] lists = new Object[50];
+        for (int i = 0; i < lists.length; i++) {
+            final List<Integer> list = new ArrayList<>();
+            for (int j = 0; j <= i % 7; j++) {
+                list.add((i * j) % 11);
+            }
+            lists[i] = list;
+        }
+        return lists;
+    }
+
+    private void assertParallel(final Function<GraphTraversalSource, GraphTraversal<?, ?>> traversal) {
+        final Traversal.Admin<?, ?> expected = traversal.apply(g).asAdmin();
+        final Traversal.Admin<?, ?> actual = traversal.apply(parallel).asAdmin();
+        actual.applyStrategies();
+        assertTrue(TraversalHelper.hasStepOfClass(ParallelStep.class, actual));
+        assertEquals(expected.toList(), actual.toList());
+    }
+
+    @Test
+    public void shouldMergeReducingBarriers() {
+        assertParallel(s -> s.inject(lists()).unfold().count());
+        assertParallel(s -> s.inject(lists()).unfold().is(P.gt(3)).count());
+        assertParallel(s -> s.inject(lists()).unfold().groupCount());
+        assertParallel(s -> s.inject(lists()).unfold().group().by().by(__.count()));
+        assertParallel(s -> s.inject(lists()).unfold().sum());
+        assertParallel(s -> s.inject(lists()).unfold().fold());
+        assertParallel(s -> s.inject(lists()).unfold().unfold().barrier().max());
+        assertParallel(s -> s.inject(lists()).unfold().where(__.is(P.lt(5))).groupCount().unfold());
+    }
+
+    @Test
+    public void shouldMergeDedup() {
+        final List<Object> expected = g.inject(lists()).unfold().dedup().toList();
+        final Traversal.Admin<?, Object> actual = parallel.inject(lists()).unfold().dedup().asAdmin();
+        actual.applyStrategies();
+        assertTrue(TraversalHelper.hasStepOfClass(ParallelStep.class, actual));
+        final List<Object> results = actual.toList();
+        assertEquals(expected.size(), results.size());
+        assertEquals(new HashSet<>(expected), new HashSet<>(results));
+    }
+
+    @Test
+    public void shouldProduceSeedForNoStarts() {
+        assertEquals(0L, parallel.inject(lists()).unfold().is(P.gt(100)).count().next());
+        assertFalse(parallel.inject(lists()).unfold().is(P.gt(100)).dedup().hasNext());
+    }
+
+    @Test
+    public void shouldNotParallelizeUnsafeSegments() {
+        final List<Traversal.Admin<?, ?>> traversals = new ArrayList<>();
+        traversals.add(parallel.inject(lists()).unfold().map(t -> t.get()).count().asAdmin());
+        traversals.add(parallel.inject(lists()).unfold().aggregate("x").count().asAdmin());
+        traversals.add(parallel.inject(lists()).unfold().where(__.aggregate("x")).count().asAdmin());
+        traversals.add(parallel.inject(lists()).unfold().limit(10).count().asAdmin());
+        traversals.add(parallel.inject(lists()).is(P.neq(null)).count().asAdmin());
+        traversals.add(parallel.inject(lists()).unfold().count().profile().asAdmin());
+        traversals.add(parallel.inject(lists()).unfold().timeLimit(10000).count().asAdmin());
+        traversals.add(parallel.inject(lists()).unfold().where(__.sideEffect(__.identity())).count().asAdmin());
+        for (final Traversal.Admin<?, ?> traversal : traversals) {
+            traversal.applyStrategies();
+            assertFalse(traversal.toString(), TraversalHelper.hasStepOfClass(ParallelStep.class, traversal));
+        }
+    }
+
+    @Test
+    public void shouldApplyStrategiesToSegment() {
+        final Traversal.Admin<?, ?> traversal = parallel.inject(lists()).unfold().where(__.is(P.lt(5))).groupCount().asAdmin();
+        traversal.applyStrategies();
+        final ParallelStep<?, ?> step = TraversalHelper.getFirstStepOfAssignableClass(ParallelStep.class, traversal).get();
+        assertTrue(step.getSegment().isLocked());
+        assertTrue(TraversalHelper.hasStepOfAssignableClassRecursively(GroupCountStep.class, traversal));
+    }
+
+    @Test
+    public void shouldKeepParallelStepAcrossClone() {
+        final Traversal.Admin<?, ?> traversal = parallel.inject(lists()).unfold().groupCount().asAdmin();
+        traversal.applyStrategies();
+        final Traversal.Admin<?, ?> clone = traversal.clone();
+        assertEquals(traversal.toList(), clone.toList());
+    }
+}
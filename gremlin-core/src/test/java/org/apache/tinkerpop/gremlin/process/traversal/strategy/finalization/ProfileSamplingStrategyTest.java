@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class ProfileSamplingStrategyTest {
+
+    private static final int STARTS = 1000;
+
+    private static Object[] starts() {
+        final Object[] starts = new Object[STARTS];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = i;
+        }
+        return starts;
+    }
+
+    @RunWith(Parameterized.class)
+    public static class ParameterizedTests {
+
+        @Parameterized.Parameters(name = "sampleEvery={0},allocations={1}")
+        public static Iterable<Object[]> data() {
+            return Arrays.asList(new Object[][]{
+                    {1L, false},
+                    {1L, true},
+                    {10L, false},
+                    {10L, true},
+                    {100L, false},
+                    {STARTS * 2L, true}
+            });
+        }
+
+        @Parameterized.Parameter(value = 0)
+        public long sampleEvery;
+
+        @Parameterized.Parameter(value = 1)
+        public boolean allocations;
+
+        private GraphTraversalSource g() {
+            return EmptyGraph.instance().traversal().withStrategies(
+                    ProfileSamplingStrategy.build().sampleEvery(this.sampleEvery).allocations(this.allocations).create());
+        }
+
+        @Test
+        public void shouldInjectSamplingSettings() {
+            final Traversal.Admin<?, ?> traversal = g().inject(starts()).map(t -> t.get()).profile().asAdmin();
+            traversal.applyStrategies();
+            final List<ProfileStep> profileSteps = TraversalHelper.getStepsOfClass(ProfileStep.class, traversal);
+            assertFalse(profileSteps.isEmpty());
+            for (final ProfileStep<?> profileStep : profileSteps) {
+                assertEquals(this.sampleEvery, profileStep.getSampleEvery());
+                if (!this.allocations)
+                    assertFalse(profileStep.isSamplingAllocations());
+            }
+        }
+
+        @Test
+        public void shouldKeepExactCountsAndExtrapolateSamples() {
+            final Traversal.Admin<?, TraversalMetrics> traversal = g().inject(starts()).map(t -> t.get()).profile().asAdmin();
+            final TraversalMetrics traversalMetrics = traversal.next();
+            final boolean samplingAllocations = TraversalHelper.getFirstStepOfAssignableClass(ProfileStep.class, traversal).get().isSamplingAllocations();
+            for (final Metrics metrics : traversalMetrics.getMetrics()) {
+                assertEquals(STARTS, metrics.getCount(TraversalMetrics.TRAVERSER_COUNT_ID).longValue());
+                assertEquals(STARTS, metrics.getCount(TraversalMetrics.ELEMENT_COUNT_ID).longValue());
+                final Object samples = metrics.getAnnotation(TraversalMetrics.SAMPLE_COUNT_KEY);
+                if (1 == this.sampleEvery) {
+                    assertNull(samples);
+                    assertNull(metrics.getAnnotation(TraversalMetrics.ALLOCATED_BYTES_KEY));
+                } else {
+                    // one call per traverser plus the final call that finds no traverser, where the first call is sampled
+                    final long sampleCount = (Long) samples;
+                    assertTrue(sampleCount >= (STARTS + this.sampleEvery - 1) / this.sampleEvery);
+                    assertTrue(sampleCount <= (STARTS + this.sampleEvery) / this.sampleEvery);
+                    assertEquals(this.allocations && samplingAllocations, null != metrics.getAnnotation(TraversalMetrics.ALLOCATED_BYTES_KEY));
+                }
+            }
+        }
+    }
+
+    public static class ExtrapolationTests {
+
+        private final GraphTraversalSource g = EmptyGraph.instance().traversal();
+
+        @Test
+        public void shouldSampleProfile() {
+            final TraversalMetrics exact = g.inject(starts()).flatMap(t -> Arrays.asList(t.get(), t.get()).iterator()).is(P.gt(500)).profile().next();
+            final TraversalMetrics sampled = g.withStrategies(ProfileSamplingStrategy.build().sampleEvery(10).allocations(true).create()).
+                    inject(starts()).flatMap(t -> Arrays.asList(t.get(), t.get()).iterator()).is(P.gt(500)).profile().next();
+            assertEquals(exact.getMetrics().size(), sampled.getMetrics().size());
+            for (int i = 0; i < exact.getMetrics().size(); i++) {
+                final Metrics exactMetrics = exact.getMetrics(i);
+                final Metrics sampledMetrics = sampled.getMetrics(i);
+                assertEquals(exactMetrics.getName(), sampledMetrics.getName());
+                assertEquals(exactMetrics.getCount(TraversalMetrics.TRAVERSER_COUNT_ID), sampledMetrics.getCount(TraversalMetrics.TRAVERSER_COUNT_ID));
+                assertEquals(exactMetrics.getCount(TraversalMetrics.ELEMENT_COUNT_ID), sampledMetrics.getCount(TraversalMetrics.ELEMENT_COUNT_ID));
+                assertNull(exactMetrics.getAnnotation(TraversalMetrics.SAMPLE_COUNT_KEY));
+                final long samples = (Long) sampledMetrics.getAnnotation(TraversalMetrics.SAMPLE_COUNT_KEY);
+                assertThat(samples, greaterThan(0L));
+                assertThat(samples, lessThan(sampledMetrics.getCount(TraversalMetrics.TRAVERSER_COUNT_ID)));
+                final Object allocated = sampledMetrics.getAnnotation(TraversalMetrics.ALLOCATED_BYTES_KEY);
+                if (null != allocated)
+                    assertThat((Long) allocated, greaterThanOrEqualTo(0L));
+            }
+        }
+
+        @Test
+        public void shouldExtrapolateSampledProfileToExactDuration() {
+            final Integer[] starts = new Integer[2000];
+            Arrays.fill(starts, 1);
+
+            // the work of the map() happens while hasNext() looks for a traverser and not while next() takes it, so a
+            // sample that only ever landed on one of the two would be off by a factor of two
+            g.inject(starts).map(t -> spin(t.get())).profile().next();
+            final long exact = g.inject(starts).map(t -> spin(t.get())).profile().next().
+                    getMetrics(1).getDuration(TimeUnit.NANOSECONDS);
+            final long sampled = g.withStrategies(ProfileSamplingStrategy.build().sampleEvery(10).create()).
+                    inject(starts).map(t -> spin(t.get())).profile().next().getMetrics(1).getDuration(TimeUnit.NANOSECONDS);
+
+            final double ratio = (double) sampled / exact;
+            assertThat(ratio, greaterThan(0.6d));
+            assertThat(ratio, lessThan(1.5d));
+        }
+
+        private static int spin(final int value) {
+            final long end = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(50);
+            while (System.nanoTime() < end) {
+                // busy so that each traverser takes about the same time
+            }
+            return value;
+        }
+    }
+}
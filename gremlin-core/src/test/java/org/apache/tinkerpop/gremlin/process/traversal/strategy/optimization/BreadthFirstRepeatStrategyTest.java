@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.BreadthFirstRepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class BreadthFirstRepeatStrategyTest {
+
+    @RunWith(Parameterized.class)
+    public static class ParameterizedTests {
+
+        @Parameterized.Parameter(value = 0)
+        public Traversal original;
+
+        @Parameterized.Parameter(value = 1)
+        public boolean breadthFirst;
+
+        @Parameterized.Parameter(value = 2)
+        public Object targetId;
+
+        @Test
+        public void doTest() {
+            final TraversalStrategies strategies = new DefaultTraversalStrategies();
+            strategies.addStrategies(BreadthFirstRepeatStrategy.instance());
+            original.asAdmin().setStrategies(strategies);
+            original.asAdmin().applyStrategies();
+            final List<BreadthFirstRepeatStep> steps = TraversalHelper.getStepsOfClass(BreadthFirstRepeatStep.class, original.asAdmin());
+            assertEquals(breadthFirst, !steps.isEmpty());
+            if (breadthFirst) {
+                assertEquals(targetId, steps.get(0).getTargetId());
+                assertTrue(steps.get(0).getRepeatTraversal().getSteps().size() > 0);
+            }
+        }
+
+        @Parameterized.Parameters(name = "{0}")
+        public static Iterable<Object[]> generateTestParameters() {
+
+            return Arrays.asList(new Object[][]{
+                    {__.repeat(__.out()).until(__.hasId(6)).limit(1), true, 6},
+                    {__.repeat(__.in("knows")).until(__.hasId(1)).dedup(), true, 1},
+                    {__.out().until(__.hasId(6)).repeat(__.both()).limit(1), true, 6},
+                    {__.repeat(__.out().hasLabel("person")).until(__.hasId(6)).limit(1), true, null},
+                    {__.repeat(__.out()).until(__.has("name", "josh")).dedup(), true, null},
+                    {__.repeat(__.out()).until(__.hasId(6, 4)).dedup(), true, null},
+                    {__.repeat(__.out()).until(__.hasId(6)), false, null},
+                    {__.repeat(__.out()).until(__.hasId(6)).count(), false, null},
+                    {__.repeat(__.out()).until(__.hasId(6)).limit(2), false, null},
+                    {__.repeat(__.out()).until(__.hasId(6)).dedup().by("name"), false, null},
+                    {__.repeat(__.out()).until(__.hasId(6)).limit(1).path(), false, null},
+                    {__.out().as("a").repeat(__.out()).until(__.hasId(6)).dedup(), false, null},
+                    {__.repeat(__.out()).emit().until(__.hasId(6)).dedup(), false, null},
+                    {__.repeat(__.out()).times(2).dedup(), false, null},
+                    {__.repeat(__.out()).until(__.loops().is(2)).dedup(), false, null},
+                    {__.repeat(__.out().sack()).until(__.hasId(6)).dedup(), false, null},
+                    {__.repeat(__.out().map(t -> t.get())).until(__.hasId(6)).dedup(), false, null},
+                    {__.repeat(__.out()).until(__.filter(t -> true)).dedup(), false, null},
+            });
+        }
+    }
+
+    public static class StepTest {
+
+        @Test
+        public void shouldSearchFromStartsAddedAfterFirstResult() {
+            final Traversal.Admin<Integer, Integer> traversal = __.<Integer>start().asAdmin();
+            final BreadthFirstRepeatStep<Integer> step = new BreadthFirstRepeatStep<>(traversal,
+                    __.<Integer>start().map(t -> t.get() + 1).asAdmin(), __.<Integer>start().is(P.gte(3)).asAdmin(), false);
+            traversal.addStep(step);
+            traversal.setStrategies(new DefaultTraversalStrategies());
+            traversal.applyStrategies();
+
+            step.addStarts(traversal.getTraverserGenerator().generateIterator(Collections.singletonList(1).iterator(), step, 1L));
+            assertEquals(3, step.next().get().intValue());
+            assertFalse(step.hasNext());
+
+            // a global child of union() only receives its next start once the previous one is exhausted
+            step.addStarts(traversal.getTraverserGenerator().generateIterator(Collections.singletonList(5).iterator(), step, 1L));
+            assertEquals(6, step.next().get().intValue());
+            assertFalse(step.hasNext());
+        }
+    }
+}
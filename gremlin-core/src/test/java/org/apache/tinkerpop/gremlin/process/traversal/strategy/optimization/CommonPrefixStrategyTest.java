@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class CommonPrefixStrategyTest {
+
+    @Parameterized.Parameter(value = 0)
+    public Traversal original;
+
+    @Parameterized.Parameter(value = 1)
+    public Traversal optimized;
+
+    @Test
+    public void doTest() {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(CommonPrefixStrategy.instance());
+        this.original.asAdmin().setStrategies(strategies);
+        this.original.asAdmin().applyStrategies();
+        assertEquals(this.optimized, this.original);
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<Object[]> generateTestParameters() {
+
+        return Arrays.asList(new Object[][]{
+                {__.union(__.out("x").has("a", 1), __.out("x").has("b", 2)),
+                        __.map(__.out("x").fold()).union(__.unfold().has("a", 1), __.unfold().has("b", 2))},
+                {__.union(__.out("x").in(), __.out("x").in(), __.out("x").in().out()),
+                        __.map(__.out("x").in().fold()).union(__.unfold(), __.unfold(), __.unfold().out())},
+                {__.union(__.out().count(), __.out().count().is(1)), __.map(__.out().fold()).union(__.unfold().count(), __.unfold().count().is(1))},
+                {__.union(__.has("a", 1).values("b"), __.has("a", 1).values("c")), __.union(__.has("a", 1).values("b"), __.has("a", 1).values("c"))},
+                {__.union(__.out("x").has("a", 1), __.out("x")).path(), __.union(__.out("x").has("a", 1), __.out("x")).path()},
+                {__.union(__.out("x"), __.in("x")), __.union(__.out("x"), __.in("x"))},
+                {__.union(__.out().as("a"), __.out().as("a")), __.union(__.out().as("a"), __.out().as("a"))},
+                {__.project("a", "b").by(__.out("x").count()).by(__.out("x").values("w").sum()),
+                        __.map(__.out("x").fold()).project("a", "b").by(__.unfold().count()).by(__.unfold().values("w").sum())},
+                {__.project("a", "b").by("name").by(__.out().count()), __.project("a", "b").by("name").by(__.out().count())},
+                {__.project("a", "b").by(__.out("x").values("w")).by(__.out("x").count()), __.project("a", "b").by(__.out("x").values("w")).by(__.out("x").count())},
+                {__.project("a", "b").by(__.out("x").limit(1).count()).by(__.out("x").count()), __.project("a", "b").by(__.out("x").limit(1).count()).by(__.out("x").count())},
+                {__.union(__.out("x").limit(1), __.out("x").has("a", 1)), __.union(__.out("x").limit(1), __.out("x").has("a", 1))},
+                {__.union(__.out("x").values("w"), __.out("x").has("a", 1).limit(2).values("w")), __.union(__.out("x").values("w"), __.out("x").has("a", 1).limit(2).values("w"))},
+                {__.coalesce(__.out("x").has("a", 1), __.out("x")), __.coalesce(__.out("x").has("a", 1), __.out("x"))},
+                {__.choose(__.out("x").has("a", 1), __.out("x").values("b"), __.out("x").values("c")),
+                        __.choose(__.out("x").has("a", 1), __.out("x").values("b"), __.out("x").values("c"))},
+        });
+    }
+}
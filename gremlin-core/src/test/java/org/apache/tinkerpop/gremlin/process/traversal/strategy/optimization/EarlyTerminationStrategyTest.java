@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class EarlyTerminationStrategyTest {
+
+    @Parameterized.Parameter(value = 0)
+    public Traversal original;
+
+    @Parameterized.Parameter(value = 1)
+    public Traversal optimized;
+
+    @Parameterized.Parameter(value = 2)
+    public Collection<TraversalStrategy> otherStrategies;
+
+    @Test
+    public void doTest() {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(EarlyTerminationStrategy.instance());
+        for (final TraversalStrategy strategy : this.otherStrategies) {
+            strategies.addStrategies(strategy);
+        }
+        this.original.asAdmin().setStrategies(strategies);
+        this.original.asAdmin().applyStrategies();
+        assertEquals(this.optimized, this.original);
+    }
+
+    /**
+     * Bounds the last step of the traversal like the strategy does.
+     */
+    static <T extends Traversal<?, ?>> T first(final T traversal) {
+        final Step<?, ?> step = traversal.asAdmin().getEndStep();
+        if (step instanceof VertexStep)
+            ((VertexStep) step).setLimit(1);
+        else
+            ((GraphStep) step).setLimit(1);
+        return traversal;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<Object[]> generateTestParameters() {
+
+        return Arrays.asList(new Object[][]{
+                {__.filter(__.out().out().out()), __.filter(first(__.out().out().out())), Collections.singleton(LazyBarrierStrategy.instance())},
+                {__.filter(__.out("knows").order().by("age")), __.filter(first(__.out("knows"))), Collections.emptyList()},
+                {__.not(__.outE().dedup()), __.not(first(__.outE())), Collections.emptyList()},
+                {__.and(__.out(), __.in().order().identity()), __.and(first(__.out()), first(__.in())), Collections.emptyList()},
+                {__.where(__.out().barrier()), __.where(first(__.out())), Collections.emptyList()},
+                {__.where(__.as("a").out().as("b")), __.where(__.as("a").out().as("b")), Collections.emptyList()},
+                {__.choose(__.out().order(), __.in(), __.both()), __.choose(first(__.out()), __.in(), __.both()), Collections.emptyList()},
+                {__.out().barrier().out().limit(1), first(__.out().out()).limit(1), Collections.emptyList()},
+                {__.out().barrier().as("a").out().limit(1), first(__.out().as("a").out()).limit(1), Collections.emptyList()},
+                {__.V().limit(1), first(__.V()).limit(1), Collections.emptyList()},
+                {__.filter(__.out().dedup().by("name")), __.filter(__.out().dedup().by("name")), Collections.emptyList()},
+                {__.filter(__.out().order().limit(2)), __.filter(__.out().order().limit(2)), Collections.emptyList()},
+                {__.filter(__.out().store("x").order()), __.filter(__.out().store("x").order()), Collections.emptyList()},
+                {__.filter(__.out().map(t -> t.get()).barrier()), __.filter(__.out().map(t -> t.get()).barrier()), Collections.emptyList()},
+                {__.out().barrier().out().limit(2), __.out().barrier().out().limit(2), Collections.emptyList()},
+                {__.both().both().barrier().sack().limit(1), __.both().both().barrier().sack().limit(1), Collections.emptyList()},
+                {__.filter(__.out().barrier().sack()), __.filter(__.out().barrier().sack()), Collections.emptyList()},
+                {__.out().order().out().limit(1), first(__.out().order().out()).limit(1), Collections.emptyList()},
+                {__.out().barrier().order().limit(1), __.out().barrier().order().limit(1), Collections.emptyList()},
+                {__.out().out().order().by("age"), __.out().out().order().by("age"), Collections.emptyList()},
+        });
+    }
+}
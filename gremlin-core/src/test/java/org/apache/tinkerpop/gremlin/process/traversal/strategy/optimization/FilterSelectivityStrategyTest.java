@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+@RunWith(Parameterized.class)
+public class FilterSelectivityStrategyTest {
+
+    private static final Graph GRAPH = mock(Graph.class, withSettings().extraInterfaces(GraphStatistics.class));
+
+    static {
+        final GraphStatistics statistics = (GraphStatistics) GRAPH;
+        when(statistics.estimateCount(Vertex.class)).thenReturn(1000l);
+        when(statistics.estimateCount(Edge.class)).thenReturn(5100l);
+        when(statistics.estimateCount(Vertex.class, "person")).thenReturn(600l);
+        when(statistics.estimateCount(Vertex.class, "software")).thenReturn(400l);
+        when(statistics.estimateCount(Edge.class, "knows")).thenReturn(100l);
+        when(statistics.estimateCount(Edge.class, "created")).thenReturn(5000l);
+        when(statistics.estimateCount(eq(Vertex.class), anyString(), any())).thenReturn(GraphStatistics.UNKNOWN);
+        when(statistics.estimateCount(Vertex.class, "name", "marko")).thenReturn(1l);
+        when(statistics.isIndexed(Vertex.class, "name")).thenReturn(true);
+    }
+
+    @Parameterized.Parameter(value = 0)
+    public Traversal original;
+
+    @Parameterized.Parameter(value = 1)
+    public Traversal optimized;
+
+    @Parameterized.Parameter(value = 2)
+    public Graph graph;
+
+    void applyFilterSelectivityStrategy(final Traversal traversal) {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(FilterSelectivityStrategy.instance());
+        traversal.asAdmin().setStrategies(strategies);
+        if (null != this.graph)
+            traversal.asAdmin().setGraph(this.graph);
+        traversal.asAdmin().applyStrategies();
+    }
+
+    @Test
+    public void doTest() {
+        applyFilterSelectivityStrategy(this.original);
+        assertEquals(this.optimized, this.original);
+    }
+
+    @Test
+    public void shouldOrderHasContainersBySelectivity() {
+        final Traversal.Admin<?, ?> traversal = __.V().has("person", "name", "marko").asAdmin();
+        applyFilterSelectivityStrategy(traversal);
+        final List<HasContainer> hasContainers = ((HasStep<?>) traversal.getSteps().get(1)).getHasContainers();
+        if (null == this.graph)
+            assertEquals(T.label.getAccessor(), hasContainers.get(0).getKey());
+        else
+            assertEquals("name", hasContainers.get(0).getKey());
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<Object[]> generateTestParameters() {
+
+        return Arrays.asList(new Object[][]{
+                {__.V().hasLabel("person").has("name", "marko"), __.V().has("name", "marko").hasLabel("person"), GRAPH},
+                {__.V().has("age", 29).has("name", "marko"), __.V().has("name", "marko").has("age", 29), GRAPH},
+                {__.V().has("name", "marko").hasLabel("person"), __.V().has("name", "marko").hasLabel("person"), GRAPH},
+                {__.filter(__.out("created").out()).filter(__.out("knows").out()), __.filter(__.out("knows").out()).filter(__.out("created").out()), GRAPH},
+                {__.where(__.out().out()).has("name", "marko"), __.has("name", "marko").where(__.out().out()), GRAPH},
+                {__.V().hasLabel("person").as("a").has("name", "marko"), __.V().hasLabel("person").as("a").has("name", "marko"), GRAPH},
+                {__.V().hasLabel("person").dedup().has("name", "marko"), __.V().hasLabel("person").dedup().has("name", "marko"), GRAPH},
+                {__.filter(__.out("created").out().aggregate("x")).filter(__.out("knows")), __.filter(__.out("created").out().aggregate("x")).filter(__.out("knows")), GRAPH},
+                {__.V().hasLabel("person").has("age", P.gt(30)), __.V().hasLabel("person").has("age", P.gt(30)), GRAPH},
+                {__.V().hasLabel("person").has("age", P.gt(30)).has("name", "marko"), __.V().has("name", "marko").hasLabel("person").has("age", P.gt(30)), GRAPH},
+                {__.V().has("age", P.gt(30)).has("age", P.lt(20)).has("name", "marko"), __.V().has("name", "marko").has("age", P.gt(30)).has("age", P.lt(20)), GRAPH},
+                {__.where(__.out().count().is(P.gt(100))).has("name", "marko"), __.has("name", "marko").where(__.out().count().is(P.gt(100))), GRAPH},
+                {__.filter(__.values("age").is(P.gt(30))).where(__.out("knows").count().is(P.gt(100))), __.where(__.out("knows").count().is(P.gt(100))).filter(__.values("age").is(P.gt(30))), GRAPH},
+                {__.filter(__.values("age").is(P.gt(30))).where(__.out("knows").values("age").is(P.gt(100))), __.filter(__.values("age").is(P.gt(30))).where(__.out("knows").values("age").is(P.gt(100))), GRAPH},
+                {__.V().hasLabel("person").has("name", P.within("marko", "josh")), __.V().has("name", P.within("marko", "josh")).hasLabel("person"), GRAPH},
+                {__.filter(__.values("age").is(P.gt(30))).has("name", "marko"), __.has("name", "marko").filter(__.values("age").is(P.gt(30))), GRAPH},
+                {__.filter(__.values("age").is(P.eq(30))).has("name", "marko"), __.has("name", "marko").filter(__.values("age").is(P.eq(30))), GRAPH},
+                {__.V().hasLabel("person").has("name", "marko"), __.V().hasLabel("person").has("name", "marko"), null},
+                {__.filter(__.out("created").out()).filter(__.out("knows").out()), __.filter(__.out("created").out()).filter(__.out("knows").out()), null},
+        });
+    }
+}
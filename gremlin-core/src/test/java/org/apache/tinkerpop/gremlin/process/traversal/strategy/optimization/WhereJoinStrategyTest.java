@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicateStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class WhereJoinStrategyTest {
+
+    @Parameterized.Parameter(value = 0)
+    public Traversal original;
+
+    @Parameterized.Parameter(value = 1)
+    public boolean hashJoin;
+
+    @Test
+    public void doTest() {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(WhereJoinStrategy.instance());
+        original.asAdmin().setStrategies(strategies);
+        original.asAdmin().applyStrategies();
+        final Step<?, ?> whereStep = original.asAdmin().getEndStep();
+        assertEquals(hashJoin, whereStep instanceof WhereTraversalStep ?
+                ((WhereTraversalStep<?>) whereStep).isHashJoin() :
+                ((WherePredicateStep<?>) whereStep).isHashJoin());
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<Object[]> generateTestParameters() {
+
+        return Arrays.asList(new Object[][]{
+                {__.as("a").out().as("b").where(__.as("a").out("knows").as("b")), true},
+                {__.as("a").out().as("b").where(__.as("a").out("knows").has("age", P.gt(30)).as("b")), true},
+                {__.out().where(__.out().as("a")), true},
+                {__.as("a").out().where(__.as("a").out()), true},
+                {__.as("a").out().as("b").where(__.as("a").out().as("c").out().as("b")), false},
+                {__.as("a").out().as("b").where(__.as("a").map(t -> t.get()).as("b")), false},
+                {__.as("a").out().as("b").where(__.as("a").out().limit(1).as("b")), false},
+                {__.as("a").out().as("b").where(__.as("a").out().where(P.neq("b")).as("b")), false},
+                {__.as("a").out().as("b").where(__.as("a").out().addE("self").as("b")), false},
+                {__.as("a").out().as("b").where(__.and(__.as("a").out().as("b"), __.as("b").out())), false},
+                {__.as("a").out().as("b").where("a", P.gt("b")).by("age"), true},
+                {__.as("a").out().as("b").where("a", P.gt("b")).by(__.out().count()), true},
+                {__.as("a").out().as("b").where("a", P.eq("b")), false},
+                {__.as("a").out().as("b").where("a", P.eq("b")).by(__.map(t -> t.get())), false},
+        });
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class B_NL_O_NS_SE_SL_TraverserTest {
+
+    private static Traversal.Admin<?, ?> sackTraversal(final Object initialValue) {
+        final Traversal.Admin<?, ?> traversal = EmptyGraph.instance().traversal().withSack(initialValue, Operator.sum).V().asAdmin();
+        traversal.applyStrategies();
+        return traversal;
+    }
+
+    @Test
+    public void shouldHoldDoubleSackUnboxed() {
+        final Traversal.Admin traversal = sackTraversal(1.0d);
+        final B_NL_O_NS_SE_SL_Traverser<Object> t = new B_NL_O_NS_SE_SL_Traverser<>("x", traversal.getStartStep(), 1l);
+        assertEquals(B_O_NS_SE_SL_Traverser.DOUBLE_SACK, t.sackType);
+        assertEquals(1.0d, t.<Double>sack(), 0.0d);
+
+        assertTrue(t.sack(Operator.sum, 2));
+        assertEquals(3.0d, t.<Double>sack(), 0.0d);
+        assertTrue(t.sack(Operator.mult, 2.0f));
+        assertEquals(6.0d, t.<Double>sack(), 0.0d);
+        assertFalse(t.sack(Operator.min, 1));
+    }
+
+    @Test
+    public void shouldPromoteLongSackLikeNumberHelper() {
+        final Traversal.Admin traversal = sackTraversal(1l);
+        final B_NL_O_NS_SE_SL_Traverser<Object> t = new B_NL_O_NS_SE_SL_Traverser<>("x", traversal.getStartStep(), 1l);
+        assertTrue(t.sack(Operator.sum, 2));
+        assertEquals(3l, (long) t.<Long>sack());
+        assertTrue(t.sack(Operator.minus, 0.5d));
+        assertEquals(2.5d, t.<Double>sack(), 0.0d);
+    }
+
+    @Test
+    public void shouldFallBackToObjectSack() {
+        final Traversal.Admin traversal = sackTraversal(new ArrayList<>());
+        final B_NL_O_NS_SE_SL_Traverser<Object> t = new B_NL_O_NS_SE_SL_Traverser<>("x", traversal.getStartStep(), 1l);
+        assertEquals(B_O_NS_SE_SL_Traverser.OBJECT_SACK, t.sackType);
+        assertTrue(t.sack() instanceof List);
+        assertFalse(t.sack(Operator.sum, 1));
+    }
+
+    @Test
+    public void shouldSplitAndMergePrimitiveSacks() {
+        final Traversal.Admin traversal = sackTraversal(1.5d);
+        final B_NL_O_NS_SE_SL_Traverser<Object> t = new B_NL_O_NS_SE_SL_Traverser<>("x", traversal.getStartStep(), 1l);
+        final Traverser.Admin<Object> clone = t.split();
+        assertEquals(t, clone);
+        assertEquals(1.5d, clone.<Double>sack(), 0.0d);
+
+        t.merge(clone);
+        assertEquals(2l, t.bulk());
+        assertEquals(3.0d, t.<Double>sack(), 0.0d);
+    }
+
+    @Test
+    public void shouldTrackNestedLoops() {
+        final Traversal.Admin traversal = sackTraversal(1l);
+        final B_NL_O_NS_SE_SL_Traverser<Object> t = new B_NL_O_NS_SE_SL_Traverser<>("x", traversal.getStartStep(), 1l);
+        t.initialiseLoops("a", "outer");
+        t.incrLoops();
+        t.incrLoops();
+        t.initialiseLoops("a", "outer");
+        assertEquals(2, t.loops());
+
+        t.initialiseLoops("b", "inner");
+        t.incrLoops();
+        assertEquals(1, t.loops());
+        assertEquals(1, t.loops("inner"));
+        assertEquals(2, t.loops("outer"));
+
+        final B_NL_O_NS_SE_SL_Traverser<Object> clone = (B_NL_O_NS_SE_SL_Traverser<Object>) t.split();
+        clone.incrLoops();
+        assertEquals(1, t.loops());
+        assertEquals(2, clone.loops("inner"));
+        assertEquals(2, clone.loops("outer"));
+
+        t.resetLoops();
+        assertEquals(2, t.loops());
+        assertEquals(2, t.loops("outer"));
+        t.resetLoops();
+        assertEquals(0, t.loops());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowForUndefinedLoopName() {
+        final Traversal.Admin traversal = sackTraversal(1l);
+        final B_NL_O_NS_SE_SL_Traverser<Object> t = new B_NL_O_NS_SE_SL_Traverser<>("x", traversal.getStartStep(), 1l);
+        t.initialiseLoops("a", null);
+        t.loops("missing");
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class B_O_NS_SE_SL_TraverserTest {
+
+    private static Traversal.Admin<?, ?> sackTraversal(final GraphTraversalSource g) {
+        final Traversal.Admin<?, ?> traversal = g.V().asAdmin();
+        traversal.applyStrategies();
+        return traversal;
+    }
+
+    private static Traversal.Admin<?, ?> sackTraversal(final Object initialValue) {
+        return sackTraversal(EmptyGraph.instance().traversal().withSack(initialValue, Operator.sum));
+    }
+
+    @Test
+    public void shouldHoldLongSackUnboxed() {
+        final Traversal.Admin traversal = sackTraversal(1l);
+        final B_O_NS_SE_SL_Traverser<Object> t = new B_O_NS_SE_SL_Traverser<>("x", traversal.getStartStep(), 1l);
+        assertEquals(B_O_NS_SE_SL_Traverser.LONG_SACK, t.sackType);
+        assertNull(t.sack);
+        assertEquals(1l, (long) t.<Long>sack());
+
+        assertTrue(t.sack(Operator.sum, 2));
+        assertEquals(3l, (long) t.<Long>sack());
+        assertTrue(t.sack(Operator.mult, (short) 2));
+        assertEquals(6l, (long) t.<Long>sack());
+        assertTrue(t.sack(Operator.minus, 1.5f));
+        assertEquals(B_O_NS_SE_SL_Traverser.DOUBLE_SACK, t.sackType);
+        assertEquals(4.5d, t.<Double>sack(), 0.0d);
+    }
+
+    @Test
+    public void shouldLeaveUnsupportedUpdatesToTheCaller() {
+        final Traversal.Admin traversal = sackTraversal(1.0d);
+        final B_O_NS_SE_SL_Traverser<Object> t = new B_O_NS_SE_SL_Traverser<>("x", traversal.getStartStep(), 1l);
+        assertFalse(t.sack(Operator.div, 2));
+        assertFalse(t.sack(Operator.sum, Double.NaN));
+        assertFalse(t.sack(Operator.sum, "a"));
+        assertEquals(1.0d, t.<Double>sack(), 0.0d);
+    }
+
+    @Test
+    public void shouldFallBackToObjectSack() {
+        final Traversal.Admin traversal = sackTraversal(new ArrayList<>());
+        final B_O_NS_SE_SL_Traverser<Object> t = new B_O_NS_SE_SL_Traverser<>("x", traversal.getStartStep(), 1l);
+        assertEquals(B_O_NS_SE_SL_Traverser.OBJECT_SACK, t.sackType);
+        assertTrue(t.sack() instanceof List);
+        assertFalse(t.sack(Operator.sum, 1));
+
+        t.sack(2l);
+        assertEquals(B_O_NS_SE_SL_Traverser.LONG_SACK, t.sackType);
+        assertNull(t.sack);
+        assertEquals(2l, (long) t.<Long>sack());
+    }
+
+    @Test
+    public void shouldSplitPrimitiveSacks() {
+        final Traversal.Admin traversal = sackTraversal(EmptyGraph.instance().traversal().withSack(1.5d, d -> d * 2, (a, b) -> a + b));
+        final B_O_NS_SE_SL_Traverser<Object> t = new B_O_NS_SE_SL_Traverser<>("x", traversal.getStartStep(), 1l);
+        final B_O_NS_SE_SL_Traverser<Object> split = (B_O_NS_SE_SL_Traverser<Object>) t.split();
+        assertEquals(t, split);
+        assertEquals(B_O_NS_SE_SL_Traverser.DOUBLE_SACK, split.sackType);
+        assertEquals(3.0d, split.<Double>sack(), 0.0d);
+        assertEquals(1.5d, t.<Double>sack(), 0.0d);
+
+        final Traverser.Admin<String> mapped = t.split("y", traversal.getStartStep());
+        assertEquals(3.0d, mapped.<Double>sack(), 0.0d);
+        assertEquals(1.5d, t.<Double>sack(), 0.0d);
+    }
+
+    @Test
+    public void shouldMergePrimitiveSacks() {
+        final Traversal.Admin traversal = sackTraversal(2l);
+        final B_O_NS_SE_SL_Traverser<Object> t = new B_O_NS_SE_SL_Traverser<>("x", traversal.getStartStep(), 1l);
+        final B_O_NS_SE_SL_Traverser<Object> other = (B_O_NS_SE_SL_Traverser<Object>) t.split();
+        t.merge(other);
+        assertEquals(2l, t.bulk());
+        assertEquals(B_O_NS_SE_SL_Traverser.LONG_SACK, t.sackType);
+        assertEquals(4l, (long) t.<Long>sack());
+
+        other.sack(0.5d);
+        t.merge(other);
+        assertEquals(3l, t.bulk());
+        assertEquals(B_O_NS_SE_SL_Traverser.DOUBLE_SACK, t.sackType);
+        assertEquals(4.5d, t.<Double>sack(), 0.0d);
+    }
+
+    @Test
+    public void shouldMergeWithLambdaMerger() {
+        final Traversal.Admin traversal = sackTraversal(EmptyGraph.instance().traversal().withSack(2l, (a, b) -> Math.max(a, b)));
+        final B_O_NS_SE_SL_Traverser<Object> t = new B_O_NS_SE_SL_Traverser<>("x", traversal.getStartStep(), 1l);
+        final B_O_NS_SE_SL_Traverser<Object> other = (B_O_NS_SE_SL_Traverser<Object>) t.split();
+        other.sack(5l);
+        t.merge(other);
+        assertEquals(B_O_NS_SE_SL_Traverser.LONG_SACK, t.sackType);
+        assertEquals(5l, (long) t.<Long>sack());
+    }
+
+    @Test
+    public void shouldCloneIndependentPrimitiveSacks() {
+        final Traversal.Admin traversal = sackTraversal(1l);
+        final B_O_NS_SE_SL_Traverser<Object> t = new B_O_NS_SE_SL_Traverser<>("x", traversal.getStartStep(), 1l);
+        final B_O_NS_SE_SL_Traverser<Object> clone = (B_O_NS_SE_SL_Traverser<Object>) t.clone();
+        assertTrue(clone.sack(Operator.sum, 2.5d));
+        assertEquals(3.5d, clone.<Double>sack(), 0.0d);
+        assertEquals(B_O_NS_SE_SL_Traverser.LONG_SACK, t.sackType);
+        assertEquals(1l, (long) t.<Long>sack());
+    }
+}
@@ -20,11 +20,19 @@ package org.apache.tinkerpop.gremlin.process.traversal.util;
 
 import org.apache.tinkerpop.gremlin.process.TraversalStrategiesTest;
 import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SideEffectStrategy;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.Set;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
@@ -204,5 +212,31 @@ public class DefaultTraversalStrategiesTest {
         assertTrue(forthTraversal.getStrategies() == thirdTraversal.getStrategies());
         assertTrue(fifthTraversal.getStrategies() == firstTraversal.getStrategies());
     }
-}
 
+    @Test
+    public void shouldOnlyApplyStrategiesToTraversalsWithApplicableSteps() {
+        final IdentityCountingStrategy strategy = new IdentityCountingStrategy();
+        final TraversalStrategies s = new DefaultTraversalStrategies();
+        s.addStrategies(strategy);
+        final Traversal.Admin<?, ?> traversal = __.out().filter(__.identity()).local(__.in()).asAdmin();
+        traversal.setStrategies(s);
+        traversal.applyStrategies();
+        assertEquals(1, strategy.applications); // only the filter() child holds an IdentityStep
+    }
+
+    private static final class IdentityCountingStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy>
+            implements TraversalStrategy.OptimizationStrategy {
+
+        private int applications = 0;
+
+        @Override
+        public void apply(final Traversal.Admin<?, ?> traversal) {
+            this.applications++;
+        }
+
+        @Override
+        public Set<Class<? extends Step>> getApplicableStepClasses() {
+            return Collections.singleton(IdentityStep.class);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.IsStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ExecutionCountersTest {
+
+    @Test
+    public void shouldCountTraversersPerStepClass() {
+        final long before = ExecutionCounters.stepCounter(IsStep.class).sum();
+        assertEquals(2, __.__(1, 2, 3).is(P.gt(1)).toList().size());
+        assertTrue(ExecutionCounters.stepCounter(IsStep.class).sum() - before >= 2);
+        assertTrue(ExecutionCounters.snapshot(ExecutionCounters.STEP_TRAVERSERS).containsKey(IsStep.class.getSimpleName()));
+    }
+
+    @Test
+    public void shouldCountStrategyApplicationsAndModifications() {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(new RemovingStrategy(), new IdleStrategy());
+        for (int i = 0; i < 3; i++) {
+            final Traversal.Admin<?, ?> traversal = __.out().in().asAdmin();
+            traversal.setStrategies(strategies);
+            traversal.applyStrategies();
+        }
+        final Map<String, Long> applications = ExecutionCounters.snapshot(ExecutionCounters.STRATEGY_APPLICATIONS);
+        final Map<String, Long> modifications = ExecutionCounters.snapshot(ExecutionCounters.STRATEGY_MODIFICATIONS);
+        assertEquals(3l, applications.get(RemovingStrategy.class.getSimpleName()).longValue());
+        assertEquals(3l, applications.get(IdleStrategy.class.getSimpleName()).longValue());
+        assertEquals(3l, modifications.get(RemovingStrategy.class.getSimpleName()).longValue());
+        assertTrue(!modifications.containsKey(IdleStrategy.class.getSimpleName()));
+    }
+
+    @Test
+    public void shouldNotifyListenersOfExistingAndNewCounters() {
+        final LongAdder existing = ExecutionCounters.counter("test", "existing");
+        final Map<String, LongAdder> notified = new HashMap<>();
+        final ExecutionCounters.Listener listener = (group, name, counter) -> {
+            if (group.equals("test")) notified.put(name, counter);
+        };
+        ExecutionCounters.addListener(listener);
+        try {
+            assertSame(existing, notified.get("existing"));
+            final LongAdder added = ExecutionCounters.counter("test", "added");
+            assertSame(added, notified.get("added"));
+            assertSame(added, ExecutionCounters.counter("test", "added"));
+        } finally {
+            ExecutionCounters.removeListener(listener);
+        }
+        ExecutionCounters.counter("test", "afterRemoval");
+        assertTrue(!notified.containsKey("afterRemoval"));
+    }
+
+    private static final class RemovingStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+        @Override
+        public void apply(final Traversal.Admin<?, ?> traversal) {
+            if (traversal.getSteps().size() > 1)
+                traversal.removeStep(traversal.getSteps().size() - 1);
+        }
+    }
+
+    private static final class IdleStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+        @Override
+        public void apply(final Traversal.Admin<?, ?> traversal) {
+        }
+    }
+}
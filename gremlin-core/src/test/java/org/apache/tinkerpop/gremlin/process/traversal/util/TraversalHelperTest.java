@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.process.traversal.util;
 
 import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.TraversalVertexProgramStep;
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
@@ -33,6 +34,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.filter.PathFilterStep
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TraversalFilterStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.NotStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.FlatMapStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.TraversalFlatMapStep;
@@ -421,4 +423,28 @@ public class TraversalHelperTest {
         final Traversal<?,?> traversal = __.V().repeat(__.out().simplePath());
         assertTrue(TraversalHelper.anyStepRecursively(s -> s instanceof PathFilterStep, traversal.asAdmin()));
     }
+
+    @Test
+    public void shouldKeepStepIndexInSyncWithSteps() {
+        final Traversal.Admin<?, ?> traversal = __.out().count().asAdmin();
+        assertTrue(TraversalHelper.hasStepOfClass(CountGlobalStep.class, traversal));
+        assertFalse(TraversalHelper.hasStepOfAssignableClass(FilterStep.class, traversal));
+        assertEquals(1, TraversalHelper.getStepsOfAssignableClass(FlatMapStep.class, traversal).size());
+
+        traversal.removeStep(1);
+        assertFalse(TraversalHelper.hasStepOfClass(CountGlobalStep.class, traversal));
+        traversal.addStep(new IdentityStep<>(traversal));
+        traversal.addStep(0, new HasStep<>(traversal));
+        assertTrue(TraversalHelper.hasStepOfAssignableClass(FilterStep.class, traversal));
+        assertEquals(traversal.getSteps().get(0), TraversalHelper.getFirstStepOfAssignableClass(Step.class, traversal).get());
+        assertEquals(traversal.getSteps().get(2), TraversalHelper.getLastStepOfAssignableClass(Step.class, traversal).get());
+
+        // the index only covers the steps of the traversal itself so changes to children are seen as well
+        final Traversal.Admin<?, ?> child = __.in().asAdmin();
+        traversal.addStep(new LocalStep<>(traversal, child));
+        assertFalse(TraversalHelper.hasStepOfAssignableClassRecursively(CountGlobalStep.class, traversal));
+        child.addStep(new CountGlobalStep<>(child));
+        assertTrue(TraversalHelper.hasStepOfAssignableClassRecursively(CountGlobalStep.class, traversal));
+        assertFalse(TraversalHelper.hasStepOfAssignableClassRecursively(Scope.global, CountGlobalStep.class, traversal));
+    }
 }
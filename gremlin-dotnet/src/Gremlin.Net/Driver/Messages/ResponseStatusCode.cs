@@ -58,6 +58,12 @@ namespace Gremlin.Net.Driver.Messages
         /// </summary>
         Authenticate = 407,
 
+        /// <summary>
+        ///     The server is at capacity and did not accept the request. The request was not processed at all and can be
+        ///     retried once the client has fewer requests outstanding or the server load has dropped.
+        /// </summary>
+        TooManyRequests = 429,
+
         /// <summary>
         ///     The request message was not properly formatted which means it could not be parsed at all or the "op" code
         ///     was not recognized such that Gremlin Server could properly route it for processing. Check the message format
@@ -108,6 +114,7 @@ namespace Gremlin.Net.Driver.Messages
                 case ResponseStatusCode.Authenticate:
                     return false;
                 case ResponseStatusCode.Unauthorized:
+                case ResponseStatusCode.TooManyRequests:
                 case ResponseStatusCode.MalformedRequest:
                 case ResponseStatusCode.InvalidRequestArguments:
                 case ResponseStatusCode.ServerError:
@@ -64,6 +64,12 @@ public enum ResponseStatusCode {
      */
     AUTHENTICATE(407),
 
+    /**
+     * The server is at capacity and did not accept the request.  The request was not processed at all and can be
+     * retried once the client has fewer requests outstanding or the server load has dropped.
+     */
+    TOO_MANY_REQUESTS(429),
+
     /**
      * The request message contains objects that were not serializable on the client side.
      */
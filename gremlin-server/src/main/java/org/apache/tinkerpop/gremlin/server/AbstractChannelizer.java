@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.server;
 
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
@@ -31,8 +32,10 @@ import org.apache.tinkerpop.gremlin.driver.ser.GryoMessageSerializerV3d0;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
 import org.apache.tinkerpop.gremlin.server.auth.Authenticator;
 import org.apache.tinkerpop.gremlin.server.handler.AbstractAuthenticationHandler;
+import org.apache.tinkerpop.gremlin.server.handler.AdmissionControlHandler;
 import org.apache.tinkerpop.gremlin.server.handler.OpExecutorHandler;
 import org.apache.tinkerpop.gremlin.server.handler.OpSelectorHandler;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityHandler;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
@@ -98,6 +101,11 @@ public abstract class AbstractChannelizer extends ChannelInitializer<SocketChann
     public static final String PIPELINE_AUTHENTICATOR = "authenticator";
     public static final String PIPELINE_REQUEST_HANDLER = "request-handler";
     public static final String PIPELINE_HTTP_RESPONSE_ENCODER = "http-response-encoder";
+    public static final String PIPELINE_HTTP_FRAME_ENCODER = "http-frame-encoder";
+    public static final String PIPELINE_WS_FRAME_ENCODER = "ws-frame-encoder";
+    public static final String PIPELINE_WRITABILITY = "writability";
+    public static final String PIPELINE_ADMISSION = "admission";
+    public static final String PIPELINE_FLUSH_CONSOLIDATION = "flush-consolidation";
 
     protected static final String PIPELINE_SSL = "ssl";
     protected static final String PIPELINE_OP_SELECTOR = "op-selector";
@@ -111,6 +119,8 @@ public abstract class AbstractChannelizer extends ChannelInitializer<SocketChann
     private IdleStateHandler idleStateHandler;
     private OpSelectorHandler opSelectorHandler;
     private OpExecutorHandler opExecutorHandler;
+    private AdmissionControlHandler admissionControlHandler;
+    private final WritabilityHandler writabilityHandler = new WritabilityHandler();
 
     protected Authenticator authenticator;
 
@@ -150,14 +160,25 @@ public abstract class AbstractChannelizer extends ChannelInitializer<SocketChann
         // these handlers don't share any state and can thus be initialized once per pipeline
         opSelectorHandler = new OpSelectorHandler(settings, graphManager, gremlinExecutor, scheduledExecutorService, this);
         opExecutorHandler = new OpExecutorHandler(settings, graphManager, gremlinExecutor, scheduledExecutorService);
+
+        // this handler shares its state across all pipelines as the limits apply to the server as a whole
+        if (settings.admission.isEnabled())
+            admissionControlHandler = new AdmissionControlHandler(settings.admission);
     }
 
     @Override
     public void initChannel(final SocketChannel ch) throws Exception {
         final ChannelPipeline pipeline = ch.pipeline();
 
+        // coalesces flushes of responses written from outside the event loop into fewer writes to the socket
+        if (settings.flushConsolidationThreshold > 0)
+            pipeline.addLast(PIPELINE_FLUSH_CONSOLIDATION, new FlushConsolidationHandler(settings.flushConsolidationThreshold, true));
+
         sslContext.ifPresent(sslContext -> pipeline.addLast(PIPELINE_SSL, sslContext.newHandler(ch.alloc())));
 
+        // resumes result iteration that is waiting for the channel to become writeable again
+        pipeline.addLast(PIPELINE_WRITABILITY, writabilityHandler);
+
         // checks for no activity on a channel and triggers an event that is consumed by the OpSelectorHandler
         // and either closes the connection or sends a ping to see if the client is still alive
         if (supportsIdleMonitor()) {
@@ -171,6 +192,9 @@ public abstract class AbstractChannelizer extends ChannelInitializer<SocketChann
         // instance
         configure(pipeline);
 
+        // holds back requests once the server is at capacity
+        if (admissionControlHandler != null) pipeline.addLast(PIPELINE_ADMISSION, admissionControlHandler);
+
         pipeline.addLast(PIPELINE_OP_SELECTOR, opSelectorHandler);
         pipeline.addLast(PIPELINE_OP_EXECUTOR, opExecutorHandler);
 
@@ -20,9 +20,14 @@ package org.apache.tinkerpop.gremlin.server;
 
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
+import org.apache.tinkerpop.gremlin.server.handler.AdmissionControlHandler;
+import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.util.RequestTimings;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The context of Gremlin Server within which a particular request is made.
@@ -36,6 +41,8 @@ public final class Context {
     private final GraphManager graphManager;
     private final GremlinExecutor gremlinExecutor;
     private final ScheduledExecutorService scheduledExecutorService;
+    private final RequestTimings timings = new RequestTimings();
+    private final AtomicBoolean completed = new AtomicBoolean(false);
 
     public Context(final RequestMessage requestMessage, final ChannelHandlerContext ctx,
                    final Settings settings, final GraphManager graphManager,
@@ -87,4 +94,24 @@ public final class Context {
     public GremlinExecutor getGremlinExecutor() {
         return gremlinExecutor;
     }
+
+    /**
+     * Gets the time spent so far in each phase of processing the request.
+     */
+    public RequestTimings getTimings() {
+        return timings;
+    }
+
+    /**
+     * Marks the work for the request as done, whether it succeeded or failed, so that the
+     * {@link AdmissionControlHandler} can admit another request in its place. Unlike the final response, this
+     * happens even if the channel was closed in the meantime. Only the first call has any effect.
+     */
+    public void complete() {
+        if (!completed.compareAndSet(false, true) || null == channelHandlerContext) return;
+
+        final Channel channel = channelHandlerContext.channel();
+        final AdmissionControlHandler admissionControl = null == channel ? null : channel.attr(StateKey.ADMISSION_CONTROL).get();
+        if (admissionControl != null) admissionControl.complete(channel, requestMessage);
+    }
 }
@@ -65,6 +65,7 @@ public class GremlinServer {
 
     private static final String SERVER_THREAD_PREFIX = "gremlin-server-";
     public static final String AUDIT_LOGGER_NAME = "audit.org.apache.tinkerpop.gremlin.server";
+    public static final String SLOW_REQUEST_LOGGER_NAME = "slow.org.apache.tinkerpop.gremlin.server";
 
     private static final Logger logger = LoggerFactory.getLogger(GremlinServer.class);
     private final Settings settings;
@@ -361,6 +362,8 @@ public class GremlinServer {
 
     private static void configureMetrics(final Settings.ServerMetrics settings) {
         final MetricManager metrics = MetricManager.INSTANCE;
+        metrics.registerExecutionCounters();
+
         settings.optionalConsoleReporter().ifPresent(config -> {
             if (config.enabled) metrics.addConsoleReporter(config.interval);
         });
@@ -49,4 +49,13 @@ public interface OpProcessor extends AutoCloseable {
      * and return the Consumer function for that particular operation.
      */
     public ThrowingConsumer<Context> select(final Context ctx) throws OpProcessorException;
+
+    /**
+     * Determines if the operations of the processor call {@link Context#complete()} once the work for a request is
+     * done, which may be after the operation returned by {@link #select(Context)} has returned. Otherwise, which is
+     * the default, the request is considered complete as soon as that operation returns.
+     */
+    public default boolean completesContext() {
+        return false;
+    }
 }
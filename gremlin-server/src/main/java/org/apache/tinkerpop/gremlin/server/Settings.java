@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.server;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.SslContext;
 import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinPlugin;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
@@ -111,6 +112,32 @@ public class Settings {
      */
     public int resultIterationBatchSize = 64;
 
+    /**
+     * The serialized size in bytes to aim for with each batch of results.  When greater than zero the number of items
+     * in a batch adapts to the serialized size of the items seen so far for the request, starting from
+     * {@link #resultIterationBatchSize}, so that large items are sent in fewer items per batch and small items in
+     * more.  Requests that specify their own batch size are not adapted.  Defaults to zero which disables the feature.
+     */
+    public int resultIterationTargetBatchBytes = 0;
+
+    /**
+     * The largest number of items an adaptively sized batch may contain.  Only applies when
+     * {@link #resultIterationTargetBatchBytes} is enabled.
+     */
+    public int resultIterationMaxBatchSize = 4096;
+
+    /**
+     * Time in milliseconds after which the first batch of a result is sent back even if it is not yet full so that
+     * a slow result does not delay the first response to the client.  Defaults to zero which disables the feature.
+     */
+    public long resultIterationFirstBatchLatency = 0;
+
+    /**
+     * Time in milliseconds after which a completed request is written to the slow request log along with the time it
+     * spent in each phase of its processing.  Defaults to zero which disables the log.
+     */
+    public long slowRequestThreshold = 0;
+
     /**
      * The maximum length of the initial line (e.g. {@code "GET / HTTP/1.0"}) processed in a request, which essentially
      * controls the maximum length of the submitted URI. This setting ties to the Netty {@code HttpRequestDecoder}.
@@ -155,6 +182,13 @@ public class Settings {
      */
     public int writeBufferLowWaterMark = 1024 * 32;
 
+    /**
+     * The maximum number of flushes of a connection that may be consolidated into a single write to the network.
+     * Responses are often written and flushed from the Gremlin thread pool a batch at a time, and consolidating
+     * those flushes means fewer system calls as results are streamed.  Defaults to zero which disables the feature.
+     */
+    public int flushConsolidationThreshold = 0;
+
     /**
      * Time in milliseconds that the server will allow a channel to not receive requests from a client before it
      * automatically closes. If enabled, the value provided should typically exceed the amount of time given to
@@ -220,6 +254,12 @@ public class Settings {
 
     public AuthenticationSettings authentication = new AuthenticationSettings();
 
+    /**
+     * Configures admission control which limits the number of requests processed at once and schedules the waiting
+     * requests fairly between clients.
+     */
+    public AdmissionSettings admission = new AdmissionSettings();
+
     /**
      * Custom settings for {@link OpProcessor} implementations. Implementations are loaded via
      * {@link ServiceLoader} but custom configurations can be supplied through this configuration.
@@ -291,6 +331,10 @@ public class Settings {
         final TypeDescription authenticationSettings = new TypeDescription(AuthenticationSettings.class);
         constructor.addTypeDescription(authenticationSettings);
 
+        final TypeDescription admissionSettings = new TypeDescription(AdmissionSettings.class);
+        admissionSettings.putMapPropertyType("weights", String.class, Integer.class);
+        constructor.addTypeDescription(admissionSettings);
+
         final TypeDescription serverMetricsDescription = new TypeDescription(ServerMetrics.class);
         constructor.addTypeDescription(serverMetricsDescription);
 
@@ -424,6 +468,50 @@ public class Settings {
         public Map<String, Object> config = null;
     }
 
+    /**
+     * Settings for admission control of requests.  A client is identified by the name of the authenticated user or,
+     * when authentication is not enabled, by the remote host of the connection.
+     */
+    public static class AdmissionSettings {
+        /**
+         * The number of requests that may be processed at once across all connections.  Further requests wait in a
+         * queue and are taken from it in turn for each client.  Defaults to zero which means there is no limit.
+         */
+        public int maxInFlightRequests = 0;
+
+        /**
+         * The number of requests that may be processed at once for a single connection.  Defaults to zero which
+         * means there is no limit.
+         */
+        public int maxInFlightRequestsPerConnection = 0;
+
+        /**
+         * The number of requests that may be processed at once for a single client.  Defaults to zero which means
+         * there is no limit.
+         */
+        public int maxInFlightRequestsPerClient = 0;
+
+        /**
+         * The number of requests that may wait to be processed.  Requests that arrive once the queue is full are
+         * rejected straight away with {@link ResponseStatusCode#TOO_MANY_REQUESTS}.
+         */
+        public int maxQueuedRequests = 1024;
+
+        /**
+         * The share of the processing capacity given to a client when requests are waiting, keyed by client. A client
+         * with a weight of two has two of its requests taken from the queue for each request of a client with a
+         * weight of one, which is the default for clients not listed.
+         */
+        public Map<String, Integer> weights = new HashMap<>();
+
+        /**
+         * Determines if any limit is set, without which admission control is not applied at all.
+         */
+        public boolean isEnabled() {
+            return maxInFlightRequests > 0 || maxInFlightRequestsPerConnection > 0 || maxInFlightRequestsPerClient > 0;
+        }
+    }
+
     /**
      * Settings to configure SSL support.
      */
@@ -25,6 +25,7 @@ import org.apache.tinkerpop.gremlin.server.auth.AllowAllAuthenticator;
 import org.apache.tinkerpop.gremlin.server.handler.AbstractAuthenticationHandler;
 import org.apache.tinkerpop.gremlin.server.handler.HttpBasicAuthenticationHandler;
 import org.apache.tinkerpop.gremlin.server.handler.HttpGremlinEndpointHandler;
+import org.apache.tinkerpop.gremlin.server.handler.HttpGremlinResponseFrameEncoder;
 import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpServerCodec;
@@ -63,6 +64,9 @@ public class HttpChannelizer extends AbstractChannelizer {
 
         pipeline.addLast(new HttpObjectAggregator(settings.maxContentLength));
 
+        // writes what the op processors produce for serialized requests back as http responses
+        pipeline.addLast(PIPELINE_HTTP_FRAME_ENCODER, new HttpGremlinResponseFrameEncoder());
+
         if (authenticator != null) {
             // Cannot add the same handler instance to multiple times unless
             // it is marked as @Sharable, indicating a race condition will
@@ -86,10 +90,4 @@ public class HttpChannelizer extends AbstractChannelizer {
             return createAuthenticationHandler(authSettings);
         }
     }
-
-    @Override
-    public void finalize(final ChannelPipeline pipeline) {
-        pipeline.remove(PIPELINE_OP_SELECTOR);
-        pipeline.remove(PIPELINE_OP_EXECUTOR);
-    }
 }
@@ -101,7 +101,7 @@ public class WebSocketChannelizer extends AbstractChannelizer {
         if (logger.isDebugEnabled())
             pipeline.addLast(new LoggingHandler("log-aggregator-encoder", LogLevel.DEBUG));
 
-        pipeline.addLast("ws-frame-encoder", wsGremlinResponseFrameEncoder);
+        pipeline.addLast(PIPELINE_WS_FRAME_ENCODER, wsGremlinResponseFrameEncoder);
         pipeline.addLast("response-frame-encoder", gremlinResponseFrameEncoder);
         pipeline.addLast("request-text-decoder", wsGremlinTextRequestDecoder);
         pipeline.addLast("request-binary-decoder", wsGremlinBinaryRequestDecoder);
@@ -0,0 +1,387 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import com.codahale.metrics.Meter;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.AttributeKey;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Limits the number of requests that Gremlin Server processes at once as configured by
+ * {@link Settings.AdmissionSettings}. A {@link RequestMessage} that arrives when a limit is reached waits in a
+ * bounded queue rather than going straight to the {@code OpSelectorHandler}, so that the Gremlin thread pool only
+ * ever holds as much work as it is allowed to. Waiting requests are released as responses complete, taking turns
+ * between clients in proportion to their weight so that a client with many requests in the queue cannot hold back
+ * the others. Once the queue is full, requests are rejected straight away with
+ * {@link ResponseStatusCode#TOO_MANY_REQUESTS}.
+ * <p/>
+ * A request is considered complete when its final {@link ResponseMessage} or {@link Frame} is written back through
+ * this handler, which must therefore sit in front of the {@code OpSelectorHandler} and after any authentication
+ * handler, or when the work for it is {@link #complete(Channel, RequestMessage) complete}, whichever comes first.
+ * The work for a request is complete when its {@code Context} is completed or, for an {@code OpProcessor} that does
+ * not {@link org.apache.tinkerpop.gremlin.server.OpProcessor#completesContext() complete the context} itself, as
+ * soon as the operation it selected returns.
+ * Closing a connection only drops the requests that are still waiting, as those being processed hold on to their
+ * place until their work is done. A single instance is shared by all channels of a {@code Channelizer}.
+ */
+@ChannelHandler.Sharable
+public class AdmissionControlHandler extends ChannelDuplexHandler {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlHandler.class);
+    static final Meter rejectedMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "requests", "rejected"));
+
+    private static final AttributeKey<Connection> CONNECTION = AttributeKey.valueOf("admissionConnection");
+
+    private final Settings.AdmissionSettings settings;
+
+    /**
+     * Clients with requests that are waiting, in the order in which they get their turn.
+     */
+    private final Deque<Client> waiting = new ArrayDeque<>();
+    private final Map<String, Client> clients = new HashMap<>();
+    private int inFlight = 0;
+    private int queued = 0;
+
+    public AdmissionControlHandler(final Settings.AdmissionSettings settings) {
+        this.settings = settings;
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+        if (!(msg instanceof RequestMessage)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+
+        final RequestMessage request = (RequestMessage) msg;
+        final Pending pending = new Pending(ctx, request, getConnection(ctx.channel()));
+
+        // requests are told apart by their identifier so a duplicate could never be accounted for
+        final boolean duplicate;
+        synchronized (this) {
+            duplicate = !pending.connection.requests.add(request.getRequestId());
+        }
+        if (duplicate) {
+            rejectDuplicate(ctx, request);
+            return;
+        }
+
+        final List<Pending> admitted;
+        final boolean rejected;
+        synchronized (this) {
+            final Client client = clients.computeIfAbsent(pending.connection.client, this::createClient);
+            if (client.pending.isEmpty()) {
+                client.credit = client.weight;
+                waiting.addLast(client);
+            }
+            client.pending.addLast(pending);
+            queued++;
+
+            admitted = dispatch();
+
+            // when the queue is over its limit nothing could be dispatched so the new request is still the last one
+            // waiting for its client
+            rejected = queued > settings.maxQueuedRequests;
+            if (rejected) {
+                client.pending.removeLast();
+                pending.connection.requests.remove(request.getRequestId());
+                queued--;
+                if (client.pending.isEmpty()) waiting.remove(client);
+                removeIfIdle(client);
+            }
+        }
+
+        if (rejected)
+            reject(ctx, request);
+        else
+            fire(admitted, ctx);
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) throws Exception {
+        ctx.write(msg, promise);
+        final UUID requestId = getFinalResponseRequestId(msg);
+        if (requestId != null) fire(release(getConnection(ctx.channel()), requestId), null);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        final Connection connection = getConnection(ctx.channel());
+        synchronized (this) {
+            // requests for the connection that are still waiting will never get a response while those that are
+            // being processed keep their place until the work for them is complete
+            final Client client = clients.get(connection.client);
+            if (client != null) {
+                final Iterator<Pending> itty = client.pending.iterator();
+                while (itty.hasNext()) {
+                    final Pending pending = itty.next();
+                    if (pending.connection == connection) {
+                        itty.remove();
+                        connection.requests.remove(pending.request.getRequestId());
+                        queued--;
+                    }
+                }
+                if (client.pending.isEmpty()) waiting.remove(client);
+                removeIfIdle(client);
+            }
+        }
+
+        ctx.fireChannelInactive();
+    }
+
+    /**
+     * Releases the place of a request once the work for it is done, which may be after its channel was closed and
+     * its final response could no longer be written. Has no effect if the request was already released.
+     */
+    public void complete(final Channel channel, final RequestMessage request) {
+        fire(release(getConnection(channel), request.getRequestId()), null);
+    }
+
+    /**
+     * Gets the number of requests that are being processed.
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Gets the number of requests that are waiting to be processed.
+     */
+    public synchronized int getQueued() {
+        return queued;
+    }
+
+    private Client createClient(final String name) {
+        return new Client(name, Math.max(1, settings.weights.getOrDefault(name, 1)));
+    }
+
+    /**
+     * Takes requests from the queue while there is capacity, giving each client a number of requests equal to its
+     * weight before moving on to the next. A client that cannot have any of its requests processed because of
+     * the per client or per connection limits is passed over.
+     */
+    private List<Pending> dispatch() {
+        final List<Pending> admitted = new ArrayList<>();
+        int passed = 0;
+        while (hasCapacity() && passed < waiting.size()) {
+            final Client client = waiting.peekFirst();
+            final Pending next = takeAdmissible(client);
+            if (null == next) {
+                nextTurn();
+                passed++;
+                continue;
+            }
+
+            passed = 0;
+            inFlight++;
+            client.inFlight++;
+            next.connection.admitted.add(next.request.getRequestId());
+            admitted.add(next);
+
+            if (client.pending.isEmpty())
+                waiting.removeFirst();
+            else if (--client.credit == 0)
+                nextTurn();
+        }
+        return admitted;
+    }
+
+    private void nextTurn() {
+        final Client client = waiting.removeFirst();
+        client.credit = client.weight;
+        waiting.addLast(client);
+    }
+
+    private boolean hasCapacity() {
+        return settings.maxInFlightRequests <= 0 || inFlight < settings.maxInFlightRequests;
+    }
+
+    private Pending takeAdmissible(final Client client) {
+        if (settings.maxInFlightRequestsPerClient > 0 && client.inFlight >= settings.maxInFlightRequestsPerClient)
+            return null;
+
+        final Iterator<Pending> itty = client.pending.iterator();
+        while (itty.hasNext()) {
+            final Pending pending = itty.next();
+            if (settings.maxInFlightRequestsPerConnection <= 0 || pending.connection.admitted.size() < settings.maxInFlightRequestsPerConnection) {
+                itty.remove();
+                queued--;
+                return pending;
+            }
+        }
+        return null;
+    }
+
+    private synchronized List<Pending> release(final Connection connection, final UUID requestId) {
+        if (!connection.admitted.remove(requestId)) return Collections.emptyList();
+
+        connection.requests.remove(requestId);
+        inFlight--;
+        final Client client = clients.get(connection.client);
+        client.inFlight--;
+        removeIfIdle(client);
+
+        return dispatch();
+    }
+
+    private void removeIfIdle(final Client client) {
+        if (client.inFlight == 0 && client.pending.isEmpty()) clients.remove(client.name);
+    }
+
+    private static void fire(final List<Pending> admitted, final ChannelHandlerContext current) {
+        for (Pending pending : admitted) {
+            // the request that just arrived can continue on the current thread but the others belong to other
+            // channels or must not be processed in the middle of a write
+            if (pending.ctx == current)
+                pending.ctx.fireChannelRead(pending.request);
+            else
+                pending.ctx.executor().execute(() -> pending.ctx.fireChannelRead(pending.request));
+        }
+    }
+
+    private static void reject(final ChannelHandlerContext ctx, final RequestMessage request) {
+        rejectedMeter.mark();
+        final String message = String.format("Request [%s] rejected as Gremlin Server has too many requests waiting - retry later", request.getRequestId());
+        logger.warn(message);
+        ctx.writeAndFlush(ResponseMessage.build(request)
+                .code(ResponseStatusCode.TOO_MANY_REQUESTS)
+                .statusMessage(message).create());
+    }
+
+    private static void rejectDuplicate(final ChannelHandlerContext ctx, final RequestMessage request) {
+        final String message = String.format("Request [%s] rejected as a request with the same identifier is already in progress on the connection", request.getRequestId());
+        logger.warn(message);
+        ctx.writeAndFlush(ResponseMessage.build(request)
+                .code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS)
+                .statusMessage(message).create());
+    }
+
+    /**
+     * Gets the identifier of the request that the message completes or {@code null} if it is not a final response
+     * or does not say which request it is for.
+     */
+    private static UUID getFinalResponseRequestId(final Object msg) {
+        final ResponseStatusCode code;
+        final UUID requestId;
+        if (msg instanceof ResponseMessage) {
+            code = ((ResponseMessage) msg).getStatus().getCode();
+            requestId = ((ResponseMessage) msg).getRequestId();
+        } else if (msg instanceof Frame) {
+            code = ((Frame) msg).getCode();
+            requestId = ((Frame) msg).getRequestId();
+        } else {
+            return null;
+        }
+
+        return code != null && code.isFinalResponse() ? requestId : null;
+    }
+
+    private Connection getConnection(final Channel channel) {
+        Connection connection = channel.attr(CONNECTION).get();
+        if (null == connection) {
+            connection = new Connection(getClientName(channel));
+            final Connection existing = channel.attr(CONNECTION).setIfAbsent(connection);
+            if (existing != null)
+                connection = existing;
+            else
+                channel.attr(StateKey.ADMISSION_CONTROL).set(this);
+        }
+        return connection;
+    }
+
+    private static String getClientName(final Channel channel) {
+        final AuthenticatedUser user = channel.attr(StateKey.AUTHENTICATED_USER).get();
+        if (user != null) return user.getName();
+
+        final SocketAddress address = channel.remoteAddress();
+        return address instanceof InetSocketAddress ?
+                ((InetSocketAddress) address).getAddress().getHostAddress() : String.valueOf(address);
+    }
+
+    private static final class Client {
+        private final String name;
+        private final int weight;
+        private final Deque<Pending> pending = new ArrayDeque<>();
+        private int inFlight = 0;
+        private int credit = 0;
+
+        private Client(final String name, final int weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Connection {
+        private final String client;
+
+        /**
+         * Identifiers of the requests on the connection that are waiting or being processed.
+         */
+        private final Set<UUID> requests = new HashSet<>();
+
+        /**
+         * Identifiers of the requests on the connection that are being processed.
+         */
+        private final Set<UUID> admitted = new HashSet<>();
+
+        private Connection(final String client) {
+            this.client = client;
+        }
+    }
+
+    private static final class Pending {
+        private final ChannelHandlerContext ctx;
+        private final RequestMessage request;
+        private final Connection connection;
+
+        private Pending(final ChannelHandlerContext ctx, final RequestMessage request, final Connection connection) {
+            this.ctx = ctx;
+            this.request = request;
+            this.connection = connection;
+        }
+    }
+}
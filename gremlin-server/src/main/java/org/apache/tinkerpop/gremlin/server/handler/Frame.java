@@ -19,6 +19,9 @@
 package org.apache.tinkerpop.gremlin.server.handler;
 
 import io.netty.util.ReferenceCounted;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+
+import java.util.UUID;
 
 /**
  * A holder for a {@code String} or {@code ByteBuf} that represents a message to be written back to the requesting
@@ -28,15 +31,50 @@ import io.netty.util.ReferenceCounted;
  */
 public class Frame {
     private final Object msg;
+    private final ResponseStatusCode code;
+    private final UUID requestId;
 
     public Frame(final Object msg) {
+        this(msg, null);
+    }
+
+    /**
+     * Creates a frame that also records the status of the response message it holds so that protocols which need
+     * to know where a response ends can do so without deserializing the message.
+     */
+    public Frame(final Object msg, final ResponseStatusCode code) {
+        this(msg, code, null);
+    }
+
+    /**
+     * Creates a frame that also records the status and the request of the response message it holds so that
+     * handlers which track requests can do so without deserializing the message.
+     */
+    public Frame(final Object msg, final ResponseStatusCode code, final UUID requestId) {
         this.msg = msg;
+        this.code = code;
+        this.requestId = requestId;
     }
 
     public Object getMsg() {
         return msg;
     }
 
+    /**
+     * Gets the status of the response message held by this frame or {@code null} if it was not supplied.
+     */
+    public ResponseStatusCode getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the identifier of the request that the message held by this frame responds to or {@code null} if it was
+     * not supplied.
+     */
+    public UUID getRequestId() {
+        return requestId;
+    }
+
     /**
      * If the object contained in the frame is {@code ReferenceCounted} then it may need to be released or else
      * Netty will generate warnings that counted resources are leaking.
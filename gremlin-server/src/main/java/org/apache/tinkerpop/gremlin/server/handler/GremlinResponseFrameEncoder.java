@@ -69,9 +69,9 @@ public class GremlinResponseFrameEncoder extends MessageToMessageEncoder<Respons
                 // blocked by parallel requests then there is no thread available to serialize the result and send
                 // back the response as the workers get all tied up behind the session executor.
                 if (null == session || !o.getStatus().getCode().isSuccess())
-                    serialized = new Frame(serializer.serializeResponseAsBinary(o, ctx.alloc()));
+                    serialized = new Frame(serializer.serializeResponseAsBinary(o, ctx.alloc()), o.getStatus().getCode(), o.getRequestId());
                 else
-                    serialized = new Frame(session.getExecutor().submit(() -> serializer.serializeResponseAsBinary(o, ctx.alloc())).get());
+                    serialized = new Frame(session.getExecutor().submit(() -> serializer.serializeResponseAsBinary(o, ctx.alloc())).get(), o.getStatus().getCode(), o.getRequestId());
 
                 objects.add(serialized);
             } else {
@@ -84,9 +84,9 @@ public class GremlinResponseFrameEncoder extends MessageToMessageEncoder<Respons
                 // if the request came in on a session then the serialization must occur that same thread except
                 // in the case of errors for reasons described above.
                 if (null == session || !o.getStatus().getCode().isSuccess())
-                    serialized = new Frame(textSerializer.serializeResponseAsString(o));
+                    serialized = new Frame(textSerializer.serializeResponseAsString(o), o.getStatus().getCode(), o.getRequestId());
                 else
-                    serialized = new Frame(session.getExecutor().submit(() -> textSerializer.serializeResponseAsString(o)).get());
+                    serialized = new Frame(session.getExecutor().submit(() -> textSerializer.serializeResponseAsString(o)).get(), o.getStatus().getCode(), o.getRequestId());
 
                 objects.add(serialized);
             }
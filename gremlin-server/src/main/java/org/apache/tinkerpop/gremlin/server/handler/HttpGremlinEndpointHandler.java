@@ -26,30 +26,39 @@ import io.netty.handler.codec.http.HttpUtil;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
 import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.driver.ser.MessageTextSerializer;
+import org.apache.tinkerpop.gremlin.driver.ser.SerializationException;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.op.traversal.TraversalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.util.function.FunctionUtils;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.http.QueryStringDecoder;
 import io.netty.util.CharsetUtil;
 import io.netty.util.ReferenceCountUtil;
@@ -58,7 +67,7 @@ import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.shaded.jackson.databind.node.ArrayNode;
 import org.apache.tinkerpop.shaded.jackson.databind.node.ObjectNode;
 import org.javatuples.Pair;
-import org.javatuples.Quartet;
+import org.javatuples.Quintet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -75,6 +84,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -113,6 +123,14 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
 
     private static final String ARGS_ALIASES_DOT = Tokens.ARGS_ALIASES + ".";
 
+    /**
+     * Request argument that asks for the result to be streamed back as a chunked response rather than as a single
+     * message.
+     */
+    static final String ARGS_STREAM = "stream";
+
+    private static final byte[] STREAM_DELIMITER = "\n".getBytes(UTF8);
+
     private static final Timer evalOpTimer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "eval"));
 
     /**
@@ -163,7 +181,15 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                 return;
             }
 
-            final Quartet<String, Map<String, Object>, String, Map<String, String>> requestArguments;
+            // a body in one of the binary formats holds a serialized RequestMessage rather than a script
+            final String contentType = req.headers().get(CONTENT_TYPE);
+            final MessageSerializer binarySerializer = null == contentType ? null : serializers.get(contentType);
+            if (req.method() == POST && binarySerializer != null && !(binarySerializer instanceof MessageTextSerializer)) {
+                processBinaryRequest(ctx, req, contentType, binarySerializer);
+                return;
+            }
+
+            final Quintet<String, Map<String, Object>, String, Map<String, String>, Optional<Integer>> requestArguments;
             try {
                 requestArguments = getRequestArguments(req);
             } catch (IllegalArgumentException iae) {
@@ -182,6 +208,7 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
 
             final String origin = req.headers().get(ORIGIN);
             final boolean keepAlive = HttpUtil.isKeepAlive(req);
+            final Optional<Integer> streamBatchSize = requestArguments.getValue4();
 
             // not using the req any where below here - assume it is safe to release at this point.
             ReferenceCountUtil.release(msg);
@@ -196,10 +223,12 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                 }
                 final ChannelPromise promise = ctx.channel().newPromise();
                 final AtomicReference<Object> resultHolder = new AtomicReference<>();
+                final AtomicBoolean streamStarted = new AtomicBoolean(false);
                 promise.addListener(future -> {
                     // if failed then the error was already written back to the client as part of the eval future
-                    // processing of the exception
-                    if (future.isSuccess()) {
+                    // processing of the exception. a streamed result is written as it is iterated so there is
+                    // nothing left to do for it here
+                    if (future.isSuccess() && !streamBatchSize.isPresent()) {
                         logger.debug("Preparing HTTP response for request with script [{}] and bindings of [{}] with result of [{}] on [{}]",
                                 requestArguments.getValue0(), requestArguments.getValue1(), resultHolder.get(), Thread.currentThread().getName());
                         final FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, OK, (ByteBuf) resultHolder.get());
@@ -240,6 +269,13 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
 
                             logger.debug("Transforming result of request with script [{}] and bindings of [{}] with result of [{}] on [{}]",
                                     requestArguments.getValue0(), requestArguments.getValue1(), o, Thread.currentThread().getName());
+
+                            if (streamBatchSize.isPresent()) {
+                                streamResult(ctx, serializer, IteratorUtils.asIterator(o), streamBatchSize.get(),
+                                        requestArguments.getValue3(), origin, keepAlive, streamStarted);
+                                return null;
+                            }
+
                             final ResponseMessage responseMessage = ResponseMessage.build(UUID.randomUUID())
                                     .code(ResponseStatusCode.SUCCESS)
                                     .result(IteratorUtils.asList(o)).create();
@@ -259,7 +295,12 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                         }));
 
                 evalFuture.exceptionally(t -> {		
-					if (t.getMessage() != null)
+                    if (streamStarted.get()) {
+                        // the status line was already sent so the error was written to the client as the final
+                        // chunk of the stream
+                        errorMeter.mark();
+                        logger.warn(String.format("Error while streaming result of script: %s", requestArguments.getValue0()), t);
+                    } else if (t.getMessage() != null)
 						sendError(ctx, INTERNAL_SERVER_ERROR, t.getMessage(), Optional.of(t));
 					else
 						sendError(ctx, INTERNAL_SERVER_ERROR, String.format("Error encountered evaluating script: %s", requestArguments.getValue0())
@@ -341,14 +382,71 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
             // this isn't perfect as it doesn't really account for wildcards.  that level of complexity doesn't seem
             // super useful for gremlin server really.
             final String accept = p.getValue0().equals("*/*") ? "application/json" : p.getValue0();
-            if (serializers.containsKey(accept))
+            if (serializers.get(accept) instanceof MessageTextSerializer)
                 return Pair.with(accept, (MessageTextSerializer) serializers.get(accept));
         }
 
         return null;
     }
 
-    private static Quartet<String, Map<String, Object>, String, Map<String,String>> getRequestArguments(final FullHttpRequest request) {
+    /**
+     * Processes a request whose body is a {@link RequestMessage} serialized by one of the binary serializers, such as
+     * GraphBinary or Gryo. Only {@link Tokens#OPS_BYTECODE} requests for the {@link TraversalOpProcessor} are accepted
+     * and they are passed down the pipeline to be selected and executed just as they would be over websockets. The
+     * response is written in the same format as the request by the {@link HttpGremlinResponseFrameEncoder} that the
+     * channelizer installs.
+     */
+    private void processBinaryRequest(final ChannelHandlerContext ctx, final FullHttpRequest req,
+                                      final String mimeType, final MessageSerializer serializer) {
+        final long deserializationStart = System.nanoTime();
+        final RequestMessage requestMessage;
+        try {
+            requestMessage = serializer.deserializeRequest(skipMimeType(req.content(), mimeType));
+        } catch (SerializationException se) {
+            sendError(ctx, BAD_REQUEST, String.format("body could not be deserialized as %s", mimeType), Optional.of(se));
+            return;
+        } finally {
+            ReferenceCountUtil.release(req);
+        }
+
+        if (!requestMessage.getOp().equals(Tokens.OPS_BYTECODE)
+                || !requestMessage.getProcessor().equals(TraversalOpProcessor.OP_PROCESSOR_NAME)) {
+            sendError(ctx, BAD_REQUEST, String.format("only the %s op of the %s processor is supported for %s requests",
+                    Tokens.OPS_BYTECODE, TraversalOpProcessor.OP_PROCESSOR_NAME, mimeType));
+            return;
+        }
+
+        logger.debug("Processing request containing bytecode [{}] on {}",
+                requestMessage.getArgs().get(Tokens.ARGS_GREMLIN), Thread.currentThread().getName());
+        if (settings.authentication.enableAuditLog) {
+            String address = ctx.channel().remoteAddress().toString();
+            if (address.startsWith("/") && address.length() > 1) address = address.substring(1);
+            auditLogger.info("User with address {} requested: {}", address, requestMessage.getArgs().get(Tokens.ARGS_GREMLIN));
+        }
+
+        // the op processors serialize results with the serializer found on the channel just as they do for requests
+        // decoded from websocket frames. http requests are sessionless so the session is never set
+        ctx.channel().attr(StateKey.SERIALIZER).set(serializer);
+        ctx.channel().attr(StateKey.USE_BINARY).set(true);
+        ctx.channel().attr(StateKey.REQUEST_DESERIALIZATION_TIME).set(System.nanoTime() - deserializationStart);
+
+        ctx.fireChannelRead(requestMessage);
+    }
+
+    /**
+     * Binary serializers prefix a request with its mime type so that it can be identified on a websocket. Over HTTP
+     * the {@code Content-Type} header does that job so the prefix is optional and is skipped if present.
+     */
+    private static ByteBuf skipMimeType(final ByteBuf body, final String mimeType) {
+        final byte[] mime = mimeType.getBytes(UTF8);
+        final int start = body.readerIndex();
+        if (body.readableBytes() > mime.length && body.getByte(start) == mime.length
+                && body.slice(start + 1, mime.length).equals(Unpooled.wrappedBuffer(mime)))
+            body.skipBytes(mime.length + 1);
+        return body;
+    }
+
+    private Quintet<String, Map<String, Object>, String, Map<String,String>, Optional<Integer>> getRequestArguments(final FullHttpRequest request) {
         if (request.method() == GET) {
             final QueryStringDecoder decoder = new QueryStringDecoder(request.uri());
             final List<String> gremlinParms = decoder.parameters().get(Tokens.ARGS_GREMLIN);
@@ -370,7 +468,17 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
             final List<String> languageParms = decoder.parameters().get(Tokens.ARGS_LANGUAGE);
             final String language = (null == languageParms || languageParms.size() == 0) ? null : languageParms.get(0);
 
-            return Quartet.with(script, bindings, language, aliases);
+            final List<String> streamParms = decoder.parameters().get(ARGS_STREAM);
+            final boolean stream = null != streamParms && !streamParms.isEmpty() && Boolean.parseBoolean(streamParms.get(0));
+            final List<String> batchSizeParms = decoder.parameters().get(Tokens.ARGS_BATCH_SIZE);
+            final Integer batchSize;
+            try {
+                batchSize = null == batchSizeParms || batchSizeParms.isEmpty() ? null : Integer.parseInt(batchSizeParms.get(0));
+            } catch (NumberFormatException nfe) {
+                throw new IllegalArgumentException("batchSize must be an integer", nfe);
+            }
+
+            return Quintet.with(script, bindings, language, aliases, getStreamBatchSize(stream, batchSize));
         } else {
             final JsonNode body;
             try {
@@ -401,7 +509,141 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
             final JsonNode languageNode = body.get(Tokens.ARGS_LANGUAGE);
             final String language = null == languageNode ? null : languageNode.asText();
 
-            return Quartet.with(scriptNode.asText(), bindings, language, aliases);
+            final JsonNode streamNode = body.get(ARGS_STREAM);
+            final JsonNode batchSizeNode = body.get(Tokens.ARGS_BATCH_SIZE);
+            if (batchSizeNode != null && !batchSizeNode.canConvertToInt())
+                throw new IllegalArgumentException("batchSize must be an integer");
+            final Integer batchSize = null == batchSizeNode ? null : batchSizeNode.asInt();
+
+            return Quintet.with(scriptNode.asText(), bindings, language, aliases,
+                    getStreamBatchSize(null != streamNode && streamNode.asBoolean(), batchSize));
+        }
+    }
+
+    /**
+     * Determines the size of the batches to stream a result in, where an empty value means that the result should
+     * not be streamed at all. The batch size defaults to {@link Settings#resultIterationBatchSize} and may be
+     * overridden by the request.
+     */
+    private Optional<Integer> getStreamBatchSize(final boolean stream, final Integer batchSize) {
+        if (!stream) return Optional.empty();
+        if (batchSize != null && batchSize < 1)
+            throw new IllegalArgumentException("batchSize must be greater than zero");
+        return Optional.of(null == batchSize ? settings.resultIterationBatchSize : batchSize);
+    }
+
+    /**
+     * Writes the result back as a chunked HTTP response where each chunk holds a newline delimited
+     * {@link ResponseMessage} with up to {@code batchSize} results. All but the last message carry a
+     * {@link ResponseStatusCode#PARTIAL_CONTENT} status, just as they would over websockets, so that the result
+     * never has to be held in memory as a whole. Each message is serialized directly into a pooled {@code ByteBuf}
+     * and, as in {@code AbstractOpProcessor.handleIterator()}, iteration pauses while the channel is not writeable
+     * so that a slow client cannot force the server to buffer the result on its behalf.
+     */
+    private void streamResult(final ChannelHandlerContext ctx, final Pair<String, MessageTextSerializer> serializer,
+                              final Iterator itty, final int batchSize, final Map<String, String> aliases,
+                              final String origin, final boolean keepAlive, final AtomicBoolean streamStarted) throws Exception {
+        final UUID requestId = UUID.randomUUID();
+        boolean warnOnce = false;
+        List<Object> aggregate = new ArrayList<>(batchSize);
+
+        // use an external control to manage the loop as opposed to just checking hasNext() in the while so that a
+        // call to hasNext() after the commit does not open a new transaction
+        boolean hasMore = true;
+
+        try {
+            while (hasMore) {
+                if (Thread.interrupted()) throw new InterruptedException();
+
+                if (aggregate.size() < batchSize && itty.hasNext()) aggregate.add(itty.next());
+
+                if (ctx.channel().isWritable()) {
+                    if (aggregate.size() == batchSize || !itty.hasNext()) {
+                        final boolean moreInIterator = itty.hasNext();
+                        final ResponseStatusCode code = moreInIterator ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
+                        final ByteBuf chunk = serializeChunk(ctx, serializer.getValue1(),
+                                ResponseMessage.build(requestId).code(code).result(aggregate).create());
+
+                        if (moreInIterator)
+                            aggregate = new ArrayList<>(batchSize);
+                        else {
+                            // commit before the final chunk is written for consistency with the unstreamed response
+                            try {
+                                attemptCommit(aliases, graphManager, settings.strictTransactionManagement);
+                            } catch (Exception ex) {
+                                chunk.release();
+                                throw ex;
+                            }
+                            hasMore = false;
+                        }
+
+                        // defer the status line until there is something to send so that errors raised on the first
+                        // batch can still be returned as a normal error response
+                        if (streamStarted.compareAndSet(false, true))
+                            ctx.write(createStreamResponse(serializer.getValue0(), origin, keepAlive));
+                        ctx.writeAndFlush(new DefaultHttpContent(chunk));
+                    }
+                } else if (!ctx.channel().isActive()) {
+                    throw new IllegalStateException("Connection closed by client before the result was fully written");
+                } else {
+                    // don't keep triggering this warning over and over again for the same request
+                    if (!warnOnce) {
+                        logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on request {} - writing will continue once client has caught up", requestId);
+                        warnOnce = true;
+                    }
+
+                    // the transaction must be committed from this thread so hold it until netty reports that the
+                    // client has caught up. this isn't blocking the IO thread - just a worker.
+                    WritabilityHandler.awaitWritable(ctx.channel());
+                }
+            }
+        } catch (Exception ex) {
+            if (streamStarted.get()) writeStreamError(ctx, serializer.getValue1(), requestId, ex);
+            throw ex;
+        }
+
+        final ChannelFuture lastWrite = ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+        if (!keepAlive) lastWrite.addListener(ChannelFutureListener.CLOSE);
+    }
+
+    private static HttpResponse createStreamResponse(final String mimeType, final String origin, final boolean keepAlive) {
+        final HttpResponse response = new DefaultHttpResponse(HTTP_1_1, OK);
+        response.headers().set(CONTENT_TYPE, mimeType);
+        HttpUtil.setTransferEncodingChunked(response, true);
+
+        // handle cors business
+        if (origin != null) response.headers().set(ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+        if (keepAlive) response.headers().set(CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+
+        return response;
+    }
+
+    private static ByteBuf serializeChunk(final ChannelHandlerContext ctx, final MessageTextSerializer serializer,
+                                          final ResponseMessage responseMessage) throws Exception {
+        try {
+            final ByteBuf message = serializer.serializeResponseAsBinary(responseMessage, ctx.alloc());
+            return ctx.alloc().compositeBuffer(2).addComponents(true, message, Unpooled.wrappedBuffer(STREAM_DELIMITER));
+        } catch (Exception ex) {
+            logger.warn(String.format("Error during serialization for %s", responseMessage), ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Once the status line of a streamed response has gone out the error can only be reported in-band, so it is
+     * written as a final {@link ResponseStatusCode#SERVER_ERROR} message after which the connection is closed.
+     */
+    private static void writeStreamError(final ChannelHandlerContext ctx, final MessageTextSerializer serializer,
+                                         final UUID requestId, final Throwable t) {
+        final ResponseMessage responseMessage = ResponseMessage.build(requestId)
+                .code(ResponseStatusCode.SERVER_ERROR)
+                .statusMessage(null == t.getMessage() ? t.getClass().getName() : t.getMessage())
+                .statusAttributeException(t).create();
+        try {
+            ctx.writeAndFlush(new DefaultLastHttpContent(serializeChunk(ctx, serializer, responseMessage)))
+                    .addListener(ChannelFutureListener.CLOSE);
+        } catch (Exception ex) {
+            ctx.close();
         }
     }
 
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import com.codahale.metrics.Meter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.util.CharsetUtil;
+import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.driver.ser.MessageTextSerializer;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.util.ExceptionHelper;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static io.netty.handler.codec.http.HttpHeaderNames.ACCESS_CONTROL_ALLOW_ORIGIN;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONNECTION;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
+import static io.netty.handler.codec.http.HttpHeaderNames.ORIGIN;
+import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
+
+/**
+ * Writes the {@link ResponseMessage} and {@link Frame} objects that an {@code OpProcessor} produces for a serialized
+ * HTTP request back as an HTTP response. Every message in the body is prefixed with its length as an {@code int} so
+ * that clients can split the body back into messages. A response that consists of a single message is sent whole
+ * with an HTTP status that reflects its {@link ResponseStatusCode}, while one that spans several messages is sent
+ * with chunked transfer encoding as each message arrives. Other objects, such as the responses to scripts, pass
+ * through untouched.
+ * <p/>
+ * The channelizer installs an instance once per channel in front of the HTTP endpoint handler. It takes the
+ * {@code Content-Type}, {@code Origin} and keep-alive setting of the response from the request that passes through
+ * it and writes the body as binary or text depending on what the {@link Frame} holds.
+ */
+public class HttpGremlinResponseFrameEncoder extends ChannelDuplexHandler {
+    private static final Logger logger = LoggerFactory.getLogger(HttpGremlinResponseFrameEncoder.class);
+    static final Meter errorMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "errors"));
+
+    private String mimeType;
+    private String origin;
+    private boolean keepAlive;
+    private boolean responseStarted = false;
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+        if (msg instanceof FullHttpRequest) {
+            final FullHttpRequest req = (FullHttpRequest) msg;
+            mimeType = req.headers().get(CONTENT_TYPE);
+            origin = req.headers().get(ORIGIN);
+            keepAlive = HttpUtil.isKeepAlive(req);
+            responseStarted = false;
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) throws Exception {
+        if (msg instanceof ResponseMessage) {
+            final ResponseMessage responseMessage = (ResponseMessage) msg;
+            if (!responseMessage.getStatus().getCode().isSuccess())
+                errorMeter.mark();
+
+            ByteBuf content;
+            ResponseStatusCode code = responseMessage.getStatus().getCode();
+            try {
+                content = serialize(ctx, responseMessage);
+            } catch (Exception ex) {
+                errorMeter.mark();
+                logger.warn("The result [{}] in the request {} could not be serialized and returned.",
+                        responseMessage.getResult(), responseMessage.getRequestId(), ex);
+                final String errorMessage = String.format("Error during serialization: %s", ExceptionHelper.getMessageFromExceptionOrCause(ex));
+                code = ResponseStatusCode.SERVER_ERROR_SERIALIZATION;
+                content = serialize(ctx, ResponseMessage.build(responseMessage.getRequestId())
+                        .statusMessage(errorMessage)
+                        .statusAttributeException(ex)
+                        .code(code).create());
+            }
+
+            writeMessage(ctx, content, code, promise);
+        } else if (msg instanceof Frame && ((Frame) msg).getMsg() instanceof ByteBuf) {
+            final Frame frame = (Frame) msg;
+            writeMessage(ctx, (ByteBuf) frame.getMsg(), frame.getCode(), promise);
+        } else if (msg instanceof Frame && ((Frame) msg).getMsg() instanceof String) {
+            final Frame frame = (Frame) msg;
+            writeMessage(ctx, Unpooled.wrappedBuffer(((String) frame.getMsg()).getBytes(CharsetUtil.UTF_8)), frame.getCode(), promise);
+        } else {
+            ctx.write(msg, promise);
+        }
+    }
+
+    /**
+     * Serializes the message with the serializer that the request was deserialized with, which is found on the
+     * channel as it is for websocket requests.
+     */
+    private static ByteBuf serialize(final ChannelHandlerContext ctx, final ResponseMessage responseMessage) throws Exception {
+        final MessageSerializer serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
+        final Boolean useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
+        if ((null == useBinary || !useBinary) && serializer instanceof MessageTextSerializer)
+            return Unpooled.wrappedBuffer(((MessageTextSerializer) serializer).serializeResponseAsString(responseMessage).getBytes(CharsetUtil.UTF_8));
+        return serializer.serializeResponseAsBinary(responseMessage, ctx.alloc());
+    }
+
+    private void writeMessage(final ChannelHandlerContext ctx, final ByteBuf message, final ResponseStatusCode code,
+                              final ChannelPromise promise) {
+        // a frame that did not record its status can only be assumed to be the whole response
+        final boolean isFinal = null == code || code.isFinalResponse();
+        final ByteBuf content = ctx.alloc().compositeBuffer(2).addComponents(true,
+                ctx.alloc().buffer(4).writeInt(message.readableBytes()), message);
+
+        final ChannelFuture future;
+        if (!responseStarted && isFinal) {
+            final FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, toHttpStatus(code), content);
+            response.headers().set(CONTENT_LENGTH, content.readableBytes());
+            future = ctx.write(prepareHeaders(response), promise);
+        } else {
+            if (!responseStarted) {
+                final HttpResponse response = new DefaultHttpResponse(HTTP_1_1, HttpResponseStatus.OK);
+                HttpUtil.setTransferEncodingChunked(response, true);
+                ctx.write(prepareHeaders(response));
+                responseStarted = true;
+            }
+
+            future = ctx.write(isFinal ? new DefaultLastHttpContent(content) : new DefaultHttpContent(content), promise);
+        }
+
+        if (isFinal) {
+            responseStarted = false;
+            if (!keepAlive) future.addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+    private HttpResponse prepareHeaders(final HttpResponse response) {
+        response.headers().set(CONTENT_TYPE, mimeType);
+
+        // handle cors business
+        if (origin != null) response.headers().set(ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+        if (keepAlive) response.headers().set(CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+
+        return response;
+    }
+
+    private static HttpResponseStatus toHttpStatus(final ResponseStatusCode code) {
+        if (null == code || code.isSuccess()) return HttpResponseStatus.OK;
+
+        switch (code) {
+            case UNAUTHORIZED:
+                return HttpResponseStatus.UNAUTHORIZED;
+            case FORBIDDEN:
+                return HttpResponseStatus.FORBIDDEN;
+            case REQUEST_ERROR_SERIALIZATION:
+            case REQUEST_ERROR_MALFORMED_REQUEST:
+            case REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS:
+                return HttpResponseStatus.BAD_REQUEST;
+            default:
+                return HttpResponseStatus.INTERNAL_SERVER_ERROR;
+        }
+    }
+}
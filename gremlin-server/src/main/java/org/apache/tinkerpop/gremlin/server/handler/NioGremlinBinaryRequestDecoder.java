@@ -71,7 +71,9 @@ public class NioGremlinBinaryRequestDecoder extends ReplayingDecoder<NioGremlinB
                     // subtract the contentTypeLength and the byte that held it from the full message length to
                     // figure out how long the rest of the message is
                     final int payloadLength = messageLength - 1 - contentTypeLength;
+                    final long deserializationStart = System.nanoTime();
                     objects.add(serializer.deserializeRequest(messageFrame.readBytes(payloadLength)));
+                    channelHandlerContext.channel().attr(StateKey.REQUEST_DESERIALIZATION_TIME).set(System.nanoTime() - deserializationStart);
                 } catch (SerializationException se) {
                     objects.add(RequestMessage.INVALID);
                 }
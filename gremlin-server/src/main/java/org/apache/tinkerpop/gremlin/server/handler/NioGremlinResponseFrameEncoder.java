@@ -21,27 +21,28 @@ package org.apache.tinkerpop.gremlin.server.handler;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.MessageToMessageEncoder;
 import io.netty.util.CharsetUtil;
 
+import java.util.List;
+
 /**
- * Encodes {@code ByteBuf} and {@code String} values to bytes to be written over NIO.
+ * Encodes {@code ByteBuf} and {@code String} values to bytes to be written over NIO. A serialized {@code ByteBuf} is
+ * not copied but composed with its length prefix.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
 @ChannelHandler.Sharable
-public class NioGremlinResponseFrameEncoder extends MessageToByteEncoder<Frame> {
+public class NioGremlinResponseFrameEncoder extends MessageToMessageEncoder<Frame> {
     @Override
-    protected void encode(final ChannelHandlerContext ctx, final Frame frame, final ByteBuf byteBuf) throws Exception {
+    protected void encode(final ChannelHandlerContext ctx, final Frame frame, final List<Object> objects) throws Exception {
         if (frame.getMsg() instanceof ByteBuf) {
             final ByteBuf bytes = (ByteBuf) frame.getMsg();
-            byteBuf.writeInt(bytes.capacity());
-            byteBuf.writeBytes(bytes);
-            bytes.release();
+            final ByteBuf length = ctx.alloc().ioBuffer(4).writeInt(bytes.readableBytes());
+            objects.add(ctx.alloc().compositeDirectBuffer(2).addComponents(true, length, bytes));
         } else if (frame.getMsg() instanceof String) {
             final byte [] bytes = ((String) frame.getMsg()).getBytes(CharsetUtil.UTF_8);
-            byteBuf.writeInt(bytes.length);
-            byteBuf.writeBytes(bytes);
+            objects.add(ctx.alloc().ioBuffer(4 + bytes.length).writeInt(bytes.length).writeBytes(bytes));
         }
     }
 }
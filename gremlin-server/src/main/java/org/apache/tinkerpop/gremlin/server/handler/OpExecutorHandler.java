@@ -24,7 +24,9 @@ import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
 import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
+import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.op.OpLoader;
 import org.apache.tinkerpop.gremlin.server.op.OpProcessorException;
 import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import io.netty.channel.ChannelHandler;
@@ -80,7 +82,14 @@ public class OpExecutorHandler extends SimpleChannelInboundHandler<Pair<RequestM
                     .statusAttributeException(ex)
                     .statusMessage(ex.getMessage()).create());
         } finally {
+            // a processor that does not complete the context itself may never write a final response that the
+            // AdmissionControlHandler can recognize, so the request must not hold on to its place any longer
+            if (!completesContext(msg)) gremlinServerContext.complete();
             ReferenceCountUtil.release(objects);
         }
     }
+
+    private static boolean completesContext(final RequestMessage msg) {
+        return OpLoader.getProcessor(msg.getProcessor()).map(OpProcessor::completesContext).orElse(false);
+    }
 }
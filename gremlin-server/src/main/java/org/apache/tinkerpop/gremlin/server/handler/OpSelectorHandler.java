@@ -31,6 +31,7 @@ import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.op.OpLoader;
 import org.apache.tinkerpop.gremlin.server.op.OpProcessorException;
+import org.apache.tinkerpop.gremlin.server.util.RequestTimings;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageDecoder;
@@ -70,6 +71,11 @@ public class OpSelectorHandler extends MessageToMessageDecoder<RequestMessage> {
                           final List<Object> objects) throws Exception {
         final Context gremlinServerContext = new Context(msg, ctx, settings,
                 graphManager, gremlinExecutor, this.scheduledExecutorService);
+
+        final Long deserializationTime = ctx.channel().attr(StateKey.REQUEST_DESERIALIZATION_TIME).getAndSet(null);
+        if (deserializationTime != null)
+            gremlinServerContext.getTimings().add(RequestTimings.Phase.DESERIALIZATION, deserializationTime);
+
         try {
             // choose a processor to do the work based on the request message.
             final Optional<OpProcessor> processor = OpLoader.getProcessor(msg.getProcessor());
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.buffer.AbstractByteBufAllocator;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+
+/**
+ * Allocates the buffers that responses are serialized into for a single channel. A serializer that asks for a buffer
+ * without saying how large it has to be, as GraphBinary does, gets a direct buffer from the channel allocator sized
+ * after the responses previously written to the channel, so that large results are not serialized through a series
+ * of buffers that are grown and copied one after the other. The capacity grows at once to fit the largest response
+ * seen and only shrinks after consecutive responses that would fit in a quarter of it. Capacities are powers of two
+ * so that they match the size classes of the pooled allocator.
+ */
+public final class ResponseBufferAllocator extends AbstractByteBufAllocator {
+
+    static final int MIN_CAPACITY = 256;
+    static final int MAX_CAPACITY = 4 * 1024 * 1024;
+
+    private final ByteBufAllocator allocator;
+
+    private volatile int nextCapacity = MIN_CAPACITY;
+    private volatile boolean shrinkNext = false;
+
+    ResponseBufferAllocator(final ByteBufAllocator allocator) {
+        super(true);
+        this.allocator = allocator;
+    }
+
+    /**
+     * Gets the allocator for the channel, creating it if needed.
+     */
+    public static ResponseBufferAllocator forChannel(final Channel channel) {
+        final Attribute<ResponseBufferAllocator> attr = channel.attr(StateKey.RESPONSE_BUFFER_ALLOCATOR);
+        final ResponseBufferAllocator allocator = attr.get();
+        if (allocator != null) return allocator;
+
+        final ResponseBufferAllocator created = new ResponseBufferAllocator(channel.alloc());
+        final ResponseBufferAllocator existing = attr.setIfAbsent(created);
+        return null == existing ? created : existing;
+    }
+
+    /**
+     * Gets the capacity of the next buffer requested without an initial capacity.
+     */
+    public int getNextCapacity() {
+        return nextCapacity;
+    }
+
+    /**
+     * Takes note of the number of bytes a response serialized to.
+     */
+    public void record(final int bytes) {
+        final int current = nextCapacity;
+        if (bytes > current) {
+            nextCapacity = Math.min(MAX_CAPACITY, roundUp(bytes));
+            shrinkNext = false;
+        } else if (bytes <= current >>> 2 && current > MIN_CAPACITY) {
+            if (shrinkNext) {
+                nextCapacity = Math.max(MIN_CAPACITY, current >>> 1);
+                shrinkNext = false;
+            } else {
+                shrinkNext = true;
+            }
+        } else {
+            shrinkNext = false;
+        }
+    }
+
+    @Override
+    public ByteBuf buffer() {
+        return directBuffer(nextCapacity);
+    }
+
+    @Override
+    public ByteBuf ioBuffer() {
+        return directBuffer(nextCapacity);
+    }
+
+    @Override
+    public boolean isDirectBufferPooled() {
+        return allocator.isDirectBufferPooled();
+    }
+
+    @Override
+    protected ByteBuf newHeapBuffer(final int initialCapacity, final int maxCapacity) {
+        return allocator.heapBuffer(initialCapacity, maxCapacity);
+    }
+
+    @Override
+    protected ByteBuf newDirectBuffer(final int initialCapacity, final int maxCapacity) {
+        return allocator.directBuffer(initialCapacity, maxCapacity);
+    }
+
+    private static int roundUp(final int bytes) {
+        final int highest = Integer.highestOneBit(bytes);
+        return highest == bytes || highest == 1 << 30 ? bytes : highest << 1;
+    }
+}
@@ -121,6 +121,8 @@ public class SaslAuthenticationHandler extends AbstractAuthenticationHandler {
                                 auditLogger.info("User {} with address {} authenticated by {}",
                                         user.getName(), address, authClassParts[authClassParts.length - 1]);
                             }
+                            ctx.channel().attr(StateKey.AUTHENTICATED_USER).set(user);
+
                             // If we have got here we are authenticated so remove the handler and pass
                             // the original message down the pipeline for processing
                             ctx.pipeline().remove(this);
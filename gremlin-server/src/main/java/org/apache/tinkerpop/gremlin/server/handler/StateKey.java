@@ -20,10 +20,13 @@ package org.apache.tinkerpop.gremlin.server.handler;
 
 import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
 import org.apache.tinkerpop.gremlin.server.auth.Authenticator;
 import org.apache.tinkerpop.gremlin.server.op.session.Session;
 import io.netty.util.AttributeKey;
 
+import java.util.Queue;
+
 /**
  * Keys used in the various handlers to store state in the pipeline.
  *
@@ -57,4 +60,29 @@ public final class StateKey {
      * The key for the current request.
      */
     public static final AttributeKey<RequestMessage> REQUEST_MESSAGE = AttributeKey.valueOf("request");
+
+    /**
+     * The key for the tasks that are waiting for the channel to become writeable.
+     */
+    public static final AttributeKey<Queue<Runnable>> WRITABILITY_WAITERS = AttributeKey.valueOf("writabilityWaiters");
+
+    /**
+     * The key for the user authenticated on the connection.
+     */
+    public static final AttributeKey<AuthenticatedUser> AUTHENTICATED_USER = AttributeKey.valueOf("authenticatedUser");
+
+    /**
+     * The key for the time in nanoseconds it took to deserialize the current request.
+     */
+    public static final AttributeKey<Long> REQUEST_DESERIALIZATION_TIME = AttributeKey.valueOf("requestDeserializationTime");
+
+    /**
+     * The key for the allocator of the buffers that responses on the channel are serialized into.
+     */
+    public static final AttributeKey<ResponseBufferAllocator> RESPONSE_BUFFER_ALLOCATOR = AttributeKey.valueOf("responseBufferAllocator");
+
+    /**
+     * The key for the {@link AdmissionControlHandler} that admitted the requests on the channel.
+     */
+    public static final AttributeKey<AdmissionControlHandler> ADMISSION_CONTROL = AttributeKey.valueOf("admissionControl");
 }
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.Attribute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs tasks that wait for a channel to become writeable once Netty reports the change through
+ * {@code channelWritabilityChanged()}, which allows result iteration to wait out a slow client without polling
+ * {@code Channel.isWritable()}. Tasks are also run when the channel closes so that they never wait forever, which
+ * means that they must check the state of the channel for themselves. The handler is added to every pipeline by the
+ * {@code AbstractChannelizer}.
+ */
+@ChannelHandler.Sharable
+public class WritabilityHandler extends ChannelInboundHandlerAdapter {
+    private static final Logger logger = LoggerFactory.getLogger(WritabilityHandler.class);
+
+    /**
+     * Runs the task once the channel is writeable or closed, which may be immediately. The task is run on the
+     * thread that observes the change, often the event loop, and must therefore not block.
+     */
+    public static void whenWritable(final Channel channel, final Runnable task) {
+        getWaiters(channel).add(task);
+
+        // the channel may have become writeable before the task was queued in which case no event will follow
+        if (channel.isWritable() || !channel.isActive()) runWaiters(channel);
+    }
+
+    /**
+     * Blocks the current thread until the channel is writeable or closed.
+     */
+    public static void awaitWritable(final Channel channel) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        whenWritable(channel, latch::countDown);
+        latch.await();
+    }
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) runWaiters(ctx.channel());
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        runWaiters(ctx.channel());
+        super.channelInactive(ctx);
+    }
+
+    private static Queue<Runnable> getWaiters(final Channel channel) {
+        final Attribute<Queue<Runnable>> attribute = channel.attr(StateKey.WRITABILITY_WAITERS);
+        final Queue<Runnable> waiters = attribute.get();
+        if (waiters != null) return waiters;
+
+        final Queue<Runnable> created = new ConcurrentLinkedQueue<>();
+        final Queue<Runnable> existing = attribute.setIfAbsent(created);
+        return null == existing ? created : existing;
+    }
+
+    private static void runWaiters(final Channel channel) {
+        final Queue<Runnable> waiters = getWaiters(channel);
+        Runnable task;
+        while ((task = waiters.poll()) != null) {
+            try {
+                task.run();
+            } catch (Exception ex) {
+                logger.warn("A task waiting for the channel to become writeable failed", ex);
+            }
+        }
+    }
+}
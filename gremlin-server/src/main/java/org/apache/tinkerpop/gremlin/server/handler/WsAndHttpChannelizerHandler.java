@@ -29,8 +29,10 @@ import org.apache.tinkerpop.gremlin.server.channel.WsAndHttpChannelizer;
 import org.apache.tinkerpop.gremlin.server.util.ServerGremlinExecutor;
 
 import static org.apache.tinkerpop.gremlin.server.channel.WebSocketChannelizer.PIPELINE_AUTHENTICATOR;
+import static org.apache.tinkerpop.gremlin.server.channel.WebSocketChannelizer.PIPELINE_HTTP_FRAME_ENCODER;
 import static org.apache.tinkerpop.gremlin.server.channel.WebSocketChannelizer.PIPELINE_REQUEST_HANDLER;
 import static org.apache.tinkerpop.gremlin.server.channel.WebSocketChannelizer.PIPELINE_HTTP_RESPONSE_ENCODER;
+import static org.apache.tinkerpop.gremlin.server.channel.WebSocketChannelizer.PIPELINE_WS_FRAME_ENCODER;
 
 /**
  * A ChannelInboundHandlerAdapter for use with {@link WsAndHttpChannelizer} that toggles between WebSockets
@@ -72,6 +74,11 @@ public class WsAndHttpChannelizerHandler extends ChannelInboundHandlerAdapter {
                 pipeline.remove(PIPELINE_REQUEST_HANDLER);
                 pipeline.addAfter(PIPELINE_HTTP_RESPONSE_ENCODER, PIPELINE_REQUEST_HANDLER, this.httpGremlinEndpointHandler);
             }
+
+            // responses to serialized requests are written as http rather than as websocket frames
+            if (null != pipeline.get(PIPELINE_WS_FRAME_ENCODER)) pipeline.remove(PIPELINE_WS_FRAME_ENCODER);
+            if (null == pipeline.get(PIPELINE_HTTP_FRAME_ENCODER))
+                pipeline.addAfter(PIPELINE_HTTP_RESPONSE_ENCODER, PIPELINE_HTTP_FRAME_ENCODER, new HttpGremlinResponseFrameEncoder());
         }
         ctx.fireChannelRead(obj);
     }
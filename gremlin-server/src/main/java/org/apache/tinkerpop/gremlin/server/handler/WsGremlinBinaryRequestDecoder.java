@@ -74,7 +74,9 @@ public class WsGremlinBinaryRequestDecoder extends MessageToMessageDecoder<Binar
             channelHandlerContext.channel().attr(StateKey.USE_BINARY).set(true);
 
             try {
+                final long deserializationStart = System.nanoTime();
                 objects.add(serializer.deserializeRequest(messageBytes.discardReadBytes()));
+                channelHandlerContext.channel().attr(StateKey.REQUEST_DESERIALIZATION_TIME).set(System.nanoTime() - deserializationStart);
             } catch (SerializationException se) {
                 objects.add(RequestMessage.INVALID);
             }
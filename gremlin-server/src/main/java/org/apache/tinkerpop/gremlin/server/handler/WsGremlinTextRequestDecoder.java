@@ -61,7 +61,9 @@ public class WsGremlinTextRequestDecoder extends MessageToMessageDecoder<TextWeb
             channelHandlerContext.channel().attr(StateKey.SERIALIZER).set(serializer);
             channelHandlerContext.channel().attr(StateKey.USE_BINARY).set(false);
 
+            final long deserializationStart = System.nanoTime();
             objects.add(serializer.deserializeRequest(frame.text()));
+            channelHandlerContext.channel().attr(StateKey.REQUEST_DESERIALIZATION_TIME).set(System.nanoTime() - deserializationStart);
         } catch (SerializationException se) {
             objects.add(RequestMessage.INVALID);
         }
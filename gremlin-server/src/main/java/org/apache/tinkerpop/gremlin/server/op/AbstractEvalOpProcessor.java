@@ -36,6 +36,7 @@ import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.ResponseHandlerContext;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.RequestTimings;
 import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.codehaus.groovy.control.MultipleCompilationErrorsException;
@@ -52,6 +53,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import static com.codahale.metrics.MetricRegistry.name;
@@ -230,6 +232,7 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
         final RequestMessage msg = context.getRequestMessage();
         final GremlinExecutor gremlinExecutor = gremlinExecutorSupplier.get();
         final Settings settings = context.getSettings();
+        final RequestTimings timings = context.getTimings();
 
         final Map<String, Object> args = msg.getArgs();
 
@@ -247,12 +250,18 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
             ? ((Number) args.get(Tokens.ARGS_SCRIPT_EVAL_TIMEOUT)).longValue()
             : settings.scriptEvaluationTimeout;
 
+        // the time the script was submitted for evaluation and then the time evaluation actually started
+        final long submitted = System.nanoTime();
+        final AtomicLong evaluationStart = new AtomicLong(0);
+
         final GremlinExecutor.LifeCycle lifeCycle = GremlinExecutor.LifeCycle.build()
                 .scriptEvaluationTimeoutOverride(seto)
                 .afterFailure((b,t) -> {
                     if (managedTransactionsForRequest) attemptRollback(msg, context.getGraphManager(), settings.strictTransactionManagement);
                 })
                 .beforeEval(b -> {
+                    timings.record(RequestTimings.Phase.QUEUE, submitted);
+                    evaluationStart.set(System.nanoTime());
                     try {
                         b.putAll(bindingsSupplier.get());
                     } catch (OpProcessorException ope) {
@@ -262,6 +271,7 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
                     }
                 })
                 .withResult(o -> {
+                    timings.record(RequestTimings.Phase.EVALUATION, evaluationStart.get());
                     final Iterator itty = IteratorUtils.asIterator(o);
 
                     logger.debug("Preparing to iterate results from - {} - in thread [{}]", msg, Thread.currentThread().getName());
@@ -326,6 +336,9 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
                 }
             }
 
+            // a result that is still being iterated on another thread completes the request from there
+            completeRequest(context, false);
+
             return null;
         });
     }
@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.server.op;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
 import org.apache.tinkerpop.gremlin.driver.Tokens;
@@ -31,8 +32,11 @@ import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.ResponseHandlerContext;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.apache.tinkerpop.gremlin.server.handler.ResponseBufferAllocator;
 import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityHandler;
 import org.apache.tinkerpop.gremlin.server.util.ExceptionHelper;
+import org.apache.tinkerpop.gremlin.server.util.RequestTimings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,7 +47,10 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A base {@link OpProcessor} implementation that processes an {@code Iterator} of results in a generalized way while
@@ -63,6 +70,15 @@ public abstract class AbstractOpProcessor implements OpProcessor {
         this.manageTransactions = manageTransactions;
     }
 
+    /**
+     * The results are iterated after the operation returns and {@link #completeRequest(Context, boolean)} completes
+     * the {@link Context} once they are done.
+     */
+    @Override
+    public boolean completesContext() {
+        return true;
+    }
+
     /**
      * Provides a generic way of iterating a result set back to the client.
      *
@@ -84,16 +100,18 @@ public abstract class AbstractOpProcessor implements OpProcessor {
         final ChannelHandlerContext ctx = context.getChannelHandlerContext();
         final RequestMessage msg = context.getRequestMessage();
         final Settings settings = context.getSettings();
-        final MessageSerializer serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
-        final boolean useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
-        boolean warnOnce = false;
 
         // sessionless requests are always transaction managed, but in-session requests are configurable.
         final boolean managedTransactionsForRequest = manageTransactions ?
                 true : (Boolean) msg.getArgs().getOrDefault(Tokens.ARGS_MANAGE_TRANSACTION, false);
 
+        // the first call to hasNext() may do most of the work of producing the result
+        final long iterationStart = System.nanoTime();
+        final boolean empty = !itty.hasNext();
+        context.getTimings().record(RequestTimings.Phase.ITERATION, iterationStart);
+
         // we have an empty iterator - happens on stuff like: g.V().iterate()
-        if (!itty.hasNext()) {
+        if (empty) {
             // as there is nothing left to iterate if we are transaction managed then we should execute a
             // commit here before we send back a NO_CONTENT which implies success
             if (managedTransactionsForRequest) attemptCommit(msg, context.getGraphManager(), settings.strictTransactionManagement);
@@ -101,116 +119,265 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                     .code(ResponseStatusCode.NO_CONTENT)
                     .statusAttributes(generateStatusAttributes(ctx, msg, ResponseStatusCode.NO_CONTENT, itty, settings))
                     .create());
+            completeRequest(context, true);
             return;
         }
 
-        // the batch size can be overridden by the request
-        final int resultIterationBatchSize = (Integer) msg.optionalArgs(Tokens.ARGS_BATCH_SIZE)
-                .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
+        // the batch size can be overridden by the request, otherwise it may adapt to the size of the results
+        final ResultBatchSizer batchSizer = ResultBatchSizer.create(msg, settings);
+
+        iterate(rhc, itty, batchSizer, new ArrayList<>(batchSizer.getBatchSize()),
+                getIterationDeadline(msg, settings));
+    }
+
+    /**
+     * Iterates the result in batches until it is exhausted or until the channel is no longer writeable and the
+     * iteration can be {@link #isIterationSuspendable(Context) suspended}, in which case this method returns and
+     * iteration picks up from the {@code pending} results on another thread once the client catches up.
+     */
+    private void iterate(final ResponseHandlerContext rhc, final Iterator itty, final ResultBatchSizer batchSizer,
+                         final List<Object> pending, final long deadline) throws InterruptedException {
+        final Context context = rhc.getContext();
+        final ChannelHandlerContext ctx = context.getChannelHandlerContext();
+        final RequestMessage msg = context.getRequestMessage();
+        final Settings settings = context.getSettings();
+        final MessageSerializer serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
+        final boolean useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
+        final boolean managedTransactionsForRequest = manageTransactions ?
+                true : (Boolean) msg.getArgs().getOrDefault(Tokens.ARGS_MANAGE_TRANSACTION, false);
+        final RequestTimings timings = context.getTimings();
+        List<Object> aggregate = pending;
+        boolean warnOnce = false;
+
+        // iteration is whatever time in the loop is not spent serializing or waiting on the client
+        final long iterationStart = System.nanoTime();
+        long notIterating = 0;
 
         // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
         // prevent situations where auto transactions create a new transaction after calls to commit() withing
         // the loop on calls to hasNext().
-        boolean hasMore = itty.hasNext();
-
-        while (hasMore) {
-            if (Thread.interrupted()) throw new InterruptedException();
-
-            // check if an implementation needs to force flush the aggregated results before the iteration batch
-            // size is reached.
-            final boolean forceFlush = isForceFlushed(ctx, msg, itty);
-
-            // have to check the aggregate size because it is possible that the channel is not writeable (below)
-            // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
-            // the expected resultIterationBatchSize.  Total serialization time for the response remains in
-            // effect so if the client is "slow" it may simply timeout.
-            //
-            // there is a need to check hasNext() on the iterator because if the channel is not writeable the
-            // previous pass through the while loop will have next()'d the iterator and if it is "done" then a
-            // NoSuchElementException will raise its head. also need a check to ensure that this iteration doesn't
-            // require a forced flush which can be forced by sub-classes.
-            //
-            // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
-            // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
-            // while waiting for the client to catch up
-            if (aggregate.size() < resultIterationBatchSize && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
-
-            // send back a page of results if batch size is met or if it's the end of the results being iterated.
-            // also check writeability of the channel to prevent OOME for slow clients.
-            if (ctx.channel().isWritable()) {
-                if (forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
-                    final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
-
-                    // serialize here because in sessionless requests the serialization must occur in the same
-                    // thread as the eval.  as eval occurs in the GremlinExecutor there's no way to get back to the
-                    // thread that processed the eval of the script so, we have to push serialization down into that
-                    Frame frame = null;
-                    try {
-                        frame = makeFrame(rhc, msg, serializer, useBinary, aggregate, code,
-                                generateResultMetaData(ctx, msg, code, itty, settings),
-                                generateStatusAttributes(ctx, msg, code, itty, settings));
-                    } catch (Exception ex) {
-                        // a frame may use a Bytebuf which is a countable release - if it does not get written
-                        // downstream it needs to be released here
-                        if (frame != null) frame.tryRelease();
-
-                        // exception is handled in makeFrame() - serialization error gets written back to driver
-                        // at that point
-                        if (managedTransactionsForRequest) attemptRollback(msg, context.getGraphManager(), settings.strictTransactionManagement);
-                        break;
-                    }
+        boolean hasMore = true;
 
-                    // track whether there is anything left in the iterator because it needs to be accessed after
-                    // the transaction could be closed - in that case a call to hasNext() could open a new transaction
-                    // unintentionally
-                    final boolean moreInIterator = itty.hasNext();
-
-                    try {
-                        // only need to reset the aggregation list if there's more stuff to write
-                        if (moreInIterator)
-                            aggregate = new ArrayList<>(resultIterationBatchSize);
-                        else {
-                            // iteration and serialization are both complete which means this finished successfully. note that
-                            // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
-                            // local errors will get rolledback below because the exceptions aren't thrown in those cases to be
-                            // caught by the GremlinExecutor for global rollback logic. this only needs to be committed if
-                            // there are no more items to iterate and serialization is complete
-                            if (managedTransactionsForRequest)
-                                attemptCommit(msg, context.getGraphManager(), settings.strictTransactionManagement);
-
-                            // exit the result iteration loop as there are no more results left.  using this external control
-                            // because of the above commit.  some graphs may open a new transaction on the call to
-                            // hasNext()
-                            hasMore = false;
+        try {
+            while (hasMore) {
+                if (Thread.interrupted() || isPastDeadline(deadline)) throw new InterruptedException();
+
+                // check if an implementation needs to force flush the aggregated results before the iteration batch
+                // size is reached.
+                final boolean forceFlush = isForceFlushed(ctx, msg, itty);
+
+                // have to check the aggregate size because it is possible that the channel is not writeable (below)
+                // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
+                // the expected resultIterationBatchSize.  Total serialization time for the response remains in
+                // effect so if the client is "slow" it may simply timeout.
+                //
+                // there is a need to check hasNext() on the iterator because if the channel is not writeable the
+                // previous pass through the while loop will have next()'d the iterator and if it is "done" then a
+                // NoSuchElementException will raise its head. also need a check to ensure that this iteration doesn't
+                // require a forced flush which can be forced by sub-classes.
+                //
+                // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
+                // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
+                // while waiting for the client to catch up
+                if (aggregate.size() < batchSizer.getBatchSize() && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
+
+                // send back a page of results if batch size is met or if it's the end of the results being iterated.
+                // also check writeability of the channel to prevent OOME for slow clients.
+                if (ctx.channel().isWritable()) {
+                    if (forceFlush || aggregate.size() >= batchSizer.getBatchSize() || !itty.hasNext()
+                            || batchSizer.isFirstBatchDue(aggregate.size())) {
+                        final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
+
+                        // serialize here because in sessionless requests the serialization must occur in the same
+                        // thread as the eval.  as eval occurs in the GremlinExecutor there's no way to get back to the
+                        // thread that processed the eval of the script so, we have to push serialization down into that
+                        Frame frame = null;
+                        final long serializationStart = System.nanoTime();
+                        try {
+                            frame = makeFrame(rhc, msg, serializer, useBinary, aggregate, code,
+                                    generateResultMetaData(ctx, msg, code, itty, settings),
+                                    generateStatusAttributes(ctx, msg, code, itty, settings));
+                            notIterating += timings.record(RequestTimings.Phase.SERIALIZATION, serializationStart);
+                        } catch (Exception ex) {
+                            // a frame may use a Bytebuf which is a countable release - if it does not get written
+                            // downstream it needs to be released here
+                            if (frame != null) frame.tryRelease();
+
+                            // exception is handled in makeFrame() - serialization error gets written back to driver
+                            // at that point
+                            if (managedTransactionsForRequest) attemptRollback(msg, context.getGraphManager(), settings.strictTransactionManagement);
+                            break;
                         }
-                    } catch (Exception ex) {
-                        // a frame may use a Bytebuf which is a countable release - if it does not get written
-                        // downstream it needs to be released here
-                        if (frame != null) frame.tryRelease();
-                        throw ex;
+
+                        // measure the batch before it is written as the write releases the serialized content
+                        batchSizer.batchWritten(frame, aggregate.size());
+
+                        // track whether there is anything left in the iterator because it needs to be accessed after
+                        // the transaction could be closed - in that case a call to hasNext() could open a new transaction
+                        // unintentionally
+                        final boolean moreInIterator = itty.hasNext();
+
+                        try {
+                            // only need to reset the aggregation list if there's more stuff to write
+                            if (moreInIterator)
+                                aggregate = new ArrayList<>(batchSizer.getBatchSize());
+                            else {
+                                // iteration and serialization are both complete which means this finished successfully. note that
+                                // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
+                                // local errors will get rolledback below because the exceptions aren't thrown in those cases to be
+                                // caught by the GremlinExecutor for global rollback logic. this only needs to be committed if
+                                // there are no more items to iterate and serialization is complete
+                                if (managedTransactionsForRequest)
+                                    attemptCommit(msg, context.getGraphManager(), settings.strictTransactionManagement);
+
+                                // exit the result iteration loop as there are no more results left.  using this external control
+                                // because of the above commit.  some graphs may open a new transaction on the call to
+                                // hasNext()
+                                hasMore = false;
+                            }
+                        } catch (Exception ex) {
+                            // a frame may use a Bytebuf which is a countable release - if it does not get written
+                            // downstream it needs to be released here
+                            if (frame != null) frame.tryRelease();
+                            throw ex;
+                        }
+
+                        if (!moreInIterator) iterateComplete(ctx, msg, itty);
+
+                        // the flush is called after the commit has potentially occurred.  in this way, if a commit was
+                        // required then it will be 100% complete before the client receives it. the "frame" at this point
+                        // should have completely detached objects from the transaction (i.e. serialization has occurred)
+                        // so a new one should not be opened on the flush down the netty pipeline
+                        rhc.writeAndFlush(code, frame);
+                    }
+                } else if (!ctx.channel().isActive()) {
+                    throw new IllegalStateException(String.format("Connection closed before the response to request [%s] was written", msg.getRequestId()));
+                } else {
+                    // don't keep triggering this warning over and over again for the same request
+                    if (!warnOnce) {
+                        logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
+                        warnOnce = true;
                     }
 
-                    if (!moreInIterator) iterateComplete(ctx, msg, itty);
+                    // give the worker back to the pool while the client catches up if possible, otherwise wait for
+                    // netty to report that the channel is writeable again. this isn't blocking the IO thread either way
+                    if (isIterationSuspendable(context)) {
+                        final List<Object> suspended = aggregate;
+                        final long suspendedAt = System.nanoTime();
+                        timings.suspend();
+                        suspendIteration(context, deadline, () -> {
+                            timings.record(RequestTimings.Phase.WRITABILITY, suspendedAt);
+                            try {
+                                iterate(rhc, itty, batchSizer, suspended, deadline);
+                            } catch (Exception ex) {
+                                handleSuspendedIterationFailure(rhc, ex);
+                            }
+                        }, () -> handleSuspendedIterationFailure(rhc, new TimeoutException()));
+                        return;
+                    }
 
-                    // the flush is called after the commit has potentially occurred.  in this way, if a commit was
-                    // required then it will be 100% complete before the client receives it. the "frame" at this point
-                    // should have completely detached objects from the transaction (i.e. serialization has occurred)
-                    // so a new one should not be opened on the flush down the netty pipeline
-                    rhc.writeAndFlush(code, frame);
-                }
-            } else {
-                // don't keep triggering this warning over and over again for the same request
-                if (!warnOnce) {
-                    logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
-                    warnOnce = true;
+                    final long waitStart = System.nanoTime();
+                    WritabilityHandler.awaitWritable(ctx.channel());
+                    notIterating += timings.record(RequestTimings.Phase.WRITABILITY, waitStart);
                 }
-
-                // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
             }
+        } finally {
+            timings.add(RequestTimings.Phase.ITERATION, System.nanoTime() - iterationStart - notIterating);
         }
+
+        completeRequest(context, true);
+    }
+
+    private void handleSuspendedIterationFailure(final ResponseHandlerContext rhc, final Exception ex) {
+        final Context context = rhc.getContext();
+        final RequestMessage msg = context.getRequestMessage();
+        if (manageTransactions) attemptRollback(msg, context.getGraphManager(), context.getSettings().strictTransactionManagement);
+
+        if (ex instanceof InterruptedException || ex instanceof TimeoutException) {
+            final String errorMessage = String.format("Response iteration exceeded the configured threshold for request [%s] - consider increasing the limit given to scriptEvaluationTimeout", msg);
+            logger.warn(errorMessage);
+            rhc.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR_TIMEOUT)
+                    .statusMessage(errorMessage).create());
+        } else {
+            logger.warn(String.format("Exception iterating the result of request [%s].", msg.getRequestId()), ex);
+            rhc.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR)
+                    .statusMessage(ex.getMessage())
+                    .statusAttributeException(ex).create());
+        }
+
+        completeRequest(context, true);
+    }
+
+    /**
+     * Determines if iteration of a result may be suspended while the channel is not writeable, which frees the
+     * worker thread, to be resumed on another thread once the client catches up. That is only safe when transactions
+     * are managed per request and none of the graphs binds its transactions to a thread.
+     */
+    protected boolean isIterationSuspendable(final Context context) {
+        if (!manageTransactions) return false;
+        final GraphManager graphManager = context.getGraphManager();
+        return graphManager.getGraphNames().stream().map(graphManager::getGraph)
+                .noneMatch(graph -> graph.features().graph().supportsTransactions());
+    }
+
+    /**
+     * Frees the worker thread while the channel is not writeable. The {@code continuation} is submitted to the
+     * {@code GremlinExecutor} once the channel becomes writeable again, or is closed, unless the {@code deadline}
+     * passes first in which case {@code onTimeout} is run instead.
+     */
+    protected static void suspendIteration(final Context context, final long deadline,
+                                           final Runnable continuation, final Runnable onTimeout) {
+        final AtomicBoolean claimed = new AtomicBoolean(false);
+        final ScheduledFuture<?> timeout = deadline > 0 ?
+                context.getScheduledExecutorService().schedule(() -> {
+                    if (claimed.compareAndSet(false, true)) onTimeout.run();
+                }, Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS) : null;
+
+        WritabilityHandler.whenWritable(context.getChannelHandlerContext().channel(), () -> {
+            if (claimed.compareAndSet(false, true)) {
+                if (timeout != null) timeout.cancel(false);
+                context.getGremlinExecutor().getExecutorService().submit(continuation);
+            }
+        });
+    }
+
+    /**
+     * Gets the name under which the {@link RequestTimings} of the requests processed by this class are recorded.
+     */
+    protected String getTimingsName() {
+        return getName();
+    }
+
+    /**
+     * Records the {@link RequestTimings} of the request once its work is done and {@link Context#complete()
+     * completes} the request. If iteration of the result was {@link RequestTimings#suspend() suspended}, it
+     * continues on another thread and is only complete once {@code iterationDone}.
+     */
+    protected void completeRequest(final Context context, final boolean iterationDone) {
+        final RequestTimings timings = context.getTimings();
+        final RequestMessage msg = context.getRequestMessage();
+        final long slowRequestThreshold = context.getSettings().slowRequestThreshold;
+        final boolean completed = iterationDone ?
+                timings.complete(getTimingsName(), msg, slowRequestThreshold) :
+                timings.completeUnlessSuspended(getTimingsName(), msg, slowRequestThreshold);
+        if (completed) context.complete();
+    }
+
+    /**
+     * Gets the time by which iteration of the result must complete given the {@code scriptEvaluationTimeout}, or
+     * zero if there is no limit. The timeout normally interrupts the iterating thread, but that thread is not known
+     * to it once iteration has been {@link #suspendIteration suspended}.
+     */
+    protected static long getIterationDeadline(final RequestMessage msg, final Settings settings) {
+        final long seto = msg.getArgs().containsKey(Tokens.ARGS_SCRIPT_EVAL_TIMEOUT)
+                // could be sent as an integer or long
+                ? ((Number) msg.getArgs().get(Tokens.ARGS_SCRIPT_EVAL_TIMEOUT)).longValue()
+                : settings.scriptEvaluationTimeout;
+        return seto > 0 ? System.currentTimeMillis() + seto : 0;
+    }
+
+    protected static boolean isPastDeadline(final long deadline) {
+        return deadline > 0 && System.currentTimeMillis() > deadline;
     }
 
     /**
@@ -296,11 +463,15 @@ public abstract class AbstractOpProcessor implements OpProcessor {
         final ChannelHandlerContext ctx = rhc.getContext().getChannelHandlerContext();
         try {
             if (useBinary) {
-                return new Frame(serializer.serializeResponseAsBinary(ResponseMessage.build(msg)
+                // serialize into a buffer sized after the responses previously written to the channel
+                final ResponseBufferAllocator allocator = ResponseBufferAllocator.forChannel(ctx.channel());
+                final ByteBuf serialized = serializer.serializeResponseAsBinary(ResponseMessage.build(msg)
                         .code(code)
                         .statusAttributes(statusAttributes)
                         .responseMetaData(responseMetaData)
-                        .result(aggregate).create(), ctx.alloc()));
+                        .result(aggregate).create(), allocator);
+                allocator.record(serialized.readableBytes());
+                return new Frame(serialized, code, msg.getRequestId());
             } else {
                 // the expectation is that the GremlinTextRequestDecoder will have placed a MessageTextSerializer
                 // instance on the channel.
@@ -309,7 +480,7 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                         .code(code)
                         .statusAttributes(statusAttributes)
                         .responseMetaData(responseMetaData)
-                        .result(aggregate).create()));
+                        .result(aggregate).create()), code, msg.getRequestId());
             }
         } catch (Exception ex) {
             logger.warn("The result [{}] in the request {} could not be serialized and returned.", aggregate, msg.getRequestId(), ex);
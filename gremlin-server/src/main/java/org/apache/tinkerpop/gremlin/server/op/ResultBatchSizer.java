@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.handler.Frame;
+
+import java.util.Optional;
+
+/**
+ * Decides how many results go into each batch that is written back for a request. By default every batch holds
+ * {@link Settings#resultIterationBatchSize} items, but with {@link Settings#resultIterationTargetBatchBytes} set the
+ * size follows a moving average of the serialized size of the items written so far, so that batches come close to
+ * that number of bytes. It also decides when the first batch is overdue with respect to
+ * {@link Settings#resultIterationFirstBatchLatency}. An instance tracks a single request.
+ */
+public class ResultBatchSizer {
+
+    /**
+     * The weight given to the most recent batch in the moving average of the item size.
+     */
+    private static final double SMOOTHING = 0.5;
+
+    private final int targetBatchBytes;
+    private final int maxBatchSize;
+    private final long firstBatchLatency;
+    private final long started;
+
+    private int batchSize;
+    private double averageItemBytes = 0;
+    private boolean firstBatchWritten = false;
+
+    ResultBatchSizer(final int batchSize, final int targetBatchBytes, final int maxBatchSize, final long firstBatchLatency) {
+        this.batchSize = batchSize;
+        this.targetBatchBytes = targetBatchBytes;
+        this.maxBatchSize = Math.max(batchSize, maxBatchSize);
+        this.firstBatchLatency = firstBatchLatency;
+        this.started = System.currentTimeMillis();
+    }
+
+    /**
+     * Creates a sizer for the request. A batch size given on the request is always used as is.
+     */
+    public static ResultBatchSizer create(final RequestMessage msg, final Settings settings) {
+        final Optional<Integer> requested = msg.optionalArgs(Tokens.ARGS_BATCH_SIZE);
+        return new ResultBatchSizer(requested.orElse(settings.resultIterationBatchSize),
+                requested.isPresent() ? 0 : settings.resultIterationTargetBatchBytes,
+                settings.resultIterationMaxBatchSize, settings.resultIterationFirstBatchLatency);
+    }
+
+    /**
+     * Gets the number of items the next batch should hold.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Determines if the first batch has to be written now, regardless of how many {@code items} it holds, because
+     * the result took longer than {@link Settings#resultIterationFirstBatchLatency} to produce them.
+     */
+    public boolean isFirstBatchDue(final int items) {
+        return !firstBatchWritten && firstBatchLatency > 0 && items > 0
+                && System.currentTimeMillis() - started >= firstBatchLatency;
+    }
+
+    /**
+     * Records the serialized {@link Frame} of a batch that holds the given number of {@code items}, which must be
+     * called before the frame is written as writing releases its content.
+     */
+    public void batchWritten(final Frame frame, final int items) {
+        firstBatchWritten = true;
+        if (targetBatchBytes <= 0 || items <= 0) return;
+
+        final Object msg = frame.getMsg();
+        final int bytes;
+        if (msg instanceof ByteBuf)
+            bytes = ((ByteBuf) msg).readableBytes();
+        else if (msg instanceof String)
+            bytes = ((String) msg).length();
+        else
+            return;
+
+        batchWritten(bytes, items);
+    }
+
+    void batchWritten(final int bytes, final int items) {
+        final double itemBytes = Math.max(1d, (double) bytes / items);
+        averageItemBytes = averageItemBytes == 0 ? itemBytes : SMOOTHING * itemBytes + (1 - SMOOTHING) * averageItemBytes;
+        batchSize = (int) Math.max(1, Math.min(maxBatchSize, Math.round(targetBatchBytes / averageItemBytes)));
+    }
+}
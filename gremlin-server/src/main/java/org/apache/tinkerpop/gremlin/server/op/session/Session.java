@@ -25,6 +25,7 @@ import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.SerialExecutorService;
 import org.apache.tinkerpop.gremlin.server.util.ThreadFactoryUtil;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.slf4j.Logger;
@@ -39,7 +40,9 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -47,14 +50,17 @@ import java.util.concurrent.atomic.AtomicReference;
 import static org.apache.tinkerpop.gremlin.server.op.session.SessionOpProcessor.CONFIG_GLOBAL_FUNCTION_CACHE_ENABLED;
 import static org.apache.tinkerpop.gremlin.server.op.session.SessionOpProcessor.CONFIG_PER_GRAPH_CLOSE_TIMEOUT;
 import static org.apache.tinkerpop.gremlin.server.op.session.SessionOpProcessor.CONFIG_SESSION_TIMEOUT;
+import static org.apache.tinkerpop.gremlin.server.op.session.SessionOpProcessor.CONFIG_SHARED_SESSION_THREADS;
 import static org.apache.tinkerpop.gremlin.server.op.session.SessionOpProcessor.DEFAULT_PER_GRAPH_CLOSE_TIMEOUT;
 import static org.apache.tinkerpop.gremlin.server.op.session.SessionOpProcessor.DEFAULT_SESSION_TIMEOUT;
 
 /**
  * Defines a "session" for the {@link SessionOpProcessor} which preserves state between requests made to Gremlin
- * Server. Since transactions are bound to a single thread the "session" maintains its own thread to process Gremlin
- * statements so that each request can be executed within it to preserve the transaction state from one request to
- * the next.
+ * Server. Since transactions are typically bound to a single thread, a "session" that has access to such a graph
+ * maintains its own thread to process Gremlin statements so that each request can be executed within it to preserve
+ * the transaction state from one request to the next. When none of the configured graphs bind transactions to a
+ * thread, the session instead executes its requests serially on a pool shared by all sessions, so that idle sessions
+ * do not hold a thread of their own.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
@@ -81,11 +87,20 @@ public class Session {
 
     private final ThreadFactory threadFactoryWorker = ThreadFactoryUtil.create("session-%d");
 
+    /**
+     * Threads for sessions that do not need to be bound to a particular thread. Threads are only created as sessions
+     * concurrently execute requests and are released after they have been idle for a minute. They are daemon threads
+     * as the pool is never shutdown - the work of a session is stopped by way of its own {@link #executor}.
+     */
+    private static final ExecutorService sharedSessionPool = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+            60L, TimeUnit.SECONDS, new SynchronousQueue<>(), ThreadFactoryUtil.create("session-pool-%d", true));
+
     /**
      * By binding the session to run ScriptEngine evaluations in a specific thread, each request will respect
-     * the ThreadLocal nature of Graph implementations.
+     * the ThreadLocal nature of Graph implementations. If no graph requires that then requests still execute one at a
+     * time and in order but on a thread borrowed from the {@link #sharedSessionPool}.
      */
-    private final ExecutorService executor = Executors.newSingleThreadExecutor(threadFactoryWorker);
+    private final ExecutorService executor;
 
     private final ConcurrentHashMap<String, Session> sessions;
 
@@ -100,6 +115,10 @@ public class Session {
 
         final Settings.ProcessorSettings processorSettings = this.settings.optionalProcessor(SessionOpProcessor.class).
                 orElse(SessionOpProcessor.DEFAULT_SETTINGS);
+        final boolean sharedSessionThreads = Boolean.parseBoolean(
+                processorSettings.config.getOrDefault(CONFIG_SHARED_SESSION_THREADS, false).toString());
+        this.executor = !sharedSessionThreads && requiresThreadBoundTransactions(graphManager) ?
+                Executors.newSingleThreadExecutor(threadFactoryWorker) : new SerialExecutorService(sharedSessionPool);
         this.configuredSessionTimeout = Long.parseLong(processorSettings.config.getOrDefault(
                 CONFIG_SESSION_TIMEOUT, DEFAULT_SESSION_TIMEOUT).toString());
         this.configuredPerGraphCloseTimeout = Long.parseLong(processorSettings.config.getOrDefault(
@@ -124,6 +143,17 @@ public class Session {
         return executor;
     }
 
+    /**
+     * Determines if any of the graphs in the {@link GraphManager} supports transactions, in which case a session must
+     * execute all of its requests on the same thread as the transaction may be bound to the thread that opened it.
+     * Sessions can be allowed to share threads anyway with the {@link SessionOpProcessor#CONFIG_SHARED_SESSION_THREADS}
+     * setting.
+     */
+    static boolean requiresThreadBoundTransactions(final GraphManager graphManager) {
+        return graphManager.getGraphNames().stream().map(graphManager::getGraph).anyMatch(g ->
+                g.features().graph().supportsTransactions());
+    }
+
     public String getSessionId() {
         return session;
     }
@@ -83,6 +83,13 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
      */
     public static final String CONFIG_GLOBAL_FUNCTION_CACHE_ENABLED = "globalFunctionCacheEnabled";
 
+    /**
+     * Configuration setting that allows sessions to execute their requests on a thread pool shared by all sessions
+     * even when a configured graph supports transactions. It should only be enabled when the transactions of those
+     * graphs are not bound to the thread that opened them.
+     */
+    public static final String CONFIG_SHARED_SESSION_THREADS = "sharedSessionThreads";
+
     /**
      * Default timeout for a session is eight hours.
      */
@@ -103,6 +110,7 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
             put(CONFIG_PER_GRAPH_CLOSE_TIMEOUT, DEFAULT_PER_GRAPH_CLOSE_TIMEOUT);
             put(CONFIG_MAX_PARAMETERS, DEFAULT_MAX_PARAMETERS);
             put(CONFIG_GLOBAL_FUNCTION_CACHE_ENABLED, true);
+            put(CONFIG_SHARED_SESSION_THREADS, false);
         }};
     }
 
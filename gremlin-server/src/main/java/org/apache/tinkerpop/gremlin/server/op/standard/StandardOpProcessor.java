@@ -72,6 +72,14 @@ public class StandardOpProcessor extends AbstractEvalOpProcessor {
         return OP_PROCESSOR_NAME;
     }
 
+    /**
+     * This processor has no name so its timings are recorded as "standard".
+     */
+    @Override
+    protected String getTimingsName() {
+        return "standard";
+    }
+
     @Override
     public void init(final Settings settings) {
         this.maxParameters = (int) settings.optionalProcessor(StandardOpProcessor.class).orElse(DEFAULT_SETTINGS).config.
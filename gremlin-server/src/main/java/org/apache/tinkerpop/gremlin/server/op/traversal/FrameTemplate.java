@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op.traversal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.driver.ser.MessageTextSerializer;
+import org.apache.tinkerpop.gremlin.server.handler.Frame;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A serialized {@link ResponseStatusCode#PARTIAL_CONTENT} response with the request identifier cut out of it, so
+ * that the same results can be sent to another request without serializing them again. The template is made by
+ * serializing the response with a placeholder identifier and then finding where that identifier was written, either
+ * as sixteen bytes or as text, which works with any serializer that writes the identifier in one of those forms
+ * and does not encode it together with the rest of the message.
+ */
+final class FrameTemplate {
+
+    /**
+     * An identifier that is used for no other request and that is unlikely to appear in results.
+     */
+    private static final UUID PLACEHOLDER_REQUEST_ID = UUID.randomUUID();
+
+    private final ByteBuf binary;
+    private final String text;
+    private final int offset;
+    private final int length;
+
+    private FrameTemplate(final ByteBuf binary, final String text, final int offset, final int length) {
+        this.binary = binary;
+        this.text = text;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Serializes the results as a partial response and creates a template from it, if the placeholder identifier
+     * can be found exactly once in the serialized form.
+     */
+    static Optional<FrameTemplate> create(final MessageSerializer serializer, final boolean useBinary,
+                                          final List<Object> results) throws Exception {
+        final ResponseMessage response = ResponseMessage.build(PLACEHOLDER_REQUEST_ID)
+                .code(ResponseStatusCode.PARTIAL_CONTENT)
+                .result(results).create();
+
+        if (!useBinary) {
+            final String serialized = ((MessageTextSerializer) serializer).serializeResponseAsString(response);
+            final String id = PLACEHOLDER_REQUEST_ID.toString();
+            final int offset = serialized.indexOf(id);
+            if (offset < 0 || serialized.indexOf(id, offset + 1) >= 0) return Optional.empty();
+            return Optional.of(new FrameTemplate(null, serialized, offset, id.length()));
+        }
+
+        // the template lives in the cache for an unknown time so copy it to the heap rather than hold pooled memory
+        final ByteBuf serialized = serializer.serializeResponseAsBinary(response, ByteBufAllocator.DEFAULT);
+        final ByteBuf binary;
+        try {
+            binary = Unpooled.wrappedBuffer(ByteBufUtil.getBytes(serialized));
+        } finally {
+            serialized.release();
+        }
+
+        final byte[][] forms = {toBytes(PLACEHOLDER_REQUEST_ID), PLACEHOLDER_REQUEST_ID.toString().getBytes(StandardCharsets.UTF_8)};
+        for (byte[] form : forms) {
+            final ByteBuf id = Unpooled.wrappedBuffer(form);
+            final int offset = ByteBufUtil.indexOf(id, binary);
+            if (offset >= 0) {
+                final boolean once = ByteBufUtil.indexOf(id, binary.slice(offset + 1, binary.readableBytes() - offset - 1)) < 0;
+                return once ? Optional.of(new FrameTemplate(binary, null, offset, form.length)) : Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Creates a {@link Frame} for the request from the template. A binary frame is made of retained slices of the
+     * template around the request identifier so that nothing but the identifier is copied.
+     */
+    Frame toFrame(final UUID requestId) {
+        if (text != null)
+            return new Frame(text.substring(0, offset) + requestId + text.substring(offset + length),
+                    ResponseStatusCode.PARTIAL_CONTENT);
+
+        final byte[] id = length == 16 ? toBytes(requestId) : requestId.toString().getBytes(StandardCharsets.UTF_8);
+        final int end = offset + length;
+        return new Frame(Unpooled.wrappedBuffer(binary.retainedSlice(0, offset), Unpooled.wrappedBuffer(id),
+                binary.retainedSlice(end, binary.readableBytes() - end)), ResponseStatusCode.PARTIAL_CONTENT);
+    }
+
+    private static byte[] toBytes(final UUID id) {
+        final byte[] bytes = new byte[16];
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        for (int i = 7; i >= 0; i--) {
+            bytes[i] = (byte) msb;
+            bytes[i + 8] = (byte) lsb;
+            msb >>>= 8;
+            lsb >>>= 8;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op.traversal;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.server.util.TraverserIterator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link TraverserIterator} that keeps the results it returns so that they can be placed in the
+ * {@link TraversalResultCache} once the traversal is fully iterated. It stops keeping results once there are more
+ * than the cache will accept.
+ */
+class ResultCachingIterator extends TraverserIterator {
+
+    private final TraversalResultCache resultCache;
+    private final TraversalResultCache.Key key;
+    private List<Object> results = new ArrayList<>();
+
+    ResultCachingIterator(final Traversal.Admin traversal, final TraversalResultCache resultCache,
+                          final TraversalResultCache.Key key) {
+        super(traversal);
+        this.resultCache = resultCache;
+        this.key = key;
+    }
+
+    @Override
+    public Object next() {
+        final Object result = super.next();
+        if (results != null) {
+            if (results.size() < resultCache.getMaxResults())
+                results.add(result);
+            else
+                results = null;
+        }
+        return result;
+    }
+
+    /**
+     * Places the results in the cache which should only be called once the traversal is fully iterated.
+     */
+    void cacheResults() {
+        if (results != null && getTraversal().getSideEffects().isEmpty())
+            resultCache.put(key, results);
+    }
+}
@@ -41,9 +41,12 @@ import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
 import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityHandler;
 import org.apache.tinkerpop.gremlin.server.op.AbstractOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.OpProcessorException;
+import org.apache.tinkerpop.gremlin.server.op.ResultBatchSizer;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.RequestTimings;
 import org.apache.tinkerpop.gremlin.server.util.SideEffectIterator;
 import org.apache.tinkerpop.gremlin.server.util.TraverserIterator;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -68,6 +71,7 @@ import java.util.UUID;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static com.codahale.metrics.MetricRegistry.name;
 
@@ -104,16 +108,65 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
      */
     public static final long DEFAULT_CACHE_MAX_SIZE = 1000;
 
+    /**
+     * Configuration setting for the maximum number of traversals the result cache will hold.
+     */
+    public static final String CONFIG_RESULT_CACHE_MAX_SIZE = "resultCacheMaxSize";
+
+    /**
+     * Default size of the result cache which is zero and disables the cache.
+     */
+    public static final long DEFAULT_RESULT_CACHE_MAX_SIZE = 0;
+
+    /**
+     * Configuration setting for how long cached results will be available before they are evicted from the cache.
+     */
+    public static final String CONFIG_RESULT_CACHE_EXPIRATION_TIME = "resultCacheExpirationTime";
+
+    /**
+     * Default timeout for cached results is one minute.
+     */
+    public static final long DEFAULT_RESULT_CACHE_EXPIRATION_TIME = 60000;
+
+    /**
+     * Configuration setting for the largest number of results of a single traversal that will be cached.
+     */
+    public static final String CONFIG_RESULT_CACHE_MAX_RESULTS = "resultCacheMaxResults";
+
+    /**
+     * Default largest number of results of a single traversal that will be cached.
+     */
+    public static final int DEFAULT_RESULT_CACHE_MAX_RESULTS = 1000;
+
+    /**
+     * Configuration setting that determines if the serialized responses made from cached results are kept with them
+     * so that later requests for the same results are answered without serializing them again.
+     */
+    public static final String CONFIG_RESULT_CACHE_FRAMES = "resultCacheFrames";
+
+    /**
+     * Default for keeping serialized responses with cached results which is to not keep them.
+     */
+    public static final boolean DEFAULT_RESULT_CACHE_FRAMES = false;
+
     static {
         DEFAULT_SETTINGS.className = TraversalOpProcessor.class.getCanonicalName();
         DEFAULT_SETTINGS.config = new HashMap<String, Object>() {{
             put(CONFIG_CACHE_EXPIRATION_TIME, DEFAULT_CACHE_EXPIRATION_TIME);
             put(CONFIG_CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_SIZE);
+            put(CONFIG_RESULT_CACHE_MAX_SIZE, DEFAULT_RESULT_CACHE_MAX_SIZE);
+            put(CONFIG_RESULT_CACHE_EXPIRATION_TIME, DEFAULT_RESULT_CACHE_EXPIRATION_TIME);
+            put(CONFIG_RESULT_CACHE_MAX_RESULTS, DEFAULT_RESULT_CACHE_MAX_RESULTS);
+            put(CONFIG_RESULT_CACHE_FRAMES, DEFAULT_RESULT_CACHE_FRAMES);
         }};
     }
 
     protected static Cache<UUID, TraversalSideEffects> cache = null;
 
+    private static TraversalResultCache resultCache = null;
+
+    private static boolean resultCacheFrames = DEFAULT_RESULT_CACHE_FRAMES;
+
     private static final Bindings EMPTY_BINDINGS = new SimpleBindings();
 
     public TraversalOpProcessor() {
@@ -145,6 +198,34 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
         logger.info("Initialized cache for {} with size {} and expiration time of {} ms",
                 TraversalOpProcessor.class.getSimpleName(), maxSize, expirationTime);
+
+        // the result cache settings are optional so that existing configurations continue to work
+        final long resultCacheMaxSize = Long.parseLong(processorSettings.config.getOrDefault(
+                CONFIG_RESULT_CACHE_MAX_SIZE, DEFAULT_RESULT_CACHE_MAX_SIZE).toString());
+        if (resultCacheMaxSize > 0) {
+            final long resultCacheExpirationTime = Long.parseLong(processorSettings.config.getOrDefault(
+                    CONFIG_RESULT_CACHE_EXPIRATION_TIME, DEFAULT_RESULT_CACHE_EXPIRATION_TIME).toString());
+            final int resultCacheMaxResults = Integer.parseInt(processorSettings.config.getOrDefault(
+                    CONFIG_RESULT_CACHE_MAX_RESULTS, DEFAULT_RESULT_CACHE_MAX_RESULTS).toString());
+            resultCache = new TraversalResultCache(resultCacheMaxSize, resultCacheExpirationTime, resultCacheMaxResults);
+            resultCacheFrames = Boolean.parseBoolean(processorSettings.config.getOrDefault(
+                    CONFIG_RESULT_CACHE_FRAMES, DEFAULT_RESULT_CACHE_FRAMES).toString());
+
+            logger.info("Initialized result cache for {} with size {}, expiration time of {} ms and up to {} results per traversal{}",
+                    TraversalOpProcessor.class.getSimpleName(), resultCacheMaxSize, resultCacheExpirationTime,
+                    resultCacheMaxResults, resultCacheFrames ? " kept with their serialized responses" : "");
+        } else {
+            resultCache = null;
+            resultCacheFrames = false;
+        }
+    }
+
+    /**
+     * Gets the cache of traversal results which is only present if it was enabled by way of
+     * {@link #CONFIG_RESULT_CACHE_MAX_SIZE}. Graph providers can use it to invalidate results when a graph changes.
+     */
+    public static Optional<TraversalResultCache> getResultCache() {
+        return Optional.ofNullable(resultCache);
     }
 
     @Override
@@ -336,9 +417,12 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
         // right now the TraversalOpProcessor can take a direct GraphSON representation of Bytecode or directly take
         // deserialized Bytecode object.
+        final RequestTimings timings = context.getTimings();
         final Object bytecodeObj = msg.getArgs().get(Tokens.ARGS_GREMLIN);
+        final long deserializationStart = System.nanoTime();
         final Bytecode bytecode = bytecodeObj instanceof Bytecode ? (Bytecode) bytecodeObj :
                 mapper.readValue(bytecodeObj.toString(), Bytecode.class);
+        timings.record(RequestTimings.Phase.DESERIALIZATION, deserializationStart);
 
         // earlier validation in selection of this op method should free us to cast this without worry
         final Map<String, String> aliases = (Map<String, String>) msg.optionalArgs(Tokens.ARGS_ALIASES).get();
@@ -353,10 +437,20 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         final String traversalSourceName = aliases.entrySet().iterator().next().getValue();
         final TraversalSource g = graphManager.getTraversalSource(traversalSourceName);
 
+        // traversals with lambdas are not cached as there is no telling what the lambda does. results of transactional
+        // graphs are not cached as what a traversal sees depends on the transaction it runs in
+        final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
+        final TraversalResultCache.Key cacheKey = null == resultCache || lambdaLanguage.isPresent() ||
+                g.getGraph().features().graph().supportsTransactions() ?
+                null : resultCache.createKey(traversalSourceName, g.getGraph(), bytecode);
+        final Optional<TraversalResultCache.Entry> cachedResults = null == cacheKey ? Optional.empty() : resultCache.get(cacheKey);
+
         final Traversal.Admin<?, ?> traversal;
+        final long translationStart = System.nanoTime();
         try {
-            final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
-            if (!lambdaLanguage.isPresent())
+            if (cachedResults.isPresent())
+                traversal = null;
+            else if (!lambdaLanguage.isPresent())
                 traversal = JavaTranslator.of(g).translate(bytecode);
             else
                 traversal = context.getGremlinExecutor().eval(bytecode, EMPTY_BINDINGS, lambdaLanguage.get(), traversalSourceName);
@@ -367,9 +461,12 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                             .statusMessage(ex.getMessage())
                             .statusAttributeException(ex).create());
         }
+        timings.record(RequestTimings.Phase.TRANSLATION, translationStart);
 
         final Timer.Context timerContext = traversalOpTimer.time();
+        final long submitted = System.nanoTime();
         final FutureTask<Void> evalFuture = new FutureTask<>(() -> {
+            timings.record(RequestTimings.Phase.QUEUE, submitted);
             final ChannelHandlerContext ctx = context.getChannelHandlerContext();
             final Graph graph = g.getGraph();
 
@@ -377,9 +474,16 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                 beforeProcessing(graph, context);
 
                 try {
-                    // compile the traversal - without it getEndStep() has nothing in it
-                    traversal.applyStrategies();
-                    handleIterator(context, new TraverserIterator(traversal), graph);
+                    if (cachedResults.isPresent()) {
+                        if (!resultCacheFrames || !handleCachedFrames(context, cachedResults.get(), graph))
+                            handleIterator(context, cachedResults.get().getResults().iterator(), graph);
+                    } else {
+                        // compile the traversal - without it getEndStep() has nothing in it
+                        final long strategiesStart = System.nanoTime();
+                        traversal.applyStrategies();
+                        timings.record(RequestTimings.Phase.STRATEGIES, strategiesStart);
+                        handleIterator(context, createTraverserIterator(traversal, cacheKey), graph);
+                    }
                 } catch (Exception ex) {
                     Throwable t = ex;
                     if (ex instanceof UndeclaredThrowableException)
@@ -408,6 +512,9 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                 onError(graph, context);
             } finally {
                 timerContext.stop();
+
+                // a result that is still being iterated on another thread completes the request from there
+                completeRequest(context, false);
             }
 
             return null;
@@ -420,6 +527,147 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         }
     }
 
+    /**
+     * Creates the iterator for the traversal, which keeps the results for the {@link TraversalResultCache} if they
+     * can be cached.
+     */
+    private static TraverserIterator createTraverserIterator(final Traversal.Admin<?, ?> traversal,
+                                                             final TraversalResultCache.Key cacheKey) {
+        if (null == resultCache) return new TraverserIterator(traversal);
+
+        // results may already be cached from before this write so invalidate now and again once it completes
+        if (TraversalResultCache.isMutating(traversal))
+            traversal.getGraph().ifPresent(resultCache::invalidate);
+
+        return null != cacheKey && TraversalResultCache.isCacheable(traversal) ?
+                new ResultCachingIterator(traversal, resultCache, cacheKey) : new TraverserIterator(traversal);
+    }
+
+    /**
+     * Writes cached results from the serialized responses kept with them, creating those responses first if needed.
+     * Every batch of results but the last goes out as a {@link ResponseStatusCode#PARTIAL_CONTENT} response that only
+     * differs from the one already serialized by its request identifier. The last batch goes out in the final
+     * response as it would without the cache, and that response is serialized for each request as its status
+     * attributes are specific to the connection.
+     *
+     * @return {@code false} if the responses cannot be reused with the serializer of the request or if the results
+     * fit in the final response, in which case nothing was written
+     */
+    private boolean handleCachedFrames(final Context context, final TraversalResultCache.Entry cached,
+                                       final Graph graph) throws Exception {
+        final ChannelHandlerContext ctx = context.getChannelHandlerContext();
+        final RequestMessage msg = context.getRequestMessage();
+        final Settings settings = context.getSettings();
+        final MessageSerializer serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
+        final boolean useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
+        final List<Object> results = cached.getResults();
+        final int batchSize = ResultBatchSizer.create(msg, settings).getBatchSize();
+
+        // a result that fits in the final response has nothing worth reusing
+        if (results.size() <= batchSize) return false;
+
+        final int lastBatchStart = (results.size() - 1) / batchSize * batchSize;
+        final String frameKey = String.join(":", serializer.mimeTypesSupported()[0], String.valueOf(useBinary), String.valueOf(batchSize));
+        final Optional<List<FrameTemplate>> templates = cached.getFrames(frameKey, k -> {
+            try {
+                final List<FrameTemplate> created = new ArrayList<>();
+                for (int i = 0; i < lastBatchStart; i += batchSize) {
+                    final Optional<FrameTemplate> template = FrameTemplate.create(serializer, useBinary,
+                            results.subList(i, i + batchSize));
+                    if (!template.isPresent()) return Optional.empty();
+                    created.add(template.get());
+                }
+                return Optional.of(created);
+            } catch (Exception ex) {
+                logger.warn(String.format("Could not serialize cached results for reuse with %s", frameKey), ex);
+                return Optional.empty();
+            }
+        });
+
+        if (!templates.isPresent()) return false;
+
+        writeCachedFrames(context, graph, templates.get(), 0, results.subList(lastBatchStart, results.size()),
+                getIterationDeadline(msg, settings));
+        return true;
+    }
+
+    /**
+     * Writes the cached responses from the one at {@code next} on and then the final response with the
+     * {@code lastBatch} of results. As with {@link #iterate}, writing is suspended while the channel is not
+     * writeable if the graph does not bind transactions to threads, in which case this method returns and writing
+     * picks up from the same response on another thread once the client catches up.
+     */
+    private void writeCachedFrames(final Context context, final Graph graph, final List<FrameTemplate> templates,
+                                   final int next, final List<Object> lastBatch, final long deadline) throws InterruptedException {
+        final ChannelHandlerContext ctx = context.getChannelHandlerContext();
+        final RequestMessage msg = context.getRequestMessage();
+        final Settings settings = context.getSettings();
+        final RequestTimings timings = context.getTimings();
+        int written = next;
+
+        while (true) {
+            if (Thread.interrupted() || isPastDeadline(deadline)) throw new InterruptedException();
+
+            if (ctx.channel().isWritable()) {
+                if (written == templates.size()) break;
+                ctx.writeAndFlush(templates.get(written++).toFrame(msg.getRequestId()));
+            } else if (!ctx.channel().isActive()) {
+                throw new IllegalStateException(String.format("Connection closed before the response to request [%s] was written", msg.getRequestId()));
+            } else if (!graph.features().graph().supportsTransactions()) {
+                final int resumeAt = written;
+                final long suspendedAt = System.nanoTime();
+                timings.suspend();
+                suspendIteration(context, deadline, () -> {
+                    timings.record(RequestTimings.Phase.WRITABILITY, suspendedAt);
+                    try {
+                        writeCachedFrames(context, graph, templates, resumeAt, lastBatch, deadline);
+                    } catch (Exception ex) {
+                        handleSuspendedIterationFailure(context, graph, ex);
+                    }
+                }, () -> handleSuspendedIterationFailure(context, graph, new TimeoutException()));
+                return;
+            } else {
+                final long waitStart = System.nanoTime();
+                WritabilityHandler.awaitWritable(ctx.channel());
+                timings.record(RequestTimings.Phase.WRITABILITY, waitStart);
+            }
+        }
+
+        final MessageSerializer serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
+        final boolean useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
+        final Iterator<Object> done = Collections.emptyIterator();
+        final Frame frame;
+        try {
+            frame = makeFrame(ctx, msg, serializer, useBinary, lastBatch, ResponseStatusCode.SUCCESS,
+                    generateResultMetaData(ctx, msg, ResponseStatusCode.SUCCESS, done, settings),
+                    generateStatusAttributes(ctx, msg, ResponseStatusCode.SUCCESS, done, settings));
+        } catch (Exception ex) {
+            // exception is handled in makeFrame() - serialization error gets written back to driver at that point
+            onError(graph, context);
+            completeRequest(context, true);
+            return;
+        }
+
+        onTraversalSuccess(graph, context);
+        ctx.writeAndFlush(frame);
+        completeRequest(context, true);
+    }
+
+    /**
+     * Caches the results of a fully iterated traversal or invalidates the cache if the traversal wrote to the graph.
+     */
+    private static void updateResultCache(final Iterator itty) {
+        if (null == resultCache) return;
+
+        if (itty instanceof ResultCachingIterator)
+            ((ResultCachingIterator) itty).cacheResults();
+        else if (itty instanceof TraverserIterator) {
+            final Traversal.Admin<?, ?> traversal = ((TraverserIterator) itty).getTraversal();
+            if (TraversalResultCache.isMutating(traversal))
+                traversal.getGraph().ifPresent(resultCache::invalidate);
+        }
+    }
+
     @Override
     protected void iterateComplete(final ChannelHandlerContext ctx, final RequestMessage msg, final Iterator itty) {
         if (itty instanceof TraverserIterator) {
@@ -428,6 +676,8 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                 cache.put(msg.getRequestId(), traversal.getSideEffects());
             }
         }
+
+        updateResultCache(itty);
     }
 
     protected void beforeProcessing(final Graph graph, final Context ctx) {
@@ -475,12 +725,14 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         final ChannelHandlerContext ctx = context.getChannelHandlerContext();
         final RequestMessage msg = context.getRequestMessage();
         final Settings settings = context.getSettings();
-        final MessageSerializer serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
-        final boolean useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
-        boolean warnOnce = false;
+
+        // the first call to hasNext() may do most of the work of producing the result
+        final long iterationStart = System.nanoTime();
+        final boolean empty = !itty.hasNext();
+        context.getTimings().record(RequestTimings.Phase.ITERATION, iterationStart);
 
         // we have an empty iterator - happens on stuff like: g.V().iterate()
-        if (!itty.hasNext()) {
+        if (empty) {
             // as there is nothing left to iterate if we are transaction managed then we should execute a
             // commit here before we send back a NO_CONTENT which implies success
             onTraversalSuccess(graph, context);
@@ -489,113 +741,187 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                     !((TraverserIterator)itty).getTraversal().getSideEffects().isEmpty()) {
                 cache.put(msg.getRequestId(), ((TraverserIterator)itty).getTraversal().getSideEffects());
             }
+            updateResultCache(itty);
             ctx.writeAndFlush(ResponseMessage.build(msg)
                     .code(ResponseStatusCode.NO_CONTENT)
                     .statusAttributes(generateStatusAttributes(ctx, msg, ResponseStatusCode.NO_CONTENT, itty, settings))
                     .create());
+            completeRequest(context, true);
             return;
         }
 
-        // the batch size can be overridden by the request
-        final int resultIterationBatchSize = (Integer) msg.optionalArgs(Tokens.ARGS_BATCH_SIZE)
-                .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
+        // the batch size can be overridden by the request, otherwise it may adapt to the size of the results
+        final ResultBatchSizer batchSizer = ResultBatchSizer.create(msg, settings);
+
+        iterate(context, itty, graph, batchSizer, new ArrayList<>(batchSizer.getBatchSize()),
+                getIterationDeadline(msg, settings));
+    }
+
+    /**
+     * Iterates the result in batches until it is exhausted or until the channel is no longer writeable. Iteration
+     * is suspended at that point if the graph does not bind transactions to threads, in which case this method
+     * returns and iteration picks up from the {@code pending} results on another thread once the client catches up.
+     */
+    private void iterate(final Context context, final Iterator itty, final Graph graph, final ResultBatchSizer batchSizer,
+                         final List<Object> pending, final long deadline) throws InterruptedException {
+        final ChannelHandlerContext ctx = context.getChannelHandlerContext();
+        final RequestMessage msg = context.getRequestMessage();
+        final Settings settings = context.getSettings();
+        final MessageSerializer serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
+        final boolean useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
+        final RequestTimings timings = context.getTimings();
+        List<Object> aggregate = pending;
+        boolean warnOnce = false;
+
+        // iteration is whatever time in the loop is not spent serializing or waiting on the client
+        final long iterationStart = System.nanoTime();
+        long notIterating = 0;
 
         // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
         // prevent situations where auto transactions create a new transaction after calls to commit() withing
         // the loop on calls to hasNext().
-        boolean hasMore = itty.hasNext();
-
-        while (hasMore) {
-            if (Thread.interrupted()) throw new InterruptedException();
-
-            // check if an implementation needs to force flush the aggregated results before the iteration batch
-            // size is reached.
-            final boolean forceFlush = isForceFlushed(ctx, msg, itty);
-
-            // have to check the aggregate size because it is possible that the channel is not writeable (below)
-            // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
-            // the expected resultIterationBatchSize.  Total serialization time for the response remains in
-            // effect so if the client is "slow" it may simply timeout.
-            //
-            // there is a need to check hasNext() on the iterator because if the channel is not writeable the
-            // previous pass through the while loop will have next()'d the iterator and if it is "done" then a
-            // NoSuchElementException will raise its head. also need a check to ensure that this iteration doesn't
-            // require a forced flush which can be forced by sub-classes.
-            //
-            // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
-            // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
-            // while waiting for the client to catch up
-            if (aggregate.size() < resultIterationBatchSize && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
-
-            // send back a page of results if batch size is met or if it's the end of the results being iterated.
-            // also check writeability of the channel to prevent OOME for slow clients.
-            if (ctx.channel().isWritable()) {
-                if (forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
-                    final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
+        boolean hasMore = true;
 
-                    // serialize here because in sessionless requests the serialization must occur in the same
-                    // thread as the eval.  as eval occurs in the GremlinExecutor there's no way to get back to the
-                    // thread that processed the eval of the script so, we have to push serialization down into that
-                    Frame frame = null;
-                    try {
-                        frame = makeFrame(ctx, msg, serializer, useBinary, aggregate, code,
-                                generateResultMetaData(ctx, msg, code, itty, settings),
-                                generateStatusAttributes(ctx, msg, code, itty, settings));
-                    } catch (Exception ex) {
-                        // a frame may use a Bytebuf which is a countable release - if it does not get written
-                        // downstream it needs to be released here
-                        if (frame != null) frame.tryRelease();
-
-                        // exception is handled in makeFrame() - serialization error gets written back to driver
-                        // at that point
-                        onError(graph, context);
-                        break;
-                    }
+        try {
+            while (hasMore) {
+                if (Thread.interrupted() || isPastDeadline(deadline)) throw new InterruptedException();
+
+                // check if an implementation needs to force flush the aggregated results before the iteration batch
+                // size is reached.
+                final boolean forceFlush = isForceFlushed(ctx, msg, itty);
+
+                // have to check the aggregate size because it is possible that the channel is not writeable (below)
+                // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
+                // the expected resultIterationBatchSize.  Total serialization time for the response remains in
+                // effect so if the client is "slow" it may simply timeout.
+                //
+                // there is a need to check hasNext() on the iterator because if the channel is not writeable the
+                // previous pass through the while loop will have next()'d the iterator and if it is "done" then a
+                // NoSuchElementException will raise its head. also need a check to ensure that this iteration doesn't
+                // require a forced flush which can be forced by sub-classes.
+                //
+                // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
+                // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
+                // while waiting for the client to catch up
+                if (aggregate.size() < batchSizer.getBatchSize() && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
+
+                // send back a page of results if batch size is met or if it's the end of the results being iterated.
+                // also check writeability of the channel to prevent OOME for slow clients.
+                if (ctx.channel().isWritable()) {
+                    if (forceFlush || aggregate.size() >= batchSizer.getBatchSize() || !itty.hasNext()
+                            || batchSizer.isFirstBatchDue(aggregate.size())) {
+                        final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
+
+                        // serialize here because in sessionless requests the serialization must occur in the same
+                        // thread as the eval.  as eval occurs in the GremlinExecutor there's no way to get back to the
+                        // thread that processed the eval of the script so, we have to push serialization down into that
+                        Frame frame = null;
+                        final long serializationStart = System.nanoTime();
+                        try {
+                            frame = makeFrame(ctx, msg, serializer, useBinary, aggregate, code,
+                                    generateResultMetaData(ctx, msg, code, itty, settings),
+                                    generateStatusAttributes(ctx, msg, code, itty, settings));
+                            notIterating += timings.record(RequestTimings.Phase.SERIALIZATION, serializationStart);
+                        } catch (Exception ex) {
+                            // a frame may use a Bytebuf which is a countable release - if it does not get written
+                            // downstream it needs to be released here
+                            if (frame != null) frame.tryRelease();
+
+                            // exception is handled in makeFrame() - serialization error gets written back to driver
+                            // at that point
+                            onError(graph, context);
+                            break;
+                        }
 
-                    try {
-                        // only need to reset the aggregation list if there's more stuff to write
-                        if (itty.hasNext())
-                            aggregate = new ArrayList<>(resultIterationBatchSize);
-                        else {
-                            // iteration and serialization are both complete which means this finished successfully. note that
-                            // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
-                            // local errors will get rolledback below because the exceptions aren't thrown in those cases to be
-                            // caught by the GremlinExecutor for global rollback logic. this only needs to be committed if
-                            // there are no more items to iterate and serialization is complete
-                            onTraversalSuccess(graph, context);
-
-                            // exit the result iteration loop as there are no more results left.  using this external control
-                            // because of the above commit.  some graphs may open a new transaction on the call to
-                            // hasNext()
-                            hasMore = false;
+                        // measure the batch before it is written as the write releases the serialized content
+                        batchSizer.batchWritten(frame, aggregate.size());
+
+                        try {
+                            // only need to reset the aggregation list if there's more stuff to write
+                            if (itty.hasNext())
+                                aggregate = new ArrayList<>(batchSizer.getBatchSize());
+                            else {
+                                // iteration and serialization are both complete which means this finished successfully. note that
+                                // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
+                                // local errors will get rolledback below because the exceptions aren't thrown in those cases to be
+                                // caught by the GremlinExecutor for global rollback logic. this only needs to be committed if
+                                // there are no more items to iterate and serialization is complete
+                                onTraversalSuccess(graph, context);
+
+                                // exit the result iteration loop as there are no more results left.  using this external control
+                                // because of the above commit.  some graphs may open a new transaction on the call to
+                                // hasNext()
+                                hasMore = false;
+                            }
+                        } catch (Exception ex) {
+                            // a frame may use a Bytebuf which is a countable release - if it does not get written
+                            // downstream it needs to be released here
+                            if (frame != null) frame.tryRelease();
+                            throw ex;
                         }
-                    } catch (Exception ex) {
-                        // a frame may use a Bytebuf which is a countable release - if it does not get written
-                        // downstream it needs to be released here
-                        if (frame != null) frame.tryRelease();
-                        throw ex;
+
+                        if (!itty.hasNext()) iterateComplete(ctx, msg, itty);
+
+                        // the flush is called after the commit has potentially occurred.  in this way, if a commit was
+                        // required then it will be 100% complete before the client receives it. the "frame" at this point
+                        // should have completely detached objects from the transaction (i.e. serialization has occurred)
+                        // so a new one should not be opened on the flush down the netty pipeline
+                        ctx.writeAndFlush(frame);
+                    }
+                } else if (!ctx.channel().isActive()) {
+                    throw new IllegalStateException(String.format("Connection closed before the response to request [%s] was written", msg.getRequestId()));
+                } else {
+                    // don't keep triggering this warning over and over again for the same request
+                    if (!warnOnce) {
+                        logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
+                        warnOnce = true;
                     }
 
-                    if (!itty.hasNext()) iterateComplete(ctx, msg, itty);
+                    // give the worker back to the pool while the client catches up unless transactions are bound to
+                    // this thread, in which case wait for netty to report that the channel is writeable again. this
+                    // isn't blocking the IO thread either way
+                    if (!graph.features().graph().supportsTransactions()) {
+                        final List<Object> suspended = aggregate;
+                        final long suspendedAt = System.nanoTime();
+                        timings.suspend();
+                        suspendIteration(context, deadline, () -> {
+                            timings.record(RequestTimings.Phase.WRITABILITY, suspendedAt);
+                            try {
+                                iterate(context, itty, graph, batchSizer, suspended, deadline);
+                            } catch (Exception ex) {
+                                handleSuspendedIterationFailure(context, graph, ex);
+                            }
+                        }, () -> handleSuspendedIterationFailure(context, graph, new TimeoutException()));
+                        return;
+                    }
 
-                    // the flush is called after the commit has potentially occurred.  in this way, if a commit was
-                    // required then it will be 100% complete before the client receives it. the "frame" at this point
-                    // should have completely detached objects from the transaction (i.e. serialization has occurred)
-                    // so a new one should not be opened on the flush down the netty pipeline
-                    ctx.writeAndFlush(frame);
-                }
-            } else {
-                // don't keep triggering this warning over and over again for the same request
-                if (!warnOnce) {
-                    logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
-                    warnOnce = true;
+                    final long waitStart = System.nanoTime();
+                    WritabilityHandler.awaitWritable(ctx.channel());
+                    notIterating += timings.record(RequestTimings.Phase.WRITABILITY, waitStart);
                 }
-
-                // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
             }
+        } finally {
+            timings.add(RequestTimings.Phase.ITERATION, System.nanoTime() - iterationStart - notIterating);
+        }
+
+        completeRequest(context, true);
+    }
+
+    private void handleSuspendedIterationFailure(final Context context, final Graph graph, final Exception ex) {
+        final ChannelHandlerContext ctx = context.getChannelHandlerContext();
+        final RequestMessage msg = context.getRequestMessage();
+        if (ex instanceof InterruptedException || ex instanceof TimeoutException) {
+            final String errorMessage = String.format("A timeout occurred during traversal evaluation of [%s] - consider increasing the limit given to scriptEvaluationTimeout", msg);
+            logger.warn(errorMessage);
+            ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR_TIMEOUT)
+                    .statusMessage(errorMessage).create());
+        } else {
+            logger.warn(String.format("Exception processing a Traversal on iteration for request [%s].", msg.getRequestId()), ex);
+            ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR)
+                    .statusMessage(ex.getMessage())
+                    .statusAttributeException(ex).create());
         }
+        onError(graph, context);
+        completeRequest(context, true);
     }
 }
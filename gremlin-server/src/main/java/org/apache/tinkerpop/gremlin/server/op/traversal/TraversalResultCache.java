@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op.traversal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.CoinStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.SampleGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.SampleLocalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A cache of the results of read-only traversals submitted to the {@link TraversalOpProcessor}, keyed on the
+ * traversal source and the {@link Bytecode} of the traversal with its bindings replaced by their values. Results are
+ * only cached for traversals that complete successfully without side-effects, that do not contain {@link Mutating}
+ * steps or steps with random results, such as {@code order().by(shuffle)}, and that return no more than a configured
+ * number of results. The {@link TraversalOpProcessor} does not cache results of graphs that support transactions as
+ * a transaction may see its own uncommitted writes or miss those of others.
+ * <p/>
+ * Entries expire after a fixed time, but a graph provider should call {@link #invalidate(Graph)} when a graph is
+ * written to so that later requests do not see stale results. The {@link TraversalOpProcessor} does this itself
+ * for traversals with {@link Mutating} steps that it processes, but it cannot know of writes made through scripts or
+ * directly against the graph. The cache is available from {@link TraversalOpProcessor#getResultCache()} once the
+ * processor is initialized with a {@link TraversalOpProcessor#CONFIG_RESULT_CACHE_MAX_SIZE} greater than zero.
+ */
+public class TraversalResultCache {
+
+    private static final Collection<Class> UNCACHEABLE_STEPS = Arrays.asList(Mutating.class, CoinStep.class,
+            SampleGlobalStep.class, SampleLocalStep.class, ProfileSideEffectStep.class);
+
+    private final Cache<Key, Entry> cache;
+    private final int maxResults;
+
+    /**
+     * Incremented on every invalidation so that results computed before a write are not cached after it.
+     */
+    private final AtomicLong generation = new AtomicLong(0);
+
+    public TraversalResultCache(final long maxSize, final long expirationTime, final int maxResults) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(expirationTime, TimeUnit.MILLISECONDS)
+                .maximumSize(maxSize)
+                .build();
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Creates the key for a traversal over the given traversal source.
+     */
+    public Key createKey(final String traversalSourceName, final Graph graph, final Bytecode bytecode) {
+        return new Key(traversalSourceName, graph, normalize(bytecode), generation.get());
+    }
+
+    /**
+     * Gets the cached results for the key if present.
+     */
+    public Optional<Entry> get(final Key key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    /**
+     * Caches the results for the key, unless the cache was invalidated since the key was created in which case the
+     * results may already be stale.
+     */
+    public void put(final Key key, final List<Object> results) {
+        if (results.size() > maxResults || key.generation != generation.get()) return;
+        cache.put(key, new Entry(Collections.unmodifiableList(results)));
+
+        // an invalidation may have raced with the put above so take the entry back out if that happened
+        if (key.generation != generation.get()) cache.invalidate(key);
+    }
+
+    /**
+     * Gets the largest number of results that will be cached for a single traversal.
+     */
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * Determines if the results of a traversal, with its strategies applied, may be cached.
+     */
+    public static boolean isCacheable(final Traversal.Admin<?, ?> traversal) {
+        return !TraversalHelper.hasStepOfAssignableClassRecursively(UNCACHEABLE_STEPS, traversal) &&
+                TraversalHelper.getStepsOfAssignableClassRecursively(ComparatorHolder.class, traversal).stream()
+                        .noneMatch(TraversalResultCache::isShuffled);
+    }
+
+    private static boolean isShuffled(final ComparatorHolder<?, ?> holder) {
+        return holder.getComparators().stream().anyMatch(p -> p.getValue1() == Order.shuffle);
+    }
+
+    /**
+     * Determines if the traversal writes to the graph, in which case cached results for the graph should be
+     * invalidated.
+     */
+    public static boolean isMutating(final Traversal.Admin<?, ?> traversal) {
+        return TraversalHelper.hasStepOfAssignableClassRecursively(Mutating.class, traversal);
+    }
+
+    /**
+     * Removes the cached results of all traversals over the graph.
+     */
+    public void invalidate(final Graph graph) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(k -> k.graph == graph);
+    }
+
+    /**
+     * Removes the cached results of all traversals over the traversal source.
+     */
+    public void invalidate(final String traversalSourceName) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(k -> k.traversalSourceName.equals(traversalSourceName));
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Gets the approximate number of cached traversals.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Converts the {@link Bytecode} into nested lists of operators and arguments where bindings are replaced by their
+     * values, so that traversals that only differ in the names of their bindings share a key.
+     */
+    static List<Object> normalize(final Bytecode bytecode) {
+        final List<Object> normalized = new ArrayList<>();
+        for (Bytecode.Instruction instruction : bytecode.getSourceInstructions()) {
+            normalized.add(normalize(instruction));
+        }
+
+        // marks where the source instructions end so that they cannot be confused with steps
+        normalized.add(null);
+
+        for (Bytecode.Instruction instruction : bytecode.getStepInstructions()) {
+            normalized.add(normalize(instruction));
+        }
+        return normalized;
+    }
+
+    private static List<Object> normalize(final Bytecode.Instruction instruction) {
+        final List<Object> normalized = new ArrayList<>(instruction.getArguments().length + 1);
+        normalized.add(instruction.getOperator());
+        for (Object argument : instruction.getArguments()) {
+            normalized.add(normalizeArgument(argument));
+        }
+        return normalized;
+    }
+
+    private static Object normalizeArgument(final Object argument) {
+        if (argument instanceof Bytecode.Binding)
+            return normalizeArgument(((Bytecode.Binding) argument).value());
+        else if (argument instanceof Bytecode)
+            return normalize((Bytecode) argument);
+        else if (argument instanceof Traversal)
+            return normalize(((Traversal) argument).asAdmin().getBytecode());
+        else if (argument instanceof Object[])
+            return normalizeArgument(Arrays.asList((Object[]) argument));
+        else if (argument instanceof Map) {
+            final Map<Object, Object> map = new LinkedHashMap<>(((Map) argument).size());
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) argument).entrySet()) {
+                map.put(normalizeArgument(entry.getKey()), normalizeArgument(entry.getValue()));
+            }
+            return map;
+        } else if (argument instanceof List) {
+            final List<Object> list = new ArrayList<>(((List) argument).size());
+            for (final Object item : (List) argument) {
+                list.add(normalizeArgument(item));
+            }
+            return list;
+        } else if (argument instanceof Set) {
+            final Set<Object> set = new LinkedHashSet<>(((Set) argument).size());
+            for (final Object item : (Set) argument) {
+                set.add(normalizeArgument(item));
+            }
+            return set;
+        } else
+            return argument;
+    }
+
+    /**
+     * The cached results of a traversal along with the serialized responses made from them.
+     */
+    public static final class Entry {
+        private final List<Object> results;
+        private final ConcurrentMap<String, Optional<List<FrameTemplate>>> frames = new ConcurrentHashMap<>();
+
+        private Entry(final List<Object> results) {
+            this.results = results;
+        }
+
+        public List<Object> getResults() {
+            return results;
+        }
+
+        /**
+         * Gets the serialized responses for the results, creating them on first use for the given key, which must
+         * identify the serializer and the batch size. The result is empty if the serializer does not allow the
+         * responses to be reused.
+         */
+        Optional<List<FrameTemplate>> getFrames(final String frameKey, final Function<String, Optional<List<FrameTemplate>>> creator) {
+            return frames.computeIfAbsent(frameKey, creator);
+        }
+    }
+
+    /**
+     * The key of a cached result.
+     */
+    public static final class Key {
+        private final String traversalSourceName;
+        private final Graph graph;
+        private final List<Object> bytecode;
+        private final long generation;
+        private final int hashCode;
+
+        private Key(final String traversalSourceName, final Graph graph, final List<Object> bytecode, final long generation) {
+            this.traversalSourceName = traversalSourceName;
+            this.graph = graph;
+            this.bytecode = bytecode;
+            this.generation = generation;
+            this.hashCode = 31 * traversalSourceName.hashCode() + bytecode.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Key key = (Key) o;
+            return hashCode == key.hashCode && traversalSourceName.equals(key.traversalSourceName) &&
+                    bytecode.equals(key.bytecode);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
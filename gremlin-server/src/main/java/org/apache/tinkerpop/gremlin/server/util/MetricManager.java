@@ -36,6 +36,7 @@ import info.ganglia.gmetric4j.gmetric.GMetric;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ExecutionCounters;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,6 +69,7 @@ public enum MetricManager {
     private Slf4jReporter slf4jReporter = null;
     private GangliaReporter gangliaReporter = null;
     private GraphiteReporter graphiteReporter = null;
+    private ExecutionCounters.Listener executionCountersListener = null;
 
     /**
      * Return the {@code MetricsRegistry}.
@@ -490,4 +492,27 @@ public enum MetricManager {
                     (Gauge<Long>) gremlinGroovyScriptEngine::getClassCacheTotalLoadTime);
         }
     }
+
+    /**
+     * Publishes the {@link ExecutionCounters} of the traversal engine, i.e. the traversers emitted per step class,
+     * the applications of each strategy and the full scans counted by the graph, as gauges named
+     * {@code org.apache.tinkerpop.gremlin.server.GremlinServer.traversal.<group>.<name>}. Counters created later on
+     * are published as they appear. Calling this method again re-registers gauges that were removed.
+     */
+    public synchronized void registerExecutionCounters() {
+        if (!ExecutionCounters.isEnabled())
+            return;
+        if (null != executionCountersListener)
+            ExecutionCounters.removeListener(executionCountersListener);
+        executionCountersListener = (group, name, counter) -> {
+            final String metricName = MetricRegistry.name(GremlinServer.class, "traversal", group, name);
+            try {
+                if (!getRegistry().getNames().contains(metricName))
+                    getRegistry().register(metricName, (Gauge<Long>) counter::sum);
+            } catch (IllegalArgumentException iae) {
+                // registered concurrently for the same counter
+            }
+        };
+        ExecutionCounters.addListener(executionCountersListener);
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Accumulates the time a single request spends in each {@link Phase} of its processing. Once the request is
+ * complete the times are recorded to a {@code Timer} per phase in the {@link MetricManager} named after the op
+ * processor that handled the request (e.g. {@code op.traversal.phase.iteration}) and, if the request took longer than
+ * {@link org.apache.tinkerpop.gremlin.server.Settings#slowRequestThreshold}, the breakdown is written to the
+ * {@link GremlinServer#SLOW_REQUEST_LOGGER_NAME slow request log}.
+ */
+public final class RequestTimings {
+    private static final Logger slowRequestLogger = LoggerFactory.getLogger(GremlinServer.SLOW_REQUEST_LOGGER_NAME);
+
+    /**
+     * The names of the phase timers for each op processor, which are looked up from the {@link MetricManager} as
+     * needed so that they survive a reset of the registry.
+     */
+    private static final Map<String, String[]> timerNames = new ConcurrentHashMap<>();
+
+    public enum Phase {
+        /**
+         * Reading the request from the bytes sent by the client.
+         */
+        DESERIALIZATION,
+
+        /**
+         * Waiting for a worker thread to start processing the request.
+         */
+        QUEUE,
+
+        /**
+         * Compiling and evaluating a script.
+         */
+        EVALUATION,
+
+        /**
+         * Turning {@code Bytecode} into a {@code Traversal}.
+         */
+        TRANSLATION,
+
+        /**
+         * Applying traversal strategies.
+         */
+        STRATEGIES,
+
+        /**
+         * Iterating the result.
+         */
+        ITERATION,
+
+        /**
+         * Serializing the batches of the result.
+         */
+        SERIALIZATION,
+
+        /**
+         * Waiting for the channel to become writeable again while the client catches up.
+         */
+        WRITABILITY;
+
+        public String getMetricName() {
+            return name().toLowerCase();
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long started = System.nanoTime();
+    private final AtomicLongArray phases = new AtomicLongArray(PHASES.length);
+    private final AtomicBoolean completed = new AtomicBoolean(false);
+    private volatile boolean suspended = false;
+
+    /**
+     * Adds the time since {@code startNanos} to the {@code phase}.
+     *
+     * @return the time added in nanoseconds
+     */
+    public long record(final Phase phase, final long startNanos) {
+        final long elapsed = System.nanoTime() - startNanos;
+        add(phase, elapsed);
+        return elapsed;
+    }
+
+    public void add(final Phase phase, final long nanos) {
+        if (nanos > 0) phases.addAndGet(phase.ordinal(), nanos);
+    }
+
+    /**
+     * Gets the time in nanoseconds spent in the {@code phase} so far.
+     */
+    public long get(final Phase phase) {
+        return phases.get(phase.ordinal());
+    }
+
+    /**
+     * Marks that iteration of the result was suspended and continues on another thread, in which case only
+     * {@link #complete(String, RequestMessage, long)} completes the request and not
+     * {@link #completeUnlessSuspended(String, RequestMessage, long)}.
+     */
+    public void suspend() {
+        suspended = true;
+    }
+
+    /**
+     * Completes the request unless iteration of its result was {@link #suspend() suspended}.
+     */
+    public boolean completeUnlessSuspended(final String name, final RequestMessage msg, final long slowRequestThreshold) {
+        return !suspended && complete(name, msg, slowRequestThreshold);
+    }
+
+    /**
+     * Records the phase times of the request under the op processor {@code name} and logs them if the request took
+     * longer than the {@code slowRequestThreshold} in milliseconds. Only the first call for a request has an effect.
+     *
+     * @return {@code true} if this call completed the request
+     */
+    public boolean complete(final String name, final RequestMessage msg, final long slowRequestThreshold) {
+        if (!completed.compareAndSet(false, true)) return false;
+
+        final String[] names = timerNames.computeIfAbsent(name, k -> {
+            final String[] created = new String[PHASES.length];
+            for (Phase phase : PHASES) {
+                created[phase.ordinal()] = name(GremlinServer.class, "op", k, "phase", phase.getMetricName());
+            }
+            return created;
+        });
+
+        for (Phase phase : PHASES) {
+            final long nanos = get(phase);
+            if (nanos > 0) MetricManager.INSTANCE.getTimer(names[phase.ordinal()]).update(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        // deserialization happens before this object is created so it is added on to the total
+        final long total = System.nanoTime() - started + get(Phase.DESERIALIZATION);
+        if (slowRequestThreshold > 0 && total > TimeUnit.MILLISECONDS.toNanos(slowRequestThreshold))
+            slowRequestLogger.warn("Request [{}] took {} ms to complete [{}] - {}", msg.getRequestId(), toMillis(total), this, msg);
+
+        return true;
+    }
+
+    /**
+     * Gets the time spent in each phase so far in milliseconds, leaving out phases the request did not go through.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for (Phase phase : PHASES) {
+            final long nanos = get(phase);
+            if (nanos <= 0) continue;
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(phase.getMetricName()).append('=').append(toMillis(nanos)).append("ms");
+        }
+        return sb.toString();
+    }
+
+    private static String toMillis(final long nanos) {
+        return String.format("%.3f", nanos / 1000000d);
+    }
+}
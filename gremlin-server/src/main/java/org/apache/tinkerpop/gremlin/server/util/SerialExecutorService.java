@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@code ExecutorService} that runs submitted tasks one at a time and in submission order, but borrows the
+ * threads to do so from a shared {@code Executor}. Many instances may share the same backing pool so that a large
+ * number of serial queues (e.g. one per session) only hold a thread while they actually have work to do. Each task
+ * is handed to the backing pool individually so that a busy queue does not starve others sharing the pool, which
+ * also means that consecutive tasks are not guaranteed to execute on the same thread.
+ */
+public final class SerialExecutorService extends AbstractExecutorService {
+    private final Executor backingExecutor;
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    private Thread running = null;
+    private boolean scheduled = false;
+    private boolean shutdown = false;
+
+    public SerialExecutorService(final Executor backingExecutor) {
+        if (null == backingExecutor) throw new IllegalArgumentException("backingExecutor cannot be null");
+        this.backingExecutor = backingExecutor;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        if (null == command) throw new NullPointerException("command cannot be null");
+
+        synchronized (this) {
+            if (shutdown) throw new RejectedExecutionException("SerialExecutorService has been shutdown");
+            tasks.add(command);
+            if (scheduled) return;
+            scheduled = true;
+        }
+
+        scheduleNext();
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Stops accepting new tasks, drains the queue of tasks that have not yet started and interrupts the task that is
+     * currently running if there is one. The thread of the backing pool is not otherwise affected.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        synchronized (this) {
+            shutdown = true;
+            final List<Runnable> pending = new ArrayList<>(tasks);
+            tasks.clear();
+            if (running != null) running.interrupt();
+            notifyAll();
+            return pending;
+        }
+    }
+
+    @Override
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public synchronized boolean isTerminated() {
+        return shutdown && tasks.isEmpty() && running == null;
+    }
+
+    @Override
+    public synchronized boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isTerminated()) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return false;
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    private void scheduleNext() {
+        try {
+            backingExecutor.execute(this::runNext);
+        } catch (RejectedExecutionException ree) {
+            // the backing pool won't take the work so there is no way to run what is queued here
+            synchronized (this) {
+                tasks.clear();
+                scheduled = false;
+                notifyAll();
+            }
+            throw ree;
+        }
+    }
+
+    private void runNext() {
+        final Runnable task;
+        synchronized (this) {
+            task = tasks.poll();
+            if (null == task) {
+                scheduled = false;
+                notifyAll();
+                return;
+            }
+            running = Thread.currentThread();
+        }
+
+        try {
+            task.run();
+        } finally {
+            final boolean more;
+            synchronized (this) {
+                running = null;
+
+                // an interrupt aimed at the task (e.g. a timeout cancellation) must not leak into whatever the
+                // shared thread runs next
+                Thread.interrupted();
+
+                more = !tasks.isEmpty();
+                if (!more) {
+                    scheduled = false;
+                    notifyAll();
+                }
+            }
+
+            if (more) scheduleNext();
+        }
+    }
+}
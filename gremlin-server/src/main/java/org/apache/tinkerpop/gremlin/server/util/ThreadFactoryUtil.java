@@ -32,4 +32,8 @@ public final class ThreadFactoryUtil {
     public static ThreadFactory create(final String pattern) {
         return new BasicThreadFactory.Builder().namingPattern(SERVER_THREAD_PREFIX + pattern).build();
     }
+
+    public static ThreadFactory create(final String pattern, final boolean daemon) {
+        return new BasicThreadFactory.Builder().namingPattern(SERVER_THREAD_PREFIX + pattern).daemon(daemon).build();
+    }
 }
@@ -18,8 +18,17 @@
  */
 package org.apache.tinkerpop.gremlin.server;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.http.HttpHeaders;
+import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.driver.ser.GraphBinaryMessageSerializerV1;
 import org.apache.tinkerpop.gremlin.driver.ser.GraphSONMessageSerializerV1d0;
 import org.apache.tinkerpop.gremlin.driver.Tokens;
 import org.apache.tinkerpop.gremlin.driver.ser.GraphSONMessageSerializerV2d0;
@@ -32,23 +41,30 @@ import org.apache.http.Consts;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONTokens;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.apache.tinkerpop.shaded.jackson.databind.JsonNode;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.junit.Test;
 
 import java.io.File;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.StringStartsWith.startsWith;
 import static org.junit.Assert.assertEquals;
 
@@ -88,6 +104,14 @@ public class GremlinServerHttpIntegrateTest extends AbstractGremlinServerIntegra
                 serializerSettingsV1.className = GraphSONMessageSerializerV1d0.class.getName();
                 settings.serializers.add(serializerSettingsV1);
                 break;
+            case "should200OnPOSTWithStreamedResult":
+            case "should200OnGETWithStreamedResultUsingDefaultBatchSize":
+                settings.resultIterationBatchSize = 3;
+                settings.serializers.clear();
+                final Settings.SerializerSettings serializerSettingsStream = new Settings.SerializerSettings();
+                serializerSettingsStream.className = GraphSONMessageSerializerV1d0.class.getName();
+                settings.serializers.add(serializerSettingsStream);
+                break;
             case "should200OnPOSTWithGraphSON2d0AcceptHeaderDefaultResultToJson":
                 settings.serializers.clear();
                 final Settings.SerializerSettings serializerSettingsV2 = new Settings.SerializerSettings();
@@ -864,4 +888,156 @@ public class GremlinServerHttpIntegrateTest extends AbstractGremlinServerIntegra
             assertEquals(0, node.get("result").get("data").get(GraphSONTokens.VALUEPROP).get(0).get(GraphSONTokens.VALUEPROP).asInt());
         }
     }
+
+    @Test
+    public void should200OnPOSTWithStreamedResult() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"1..10\", \"stream\":true, \"batchSize\":4}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertEquals(SerTokens.MIME_JSON, response.getEntity().getContentType().getValue());
+            assertThat(response.getEntity().isChunked(), is(true));
+
+            final String[] messages = EntityUtils.toString(response.getEntity()).split("\n");
+            assertEquals(3, messages.length);
+
+            final List<JsonNode> nodes = new ArrayList<>();
+            for (String message : messages) {
+                nodes.add(mapper.readTree(message));
+            }
+
+            assertEquals(206, nodes.get(0).get("status").get("code").asInt());
+            assertEquals(206, nodes.get(1).get("status").get("code").asInt());
+            assertEquals(200, nodes.get(2).get("status").get("code").asInt());
+            assertEquals(4, nodes.get(0).get("result").get("data").size());
+            assertEquals(4, nodes.get(1).get("result").get("data").size());
+            assertEquals(2, nodes.get(2).get("result").get("data").size());
+            assertEquals(1, nodes.get(0).get("result").get("data").get(0).asInt());
+            assertEquals(10, nodes.get(2).get("result").get("data").get(1).asInt());
+
+            // all messages belong to the same request
+            assertEquals(nodes.get(0).get("requestId").asText(), nodes.get(2).get("requestId").asText());
+        }
+    }
+
+    @Test
+    public void should200OnGETWithStreamedResultUsingDefaultBatchSize() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpGet httpget = new HttpGet(TestClientFactory.createURLString("?gremlin=1..7&stream=true"));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httpget)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertThat(response.getEntity().isChunked(), is(true));
+
+            // resultIterationBatchSize is configured to 3 for this test
+            final String[] messages = EntityUtils.toString(response.getEntity()).split("\n");
+            assertEquals(3, messages.length);
+            assertEquals(3, mapper.readTree(messages[0]).get("result").get("data").size());
+            assertEquals(3, mapper.readTree(messages[1]).get("result").get("data").size());
+            assertEquals(1, mapper.readTree(messages[2]).get("result").get("data").size());
+            assertEquals(200, mapper.readTree(messages[2]).get("status").get("code").asInt());
+        }
+    }
+
+    @Test
+    public void should400OnPOSTWithInvalidStreamBatchSize() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"1..10\", \"stream\":true, \"batchSize\":0}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(400, response.getStatusLine().getStatusCode());
+        }
+    }
+
+    @Test
+    public void should200OnPOSTWithGraphBinaryBytecodeRequest() throws Exception {
+        final GraphBinaryMessageSerializerV1 serializer = new GraphBinaryMessageSerializerV1();
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", SerTokens.MIME_GRAPHBINARY_V1D0);
+        httppost.setEntity(new ByteArrayEntity(serializeBytecodeRequest(serializer,
+                EmptyGraph.instance().traversal().inject(1, 2, 3).asAdmin().getBytecode(), Collections.emptyMap())));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertEquals(SerTokens.MIME_GRAPHBINARY_V1D0, response.getEntity().getContentType().getValue());
+
+            final List<ResponseMessage> messages = deserializeResponses(serializer, EntityUtils.toByteArray(response.getEntity()));
+            assertEquals(1, messages.size());
+            assertEquals(ResponseStatusCode.SUCCESS, messages.get(0).getStatus().getCode());
+            assertEquals(Arrays.asList(1, 2, 3), messages.get(0).getResult().getData());
+        }
+    }
+
+    @Test
+    public void should200OnPOSTWithGraphBinaryBytecodeRequestStreamedInBatches() throws Exception {
+        final GraphBinaryMessageSerializerV1 serializer = new GraphBinaryMessageSerializerV1();
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", SerTokens.MIME_GRAPHBINARY_V1D0);
+        httppost.setEntity(new ByteArrayEntity(serializeBytecodeRequest(serializer,
+                EmptyGraph.instance().traversal().inject(1, 2, 3).asAdmin().getBytecode(),
+                Collections.singletonMap(Tokens.ARGS_BATCH_SIZE, 2))));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertThat(response.getEntity().isChunked(), is(true));
+
+            final List<ResponseMessage> messages = deserializeResponses(serializer, EntityUtils.toByteArray(response.getEntity()));
+            assertEquals(2, messages.size());
+            assertEquals(ResponseStatusCode.PARTIAL_CONTENT, messages.get(0).getStatus().getCode());
+            assertEquals(Arrays.asList(1, 2), messages.get(0).getResult().getData());
+            assertEquals(ResponseStatusCode.SUCCESS, messages.get(1).getStatus().getCode());
+            assertEquals(Collections.singletonList(3), messages.get(1).getResult().getData());
+        }
+    }
+
+    @Test
+    public void should400OnPOSTWithGraphBinaryScriptRequest() throws Exception {
+        final GraphBinaryMessageSerializerV1 serializer = new GraphBinaryMessageSerializerV1();
+        final RequestMessage request = RequestMessage.build(Tokens.OPS_EVAL).addArg(Tokens.ARGS_GREMLIN, "1+1").create();
+        final ByteBuf bytes = serializer.serializeRequestAsBinary(request, UnpooledByteBufAllocator.DEFAULT);
+
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", SerTokens.MIME_GRAPHBINARY_V1D0);
+        httppost.setEntity(new ByteArrayEntity(ByteBufUtil.getBytes(bytes)));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(400, response.getStatusLine().getStatusCode());
+        } finally {
+            bytes.release();
+        }
+    }
+
+    private static byte[] serializeBytecodeRequest(final MessageSerializer serializer, final Bytecode bytecode,
+                                                   final Map<String, Object> args) throws Exception {
+        final RequestMessage.Builder builder = RequestMessage.build(Tokens.OPS_BYTECODE)
+                .processor("traversal")
+                .addArg(Tokens.ARGS_GREMLIN, bytecode)
+                .addArg(Tokens.ARGS_ALIASES, Collections.singletonMap("g", "g"));
+        args.forEach(builder::addArg);
+
+        final ByteBuf bytes = serializer.serializeRequestAsBinary(builder.create(), UnpooledByteBufAllocator.DEFAULT);
+        try {
+            return ByteBufUtil.getBytes(bytes);
+        } finally {
+            bytes.release();
+        }
+    }
+
+    private static List<ResponseMessage> deserializeResponses(final MessageSerializer serializer, final byte[] body) throws Exception {
+        final ByteBuf bytes = Unpooled.wrappedBuffer(body);
+        final List<ResponseMessage> messages = new ArrayList<>();
+        while (bytes.isReadable()) {
+            final int length = bytes.readInt();
+            messages.add(serializer.deserializeResponse(bytes.readSlice(length)));
+        }
+        return messages;
+    }
 }
@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.server.Context;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
+import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
+import org.javatuples.Pair;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class AdmissionControlHandlerTest {
+
+    @Test
+    public void shouldQueueRequestsBeyondInFlightLimit() {
+        final Settings.AdmissionSettings settings = new Settings.AdmissionSettings();
+        settings.maxInFlightRequests = 1;
+        final AdmissionControlHandler handler = new AdmissionControlHandler(settings);
+        final EmbeddedChannel channel = new EmbeddedChannel(handler);
+
+        final RequestMessage first = request();
+        final RequestMessage second = request();
+        channel.writeInbound(first, second);
+        assertEquals(first, channel.readInbound());
+        assertNull(channel.readInbound());
+        assertEquals(1, handler.getInFlight());
+        assertEquals(1, handler.getQueued());
+
+        // a partial response does not complete the request
+        respond(channel, first, ResponseStatusCode.PARTIAL_CONTENT);
+        assertNull(channel.readInbound());
+
+        respond(channel, first, ResponseStatusCode.SUCCESS);
+        assertEquals(second, channel.readInbound());
+        assertEquals(1, handler.getInFlight());
+        assertEquals(0, handler.getQueued());
+
+        respond(channel, second, ResponseStatusCode.SUCCESS);
+        assertEquals(0, handler.getInFlight());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldRejectRequestsWhenQueueIsFull() {
+        final Settings.AdmissionSettings settings = new Settings.AdmissionSettings();
+        settings.maxInFlightRequests = 1;
+        settings.maxQueuedRequests = 1;
+        final AdmissionControlHandler handler = new AdmissionControlHandler(settings);
+        final EmbeddedChannel channel = new EmbeddedChannel(handler);
+
+        final RequestMessage rejected = request();
+        channel.writeInbound(request(), request(), rejected);
+        assertEquals(1, handler.getInFlight());
+        assertEquals(1, handler.getQueued());
+
+        final ResponseMessage response = channel.readOutbound();
+        assertEquals(ResponseStatusCode.TOO_MANY_REQUESTS, response.getStatus().getCode());
+        assertEquals(rejected.getRequestId(), response.getRequestId());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldLimitRequestsPerConnection() {
+        final Settings.AdmissionSettings settings = new Settings.AdmissionSettings();
+        settings.maxInFlightRequestsPerConnection = 1;
+        final AdmissionControlHandler handler = new AdmissionControlHandler(settings);
+        final EmbeddedChannel channel1 = new EmbeddedChannel(handler);
+        final EmbeddedChannel channel2 = new EmbeddedChannel(handler);
+
+        final RequestMessage first = request();
+        final RequestMessage second = request();
+        final RequestMessage third = request();
+        channel1.writeInbound(first, second);
+        channel2.writeInbound(third);
+
+        assertEquals(first, channel1.readInbound());
+        assertNull(channel1.readInbound());
+        assertEquals(third, channel2.readInbound());
+
+        respond(channel1, first, ResponseStatusCode.SUCCESS);
+        assertEquals(second, channel1.readInbound());
+        channel1.finishAndReleaseAll();
+        channel2.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldLimitRequestsPerClient() {
+        final Settings.AdmissionSettings settings = new Settings.AdmissionSettings();
+        settings.maxInFlightRequestsPerClient = 1;
+        final AdmissionControlHandler handler = new AdmissionControlHandler(settings);
+        final EmbeddedChannel channel1 = channel(handler, "marko");
+        final EmbeddedChannel channel2 = channel(handler, "marko");
+        final EmbeddedChannel channel3 = channel(handler, "stephen");
+
+        final RequestMessage first = request();
+        final RequestMessage second = request();
+        final RequestMessage third = request();
+        channel1.writeInbound(first);
+        channel2.writeInbound(second);
+        channel3.writeInbound(third);
+
+        assertEquals(first, channel1.readInbound());
+        assertNull(channel2.readInbound());
+        assertEquals(third, channel3.readInbound());
+
+        respond(channel1, first, ResponseStatusCode.SERVER_ERROR);
+        channel2.runPendingTasks();
+        assertEquals(second, channel2.readInbound());
+        channel1.finishAndReleaseAll();
+        channel2.finishAndReleaseAll();
+        channel3.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldTakeTurnsBetweenClientsByWeight() {
+        final Settings.AdmissionSettings settings = new Settings.AdmissionSettings();
+        settings.maxInFlightRequests = 1;
+        settings.weights.put("marko", 2);
+        final AdmissionControlHandler handler = new AdmissionControlHandler(settings);
+        final EmbeddedChannel marko = channel(handler, "marko");
+        final EmbeddedChannel stephen = channel(handler, "stephen");
+
+        final RequestMessage m0 = request();
+        final RequestMessage m1 = request();
+        final RequestMessage m2 = request();
+        final RequestMessage m3 = request();
+        final RequestMessage m4 = request();
+        final RequestMessage s1 = request();
+        final RequestMessage s2 = request();
+        marko.writeInbound(m0, m1, m2, m3, m4);
+        stephen.writeInbound(s1, s2);
+        assertEquals(m0, marko.readInbound());
+
+        final List<RequestMessage> processed = new ArrayList<>();
+        RequestMessage current = m0;
+        EmbeddedChannel currentChannel = marko;
+        for (int i = 0; i < 6; i++) {
+            respond(currentChannel, current, ResponseStatusCode.SUCCESS);
+            marko.runPendingTasks();
+            stephen.runPendingTasks();
+
+            current = marko.readInbound();
+            currentChannel = marko;
+            if (null == current) {
+                current = stephen.readInbound();
+                currentChannel = stephen;
+            }
+            processed.add(current);
+        }
+
+        assertEquals(Arrays.asList(m1, m2, s1, m3, m4, s2), processed);
+        marko.finishAndReleaseAll();
+        stephen.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldDropWaitingRequestsOfClosedConnection() {
+        final Settings.AdmissionSettings settings = new Settings.AdmissionSettings();
+        settings.maxInFlightRequests = 1;
+        final AdmissionControlHandler handler = new AdmissionControlHandler(settings);
+        final EmbeddedChannel channel1 = new EmbeddedChannel(handler);
+        final EmbeddedChannel channel2 = new EmbeddedChannel(handler);
+
+        final RequestMessage processing = request();
+        final RequestMessage waiting = request();
+        channel1.writeInbound(processing, request());
+        channel2.writeInbound(waiting);
+        assertEquals(2, handler.getQueued());
+
+        // the request being processed keeps its place after the close as the work for it is still going on
+        channel1.close();
+        channel2.runPendingTasks();
+        assertNull(channel2.readInbound());
+        assertEquals(1, handler.getInFlight());
+        assertEquals(1, handler.getQueued());
+
+        handler.complete(channel1, processing);
+        channel2.runPendingTasks();
+        assertEquals(waiting, channel2.readInbound());
+        assertEquals(1, handler.getInFlight());
+        assertEquals(0, handler.getQueued());
+        channel1.finishAndReleaseAll();
+        channel2.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldReleaseRequestOnlyOnce() {
+        final Settings.AdmissionSettings settings = new Settings.AdmissionSettings();
+        settings.maxInFlightRequests = 1;
+        final AdmissionControlHandler handler = new AdmissionControlHandler(settings);
+        final EmbeddedChannel channel = new EmbeddedChannel(handler);
+
+        final RequestMessage first = request();
+        final RequestMessage second = request();
+        channel.writeInbound(first, second);
+        assertEquals(first, channel.readInbound());
+
+        respond(channel, first, ResponseStatusCode.SUCCESS);
+        assertEquals(second, channel.readInbound());
+
+        // the work for the first request completing after its response must not release the second
+        handler.complete(channel, first);
+        assertEquals(1, handler.getInFlight());
+
+        handler.complete(channel, second);
+        assertEquals(0, handler.getInFlight());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldRejectDuplicateRequest() {
+        final Settings.AdmissionSettings settings = new Settings.AdmissionSettings();
+        final AdmissionControlHandler handler = new AdmissionControlHandler(settings);
+        final EmbeddedChannel channel = new EmbeddedChannel(handler);
+
+        final RequestMessage first = request();
+        channel.writeInbound(first, first);
+        assertEquals(first, channel.readInbound());
+        assertNull(channel.readInbound());
+        assertEquals(1, handler.getInFlight());
+
+        final ResponseMessage response = channel.readOutbound();
+        assertEquals(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS, response.getStatus().getCode());
+        assertEquals(first.getRequestId(), response.getRequestId());
+        assertEquals(1, handler.getInFlight());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldReleaseRequestOfProcessorThatDoesNotCompleteContext() {
+        final Settings.AdmissionSettings settings = new Settings.AdmissionSettings();
+        settings.maxInFlightRequests = 1;
+        final AdmissionControlHandler handler = new AdmissionControlHandler(settings);
+
+        // a frame without a status code does not tell the handler that the request is complete
+        final EmbeddedChannel channel = new EmbeddedChannel(handler,
+                new OpSelector(context -> context.getChannelHandlerContext().writeAndFlush(new Frame("done"))),
+                new OpExecutorHandler(new Settings(), null, null, null));
+
+        channel.writeInbound(request("unknown"), request("unknown"));
+        channel.runPendingTasks();
+        assertEquals(0, handler.getInFlight());
+        assertEquals(0, handler.getQueued());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldLeaveCompletionToProcessorThatCompletesContext() {
+        final Settings.AdmissionSettings settings = new Settings.AdmissionSettings();
+        settings.maxInFlightRequests = 1;
+        final AdmissionControlHandler handler = new AdmissionControlHandler(settings);
+        final EmbeddedChannel channel = new EmbeddedChannel(handler,
+                new OpSelector(context -> { }),
+                new OpExecutorHandler(new Settings(), null, null, null));
+
+        // the standard processor completes the context once the results are iterated
+        channel.writeInbound(request(), request());
+        channel.runPendingTasks();
+        assertEquals(1, handler.getInFlight());
+        assertEquals(1, handler.getQueued());
+        channel.finishAndReleaseAll();
+    }
+
+    private static RequestMessage request() {
+        return RequestMessage.build("eval").create();
+    }
+
+    private static RequestMessage request(final String processor) {
+        return RequestMessage.build("eval").processor(processor).create();
+    }
+
+    private static EmbeddedChannel channel(final AdmissionControlHandler handler, final String user) {
+        final EmbeddedChannel channel = new EmbeddedChannel(handler);
+        channel.attr(StateKey.AUTHENTICATED_USER).set(new AuthenticatedUser(user));
+        return channel;
+    }
+
+    private static void respond(final EmbeddedChannel channel, final RequestMessage request, final ResponseStatusCode code) {
+        channel.writeOutbound(ResponseMessage.build(request).code(code).create());
+        channel.runPendingTasks();
+    }
+
+    /**
+     * Selects the same operation for every request in place of an {@code OpSelectorHandler}.
+     */
+    private static class OpSelector extends MessageToMessageDecoder<RequestMessage> {
+        private final ThrowingConsumer<Context> op;
+
+        private OpSelector(final ThrowingConsumer<Context> op) {
+            this.op = op;
+        }
+
+        @Override
+        protected void decode(final ChannelHandlerContext ctx, final RequestMessage msg, final List<Object> out) {
+            out.add(Pair.with(msg, op));
+        }
+    }
+}
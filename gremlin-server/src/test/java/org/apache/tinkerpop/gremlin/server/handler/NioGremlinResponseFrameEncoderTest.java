@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class NioGremlinResponseFrameEncoderTest {
+
+    @Test
+    public void shouldPrefixReadableBytesOfBinaryFrame() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new NioGremlinResponseFrameEncoder());
+
+        // the buffer has more capacity than content as serialized responses usually do
+        final ByteBuf content = Unpooled.buffer(1024).writeBytes("gremlin".getBytes(CharsetUtil.UTF_8));
+        channel.writeOutbound(new Frame(content, ResponseStatusCode.SUCCESS));
+
+        final ByteBuf written = channel.readOutbound();
+        try {
+            assertEquals(7, written.readInt());
+            assertEquals("gremlin", written.toString(CharsetUtil.UTF_8));
+        } finally {
+            written.release();
+        }
+        assertEquals(0, content.refCnt());
+    }
+
+    @Test
+    public void shouldPrefixLengthOfTextFrame() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new NioGremlinResponseFrameEncoder());
+        channel.writeOutbound(new Frame("gremlin", ResponseStatusCode.SUCCESS));
+
+        final ByteBuf written = channel.readOutbound();
+        try {
+            assertEquals(7, written.readInt());
+            assertEquals("gremlin", written.toString(CharsetUtil.UTF_8));
+        } finally {
+            written.release();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ResponseBufferAllocatorTest {
+
+    @Test
+    public void shouldAllocateDirectBufferOfNextCapacity() {
+        final ResponseBufferAllocator allocator = new ResponseBufferAllocator(PooledByteBufAllocator.DEFAULT);
+        final ByteBuf buffer = allocator.buffer();
+        try {
+            assertTrue(buffer.isDirect());
+            assertEquals(ResponseBufferAllocator.MIN_CAPACITY, buffer.capacity());
+        } finally {
+            buffer.release();
+        }
+
+        allocator.record(3000);
+        final ByteBuf larger = allocator.buffer();
+        try {
+            assertEquals(4096, larger.capacity());
+        } finally {
+            larger.release();
+        }
+    }
+
+    @Test
+    public void shouldGrowToFitLargestResponse() {
+        final ResponseBufferAllocator allocator = new ResponseBufferAllocator(PooledByteBufAllocator.DEFAULT);
+        allocator.record(100);
+        assertEquals(ResponseBufferAllocator.MIN_CAPACITY, allocator.getNextCapacity());
+        allocator.record(1024);
+        assertEquals(1024, allocator.getNextCapacity());
+        allocator.record(1025);
+        assertEquals(2048, allocator.getNextCapacity());
+        allocator.record(Integer.MAX_VALUE);
+        assertEquals(ResponseBufferAllocator.MAX_CAPACITY, allocator.getNextCapacity());
+    }
+
+    @Test
+    public void shouldShrinkAfterConsecutiveSmallResponses() {
+        final ResponseBufferAllocator allocator = new ResponseBufferAllocator(PooledByteBufAllocator.DEFAULT);
+        allocator.record(8192);
+        assertEquals(8192, allocator.getNextCapacity());
+
+        // a single small response is not enough
+        allocator.record(100);
+        assertEquals(8192, allocator.getNextCapacity());
+        allocator.record(5000);
+        allocator.record(100);
+        assertEquals(8192, allocator.getNextCapacity());
+
+        allocator.record(100);
+        assertEquals(4096, allocator.getNextCapacity());
+        allocator.record(100);
+        allocator.record(100);
+        assertEquals(2048, allocator.getNextCapacity());
+    }
+
+    @Test
+    public void shouldKeepOneAllocatorPerChannel() {
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        assertSame(ResponseBufferAllocator.forChannel(channel), ResponseBufferAllocator.forChannel(channel));
+    }
+}
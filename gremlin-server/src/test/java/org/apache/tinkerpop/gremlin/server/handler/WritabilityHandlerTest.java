@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class WritabilityHandlerTest {
+
+    @Test
+    public void shouldRunTaskImmediatelyIfChannelIsWritable() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new WritabilityHandler());
+        final AtomicInteger runs = new AtomicInteger(0);
+
+        WritabilityHandler.whenWritable(channel, runs::incrementAndGet);
+
+        assertEquals(1, runs.get());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldRunTaskOnceChannelBecomesWritable() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new WritabilityHandler());
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+        channel.write(Unpooled.buffer().writeZero(32));
+        assertFalse(channel.isWritable());
+
+        final AtomicInteger runs = new AtomicInteger(0);
+        WritabilityHandler.whenWritable(channel, runs::incrementAndGet);
+        assertEquals(0, runs.get());
+
+        // flushing drains the outbound buffer which fires channelWritabilityChanged
+        channel.flush();
+        assertEquals(1, runs.get());
+
+        // the task only runs the one time
+        channel.write(Unpooled.buffer().writeZero(32));
+        channel.flush();
+        assertEquals(1, runs.get());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldRunTaskWhenChannelCloses() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new WritabilityHandler());
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+        channel.write(Unpooled.buffer().writeZero(32));
+
+        final AtomicInteger runs = new AtomicInteger(0);
+        WritabilityHandler.whenWritable(channel, runs::incrementAndGet);
+        assertEquals(0, runs.get());
+
+        channel.close();
+        assertEquals(1, runs.get());
+        channel.finishAndReleaseAll();
+    }
+}
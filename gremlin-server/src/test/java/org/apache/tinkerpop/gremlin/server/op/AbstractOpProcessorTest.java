@@ -18,15 +18,38 @@
  */
 package org.apache.tinkerpop.gremlin.server.op;
 
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.driver.ser.GraphSONMessageSerializerV2d0;
+import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
+import org.apache.tinkerpop.gremlin.server.Context;
+import org.apache.tinkerpop.gremlin.server.GraphManager;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityHandler;
+import org.apache.tinkerpop.gremlin.server.op.standard.StandardOpProcessor;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class AbstractOpProcessorTest {
@@ -50,4 +73,135 @@ public class AbstractOpProcessorTest {
         assertEquals(request.getRequestId(), responseCaptor.getValue().getRequestId());
     }
 
+    @Test
+    public void shouldResumeSuspendedIterationOnceChannelIsWritable() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final GraphManager graphManager = createGraphManager();
+        final RequestMessage request = RequestMessage.build("eval").add(Tokens.ARGS_BATCH_SIZE, 1).create();
+        final Context context = createContext(request, channel, graphManager);
+        final Iterator<Integer> itty = Arrays.asList(1, 2, 3).iterator();
+
+        // the first result is taken but nothing can be written so the worker is handed back
+        new StandardOpProcessor().handleIterator(context, itty);
+        assertTrue(readResponseCodes(channel).isEmpty());
+        assertTrue(itty.hasNext());
+
+        // flushing drains the outbound buffer which resumes iteration where it left off
+        channel.flush();
+        assertEquals(Arrays.asList(ResponseStatusCode.PARTIAL_CONTENT, ResponseStatusCode.PARTIAL_CONTENT,
+                ResponseStatusCode.SUCCESS), readResponseCodes(channel));
+        assertFalse(itty.hasNext());
+        assertRequestCompleted(context);
+        Mockito.verify(graphManager, Mockito.times(1)).commitAll();
+        Mockito.verify(graphManager, Mockito.never()).rollbackAll();
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldTimeoutSuspendedIterationIfChannelStaysUnwritable() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final GraphManager graphManager = createGraphManager();
+        final RequestMessage request = RequestMessage.build("eval").add(Tokens.ARGS_BATCH_SIZE, 1)
+                .add(Tokens.ARGS_SCRIPT_EVAL_TIMEOUT, 50).create();
+        final Context context = createContext(request, channel, graphManager);
+        final Iterator<Integer> itty = Arrays.asList(1, 2, 3).iterator();
+
+        new StandardOpProcessor().handleIterator(context, itty);
+        assertTrue(readResponseCodes(channel).isEmpty());
+
+        Thread.sleep(100);
+        channel.runScheduledPendingTasks();
+
+        // writing the error flushed the channel, which must not resume the iteration that timed out
+        assertEquals(Collections.singletonList(ResponseStatusCode.SERVER_ERROR_TIMEOUT), readResponseCodes(channel));
+        assertEquals(2, itty.next().intValue());
+        assertRequestCompleted(context);
+        Mockito.verify(graphManager, Mockito.times(1)).rollbackAll();
+        Mockito.verify(graphManager, Mockito.never()).commitAll();
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldStopSuspendedIterationWhenChannelCloses() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final GraphManager graphManager = createGraphManager();
+        final RequestMessage request = RequestMessage.build("eval").add(Tokens.ARGS_BATCH_SIZE, 1).create();
+        final Context context = createContext(request, channel, graphManager);
+        final Iterator<Integer> itty = Arrays.asList(1, 2, 3).iterator();
+
+        new StandardOpProcessor().handleIterator(context, itty);
+        assertTrue(readResponseCodes(channel).isEmpty());
+
+        // the iteration resumes only to find the connection gone, so the rest of the result is left alone
+        channel.close();
+        assertTrue(readResponseCodes(channel).isEmpty());
+        assertEquals(2, itty.next().intValue());
+        assertRequestCompleted(context);
+        Mockito.verify(graphManager, Mockito.times(1)).rollbackAll();
+        Mockito.verify(graphManager, Mockito.never()).commitAll();
+        channel.finishAndReleaseAll();
+    }
+
+    /**
+     * Creates a channel for text serialized responses that is not writeable until it is flushed.
+     */
+    public static EmbeddedChannel createUnwritableChannel() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new WritabilityHandler());
+        channel.attr(StateKey.SERIALIZER).set(new GraphSONMessageSerializerV2d0());
+        channel.attr(StateKey.USE_BINARY).set(false);
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(64, 128));
+        channel.write(Unpooled.buffer().writeZero(256));
+        assertFalse(channel.isWritable());
+        return channel;
+    }
+
+    /**
+     * Creates a {@link Context} that runs the continuation of a suspended iteration on the calling thread and
+     * schedules its timeout on the event loop of the channel.
+     */
+    public static Context createContext(final RequestMessage request, final EmbeddedChannel channel,
+                                 final GraphManager graphManager) {
+        final ExecutorService executorService = Mockito.mock(ExecutorService.class);
+        Mockito.when(executorService.submit(Mockito.any(Runnable.class))).thenAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        });
+        final GremlinExecutor gremlinExecutor = Mockito.mock(GremlinExecutor.class);
+        Mockito.when(gremlinExecutor.getExecutorService()).thenReturn(executorService);
+
+        return new Context(request, channel.pipeline().firstContext(), new Settings(), graphManager,
+                gremlinExecutor, channel.eventLoop());
+    }
+
+    /**
+     * Reads the status codes of the responses written to the channel, skipping the content that was written to make
+     * it unwriteable.
+     */
+    public static List<ResponseStatusCode> readResponseCodes(final EmbeddedChannel channel) {
+        final List<ResponseStatusCode> codes = new ArrayList<>();
+        Object written;
+        while ((written = channel.readOutbound()) != null) {
+            if (written instanceof Frame)
+                codes.add(((Frame) written).getCode());
+            else if (written instanceof ResponseMessage)
+                codes.add(((ResponseMessage) written).getStatus().getCode());
+            else
+                ReferenceCountUtil.release(written);
+        }
+        return codes;
+    }
+
+    /**
+     * Asserts that the request was completed, as only the first completion of its timings has an effect.
+     */
+    public static void assertRequestCompleted(final Context context) {
+        assertFalse(context.getTimings().complete("test", context.getRequestMessage(), 0));
+    }
+
+    private static GraphManager createGraphManager() {
+        final GraphManager graphManager = Mockito.mock(GraphManager.class);
+        Mockito.when(graphManager.getGraphNames()).thenReturn(Collections.emptySet());
+        return graphManager;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op;
+
+import io.netty.buffer.Unpooled;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ResultBatchSizerTest {
+
+    @Test
+    public void shouldKeepConfiguredBatchSizeWhenTargetIsDisabled() {
+        final ResultBatchSizer sizer = ResultBatchSizer.create(RequestMessage.build("test").create(), new Settings());
+        assertEquals(64, sizer.getBatchSize());
+
+        sizer.batchWritten(new Frame(Unpooled.wrappedBuffer(new byte[64000]), ResponseStatusCode.PARTIAL_CONTENT), 64);
+        assertEquals(64, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldAdaptBatchSizeToSerializedSize() {
+        final ResultBatchSizer sizer = new ResultBatchSizer(64, 10000, 4096, 0);
+
+        // 1000 bytes per item
+        sizer.batchWritten(64000, 64);
+        assertEquals(10, sizer.getBatchSize());
+
+        // 10 bytes per item
+        for (int i = 0; i < 20; i++) {
+            sizer.batchWritten(10 * sizer.getBatchSize(), sizer.getBatchSize());
+        }
+        assertEquals(1000, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldBoundAdaptedBatchSize() {
+        final ResultBatchSizer sizer = new ResultBatchSizer(64, 10000, 128, 0);
+
+        sizer.batchWritten(64, 64);
+        assertEquals(128, sizer.getBatchSize());
+
+        sizer.batchWritten(1000000, 1);
+        assertEquals(1, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldNotAdaptBatchSizeSetOnRequest() {
+        final Settings settings = new Settings();
+        settings.resultIterationTargetBatchBytes = 10000;
+        final ResultBatchSizer sizer = ResultBatchSizer.create(RequestMessage.build("test")
+                .addArg(Tokens.ARGS_BATCH_SIZE, 8).create(), settings);
+
+        sizer.batchWritten(new Frame(Unpooled.wrappedBuffer(new byte[8]), ResponseStatusCode.PARTIAL_CONTENT), 8);
+        assertEquals(8, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldOnlyConsiderFirstBatchDueAfterLatency() throws Exception {
+        final ResultBatchSizer sizer = new ResultBatchSizer(64, 0, 4096, 10);
+        assertFalse(sizer.isFirstBatchDue(1));
+
+        Thread.sleep(20);
+        assertFalse(sizer.isFirstBatchDue(0));
+        assertTrue(sizer.isFirstBatchDue(1));
+
+        sizer.batchWritten(new Frame("x", ResponseStatusCode.PARTIAL_CONTENT), 1);
+        assertFalse(sizer.isFirstBatchDue(1));
+    }
+
+    @Test
+    public void shouldNeverConsiderFirstBatchDueWhenLatencyIsDisabled() throws Exception {
+        final ResultBatchSizer sizer = new ResultBatchSizer(64, 0, 4096, 0);
+        Thread.sleep(5);
+        assertFalse(sizer.isFirstBatchDue(1));
+    }
+}
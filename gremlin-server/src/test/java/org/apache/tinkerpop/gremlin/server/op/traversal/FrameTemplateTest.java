@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op.traversal;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.driver.ser.GraphBinaryMessageSerializerV1;
+import org.apache.tinkerpop.gremlin.driver.ser.GraphSONMessageSerializerV3d0;
+import org.apache.tinkerpop.gremlin.driver.ser.GryoMessageSerializerV3d0;
+import org.apache.tinkerpop.gremlin.driver.ser.MessageTextSerializer;
+import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+
+public class FrameTemplateTest {
+
+    private static final List<Object> RESULTS = Arrays.asList("marko", 29, "vadas", 27L);
+
+    @Test
+    public void shouldReuseGraphBinaryFrame() throws Exception {
+        assertBinaryFrameReused(new GraphBinaryMessageSerializerV1());
+    }
+
+    @Test
+    public void shouldReuseGryoFrame() throws Exception {
+        assertBinaryFrameReused(new GryoMessageSerializerV3d0());
+    }
+
+    @Test
+    public void shouldReuseGraphSONBinaryFrame() throws Exception {
+        assertBinaryFrameReused(new GraphSONMessageSerializerV3d0());
+    }
+
+    @Test
+    public void shouldReuseGraphSONTextFrame() throws Exception {
+        final MessageTextSerializer serializer = new GraphSONMessageSerializerV3d0();
+        final FrameTemplate template = FrameTemplate.create(serializer, false, RESULTS).get();
+
+        for (int i = 0; i < 2; i++) {
+            final UUID requestId = UUID.randomUUID();
+            final Frame frame = template.toFrame(requestId);
+            assertEquals(ResponseStatusCode.PARTIAL_CONTENT, frame.getCode());
+
+            final ResponseMessage response = serializer.deserializeResponse((String) frame.getMsg());
+            assertEquals(requestId, response.getRequestId());
+            assertEquals(ResponseStatusCode.PARTIAL_CONTENT, response.getStatus().getCode());
+            assertEquals(RESULTS, response.getResult().getData());
+        }
+    }
+
+    private static void assertBinaryFrameReused(final MessageSerializer serializer) throws Exception {
+        final FrameTemplate template = FrameTemplate.create(serializer, true, RESULTS).get();
+
+        for (int i = 0; i < 2; i++) {
+            final UUID requestId = UUID.randomUUID();
+            final Frame frame = template.toFrame(requestId);
+            assertEquals(ResponseStatusCode.PARTIAL_CONTENT, frame.getCode());
+
+            final ByteBuf msg = (ByteBuf) frame.getMsg();
+            try {
+                final ResponseMessage response = serializer.deserializeResponse(msg);
+                assertEquals(requestId, response.getRequestId());
+                assertEquals(ResponseStatusCode.PARTIAL_CONTENT, response.getStatus().getCode());
+                assertEquals(RESULTS, response.getResult().getData());
+            } finally {
+                msg.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op.traversal;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.server.Context;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+
+import static org.apache.tinkerpop.gremlin.server.op.AbstractOpProcessorTest.assertRequestCompleted;
+import static org.apache.tinkerpop.gremlin.server.op.AbstractOpProcessorTest.createContext;
+import static org.apache.tinkerpop.gremlin.server.op.AbstractOpProcessorTest.createUnwritableChannel;
+import static org.apache.tinkerpop.gremlin.server.op.AbstractOpProcessorTest.readResponseCodes;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TraversalOpProcessorTest {
+
+    private final Graph graph = TinkerGraph.open();
+
+    @Test
+    public void shouldResumeSuspendedIterationOnceChannelIsWritable() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final RequestMessage request = RequestMessage.build(Tokens.OPS_BYTECODE).add(Tokens.ARGS_BATCH_SIZE, 1).create();
+        final Context context = createContext(request, channel, null);
+        final Iterator<Integer> itty = Arrays.asList(1, 2, 3).iterator();
+
+        // the graph does not bind transactions to threads so the worker is handed back
+        new TraversalOpProcessor().handleIterator(context, itty, graph);
+        assertTrue(readResponseCodes(channel).isEmpty());
+        assertTrue(itty.hasNext());
+
+        channel.flush();
+        assertEquals(Arrays.asList(ResponseStatusCode.PARTIAL_CONTENT, ResponseStatusCode.PARTIAL_CONTENT,
+                ResponseStatusCode.SUCCESS), readResponseCodes(channel));
+        assertFalse(itty.hasNext());
+        assertRequestCompleted(context);
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldTimeoutSuspendedIterationIfChannelStaysUnwritable() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final RequestMessage request = RequestMessage.build(Tokens.OPS_BYTECODE).add(Tokens.ARGS_BATCH_SIZE, 1)
+                .add(Tokens.ARGS_SCRIPT_EVAL_TIMEOUT, 50).create();
+        final Context context = createContext(request, channel, null);
+        final Iterator<Integer> itty = Arrays.asList(1, 2, 3).iterator();
+
+        new TraversalOpProcessor().handleIterator(context, itty, graph);
+        assertTrue(readResponseCodes(channel).isEmpty());
+
+        Thread.sleep(100);
+        channel.runScheduledPendingTasks();
+
+        // writing the error flushed the channel, which must not resume the iteration that timed out
+        assertEquals(Collections.singletonList(ResponseStatusCode.SERVER_ERROR_TIMEOUT), readResponseCodes(channel));
+        assertEquals(2, itty.next().intValue());
+        assertRequestCompleted(context);
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldStopSuspendedIterationWhenChannelCloses() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final RequestMessage request = RequestMessage.build(Tokens.OPS_BYTECODE).add(Tokens.ARGS_BATCH_SIZE, 1).create();
+        final Context context = createContext(request, channel, null);
+        final Iterator<Integer> itty = Arrays.asList(1, 2, 3).iterator();
+
+        new TraversalOpProcessor().handleIterator(context, itty, graph);
+        assertTrue(readResponseCodes(channel).isEmpty());
+
+        // the iteration resumes only to find the connection gone, so the rest of the result is left alone
+        channel.close();
+        assertTrue(readResponseCodes(channel).isEmpty());
+        assertEquals(2, itty.next().intValue());
+        assertRequestCompleted(context);
+        channel.finishAndReleaseAll();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op.traversal;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TraversalResultCacheTest {
+
+    private final Graph graph = TinkerGraph.open();
+    private final GraphTraversalSource g = graph.traversal();
+
+    @Test
+    public void shouldShareKeyForBytecodeThatOnlyDiffersInBindingNames() {
+        final TraversalResultCache resultCache = new TraversalResultCache(100, 60000, 100);
+        final Bytecode bytecode1 = new Bytecode();
+        bytecode1.addStep("V", new Bytecode.Binding<>("x", 1));
+        bytecode1.addStep("out", "knows");
+        final Bytecode bytecode2 = new Bytecode();
+        bytecode2.addStep("V", new Bytecode.Binding<>("y", 1));
+        bytecode2.addStep("out", "knows");
+        final Bytecode bytecode3 = new Bytecode();
+        bytecode3.addStep("V", new Bytecode.Binding<>("x", 2));
+        bytecode3.addStep("out", "knows");
+
+        assertEquals(resultCache.createKey("g", graph, bytecode1), resultCache.createKey("g", graph, bytecode2));
+        assertNotEquals(resultCache.createKey("g", graph, bytecode1), resultCache.createKey("g", graph, bytecode3));
+        assertNotEquals(resultCache.createKey("g", graph, bytecode1), resultCache.createKey("h", graph, bytecode1));
+    }
+
+    @Test
+    public void shouldNormalizeChildTraversals() {
+        final Bytecode bytecode1 = g.V().where(__.out("knows")).asAdmin().getBytecode();
+        final Bytecode bytecode2 = g.V().where(__.out("knows")).asAdmin().getBytecode();
+        final Bytecode bytecode3 = g.V().where(__.out("created")).asAdmin().getBytecode();
+
+        assertEquals(TraversalResultCache.normalize(bytecode1), TraversalResultCache.normalize(bytecode2));
+        assertNotEquals(TraversalResultCache.normalize(bytecode1), TraversalResultCache.normalize(bytecode3));
+    }
+
+    @Test
+    public void shouldCacheResults() {
+        final TraversalResultCache resultCache = new TraversalResultCache(100, 60000, 100);
+        final TraversalResultCache.Key key = resultCache.createKey("g", graph, g.V().asAdmin().getBytecode());
+        assertFalse(resultCache.get(key).isPresent());
+
+        resultCache.put(key, Arrays.asList(1, 2, 3));
+        assertEquals(Arrays.asList(1, 2, 3), resultCache.get(key).get().getResults());
+        assertEquals(Arrays.asList(1, 2, 3), resultCache.get(resultCache.createKey("g", graph, g.V().asAdmin().getBytecode())).get().getResults());
+    }
+
+    @Test
+    public void shouldNotCacheMoreThanMaxResults() {
+        final TraversalResultCache resultCache = new TraversalResultCache(100, 60000, 2);
+        final TraversalResultCache.Key key = resultCache.createKey("g", graph, g.V().asAdmin().getBytecode());
+
+        resultCache.put(key, Arrays.asList(1, 2, 3));
+        assertFalse(resultCache.get(key).isPresent());
+    }
+
+    @Test
+    public void shouldInvalidateResultsForGraph() {
+        final Graph other = TinkerGraph.open();
+        final TraversalResultCache resultCache = new TraversalResultCache(100, 60000, 100);
+        final TraversalResultCache.Key key1 = resultCache.createKey("g", graph, g.V().asAdmin().getBytecode());
+        final TraversalResultCache.Key key2 = resultCache.createKey("h", other, g.V().asAdmin().getBytecode());
+        resultCache.put(key1, Collections.singletonList(1));
+        resultCache.put(key2, Collections.singletonList(2));
+
+        resultCache.invalidate(graph);
+        assertFalse(resultCache.get(key1).isPresent());
+        assertTrue(resultCache.get(key2).isPresent());
+    }
+
+    @Test
+    public void shouldNotCacheResultsComputedBeforeInvalidation() {
+        final TraversalResultCache resultCache = new TraversalResultCache(100, 60000, 100);
+        final TraversalResultCache.Key key = resultCache.createKey("g", graph, g.V().asAdmin().getBytecode());
+
+        resultCache.invalidate(graph);
+        resultCache.put(key, new ArrayList<>());
+        assertFalse(resultCache.get(key).isPresent());
+
+        final TraversalResultCache.Key keyAfterInvalidation = resultCache.createKey("g", graph, g.V().asAdmin().getBytecode());
+        resultCache.put(keyAfterInvalidation, new ArrayList<>());
+        assertTrue(resultCache.get(keyAfterInvalidation).isPresent());
+    }
+
+    @Test
+    public void shouldDetermineIfTraversalIsCacheable() {
+        assertTrue(TraversalResultCache.isCacheable(g.V().out().values("name").asAdmin()));
+        assertFalse(TraversalResultCache.isCacheable(g.V().addV("person").asAdmin()));
+        assertFalse(TraversalResultCache.isCacheable(g.V().where(__.property("x", 1)).asAdmin()));
+        assertFalse(TraversalResultCache.isCacheable(g.V().coin(0.5).asAdmin()));
+        assertFalse(TraversalResultCache.isCacheable(g.V().sample(1).asAdmin()));
+        assertFalse(TraversalResultCache.isCacheable(g.V().order().by(Order.shuffle).asAdmin()));
+        assertFalse(TraversalResultCache.isCacheable(g.V().values("age").fold().order(Scope.local).by(Order.shuffle).asAdmin()));
+        assertFalse(TraversalResultCache.isCacheable(g.V().local(__.out().order().by("name", Order.shuffle)).asAdmin()));
+        assertTrue(TraversalResultCache.isCacheable(g.V().order().by("name", Order.decr).asAdmin()));
+
+        assertTrue(TraversalResultCache.isMutating(g.V().drop().asAdmin()));
+        assertFalse(TraversalResultCache.isMutating(g.V().sample(1).asAdmin()));
+    }
+}
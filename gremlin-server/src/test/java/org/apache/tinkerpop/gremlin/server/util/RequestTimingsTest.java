@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import com.codahale.metrics.Timer;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RequestTimingsTest {
+
+    private final RequestMessage msg = RequestMessage.build("eval").create();
+
+    @Test
+    public void shouldAccumulatePhases() {
+        final RequestTimings timings = new RequestTimings();
+        timings.add(RequestTimings.Phase.SERIALIZATION, 1000);
+        timings.add(RequestTimings.Phase.SERIALIZATION, 2000);
+        timings.add(RequestTimings.Phase.ITERATION, -5);
+
+        assertEquals(3000, timings.get(RequestTimings.Phase.SERIALIZATION));
+        assertEquals(0, timings.get(RequestTimings.Phase.ITERATION));
+        assertTrue(timings.record(RequestTimings.Phase.QUEUE, System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(1)) >= TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    public void shouldOnlyPrintPhasesThatOccurred() {
+        final RequestTimings timings = new RequestTimings();
+        timings.add(RequestTimings.Phase.TRANSLATION, TimeUnit.MILLISECONDS.toNanos(2));
+        timings.add(RequestTimings.Phase.ITERATION, TimeUnit.MICROSECONDS.toNanos(1500));
+
+        assertEquals(String.format("translation=%.3fms, iteration=%.3fms", 2d, 1.5d), timings.toString());
+    }
+
+    @Test
+    public void shouldRecordToMetricsOnlyOnce() {
+        final String opName = "timings-test";
+        final Timer iteration = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", opName, "phase", "iteration"));
+        final Timer strategies = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", opName, "phase", "strategies"));
+        final long iterationCount = iteration.getCount();
+        final long strategiesCount = strategies.getCount();
+
+        final RequestTimings timings = new RequestTimings();
+        timings.add(RequestTimings.Phase.ITERATION, 100);
+
+        assertTrue(timings.complete(opName, msg, 0));
+        assertFalse(timings.complete(opName, msg, 0));
+        assertEquals(iterationCount + 1, iteration.getCount());
+        assertEquals(strategiesCount, strategies.getCount());
+    }
+
+    @Test
+    public void shouldNotCompleteSuspendedUnlessIterationIsDone() {
+        final RequestTimings timings = new RequestTimings();
+        timings.suspend();
+
+        assertFalse(timings.completeUnlessSuspended("timings-test", msg, 0));
+        assertTrue(timings.complete("timings-test", msg, 0));
+    }
+}
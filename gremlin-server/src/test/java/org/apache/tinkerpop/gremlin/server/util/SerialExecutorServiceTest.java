@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+
+public class SerialExecutorServiceTest {
+
+    private ExecutorService pool;
+
+    @Before
+    public void setUp() {
+        pool = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void shouldExecuteInOrderOnSharedPool() throws Exception {
+        final int queues = 16;
+        final int tasksPerQueue = 500;
+        final List<SerialExecutorService> executors = new ArrayList<>();
+        final List<List<Integer>> results = new ArrayList<>();
+        final AtomicInteger maxConcurrent = new AtomicInteger(0);
+        for (int i = 0; i < queues; i++) {
+            executors.add(new SerialExecutorService(pool));
+            results.add(Collections.synchronizedList(new ArrayList<>()));
+        }
+
+        final AtomicInteger[] concurrent = new AtomicInteger[queues];
+        for (int i = 0; i < queues; i++) concurrent[i] = new AtomicInteger(0);
+
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < tasksPerQueue; t++) {
+            for (int q = 0; q < queues; q++) {
+                final int task = t;
+                final int queue = q;
+                futures.add(executors.get(q).submit(() -> {
+                    maxConcurrent.accumulateAndGet(concurrent[queue].incrementAndGet(), Math::max);
+                    results.get(queue).add(task);
+                    concurrent[queue].decrementAndGet();
+                }));
+            }
+        }
+
+        for (Future<?> f : futures) f.get(30, TimeUnit.SECONDS);
+
+        final List<Integer> expected = IntStream.range(0, tasksPerQueue).boxed().collect(Collectors.toList());
+        for (List<Integer> r : results) assertEquals(expected, r);
+        assertEquals(1, maxConcurrent.get());
+    }
+
+    @Test
+    public void shouldInterruptRunningAndDrainPendingOnShutdownNow() throws Exception {
+        final SerialExecutorService executor = new SerialExecutorService(pool);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        executor.submit(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(30000);
+            } catch (InterruptedException ie) {
+                interrupted.countDown();
+            }
+        });
+        final AtomicBoolean ran = new AtomicBoolean(false);
+        executor.submit(() -> ran.set(true));
+
+        assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+        assertEquals(1, executor.shutdownNow().size());
+        assertThat(interrupted.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS), is(true));
+        assertThat(executor.isTerminated(), is(true));
+        assertThat(ran.get(), is(false));
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void shouldRejectAfterShutdown() {
+        final SerialExecutorService executor = new SerialExecutorService(pool);
+        executor.shutdown();
+        executor.execute(() -> {});
+    }
+
+    @Test
+    public void shouldNotLeakInterruptToNextTask() throws Exception {
+        final ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            final SerialExecutorService executor = new SerialExecutorService(single);
+            final CountDownLatch started = new CountDownLatch(1);
+            final Future<?> first = executor.submit(() -> {
+                started.countDown();
+                while (!Thread.currentThread().isInterrupted()) {
+                    Thread.yield();
+                }
+            });
+
+            assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+            first.cancel(true);
+
+            final Future<Boolean> second = executor.submit(() -> Thread.currentThread().isInterrupted());
+            assertThat(second.get(10, TimeUnit.SECONDS), is(false));
+        } finally {
+            single.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.GremlinProcessRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Steps that are pulled in chunks by a barrier hand the whole chunk to a graph that implements
+ * {@link org.apache.tinkerpop.gremlin.structure.util.BatchedElementLookup} and must produce the same results as when
+ * they are pulled one traverser at a time.
+ */
+@RunWith(GremlinProcessRunner.class)
+public class BatchedElementLookupProcessTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldTraverseWithBatchedLookupsBehindBarrier() {
+        assertEquals(g.V().both().both().id().groupCount().next(), g.V().both().both().barrier().id().groupCount().next());
+        assertEquals(g.V().outE().inV().values("name").groupCount().next(), g.V().outE().inV().barrier().values("name").barrier().groupCount().next());
+        assertEquals(g.V().valueMap("name", "age").toList(), g.V().barrier().valueMap("name", "age").barrier().toList());
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.FeatureRequirementSet;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.GremlinProcessRunner;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.as;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(GremlinProcessRunner.class)
+public class MatchAlgorithmStrategyProcessTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @FeatureRequirementSet(FeatureRequirementSet.Package.SIMPLE)
+    public void shouldHashJoinMatchPatternsWithManyStarts() {
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            vertices.add(graph.addVertex(T.label, "person", "name", "p" + i));
+        }
+        for (int i = 0; i < 50; i++) {
+            for (int j = 1; j <= 30; j++) {
+                vertices.get(i).addEdge("knows", vertices.get((i + j) % 50));
+            }
+        }
+        final GraphTraversalSource c = g.withStrategies(MatchAlgorithmStrategy.build().algorithm(MatchStep.CostMatchAlgorithm.class).create());
+        final Map<Object, Long> expected = g.V().match(as("a").out("knows").as("b"), as("b").out("knows").as("c")).
+                <Object>select("a", "c").by("name").groupCount().next();
+        assertEquals(45000l, expected.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(expected, c.V().match(as("a").out("knows").as("b"), as("b").out("knows").as("c")).
+                <Object>select("a", "c").by("name").groupCount().next());
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.FeatureRequirementSet;
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.GremlinProcessRunner;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.has;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.hasLabel;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.in;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(GremlinProcessRunner.class)
+public class BreadthFirstRepeatStrategyProcessTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldRepeatBreadthFirst() {
+        final Object marko = convertToVertexId("marko");
+        final GraphTraversalSource b = g.withStrategies(BreadthFirstRepeatStrategy.instance());
+        assertEquals(g.V(marko).repeat(out()).until(has("name", "ripple")).limit(1).toList(),
+                b.V(marko).repeat(out()).until(has("name", "ripple")).limit(1).toList());
+        assertEquals(g.V(marko).until(has("name", "marko")).repeat(out()).limit(1).toList(),
+                b.V(marko).until(has("name", "marko")).repeat(out()).limit(1).toList());
+        assertEquals(new HashSet<>(g.V().repeat(out()).until(hasLabel("software")).dedup().toList()),
+                new HashSet<>(b.V().repeat(out()).until(hasLabel("software")).dedup().toList()));
+        assertEquals(0, b.V(convertToVertexId("lop")).repeat(out()).until(has("name", "marko")).limit(1).count().next().longValue());
+    }
+
+    @Test
+    @FeatureRequirementSet(FeatureRequirementSet.Package.SIMPLE)
+    public void shouldTerminateOnCycles() {
+        // a ring with chords would not terminate without the visited set
+        final Vertex[] vertices = new Vertex[100];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = graph.addVertex("name", "v" + i);
+        }
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i].addEdge("next", vertices[(i + 1) % vertices.length]);
+            vertices[i].addEdge("chord", vertices[(i + 7) % vertices.length]);
+        }
+        final GraphTraversalSource r = g.withStrategies(BreadthFirstRepeatStrategy.instance());
+        assertEquals(vertices[50], r.V(vertices[0]).repeat(out()).until(has("name", "v50")).limit(1).next());
+        assertEquals(vertices[0], r.V(vertices[0]).repeat(out("next")).until(has("name", "v0")).limit(1).next());
+        assertEquals(vertices[0], r.V(vertices[0]).repeat(in()).until(has("name", "v0")).dedup().next());
+        assertEquals(0, r.V(vertices[0]).repeat(out()).until(has("name", "none")).dedup().count().next().longValue());
+        assertEquals(2, r.V(vertices[0]).repeat(out()).until(has("name", P.neq("v0"))).dedup().count().next().longValue());
+    }
+}
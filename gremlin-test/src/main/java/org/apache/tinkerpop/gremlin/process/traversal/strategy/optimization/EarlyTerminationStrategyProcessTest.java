@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.GremlinProcessRunner;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.in;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.values;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(GremlinProcessRunner.class)
+public class EarlyTerminationStrategyProcessTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldTerminateExistenceChecksEarly() {
+        final GraphTraversalSource n = g.withoutStrategies(EarlyTerminationStrategy.class);
+        assertEquals(n.V().where(out().out()).values("name").toList(),
+                g.V().where(out().out()).values("name").toList());
+        assertEquals(n.V().filter(out("created").order().by("name")).values("name").toList(),
+                g.V().filter(out("created").order().by("name")).values("name").toList());
+        assertEquals(n.V().not(outE().dedup()).values("name").toList(),
+                g.V().not(outE().dedup()).values("name").toList());
+        assertEquals(n.V().as("a").out().where(in("created").as("a")).values("name").toList(),
+                g.V().as("a").out().where(in("created").as("a")).values("name").toList());
+        assertEquals(n.V().choose(in("created").order(), values("name"), values("age")).toList(),
+                g.V().choose(in("created").order(), values("name"), values("age")).toList());
+        assertEquals(n.V().out().barrier().out().limit(1).toList(), g.V().out().barrier().out().limit(1).toList());
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldKeepBarriersThatMergeSacks() {
+        final GraphTraversalSource n = g.withoutStrategies(EarlyTerminationStrategy.class);
+        assertEquals(n.withSack(1, Operator.sum).V().both().both().barrier().sack().limit(1).toList(),
+                g.withSack(1, Operator.sum).V().both().both().barrier().sack().limit(1).toList());
+    }
+}
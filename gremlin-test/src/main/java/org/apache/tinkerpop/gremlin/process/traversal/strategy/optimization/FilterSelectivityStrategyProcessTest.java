@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.FeatureRequirementSet;
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.GremlinProcessRunner;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.in;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(GremlinProcessRunner.class)
+public class FilterSelectivityStrategyProcessTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldReorderFiltersWithoutChangingResults() {
+        final GraphTraversalSource n = g.withoutStrategies(FilterSelectivityStrategy.class);
+        assertEquals(n.V().where(out().out()).has("name", "marko").toList(),
+                g.V().where(out().out()).has("name", "marko").toList());
+        assertEquals(n.V().filter(out("created").in()).filter(in("knows")).values("name").toList(),
+                g.V().filter(out("created").in()).filter(in("knows")).values("name").toList());
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    @FeatureRequirementSet(FeatureRequirementSet.Package.VERTICES_ONLY)
+    public void shouldNotMoveFiltersThatMayFail() {
+        graph.addVertex(T.label, "software", "name", "gremlin", "age", "unknown");
+
+        // there are more persons than anything else so the age would be tested first and fail on the software
+        assertEquals(g.withoutStrategies(FilterSelectivityStrategy.class).V().hasLabel("person").has("age", P.gt(30)).values("name").toList(),
+                g.V().hasLabel("person").has("age", P.gt(30)).values("name").toList());
+    }
+}
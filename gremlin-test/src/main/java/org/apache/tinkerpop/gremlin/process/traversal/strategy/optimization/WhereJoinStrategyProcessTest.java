@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.GremlinProcessRunner;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.as;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(GremlinProcessRunner.class)
+public class WhereJoinStrategyProcessTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldHashJoinWhereSteps() {
+        final GraphTraversalSource j = g.withStrategies(WhereJoinStrategy.instance());
+        assertEquals(g.V().as("a").both().both().as("b").where(as("a").out("knows").as("b")).<Object>select("a", "b").by("name").toList(),
+                j.V().as("a").both().both().as("b").where(as("a").out("knows").as("b")).<Object>select("a", "b").by("name").toList());
+        assertEquals(g.V().as("a").both().both().where(out("created").as("a")).count().next(),
+                j.V().as("a").both().both().where(out("created").as("a")).count().next());
+        assertEquals(g.V().hasLabel("person").as("a").both().hasLabel("person").as("b").where("a", P.gt("b")).by("age").<Object>select("a", "b").by("name").toList(),
+                j.V().hasLabel("person").as("a").both().hasLabel("person").as("b").where("a", P.gt("b")).by("age").<Object>select("a", "b").by("name").toList());
+    }
+}
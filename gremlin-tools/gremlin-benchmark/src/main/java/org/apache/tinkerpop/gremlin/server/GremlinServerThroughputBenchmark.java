@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteConnection;
+import org.apache.tinkerpop.gremlin.driver.ser.Serializers;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.server.util.ServerGremlinExecutor;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many requests per second Gremlin Server answers over GraphBinary for results of different sizes, with
+ * and without flush consolidation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class GremlinServerThroughputBenchmark extends AbstractBenchmarkBase {
+
+    private static final int PORT = 45950;
+    private static final int VERTICES = 10000;
+
+    @Param({"1", "100", "10000"})
+    public int resultCount;
+
+    @Param({"0", "256"})
+    public int flushConsolidationThreshold;
+
+    private GremlinServer server;
+    private Cluster cluster;
+    private GraphTraversalSource g;
+
+    @Setup(Level.Trial)
+    public void prepare() throws Exception {
+        final Settings settings = new Settings();
+        settings.port = PORT;
+        settings.gremlinPool = 8;
+        settings.flushConsolidationThreshold = flushConsolidationThreshold;
+
+        server = new GremlinServer(settings);
+        final ServerGremlinExecutor serverGremlinExecutor = server.start().join();
+
+        final TinkerGraph graph = TinkerGraph.open();
+        for (int i = 0; i < VERTICES; i++) {
+            graph.addVertex(T.label, "person", "name", "name" + i, "age", i);
+        }
+        serverGremlinExecutor.getGraphManager().putGraph("graph", graph);
+        serverGremlinExecutor.getGraphManager().putTraversalSource("g", graph.traversal());
+
+        cluster = Cluster.build("localhost").port(PORT).serializer(Serializers.GRAPHBINARY_V1D0)
+                .maxConnectionPoolSize(8).minConnectionPoolSize(8).create();
+        g = EmptyGraph.instance().traversal().withRemote(DriverRemoteConnection.using(cluster, "g"));
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() throws Exception {
+        cluster.close();
+        server.stop().join();
+    }
+
+    @Benchmark
+    public List<Object> g_V_limitXnX_values() {
+        return g.V().limit(resultCount).values("name").toList();
+    }
+
+    @Benchmark
+    public List<Map<Object, Object>> g_V_limitXnX_valueMap() {
+        return g.V().limit(resultCount).valueMap(true).toList();
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ExecutionCounters;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -51,6 +52,7 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
     public TinkerGraphStep(final GraphStep<S, E> originalGraphStep) {
         super(originalGraphStep.getTraversal(), originalGraphStep.getReturnClass(), originalGraphStep.isStartStep(), originalGraphStep.getIds());
         originalGraphStep.getLabels().forEach(this::addLabel);
+        this.setLimit(originalGraphStep.getLimit());
 
         // we used to only setIteratorSupplier() if there were no ids OR the first id was instanceof Element,
         // but that allowed the filter in g.V(v).has('k','v') to be ignored.  this created problems for
@@ -67,12 +69,13 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
             return Collections.emptyIterator();
         else if (this.ids.length > 0)
             return this.iteratorList(graph.edges(this.ids));
-        else
-            return null == indexedContainer ?
-                    this.iteratorList(graph.edges()) :
-                    TinkerHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
-                            .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
-                            .collect(Collectors.<Edge>toList()).iterator();
+        else if (null == indexedContainer) {
+            countFullScan(Edge.class);
+            return this.iteratorList(graph.edges());
+        } else
+            return TinkerHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
+                    .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
+                    .collect(Collectors.<Edge>toList()).iterator();
     }
 
     private Iterator<? extends Vertex> vertices() {
@@ -83,11 +86,17 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
             return Collections.emptyIterator();
         else if (this.ids.length > 0)
             return this.iteratorList(graph.vertices(this.ids));
-        else
-            return null == indexedContainer ?
-                    this.iteratorList(graph.vertices()) :
-                    IteratorUtils.filter(TinkerHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).iterator(),
-                            vertex -> HasContainer.testAll(vertex, this.hasContainers));
+        else if (null == indexedContainer) {
+            countFullScan(Vertex.class);
+            return this.iteratorList(graph.vertices());
+        } else
+            return IteratorUtils.filter(TinkerHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).iterator(),
+                    vertex -> HasContainer.testAll(vertex, this.hasContainers));
+    }
+
+    private static void countFullScan(final Class<? extends Element> scannedClass) {
+        if (ExecutionCounters.isEnabled())
+            ExecutionCounters.counter(ExecutionCounters.FULL_SCANS, scannedClass.getSimpleName().toLowerCase()).increment();
     }
 
     private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
@@ -111,7 +120,7 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     private <E extends Element> Iterator<E> iteratorList(final Iterator<E> iterator) {
         final List<E> list = new ArrayList<>();
-        while (iterator.hasNext()) {
+        while (iterator.hasNext() && (this.limit < 0 || list.size() < this.limit)) {
             final E e = iterator.next();
             if (HasContainer.testAll(e, this.hasContainers))
                 list.add(e);
@@ -91,7 +91,9 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         }
 
         TinkerHelper.removeElementIndex(this);
-        ((TinkerGraph) this.graph()).edges.remove(this.id());
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        if (null != graph.edges.remove(this.id()))
+            TinkerHelper.updateLabelCount(graph.edgeLabelCounts, this.label, -1);
         this.properties = null;
         this.removed = true;
     }
@@ -22,6 +22,7 @@ import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -32,8 +33,10 @@ import org.apache.tinkerpop.gremlin.structure.io.Io;
 import org.apache.tinkerpop.gremlin.structure.io.IoCore;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONVersion;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
+import org.apache.tinkerpop.gremlin.structure.util.BatchedElementLookup;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
@@ -42,6 +45,7 @@ import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optim
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
@@ -65,7 +69,7 @@ import java.util.stream.Stream;
 @Graph.OptIn(Graph.OptIn.SUITE_STRUCTURE_INTEGRATE)
 @Graph.OptIn(Graph.OptIn.SUITE_PROCESS_STANDARD)
 @Graph.OptIn(Graph.OptIn.SUITE_PROCESS_COMPUTER)
-public final class TinkerGraph implements Graph {
+public final class TinkerGraph implements Graph, BatchedElementLookup, GraphStatistics {
 
     static {
         TraversalStrategies.GlobalCache.registerStrategies(TinkerGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(
@@ -89,6 +93,8 @@ public final class TinkerGraph implements Graph {
     protected AtomicLong currentId = new AtomicLong(-1L);
     protected Map<Object, Vertex> vertices = new ConcurrentHashMap<>();
     protected Map<Object, Edge> edges = new ConcurrentHashMap<>();
+    protected Map<String, AtomicLong> vertexLabelCounts = new ConcurrentHashMap<>();
+    protected Map<String, AtomicLong> edgeLabelCounts = new ConcurrentHashMap<>();
 
     protected TinkerGraphVariables variables = null;
     protected TinkerGraphComputerView graphComputerView = null;
@@ -171,6 +177,7 @@ public final class TinkerGraph implements Graph {
 
         final Vertex vertex = new TinkerVertex(idValue, label, this);
         this.vertices.put(vertex.id(), vertex);
+        TinkerHelper.updateLabelCount(this.vertexLabelCounts, label, 1);
 
         ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
         return vertex;
@@ -213,6 +220,8 @@ public final class TinkerGraph implements Graph {
     public void clear() {
         this.vertices.clear();
         this.edges.clear();
+        this.vertexLabelCounts.clear();
+        this.edgeLabelCounts.clear();
         this.variables = null;
         this.currentId.set(-1L);
         this.vertexIndex = null;
@@ -250,6 +259,40 @@ public final class TinkerGraph implements Graph {
         return createElementIterator(Edge.class, edges, edgeIdManager, edgeIds);
     }
 
+    /**
+     * Resolves the incident edges of a batch of vertices, checking for a {@link GraphComputer} view once for the
+     * whole batch rather than once per vertex.
+     */
+    @Override
+    public List<Iterator<Edge>> lookupEdges(final List<Vertex> vertices, final Direction direction, final String... edgeLabels) {
+        if (TinkerHelper.inComputerMode(this))
+            return BatchedElementLookup.super.lookupEdges(vertices, direction, edgeLabels);
+        final List<Iterator<Edge>> edges = new ArrayList<>(vertices.size());
+        for (final Vertex vertex : vertices) {
+            edges.add(vertex instanceof TinkerVertex && vertex.graph() == this ?
+                    (Iterator) TinkerHelper.getEdges((TinkerVertex) vertex, direction, edgeLabels) :
+                    vertex.edges(direction, edgeLabels));
+        }
+        return edges;
+    }
+
+    /**
+     * Resolves the adjacent vertices of a batch of vertices, checking for a {@link GraphComputer} view once for the
+     * whole batch rather than once per vertex.
+     */
+    @Override
+    public List<Iterator<Vertex>> lookupAdjacentVertices(final List<Vertex> vertices, final Direction direction, final String... edgeLabels) {
+        if (TinkerHelper.inComputerMode(this))
+            return BatchedElementLookup.super.lookupAdjacentVertices(vertices, direction, edgeLabels);
+        final List<Iterator<Vertex>> adjacent = new ArrayList<>(vertices.size());
+        for (final Vertex vertex : vertices) {
+            adjacent.add(vertex instanceof TinkerVertex && vertex.graph() == this ?
+                    (Iterator) TinkerHelper.getVertices((TinkerVertex) vertex, direction, edgeLabels) :
+                    vertex.vertices(direction, edgeLabels));
+        }
+        return adjacent;
+    }
+
     private void loadGraph() {
         final File f = new File(graphLocation);
         if (f.exists() && f.isFile()) {
@@ -517,6 +560,54 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    ////////////// GRAPH STATISTICS //////////////////
+
+    /**
+     * Counts the vertices or edges of the graph.
+     */
+    @Override
+    public long estimateCount(final Class<? extends Element> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass))
+            return this.vertices.size();
+        else if (Edge.class.isAssignableFrom(elementClass))
+            return this.edges.size();
+        return UNKNOWN;
+    }
+
+    /**
+     * Counts the vertices or edges with the given label from the label counts that the graph maintains.
+     */
+    @Override
+    public long estimateCount(final Class<? extends Element> elementClass, final String label) {
+        final Map<String, AtomicLong> labelCounts;
+        if (Vertex.class.isAssignableFrom(elementClass))
+            labelCounts = this.vertexLabelCounts;
+        else if (Edge.class.isAssignableFrom(elementClass))
+            labelCounts = this.edgeLabelCounts;
+        else
+            return UNKNOWN;
+        final AtomicLong count = labelCounts.get(label);
+        return null == count ? 0l : count.get();
+    }
+
+    /**
+     * Counts the vertices or edges with the given property value if the key is indexed and is otherwise
+     * {@link GraphStatistics#UNKNOWN}.
+     */
+    @Override
+    public long estimateCount(final Class<? extends Element> elementClass, final String key, final Object value) {
+        final TinkerIndex<?> index = Vertex.class.isAssignableFrom(elementClass) ?
+                this.vertexIndex :
+                Edge.class.isAssignableFrom(elementClass) ? this.edgeIndex : null;
+        return null != index && index.getIndexedKeys().contains(key) ? index.count(key, value) : UNKNOWN;
+    }
+
+    @Override
+    public boolean isIndexed(final Class<? extends Element> elementClass, final String key) {
+        return (Vertex.class.isAssignableFrom(elementClass) || Edge.class.isAssignableFrom(elementClass)) &&
+                this.getIndexedKeys(elementClass).contains(key);
+    }
+
     /**
      * Construct an {@link TinkerGraph.IdManager} from the TinkerGraph {@code Configuration}.
      */
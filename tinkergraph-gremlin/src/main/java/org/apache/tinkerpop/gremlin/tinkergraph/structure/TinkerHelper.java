@@ -37,6 +37,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 /**
@@ -64,6 +65,7 @@ public final class TinkerHelper {
         edge = new TinkerEdge(idValue, outVertex, label, inVertex);
         ElementHelper.attachProperties(edge, keyValues);
         graph.edges.put(edge.id(), edge);
+        TinkerHelper.updateLabelCount(graph.edgeLabelCounts, label, 1);
         TinkerHelper.addOutEdge(outVertex, label, edge);
         TinkerHelper.addInEdge(inVertex, label, edge);
         return edge;
@@ -130,6 +132,10 @@ public final class TinkerHelper {
             graph.vertexIndex.autoUpdate(key, newValue, oldValue, vertex);
     }
 
+    protected static void updateLabelCount(final Map<String, AtomicLong> labelCounts, final String label, final long delta) {
+        labelCounts.computeIfAbsent(label, k -> new AtomicLong()).addAndGet(delta);
+    }
+
     public static void removeElementIndex(final TinkerVertex vertex) {
         final TinkerGraph graph = (TinkerGraph) vertex.graph();
         if (graph.vertexIndex != null)
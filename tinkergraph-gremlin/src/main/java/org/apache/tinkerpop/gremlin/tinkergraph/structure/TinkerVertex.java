@@ -132,7 +132,8 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
         edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
         this.properties = null;
         TinkerHelper.removeElementIndex(this);
-        this.graph.vertices.remove(this.id);
+        if (null != this.graph.vertices.remove(this.id))
+            TinkerHelper.updateLabelCount(this.graph.vertexLabelCounts, this.label, -1);
         this.removed = true;
     }
 
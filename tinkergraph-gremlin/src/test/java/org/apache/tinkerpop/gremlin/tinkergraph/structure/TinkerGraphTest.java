@@ -23,10 +23,12 @@ import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.GraphHelper;
 import org.apache.tinkerpop.gremlin.TestHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -45,6 +47,8 @@ import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoClassResolverV1d0;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.shaded.kryo.ClassResolver;
@@ -65,6 +69,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -76,6 +81,7 @@ import java.util.function.Supplier;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -649,6 +655,57 @@ public class TinkerGraphTest {
         }
     }
 
+    @Test
+    public void shouldLookupAdjacencyInBatches() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final List<Vertex> vertices = IteratorUtils.list(graph.vertices());
+        vertices.add(vertices.get(0));
+
+        final List<Iterator<Edge>> edges = graph.lookupEdges(vertices, Direction.BOTH, "knows", "created");
+        final List<Iterator<Vertex>> adjacent = graph.lookupAdjacentVertices(vertices, Direction.OUT);
+        assertEquals(vertices.size(), edges.size());
+        assertEquals(vertices.size(), adjacent.size());
+        for (int i = 0; i < vertices.size(); i++) {
+            assertEquals(IteratorUtils.set(vertices.get(i).edges(Direction.BOTH, "knows", "created")), IteratorUtils.set(edges.get(i)));
+            assertEquals(IteratorUtils.set(vertices.get(i).vertices(Direction.OUT)), IteratorUtils.set(adjacent.get(i)));
+        }
+    }
+
+    @Test
+    public void shouldFoldEarlyTerminationLimitIntoGraphStep() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        final Traversal.Admin<Vertex, Vertex> traversal = g.V().limit(1).asAdmin();
+        traversal.applyStrategies();
+        assertEquals(1, ((TinkerGraphStep<?, ?>) traversal.getStartStep()).getLimit());
+        assertEquals(1, traversal.toList().size());
+    }
+
+    @Test
+    public void shouldProvideGraphStatistics() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        assertEquals(6, graph.estimateCount(Vertex.class));
+        assertEquals(6, graph.estimateCount(Edge.class));
+        assertEquals(4, graph.estimateCount(Vertex.class, "person"));
+        assertEquals(2, graph.estimateCount(Edge.class, "knows"));
+        assertEquals(0, graph.estimateCount(Vertex.class, "company"));
+        assertEquals(GraphStatistics.UNKNOWN, graph.estimateCount(Vertex.class, "name", "marko"));
+        assertFalse(graph.isIndexed(Vertex.class, "name"));
+
+        graph.createIndex("name", Vertex.class);
+        assertTrue(graph.isIndexed(Vertex.class, "name"));
+        assertEquals(1, graph.estimateCount(Vertex.class, "name", "marko"));
+        assertEquals(0, graph.estimateCount(Vertex.class, "name", "stephen"));
+
+        graph.vertices(1).next().remove();
+        assertEquals(3, graph.estimateCount(Vertex.class, "person"));
+        assertEquals(0, graph.estimateCount(Edge.class, "knows"));
+        assertEquals(3, graph.estimateCount(Edge.class));
+        assertEquals(0, graph.estimateCount(Vertex.class, "name", "marko"));
+
+        graph.clear();
+        assertEquals(0, graph.estimateCount(Vertex.class, "software"));
+    }
+
     /**
      * Coerces a {@code Color} to a {@link TinkerGraph} during serialization.  Demonstrates how custom serializers
      * can be developed that can coerce one value to another during serialization.